@@ -0,0 +1,28 @@
+package org.carlspring.strongbox.cron.jobs.fields;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The field of the values which don't fit the {@link CronJobIntegerTypeField}, like the sizes in bytes.
+ */
+@Immutable
+public class CronJobLongTypeField
+        extends CronJobTypeField
+{
+
+    public CronJobLongTypeField()
+    {
+        this(null);
+    }
+
+    public CronJobLongTypeField(CronJobField field)
+    {
+        super(field);
+    }
+
+    @Override
+    public String getValue()
+    {
+        return long.class.getSimpleName();
+    }
+}
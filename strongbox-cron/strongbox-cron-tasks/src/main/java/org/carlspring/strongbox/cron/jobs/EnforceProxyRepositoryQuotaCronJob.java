@@ -0,0 +1,109 @@
+package org.carlspring.strongbox.cron.jobs;
+
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.jobs.fields.*;
+import org.carlspring.strongbox.providers.repository.proxied.LocalStorageProxyRepositoryExpiredArtifactsCleaner;
+
+import javax.inject.Inject;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Keeps the local cache of a proxy repository within its quota, by evicting the least recently used artifacts once
+ * the cache takes more than {@code highWatermarkPercent} of {@code maxSizeInBytes}, until it takes less than
+ * {@code lowWatermarkPercent} of it.
+ */
+public class EnforceProxyRepositoryQuotaCronJob
+        extends JavaCronJob
+{
+
+    private static final String PROPERTY_STORAGE_ID = "storageId";
+
+    private static final String PROPERTY_REPOSITORY_ID = "repositoryId";
+
+    private static final String PROPERTY_MAX_SIZE_IN_BYTES = "maxSizeInBytes";
+
+    private static final String PROPERTY_HIGH_WATERMARK_PERCENT = "highWatermarkPercent";
+
+    private static final String PROPERTY_LOW_WATERMARK_PERCENT = "lowWatermarkPercent";
+
+    private static final int DEFAULT_HIGH_WATERMARK_PERCENT = 90;
+
+    private static final int DEFAULT_LOW_WATERMARK_PERCENT = 80;
+
+    private static final Set<CronJobField> FIELDS = ImmutableSet.of(
+            new CronJobStorageIdAutocompleteField(new CronJobStringTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_STORAGE_ID)))),
+            new CronJobRepositoryIdAutocompleteField(new CronJobStringTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_REPOSITORY_ID)))),
+            // The quotas are usually above the 2GB of the int field.
+            new CronJobLongTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_MAX_SIZE_IN_BYTES))),
+            new CronJobIntegerTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_HIGH_WATERMARK_PERCENT))),
+            new CronJobIntegerTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_LOW_WATERMARK_PERCENT))));
+
+    @Inject
+    private LocalStorageProxyRepositoryExpiredArtifactsCleaner proxyRepositoryObsoleteArtifactsCleaner;
+
+    @Override
+    public void executeTask(final CronTaskConfigurationDto config)
+            throws Throwable
+    {
+        final String storageId = config.getRequiredProperty(PROPERTY_STORAGE_ID);
+        final String repositoryId = config.getRequiredProperty(PROPERTY_REPOSITORY_ID);
+        final String maxSizeInBytesText = config.getRequiredProperty(PROPERTY_MAX_SIZE_IN_BYTES);
+        final String highWatermarkPercentText = config.getProperty(PROPERTY_HIGH_WATERMARK_PERCENT);
+        final String lowWatermarkPercentText = config.getProperty(PROPERTY_LOW_WATERMARK_PERCENT);
+
+        final long maxSizeInBytes;
+        int highWatermarkPercent = DEFAULT_HIGH_WATERMARK_PERCENT;
+        int lowWatermarkPercent = DEFAULT_LOW_WATERMARK_PERCENT;
+        try
+        {
+            maxSizeInBytes = Long.parseLong(maxSizeInBytesText);
+            if (highWatermarkPercentText != null)
+            {
+                highWatermarkPercent = Integer.parseInt(highWatermarkPercentText);
+            }
+            if (lowWatermarkPercentText != null)
+            {
+                lowWatermarkPercent = Integer.parseInt(lowWatermarkPercentText);
+            }
+        }
+        catch (NumberFormatException ex)
+        {
+            logger.error("Invalid quota of repository [{}:{}]. Cron job won't be fired.",
+                         storageId, repositoryId, ex);
+            return;
+        }
+
+        if (maxSizeInBytes <= 0 || lowWatermarkPercent < 0 || lowWatermarkPercent > highWatermarkPercent ||
+            highWatermarkPercent > 100)
+        {
+            logger.error("Invalid quota [{}] bytes with watermarks [{}%-{}%] of repository [{}:{}]. Cron job won't be fired.",
+                         maxSizeInBytes, lowWatermarkPercent, highWatermarkPercent, storageId, repositoryId);
+            return;
+        }
+
+        proxyRepositoryObsoleteArtifactsCleaner.evict(storageId,
+                                                      repositoryId,
+                                                      maxSizeInBytes,
+                                                      highWatermarkPercent,
+                                                      lowWatermarkPercent);
+    }
+
+    @Override
+    public CronJobDefinition getCronJobDefinition()
+    {
+        return CronJobDefinition.newBuilder()
+                                .jobClass(EnforceProxyRepositoryQuotaCronJob.class.getName())
+                                .name("Enforce Proxy Repository Quota Cron Job")
+                                .description("Evicts the least recently used artifacts of the proxy repository over its quota")
+                                .fields(FIELDS)
+                                .build();
+    }
+
+}
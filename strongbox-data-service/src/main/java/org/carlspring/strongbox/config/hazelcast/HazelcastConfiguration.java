@@ -54,6 +54,34 @@ public class HazelcastConfiguration
     @Value("${cacheManagerConfiguration.caches.remoteRepositoryAliveness.evictionPolicy:LFU}")
     public EvictionPolicy remoteRepositoryAlivenessEvictionPolicy;
 
+    @Value("${cacheManagerConfiguration.caches.negativeLookups.maxSizeLimit:100000}")
+    public int negativeLookupsMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.negativeLookups.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy negativeLookupsMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.negativeLookups.evictionPolicy:LRU}")
+    public EvictionPolicy negativeLookupsEvictionPolicy;
+
+    @Value("${cacheManagerConfiguration.caches.negativeLookups.timeToLiveSeconds:300}")
+    public int negativeLookupsTimeToLiveSeconds;
+
+    @Value("${cacheManagerConfiguration.caches.negativeLookups.nearCacheSize:10000}")
+    public int negativeLookupsNearCacheSize;
+
+    public MapConfig negativeLookupsCacheConfig(String name)
+    {
+        return newDefaultMapConfig(name,
+                                   negativeLookupsMaxSizeLimit,
+                                   negativeLookupsMaxSizePolicy,
+                                   negativeLookupsEvictionPolicy).setTimeToLiveSeconds(negativeLookupsTimeToLiveSeconds)
+                                                                 .setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true)
+                                                                                                          .setEvictionConfig(new EvictionConfig().setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                                                                                                                                                 .setSize(negativeLookupsNearCacheSize))
+                                                                                                          .setInvalidateOnChange(true)
+                                                                                                          .setTimeToLiveSeconds(negativeLookupsTimeToLiveSeconds));
+    }
+
     @Value("${cacheManagerConfiguration.caches.tags.maxSizeLimit:1000}")
     public int tagsMaxSizeLimit;
 
@@ -127,6 +155,7 @@ public class HazelcastConfiguration
                                                                             tagsMaxSizeLimit,
                                                                             tagsMaxSizePolicy,
                                                                             tagsEvictionPolicy))
+                                          .addMapConfig(negativeLookupsCacheConfig(CacheName.Repository.NEGATIVE_LOOKUPS))
                                           .addMapConfig(authenticationCacheConfig(CacheName.User.AUTHENTICATIONS));
         config.setGroupConfig(new GroupConfig(groupConfigName, groupConfigPassword));
         config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(enableMulticastConfig);
@@ -242,6 +242,10 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
             return " <= ";
         case GE:
             return " >=";            
+        case GT:
+            return " > ";
+        case LT:
+            return " < ";
         case LIKE:
             return " LIKE ";
         case CONTAINS:
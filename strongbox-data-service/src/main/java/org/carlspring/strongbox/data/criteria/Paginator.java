@@ -11,6 +11,12 @@ public class Paginator
     private String property;
     private Order order = Order.ASC;
 
+    /**
+     * The keyset position: the sort key of the last result of the previous page. The page continues strictly after
+     * it, and the {@link #skip} is ignored.
+     */
+    private String cursor;
+
     public Integer getSkip()
     {
         return skip == null ? Integer.valueOf(0) : skip;
@@ -41,6 +47,16 @@ public class Paginator
         this.property = orderBy;
     }
 
+    public String getCursor()
+    {
+        return cursor;
+    }
+
+    public void setCursor(String cursor)
+    {
+        this.cursor = cursor;
+    }
+
     public Order getOrder()
     {
         return order;
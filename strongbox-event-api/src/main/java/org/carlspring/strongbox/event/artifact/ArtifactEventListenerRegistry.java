@@ -205,4 +205,24 @@ public class ArtifactEventListenerRegistry extends AbstractEventListenerRegistry
         dispatchEvent(event);
     }
 
+    public void dispatchArtifactTagsUpdatedEvent(Path path)
+    {
+        ArtifactEvent event = new ArtifactEvent(path,
+                                                ArtifactEventTypeEnum.EVENT_ARTIFACT_TAGS_UPDATED.getType());
+
+        logger.debug("Dispatching ArtifactEventTypeEnum.EVENT_ARTIFACT_TAGS_UPDATED event for {}...", path);
+
+        dispatchEvent(event);
+    }
+
+    public void dispatchArtifactEntryMetadataUpdatedEvent(Path path)
+    {
+        ArtifactEvent event = new ArtifactEvent(path,
+                                                ArtifactEventTypeEnum.EVENT_ARTIFACT_ENTRY_METADATA_UPDATED.getType());
+
+        logger.debug("Dispatching ArtifactEventTypeEnum.EVENT_ARTIFACT_ENTRY_METADATA_UPDATED event for {}...", path);
+
+        dispatchEvent(event);
+    }
+
 }
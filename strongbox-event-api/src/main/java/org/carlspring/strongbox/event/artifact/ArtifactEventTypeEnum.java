@@ -101,7 +101,18 @@ public enum ArtifactEventTypeEnum
     /**
      * Occurs when an artifact file has been physically stored.
      */
-    EVENT_ARTIFACT_FILE_STORED(22);
+    EVENT_ARTIFACT_FILE_STORED(22),
+
+    /**
+     * Occurs when the tags of an artifact have been changed, for example when it's no longer the last version.
+     */
+    EVENT_ARTIFACT_TAGS_UPDATED(23),
+
+    /**
+     * Occurs when the layout specific metadata of an artifact has been extracted into its entry, for example the
+     * `.nuspec` of a NuGet package.
+     */
+    EVENT_ARTIFACT_ENTRY_METADATA_UPDATED(24);
 
 
     private int type;
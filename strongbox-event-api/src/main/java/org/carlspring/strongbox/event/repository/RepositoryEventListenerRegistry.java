@@ -50,4 +50,14 @@ public class RepositoryEventListenerRegistry
         dispatchEvent(event);
     }
 
+    public void dispatchImportedEvent(String storageId,
+                                      String repositoryId)
+    {
+        RepositoryEvent event = new RepositoryEvent(storageId,
+                                                    repositoryId,
+                                                    RepositoryEventTypeEnum.EVENT_REPOSITORY_IMPORTED.getType());
+
+        dispatchEvent(event);
+    }
+
 }
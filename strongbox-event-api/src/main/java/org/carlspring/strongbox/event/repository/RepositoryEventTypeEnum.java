@@ -58,7 +58,12 @@ public enum RepositoryEventTypeEnum
     /**
      * Occurs when all the trash for repositories has been undeleted.
      */
-    EVENT_REPOSITORY_UNDELETE_TRASH_FOR_ALL_REPOSITORIES(10);
+    EVENT_REPOSITORY_UNDELETE_TRASH_FOR_ALL_REPOSITORIES(10),
+
+    /**
+     * Occurs when a bulk import into a repository has been completed.
+     */
+    EVENT_REPOSITORY_IMPORTED(11);
 
     private int type;
 
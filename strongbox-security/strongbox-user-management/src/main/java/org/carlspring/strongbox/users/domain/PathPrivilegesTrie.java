@@ -0,0 +1,116 @@
+package org.carlspring.strongbox.users.domain;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.carlspring.strongbox.users.dto.PathPrivileges;
+import org.carlspring.strongbox.users.dto.RepositoryPrivileges;
+import org.carlspring.strongbox.users.dto.StoragePrivileges;
+
+/**
+ * The storage, repository and path privileges compiled into a prefix tree of the URL segments
+ * (`/storages/{storageId}/{repositoryId}/{path}`), so that the privileges for the URL are resolved in the time
+ * proportional to the URL depth, instead of the number of the privileges.
+ * <br>
+ * The repository privileges and the wildcard path privileges are granted for the whole subtree, the other path
+ * privileges are granted for the exact path only.
+ *
+ * @see AccessModelData
+ */
+@Immutable
+public class PathPrivilegesTrie
+        implements Serializable
+{
+
+    private static final String STORAGES_PREFIX = "/storages/";
+
+    private final Node root = new Node();
+
+    public PathPrivilegesTrie(Set<? extends StoragePrivileges> storages)
+    {
+        for (StoragePrivileges storage : storages)
+        {
+            Node storageNode = root.child(storage.getStorageId());
+            for (RepositoryPrivileges repository : storage.getRepositoryPrivileges())
+            {
+                Node repositoryNode = storageNode.child(repository.getRepositoryId());
+                repositoryNode.privileges.addAll(repository.getRepositoryPrivileges());
+
+                for (PathPrivileges pathPrivilege : repository.getPathPrivileges())
+                {
+                    Node pathNode = repositoryNode;
+                    for (String segment : pathPrivilege.getPath().split("/"))
+                    {
+                        pathNode = segment.isEmpty() ? pathNode : pathNode.child(segment);
+                    }
+
+                    (pathPrivilege.isWildcard() ? pathNode.privileges : pathNode.exactPrivileges)
+                            .addAll(pathPrivilege.getPrivileges());
+                }
+            }
+        }
+    }
+
+    public Set<Privileges> getPrivileges(String url)
+    {
+        if (url == null || !url.startsWith(STORAGES_PREFIX))
+        {
+            return Collections.emptySet();
+        }
+
+        Set<Privileges> result = EnumSet.noneOf(Privileges.class);
+
+        Node node = root;
+        int start = STORAGES_PREFIX.length();
+        while (node != null && start < url.length())
+        {
+            int end = url.indexOf('/', start);
+            if (end < 0)
+            {
+                end = url.length();
+            }
+
+            if (end > start)
+            {
+                node = node.children.get(url.substring(start, end));
+                if (node != null)
+                {
+                    result.addAll(node.privileges);
+                }
+            }
+
+            start = end + 1;
+        }
+
+        if (node != null && node != root)
+        {
+            result.addAll(node.exactPrivileges);
+        }
+
+        return result;
+    }
+
+    private static class Node
+            implements Serializable
+    {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private final Set<Privileges> privileges = EnumSet.noneOf(Privileges.class);
+
+        private final Set<Privileges> exactPrivileges = EnumSet.noneOf(Privileges.class);
+
+        private Node child(String segment)
+        {
+            return children.computeIfAbsent(segment, k -> new Node());
+        }
+
+    }
+
+}
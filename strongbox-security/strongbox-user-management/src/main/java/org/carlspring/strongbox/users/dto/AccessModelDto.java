@@ -5,7 +5,7 @@ import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
 
-import org.carlspring.strongbox.users.domain.AccessModelData;
+import org.carlspring.strongbox.users.domain.PathPrivilegesTrie;
 import org.carlspring.strongbox.users.domain.Privileges;
 
 /**
@@ -21,6 +21,12 @@ public class AccessModelDto
     
     private Set<StoragePrivilegesDto> storageAuthorities = new LinkedHashSet<>();
 
+    /**
+     * Built on the first lookup, so the storage authorities are expected to be complete by the time the model is used
+     * to authorize the requests.
+     */
+    private transient volatile PathPrivilegesTrie pathAuthorities;
+
 
     public Set<Privileges> getApiAuthorities()
     {
@@ -40,7 +46,14 @@ public class AccessModelDto
     @Override
     public Set<Privileges> getPathAuthorities(String url)
     {
-        return AccessModelData.getPathAuthorities(url, storageAuthorities);
+        PathPrivilegesTrie result = pathAuthorities;
+        if (result == null)
+        {
+            result = new PathPrivilegesTrie(storageAuthorities);
+            pathAuthorities = result;
+        }
+
+        return result.getPrivileges(url);
     }
     
 }
@@ -3,11 +3,14 @@ package org.carlspring.strongbox.users.userdetails;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.carlspring.strongbox.authorization.dto.Role;
 import org.carlspring.strongbox.users.domain.Privileges;
+import org.carlspring.strongbox.users.dto.AccessModel;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.google.common.base.Objects;
@@ -30,6 +33,11 @@ public class SpringSecurityUser
     
     private String sourceId;
 
+    /**
+     * The access models of the {@link #roles}, resolved once per user details instance.
+     */
+    private transient volatile List<AccessModel> accessModels;
+
     @Override
     public String getUsername()
     {
@@ -89,6 +97,7 @@ public class SpringSecurityUser
     public void setRoles(Set<Role> roles)
     {
         this.roles = roles;
+        this.accessModels = null;
     }
 
     @Override
@@ -99,11 +108,33 @@ public class SpringSecurityUser
 
     public Collection<Privileges> getStorageAuthorities(String path)
     {
-        return getRoles().stream()
-                         .flatMap(r -> r.getAccessModel()
-                                        .getPathAuthorities(path)
-                                        .stream())
-                         .collect(Collectors.toSet());
+        List<AccessModel> accessModels = getAccessModels();
+        if (accessModels.size() == 1)
+        {
+            return accessModels.get(0).getPathAuthorities(path);
+        }
+
+        Set<Privileges> result = EnumSet.noneOf(Privileges.class);
+        for (AccessModel accessModel : accessModels)
+        {
+            result.addAll(accessModel.getPathAuthorities(path));
+        }
+
+        return result;
+    }
+
+    private List<AccessModel> getAccessModels()
+    {
+        List<AccessModel> result = accessModels;
+        if (result == null)
+        {
+            accessModels = result = roles.stream()
+                                         .map(Role::getAccessModel)
+                                         .filter(accessModel -> accessModel != null)
+                                         .collect(Collectors.toList());
+        }
+
+        return result;
     }
 
     public String getUrl()
@@ -0,0 +1,140 @@
+package org.carlspring.strongbox.users.domain;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.StringUtils;
+import org.carlspring.strongbox.users.dto.PathPrivileges;
+import org.carlspring.strongbox.users.dto.PathPrivilegesDto;
+import org.carlspring.strongbox.users.dto.RepositoryPrivileges;
+import org.carlspring.strongbox.users.dto.RepositoryPrivilegesDto;
+import org.carlspring.strongbox.users.dto.StoragePrivileges;
+import org.carlspring.strongbox.users.dto.StoragePrivilegesDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the {@link PathPrivilegesTrie} with the linear scan over the storage, repository and path privileges,
+ * which was used by the {@link AccessModelData} before.
+ * <br>
+ * This is not a test, run it with the {@link #main(String[])} method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathPrivilegesBenchmark
+{
+
+    @Param({ "10", "100", "1000" })
+    private int pathPrivilegesCount;
+
+    private Set<StoragePrivilegesDto> storages;
+
+    private PathPrivilegesTrie trie;
+
+    private String url;
+
+    @Setup
+    public void setUp()
+    {
+        storages = new HashSet<>();
+        for (int i = 0; i < 4; i++)
+        {
+            StoragePrivilegesDto storage = new StoragePrivilegesDto("storage" + i);
+            for (int j = 0; j < 4; j++)
+            {
+                RepositoryPrivilegesDto repository = new RepositoryPrivilegesDto("releases" + j);
+                repository.getRepositoryPrivileges().add(Privileges.ARTIFACTS_VIEW);
+                for (int k = 0; k < pathPrivilegesCount; k++)
+                {
+                    PathPrivilegesDto path = new PathPrivilegesDto("org/carlspring/group" + k);
+                    path.setWildcard(k % 2 == 0);
+                    path.setPrivileges(EnumSet.of(Privileges.ARTIFACTS_RESOLVE));
+                    repository.getPathPrivileges().add(path);
+                }
+                storage.getRepositoryPrivileges().add(repository);
+            }
+            storages.add(storage);
+        }
+
+        trie = new PathPrivilegesTrie(storages);
+        url = "/storages/storage3/releases3/org/carlspring/group" + (pathPrivilegesCount - 2) +
+              "/artifact/1.0/artifact-1.0.jar";
+    }
+
+    @Benchmark
+    public Set<Privileges> linearScan()
+    {
+        return getPathAuthorities(url, storages);
+    }
+
+    @Benchmark
+    public Set<Privileges> trie()
+    {
+        return trie.getPrivileges(url);
+    }
+
+    private static Set<Privileges> getPathAuthorities(String url,
+                                                      Set<? extends StoragePrivileges> storages)
+    {
+        String normalizedUrl = StringUtils.chomp(url, "/");
+
+        Set<Privileges> privileges = new HashSet<>();
+        for (final StoragePrivileges storage : storages)
+        {
+            String storageKey = "/storages/" + storage.getStorageId();
+            if (!normalizedUrl.startsWith(storageKey))
+            {
+                continue;
+            }
+            for (RepositoryPrivileges repository : storage.getRepositoryPrivileges())
+            {
+                String repositoryKey = storageKey + "/" + repository.getRepositoryId();
+                if (!normalizedUrl.startsWith(repositoryKey))
+                {
+                    continue;
+                }
+                privileges.addAll(repository.getRepositoryPrivileges());
+                for (PathPrivileges pathPrivilege : repository.getPathPrivileges())
+                {
+                    String normalizedPath = StringUtils.chomp(pathPrivilege.getPath(), "/");
+                    String pathKey = repositoryKey + "/" + normalizedPath;
+
+                    if (!normalizedUrl.startsWith(pathKey))
+                    {
+                        continue;
+                    }
+                    if (normalizedUrl.equals(pathKey) || pathPrivilege.isWildcard())
+                    {
+                        privileges.addAll(pathPrivilege.getPrivileges());
+                    }
+                }
+            }
+        }
+        return privileges;
+    }
+
+    public static void main(String[] args)
+        throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(PathPrivilegesBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.carlspring.strongbox.users.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.EnumSet;
+
+import org.carlspring.strongbox.users.dto.PathPrivilegesDto;
+import org.carlspring.strongbox.users.dto.RepositoryPrivilegesDto;
+import org.carlspring.strongbox.users.dto.StoragePrivilegesDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PathPrivilegesTrieTest
+{
+
+    private PathPrivilegesTrie trie;
+
+    @BeforeEach
+    public void setUp()
+    {
+        RepositoryPrivilegesDto repository = new RepositoryPrivilegesDto("releases");
+        repository.getRepositoryPrivileges().add(Privileges.ARTIFACTS_VIEW);
+
+        PathPrivilegesDto wildcardPath = new PathPrivilegesDto("org/carlspring/");
+        wildcardPath.setWildcard(true);
+        wildcardPath.setPrivileges(EnumSet.of(Privileges.ARTIFACTS_RESOLVE));
+        repository.getPathPrivileges().add(wildcardPath);
+
+        PathPrivilegesDto exactPath = new PathPrivilegesDto("com/carlspring");
+        exactPath.setPrivileges(EnumSet.of(Privileges.ARTIFACTS_DEPLOY));
+        repository.getPathPrivileges().add(exactPath);
+
+        StoragePrivilegesDto storage = new StoragePrivilegesDto("storage0");
+        storage.getRepositoryPrivileges().add(repository);
+
+        trie = new PathPrivilegesTrie(Collections.singleton(storage));
+    }
+
+    @Test
+    public void testRepositoryPrivileges()
+    {
+        assertThat(trie.getPrivileges("/storages/storage0/releases")).containsOnly(Privileges.ARTIFACTS_VIEW);
+        assertThat(trie.getPrivileges("/storages/storage0/releases/org/apache/foo.jar"))
+                .containsOnly(Privileges.ARTIFACTS_VIEW);
+        assertThat(trie.getPrivileges("/storages/storage0/releases-2/org/apache/foo.jar")).isEmpty();
+        assertThat(trie.getPrivileges("/storages/storage1/releases/org/apache/foo.jar")).isEmpty();
+    }
+
+    @Test
+    public void testWildcardPathPrivileges()
+    {
+        assertThat(trie.getPrivileges("/storages/storage0/releases/org/carlspring"))
+                .containsOnly(Privileges.ARTIFACTS_VIEW, Privileges.ARTIFACTS_RESOLVE);
+        assertThat(trie.getPrivileges("/storages/storage0/releases/org/carlspring/foo/1.0/foo-1.0.jar"))
+                .containsOnly(Privileges.ARTIFACTS_VIEW, Privileges.ARTIFACTS_RESOLVE);
+        assertThat(trie.getPrivileges("/storages/storage0/releases/org/carlspring-foo/foo.jar"))
+                .containsOnly(Privileges.ARTIFACTS_VIEW);
+    }
+
+    @Test
+    public void testExactPathPrivileges()
+    {
+        assertThat(trie.getPrivileges("/storages/storage0/releases/com/carlspring/"))
+                .containsOnly(Privileges.ARTIFACTS_VIEW, Privileges.ARTIFACTS_DEPLOY);
+        assertThat(trie.getPrivileges("/storages/storage0/releases/com/carlspring/foo.jar"))
+                .containsOnly(Privileges.ARTIFACTS_VIEW);
+    }
+
+    @Test
+    public void testNotArtifactUrl()
+    {
+        assertThat(trie.getPrivileges("/api/configuration")).isEmpty();
+        assertThat(trie.getPrivileges(null)).isEmpty();
+    }
+
+}
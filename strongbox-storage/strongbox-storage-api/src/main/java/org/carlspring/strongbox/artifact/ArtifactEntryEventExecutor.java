@@ -0,0 +1,182 @@
+package org.carlspring.strongbox.artifact;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executes the {@link AsyncArtifactEntryHandler} tasks in a fixed set of single threaded lanes, partitioned by the
+ * key hash, so that the tasks with the same key (the artifact coordinates) are executed one after another, in the
+ * submission order.
+ * <br>
+ * The lane queues are bounded, the submitting thread waits while the lane queue is full. With no lanes configured, the
+ * tasks are executed by the submitting thread.
+ */
+@Component
+public class ArtifactEntryEventExecutor
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryEventExecutor.class);
+
+    @Value("${strongbox.artifact.entryEvents.lanes:4}")
+    private int lanesNumber;
+
+    @Value("${strongbox.artifact.entryEvents.queueCapacity:1000}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor[] lanes;
+
+    private final LongAdder completedCount = new LongAdder();
+
+    private final LongAdder totalLatencyNanos = new LongAdder();
+
+    public ArtifactEntryEventExecutor()
+    {
+    }
+
+    ArtifactEntryEventExecutor(int lanesNumber,
+                               int queueCapacity)
+    {
+        this.lanesNumber = lanesNumber;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("artifact-entry-event-");
+        RejectedExecutionHandler backPressure = new BackPressurePolicy();
+
+        lanes = new ThreadPoolExecutor[Math.max(0, lanesNumber)];
+        for (int i = 0; i < lanes.length; i++)
+        {
+            lanes[i] = new ThreadPoolExecutor(1,
+                                              1,
+                                              0L,
+                                              TimeUnit.MILLISECONDS,
+                                              new ArrayBlockingQueue<>(queueCapacity),
+                                              threadFactory,
+                                              backPressure);
+        }
+    }
+
+    @Override
+    public void destroy()
+        throws InterruptedException
+    {
+        for (ThreadPoolExecutor lane : lanes)
+        {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes)
+        {
+            if (!lane.awaitTermination(30, TimeUnit.SECONDS))
+            {
+                logger.warn("[{}] pending artifact entry events were not processed.", lane.getQueue().size());
+            }
+        }
+    }
+
+    public Future<?> submit(String key,
+                            Runnable task)
+    {
+        long submitted = System.nanoTime();
+        FutureTask<?> futureTask = new FutureTask<>(() -> {
+            try
+            {
+                task.run();
+            }
+            finally
+            {
+                completedCount.increment();
+                totalLatencyNanos.add(System.nanoTime() - submitted);
+            }
+        }, null);
+
+        if (lanes.length == 0)
+        {
+            futureTask.run();
+
+            return futureTask;
+        }
+
+        lanes[Math.floorMod(key.hashCode(), lanes.length)].execute(futureTask);
+
+        return futureTask;
+    }
+
+    /**
+     * @return the number of the tasks waiting in all the lanes
+     */
+    public long getQueueDepth()
+    {
+        long result = 0;
+        for (ThreadPoolExecutor lane : lanes)
+        {
+            result += lane.getQueue().size();
+        }
+
+        return result;
+    }
+
+    public long getCompletedCount()
+    {
+        return completedCount.sum();
+    }
+
+    /**
+     * @return the average time from the submission to the completion of a task, in milliseconds
+     */
+    public double getAverageLatencyMillis()
+    {
+        long count = completedCount.sum();
+
+        return count == 0 ? 0 : totalLatencyNanos.sum() / 1_000_000d / count;
+    }
+
+    /**
+     * Blocks the submitting thread until there is room in the lane queue, unlike the
+     * {@link ThreadPoolExecutor.CallerRunsPolicy}, which would break the ordering of the lane.
+     */
+    private static class BackPressurePolicy
+            implements RejectedExecutionHandler
+    {
+
+        @Override
+        public void rejectedExecution(Runnable r,
+                                      ThreadPoolExecutor executor)
+        {
+            if (executor.isShutdown())
+            {
+                throw new RejectedExecutionException("Artifact entry event executor has been shut down.");
+            }
+
+            try
+            {
+                executor.getQueue().put(r);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new RejectedExecutionException(e);
+            }
+        }
+
+    }
+
+}
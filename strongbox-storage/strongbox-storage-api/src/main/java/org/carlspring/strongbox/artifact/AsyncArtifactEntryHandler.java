@@ -1,17 +1,27 @@
 package org.carlspring.strongbox.artifact;
 
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.event.AsyncEventListener;
 import org.carlspring.strongbox.event.artifact.ArtifactEvent;
 import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.repository.HostedRepositoryProvider;
 import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
 import java.io.IOException;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.concurrent.locks.Lock;
 
 import com.orientechnologies.common.concur.ONeedRetryException;
@@ -19,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.transaction.ChainedTransactionManager;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 
 public abstract class AsyncArtifactEntryHandler
@@ -37,6 +48,18 @@ public abstract class AsyncArtifactEntryHandler
     @Inject
     private PlatformTransactionManager transactionManager;
 
+    @Inject
+    private ArtifactEntryEventExecutor artifactEntryEventExecutor;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private HostedRepositoryProvider hostedRepositoryProvider;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
     private final ArtifactEventTypeEnum eventType;
 
     public AsyncArtifactEntryHandler(ArtifactEventTypeEnum eventType)
@@ -55,30 +78,66 @@ public abstract class AsyncArtifactEntryHandler
             return;
         }
 
-        RepositoryPath repositoryPath = (RepositoryPath) event.getPath();
-        if (!RepositoryFiles.isArtifact(repositoryPath))
+        submit((RepositoryPath) event.getPath());
+    }
+
+    /**
+     * The bulk import doesn't dispatch the stored events of the imported files, so the stored event handlers go
+     * through all the artifacts of the repository once it has been imported.
+     */
+    @AsyncEventListener
+    public void handleRepositoryEvent(final RepositoryEvent event)
+        throws IOException
+    {
+        if (eventType != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED ||
+            RepositoryEventTypeEnum.EVENT_REPOSITORY_IMPORTED.getType() != event.getType())
         {
             return;
         }
 
-        // TODO: this is needed just as workadound to have new transaction
-        // within this async event (expected to be replaced with
-        // just Propagation.REQUIRES_NEW after SB-1200)
-        Thread threadWithNewTransactionContext = new Thread(() -> {
-            try
-            {
-                handleLocked(repositoryPath);
-            }
-            catch (Exception e)
-            {
-                logger.error("Failed to handle async event [{}]",
-                             AsyncArtifactEntryHandler.this.getClass().getSimpleName(),
-                             e);
-            }
-        });
+        Repository repository = configurationManager.getConfiguration()
+                                                    .getStorage(event.getStorageId())
+                                                    .getRepository(event.getRepositoryId());
+
+        Iterator<Path> paths = hostedRepositoryProvider.stream(event.getStorageId(),
+                                                               event.getRepositoryId(),
+                                                               Predicate.empty(),
+                                                               new Paginator())
+                                                       .iterator();
+        while (paths.hasNext())
+        {
+            // The entry of the streamed path is only a snapshot, the handler reads it again in its own transaction.
+            submit(repositoryPathResolver.resolve(repository,
+                                                  RepositoryFiles.relativizePath((RepositoryPath) paths.next())));
+        }
+    }
+
+    private void submit(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        if (!supports(repositoryPath) || !RepositoryFiles.isArtifact(repositoryPath))
+        {
+            return;
+        }
+
+        // The lane keeps the events of the artifact in order and runs them outside of the caller transaction, the
+        // event thread doesn't wait for it.
+        String key = RepositoryFiles.readCoordinates(repositoryPath).getId();
+        artifactEntryEventExecutor.submit(key, () -> handleQuietly(repositoryPath));
+    }
 
-        threadWithNewTransactionContext.start();
-        threadWithNewTransactionContext.join();
+    private void handleQuietly(RepositoryPath repositoryPath)
+    {
+        try
+        {
+            handleLocked(repositoryPath);
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to handle async event [{}]",
+                         this.getClass().getSimpleName(),
+                         e);
+        }
     }
 
     private void handleLocked(RepositoryPath repositoryPath)
@@ -150,7 +209,9 @@ public abstract class AsyncArtifactEntryHandler
 
     private void handleTransactional(RepositoryPath repositoryPath)
     {
-        new TransactionTemplate(transactionManager).execute(t -> {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.execute(t -> {
             try
             {
                 ArtifactEntry result = handleEvent(repositoryPath);
@@ -158,7 +219,7 @@ public abstract class AsyncArtifactEntryHandler
                 {
                     logger.debug("No [{}] result for event [{}] and path [{}].",
                                  ArtifactEntry.class.getSimpleName(),
-                                 AsyncArtifactEntryHandler.this.getClass().getSimpleName(),
+                                 this.getClass().getSimpleName(),
                                  repositoryPath);
 
                     return null;
@@ -173,6 +234,15 @@ public abstract class AsyncArtifactEntryHandler
         });
     }
 
+    /**
+     * Cheap check, which runs before the event is queued, locked and handled in a new transaction, so that the
+     * handlers of some layout or file type don't slow down the others.
+     */
+    protected boolean supports(RepositoryPath repositoryPath)
+    {
+        return true;
+    }
+
     protected abstract ArtifactEntry handleEvent(RepositoryPath repositoryPath)
         throws IOException;
 
@@ -4,14 +4,29 @@ import org.carlspring.strongbox.artifact.locator.handlers.ArtifactDirectoryOpera
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Walks the directories under the starting path and executes the {@link ArtifactDirectoryOperation} for each of them.
+ * <br>
+ * Every directory is listed once. The subdirectories of a directory are executed one after another, in the sorted
+ * order, by the same worker (so that the operation sees the version directories of an artifact together), and then
+ * walked further. With the {@link #setParallelism(int)} greater than one, the subtrees are walked in a fork-join pool,
+ * so the operation must be thread safe across the different directories.
+ *
  * @author mtodorov
  */
 public class ArtifactDirectoryLocator
@@ -19,6 +34,8 @@ public class ArtifactDirectoryLocator
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactDirectoryLocator.class);
 
+    private static final long PROGRESS_REPORT_INTERVAL = 10000;
+
     private ArtifactDirectoryOperation operation;
 
     /**
@@ -27,31 +44,98 @@ public class ArtifactDirectoryLocator
      */
     private RepositoryPath basedir;
 
+    /**
+     * The number of the workers to walk the directories with, `1` means the current thread.
+     */
+    private int parallelism = 1;
+
+    private final AtomicLong visitedDirectories = new AtomicLong();
+
+    private long startTime;
+
     public void locateArtifactDirectories()
         throws IOException
     {
-        long startTime = System.currentTimeMillis();
+        startTime = System.currentTimeMillis();
+        visitedDirectories.set(0);
 
         RepositoryPath startingPath = getStartingPath();
+        execute(startingPath);
 
-        try (Stream<Path> pathStream = Files.walk(startingPath))
+        if (parallelism > 1)
         {
-            pathStream.filter(Files::isDirectory)
-                      // Skip directories which start with a dot (like, for example: .index)
-                      .filter(path -> !path.getFileName().toString().startsWith("."))
-                      // Note: Sorting can be expensive:
-                      .sorted()
-                      .forEach(this::execute);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try
+            {
+                pool.invoke(new DirectoryWalkTask(startingPath));
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+        else
+        {
+            walk(startingPath);
         }
 
-        long endTime = System.currentTimeMillis();
+        long duration = System.currentTimeMillis() - startTime;
 
-        logger.debug("Executed (cache: {}) visits in {} ms.",
-                     -operation.getVisitedRootPaths().size(), (endTime - startTime));
+        logger.info("Executed [{}] for [{}] directories of [{}] in [{}] ms ([{}] directories/s).",
+                    operation.getClass().getSimpleName(),
+                    visitedDirectories.get(),
+                    startingPath,
+                    duration,
+                    visitedDirectories.get() * 1000 / Math.max(1, duration));
 
         getOperation().getVisitedRootPaths().clear();
     }
 
+    /**
+     * Executes the operation for the subdirectories of the directory and returns them to be walked further.
+     */
+    private List<RepositoryPath> visit(RepositoryPath directory)
+    {
+        List<RepositoryPath> subdirectories = listDirectories(directory);
+        subdirectories.forEach(this::execute);
+
+        // The visited paths of the directory are needed only while its subdirectories are executed.
+        getOperation().getVisitedRootPaths().remove(directory);
+
+        return subdirectories;
+    }
+
+    private void walk(RepositoryPath directory)
+    {
+        visit(directory).forEach(this::walk);
+    }
+
+    private List<RepositoryPath> listDirectories(RepositoryPath directory)
+    {
+        List<RepositoryPath> result = new ArrayList<>();
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory))
+        {
+            for (Path path : directoryStream)
+            {
+                // Skip directories which start with a dot (like, for example: .index)
+                if (!path.getFileName().toString().startsWith(".") && Files.isDirectory(path))
+                {
+                    result.add((RepositoryPath) path);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            logger.error("Failed to list [{}]", directory, e);
+
+            return Collections.emptyList();
+        }
+
+        Collections.sort(result);
+
+        return result;
+    }
+
     public RepositoryPath getStartingPath()
     {
         // The root path
@@ -88,6 +172,16 @@ public class ArtifactDirectoryLocator
         this.basedir = basedir;
     }
 
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism)
+    {
+        this.parallelism = parallelism;
+    }
+
     void execute(Path path)
     {
         try
@@ -98,6 +192,39 @@ public class ArtifactDirectoryLocator
         {
             logger.error("Failed to execute operation [{}]", operation.getClass().getSimpleName(), e);
         }
+
+        long visited = visitedDirectories.incrementAndGet();
+        if (visited % PROGRESS_REPORT_INTERVAL == 0)
+        {
+            long duration = System.currentTimeMillis() - startTime;
+            logger.info("Executed [{}] for [{}] directories in [{}] ms ([{}] directories/s), current [{}].",
+                        operation.getClass().getSimpleName(),
+                        visited,
+                        duration,
+                        visited * 1000 / Math.max(1, duration),
+                        path);
+        }
     }
-    
+
+    private class DirectoryWalkTask
+            extends RecursiveAction
+    {
+
+        private final RepositoryPath directory;
+
+        private DirectoryWalkTask(RepositoryPath directory)
+        {
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute()
+        {
+            ForkJoinTask.invokeAll(visit(directory).stream()
+                                                   .map(DirectoryWalkTask::new)
+                                                   .collect(Collectors.toList()));
+        }
+
+    }
+
 }
@@ -4,10 +4,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -23,7 +25,7 @@ public abstract class AbstractArtifactLocationHandler
 {
     private static final Logger logger = LoggerFactory.getLogger(AbstractArtifactLocationHandler.class);
     
-    private LinkedHashMap<RepositoryPath, List<RepositoryPath>> visitedRootPaths = new LinkedHashMap<>();
+    private Map<RepositoryPath, List<RepositoryPath>> visitedRootPaths = new ConcurrentHashMap<>();
 
     /**
      * The base path within the repository from where to start scanning for artifacts.
@@ -31,23 +33,29 @@ public abstract class AbstractArtifactLocationHandler
     private RepositoryPath basePath;
 
 
-    public LinkedHashMap<RepositoryPath, List<RepositoryPath>> getVisitedRootPaths()
+    public Map<RepositoryPath, List<RepositoryPath>> getVisitedRootPaths()
     {
         return visitedRootPaths;
     }
 
+    /**
+     * @return the directories with the metadata files, which are the base path itself and its subdirectories (the
+     *         nested artifacts are visited on their own)
+     */
     public List<RepositoryPath> getVersionDirectories(RepositoryPath basePath)
         throws IOException
     {
         Set<RepositoryPath> versionDirectorySet = new TreeSet<>();
-        Files.walk(basePath)
-             .forEach(p -> {
-                 if (isMetadata(p))
-                 {
-                     versionDirectorySet.add((RepositoryPath) p.getParent());
-                 }
-             });
-        
+        try (Stream<Path> pathStream = Files.walk(basePath, 2))
+        {
+            pathStream.forEach(p -> {
+                if (isMetadata(p))
+                {
+                    versionDirectorySet.add((RepositoryPath) p.getParent());
+                }
+            });
+        }
+
         return new ArrayList<>(versionDirectorySet);
     }
 
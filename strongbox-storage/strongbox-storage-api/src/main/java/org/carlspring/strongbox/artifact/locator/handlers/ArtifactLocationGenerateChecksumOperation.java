@@ -2,6 +2,7 @@ package org.carlspring.strongbox.artifact.locator.handlers;
 
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.ChecksumGenerationProgress;
 import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
 
 import java.io.IOException;
@@ -22,10 +23,10 @@ public class ArtifactLocationGenerateChecksumOperation
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactLocationGenerateChecksumOperation.class);
 
-    private Path previousPath;
-
     private boolean forceRegeneration = false;
 
+    private final ChecksumGenerationProgress progress = new ChecksumGenerationProgress();
+
     public void execute(RepositoryPath path)
             throws IOException
     {
@@ -69,22 +70,15 @@ public class ArtifactLocationGenerateChecksumOperation
             System.out.println(parentPath);
         }
 
-        // The current directory is out of the tree
-        if (previousPath != null && !parentPath.startsWith(previousPath))
-        {
-            getVisitedRootPaths().remove(previousPath);
-            previousPath = parentPath;
-        }
-
-        if (previousPath == null)
-        {
-            previousPath = parentPath;
-        }
-
         RepositoryPath basePath = parentPath;
         LayoutFileSystemProvider provider = (LayoutFileSystemProvider) basePath.getFileSystem()
                                                                                                    .provider();
-        provider.storeChecksum(basePath, forceRegeneration);
+        provider.storeChecksum(basePath, forceRegeneration, progress);
+    }
+
+    public ChecksumGenerationProgress getProgress()
+    {
+        return progress;
     }
 
     public boolean getForceRegeneration()
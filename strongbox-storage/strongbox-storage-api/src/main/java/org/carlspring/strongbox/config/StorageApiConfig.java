@@ -5,13 +5,16 @@ import org.carlspring.strongbox.storage.checksum.ChecksumCacheManager;
 import org.carlspring.strongbox.storage.validation.ArtifactCoordinatesValidator;
 
 import javax.inject.Inject;
+import javax.sql.DataSource;
 import java.util.LinkedHashSet;
 import java.util.List;
 
+import liquibase.integration.spring.SpringLiquibase;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 @Configuration
@@ -33,6 +36,23 @@ public class StorageApiConfig
     @Inject
     private List<ArtifactCoordinatesValidator> versionValidators;
 
+    @Inject
+    private DataSource dataSource;
+
+    /**
+     * The storage schema changes, which are applied on top of the base schema.
+     */
+    @Bean(name = "storageApiLiquibase")
+    @DependsOn("liquibase")
+    SpringLiquibase storageApiLiquibase(ResourceLoader resourceLoader)
+    {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setResourceLoader(resourceLoader);
+        liquibase.setChangeLog("classpath:/db/changelog/db.changelog-storage-api.xml");
+        return liquibase;
+    }
+
     @Bean
     ChecksumCacheManager checksumCacheManager()
     {
@@ -3,6 +3,7 @@ package org.carlspring.strongbox.configuration;
 import org.carlspring.strongbox.services.ConfigurationManagementService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.routing.RoutingRulesMatcher;
 
 import javax.inject.Inject;
 import java.net.URI;
@@ -44,6 +45,11 @@ public class ConfigurationManager implements StoragesConfigurationManager
         return configurationService.getConfiguration();
     }
 
+    public RoutingRulesMatcher getRoutingRulesMatcher()
+    {
+        return configurationService.getRoutingRulesMatcher();
+    }
+
     public URI getBaseUri()
     {
         try
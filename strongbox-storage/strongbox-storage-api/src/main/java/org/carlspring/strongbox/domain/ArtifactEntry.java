@@ -10,7 +10,6 @@ import javax.persistence.Embedded;
 import javax.persistence.Entity;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
-import javax.persistence.Transient;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Optional;
@@ -37,6 +36,12 @@ public class ArtifactEntry
                            CascadeType.REFRESH })
     private AbstractArtifactCoordinates artifactCoordinates;
 
+    /**
+     * The coordinates path, stored with the entry itself, so that the entries of a repository can be ordered and
+     * paged by the `(storageId, repositoryId, artifactPath)` index.
+     */
+    private String artifactPath;
+
     @ManyToMany(targetEntity = ArtifactTagEntry.class)
     private Set<ArtifactTag> tagSet;
 
@@ -45,6 +50,12 @@ public class ArtifactEntry
     @Embedded
     private ArtifactArchiveListing artifactArchiveListing;
 
+    /**
+     * Layout specific package metadata, which is extracted once the artifact is stored, so that the package
+     * listings can be served without reading the artifact files.
+     */
+    private Map<String, String> metadata;
+
     private Long sizeInBytes;
 
     private Date lastUpdated;
@@ -87,6 +98,7 @@ public class ArtifactEntry
     public void setArtifactCoordinates(ArtifactCoordinates artifactCoordinates)
     {
         this.artifactCoordinates = (AbstractArtifactCoordinates) artifactCoordinates;
+        setArtifactPath(artifactCoordinates != null ? artifactCoordinates.toPath() : null);
     }
 
     public Set<ArtifactTag> getTagSet()
@@ -169,14 +181,33 @@ public class ArtifactEntry
         this.artifactArchiveListing = artifactArchiveListing;
     }
 
-    @Transient
+    public Map<String, String> getMetadata()
+    {
+        return metadata = Optional.ofNullable(metadata).orElse(new HashMap<>());
+    }
+
+    protected void setMetadata(Map<String, String> metadata)
+    {
+        this.metadata = metadata;
+    }
+
     public String getArtifactPath()
     {
-        return Optional.of(getArtifactCoordinates())
+        if (artifactPath != null)
+        {
+            return artifactPath;
+        }
+
+        return Optional.ofNullable(getArtifactCoordinates())
                        .map(c -> c.toPath())
                        .orElseThrow(() -> new IllegalStateException("ArtifactCoordinates required to be set."));
     }
 
+    protected void setArtifactPath(String artifactPath)
+    {
+        this.artifactPath = artifactPath;
+    }
+
     @Override
     public String toString()
     {
@@ -184,6 +215,7 @@ public class ArtifactEntry
         sb.append("storageId='").append(storageId).append('\'');
         sb.append(", repositoryId='").append(repositoryId).append('\'');
         sb.append(", artifactCoordinates=").append(artifactCoordinates).append('\n');
+        sb.append(", artifactPath='").append(artifactPath).append('\'');
         sb.append(", tagSet=").append(tagSet);
         sb.append(", checksums=").append(checksums);
         sb.append(", objectId='").append(objectId).append('\'');
@@ -1,6 +1,12 @@
 package org.carlspring.strongbox.domain;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.persistence.CascadeType;
 import javax.persistence.Entity;
+import javax.persistence.ManyToOne;
 
 /**
  * @author Przemyslaw Fusik
@@ -13,6 +19,16 @@ public class RepositoryArtifactIdGroupEntry
     private String storageId;
     private String repositoryId;
 
+    /**
+     * The entries tagged with the {@link ArtifactTagEntry#LAST_VERSION} (the artifacts of the last version, like the
+     * main artifact and its classifiers), so that they're not looked up through all the group entries.
+     */
+    @ManyToOne(cascade = { CascadeType.DETACH,
+                           CascadeType.MERGE,
+                           CascadeType.PERSIST,
+                           CascadeType.REFRESH })
+    private Set<ArtifactEntry> lastVersionEntries = new HashSet<>();
+
     public RepositoryArtifactIdGroupEntry()
     {
     }
@@ -46,6 +62,17 @@ public class RepositoryArtifactIdGroupEntry
         this.storageId = storageId;
     }
 
+    @Nonnull
+    public Set<ArtifactEntry> getLastVersionEntries()
+    {
+        if (lastVersionEntries == null)
+        {
+            lastVersionEntries = new HashSet<>();
+        }
+
+        return lastVersionEntries;
+    }
+
     public String getArtifactId()
     {
         return getName();
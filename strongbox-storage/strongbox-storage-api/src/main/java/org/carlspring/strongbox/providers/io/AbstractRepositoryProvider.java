@@ -19,7 +19,6 @@ import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.domain.ArtifactEntry;
-import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
 import org.carlspring.strongbox.io.LayoutOutputStream;
 import org.carlspring.strongbox.io.RepositoryStreamCallback;
@@ -33,7 +32,6 @@ import org.carlspring.strongbox.providers.repository.RepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
-import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -212,25 +210,53 @@ public abstract class AbstractRepositoryProvider implements RepositoryProvider,
         RepositoryPath repositoryPath = (RepositoryPath) ctx.getPath();
         ArtifactEntry artifactEntry = repositoryPath.artifactEntry;
         
-        Repository repository = repositoryPath.getRepository();
-        Storage storage = repository.getStorage();
-        ArtifactCoordinates coordinates = RepositoryFiles.readCoordinates(repositoryPath);
-        
         repositoryPath.artifactEntry = null;
         if (artifactEntry == null)
         {
+            updateArtifactEntry(repositoryPath, ctx);
+
             return;
         }
         
+        setContentAttributes(artifactEntry, ctx);
+
+        repositoryArtifactIdGroupService.saveArtifactEntry(repositoryPath, artifactEntry);
+    }
+
+    /**
+     * The entry of a rewritten artifact is already in its group, it only gets the size and the checksums of the new
+     * content, as they were computed during the write.
+     */
+    private void updateArtifactEntry(RepositoryPath repositoryPath,
+                                     RepositoryStreamWriteContext ctx)
+        throws IOException
+    {
+        if (!RepositoryFiles.isArtifact(repositoryPath))
+        {
+            return;
+        }
+
+        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
+        if (artifactEntry == null)
+        {
+            return;
+        }
+
+        artifactEntry.setLastUpdated(new Date());
+        setContentAttributes(artifactEntry, ctx);
+
+        artifactEntryService.save(artifactEntry);
+    }
+
+    private void setContentAttributes(ArtifactEntry artifactEntry,
+                                      RepositoryStreamWriteContext ctx)
+    {
         CountingOutputStream cos = StreamUtils.findSource(CountingOutputStream.class, ctx.getStream());
         artifactEntry.setSizeInBytes(cos.getByteCount());
 
         LayoutOutputStream los = StreamUtils.findSource(LayoutOutputStream.class, ctx.getStream());
         artifactEntry.getChecksums().clear();
         artifactEntry.getChecksums().putAll(los.getDigestMap());
-
-        RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storage.getId(), repository.getId(), coordinates.getId());
-        repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, artifactEntry);
     }
 
     protected ArtifactEntry provideArtifactEntry(RepositoryPath repositoryPath) throws IOException
@@ -0,0 +1,31 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+import javax.annotation.Nonnull;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import ca.thoughtwire.lock.DistributedLockService;
+
+/**
+ * The locks which are shared by all the cluster nodes.
+ */
+public class DistributedPathLockFactory implements PathLockFactory
+{
+
+    private final DistributedLockService lockService;
+
+    public DistributedPathLockFactory(HazelcastInstance hazelcastInstance)
+    {
+        lockService = DistributedLockService.newHazelcastLockService(hazelcastInstance);
+    }
+
+    @Nonnull
+    @Override
+    public ReadWriteLock getLock(@Nonnull String name)
+    {
+        return lockService.getReentrantReadWriteLock(name);
+    }
+
+}
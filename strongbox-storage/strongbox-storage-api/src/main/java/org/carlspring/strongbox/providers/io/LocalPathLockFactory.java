@@ -0,0 +1,168 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.collect.MapMaker;
+
+/**
+ * The locks of this node only, for the single node deployments.
+ * <br>
+ * Every name has its own reentrant lock, so the nested acquisitions of the different names (the path lock, then the
+ * artifact group lock) can't block each other. The locks are weakly referenced and dropped once no one references
+ * them, the read and write locks keep their parent lock referenced. A lock which is held is also strongly referenced
+ * until it's released, even if its holder doesn't keep it, so it can't be dropped and replaced while it's held.
+ */
+public class LocalPathLockFactory implements PathLockFactory
+{
+
+    private final ConcurrentMap<String, ReadWriteLock> locks = new MapMaker().weakValues().makeMap();
+
+    /**
+     * The locks which are held at the moment.
+     */
+    private final ConcurrentMap<String, ReadWriteLock> heldLocks = new ConcurrentHashMap<>();
+
+    @Nonnull
+    @Override
+    public ReadWriteLock getLock(@Nonnull String name)
+    {
+        return locks.computeIfAbsent(name, n -> new LocalReadWriteLock(n, heldLocks));
+    }
+
+    int size()
+    {
+        return locks.size();
+    }
+
+    private static class LocalReadWriteLock implements ReadWriteLock
+    {
+
+        private final String name;
+
+        private final ConcurrentMap<String, ReadWriteLock> heldLocks;
+
+        private final ReentrantReadWriteLock target = new ReentrantReadWriteLock();
+
+        private final Lock readLock = new ParentReferenceLock(target.readLock(), this);
+
+        private final Lock writeLock = new ParentReferenceLock(target.writeLock(), this);
+
+        /**
+         * The read and write holds of all the threads, guarded by this lock object.
+         */
+        private int holdCount;
+
+        private LocalReadWriteLock(String name,
+                                   ConcurrentMap<String, ReadWriteLock> heldLocks)
+        {
+            this.name = name;
+            this.heldLocks = heldLocks;
+        }
+
+        @Override
+        public Lock readLock()
+        {
+            return readLock;
+        }
+
+        @Override
+        public Lock writeLock()
+        {
+            return writeLock;
+        }
+
+        private synchronized void acquired()
+        {
+            if (holdCount++ == 0)
+            {
+                heldLocks.put(name, this);
+            }
+        }
+
+        private synchronized void released()
+        {
+            if (--holdCount == 0)
+            {
+                heldLocks.remove(name, this);
+            }
+        }
+
+    }
+
+    private static class ParentReferenceLock implements Lock
+    {
+
+        private final Lock target;
+
+        private final LocalReadWriteLock parent;
+
+        private ParentReferenceLock(Lock target,
+                                    LocalReadWriteLock parent)
+        {
+            this.target = target;
+            this.parent = parent;
+        }
+
+        @Override
+        public void lock()
+        {
+            target.lock();
+            parent.acquired();
+        }
+
+        @Override
+        public void lockInterruptibly()
+            throws InterruptedException
+        {
+            target.lockInterruptibly();
+            parent.acquired();
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            return acquired(target.tryLock());
+        }
+
+        @Override
+        public boolean tryLock(long time,
+                               TimeUnit unit)
+            throws InterruptedException
+        {
+            return acquired(target.tryLock(time, unit));
+        }
+
+        @Override
+        public void unlock()
+        {
+            target.unlock();
+            parent.released();
+        }
+
+        @Override
+        public Condition newCondition()
+        {
+            return target.newCondition();
+        }
+
+        private boolean acquired(boolean locked)
+        {
+            if (locked)
+            {
+                parent.acquired();
+            }
+
+            return locked;
+        }
+
+    }
+
+}
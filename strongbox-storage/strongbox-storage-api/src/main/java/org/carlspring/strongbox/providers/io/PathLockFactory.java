@@ -0,0 +1,16 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The backend of the {@link RepositoryPathLock}, which provides the read-write lock by its name.
+ */
+public interface PathLockFactory
+{
+
+    @Nonnull
+    ReadWriteLock getLock(@Nonnull String name);
+
+}
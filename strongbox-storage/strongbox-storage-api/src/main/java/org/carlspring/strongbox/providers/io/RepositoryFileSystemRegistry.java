@@ -1,11 +1,19 @@
 package org.carlspring.strongbox.providers.io;
 
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
 
+import javax.inject.Inject;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -16,6 +24,16 @@ public class RepositoryFileSystemRegistry
 
     private Map<String, LayoutFileSystemFactory> fileSystemFactoryMap = new HashMap<>();
 
+    /**
+     * The {@link LayoutFileSystem} instances (along with their
+     * {@link org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider}) by the
+     * `storageId:repositoryId`.
+     */
+    private final Map<String, LayoutFileSystem> fileSystemCache = new ConcurrentHashMap<>();
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
     @Autowired(required = false)
     public void setFileSystemProviderFactories(Map<String, LayoutFileSystemProviderFactory> factories)
     {
@@ -51,4 +69,65 @@ public class RepositoryFileSystemRegistry
     {
         return fileSystemProviderFactoryMap.get(r.getLayout());
     }
+
+    /**
+     * Returns the {@link LayoutFileSystem} of the repository, which is created once per the immutable repository
+     * configuration instance. Any configuration change publishes the new {@link Repository} instances, so the cached
+     * file system of the previous instance is replaced on the next lookup, and the file systems of the repositories
+     * which were removed or replaced in the meantime are dropped.
+     *
+     * @see org.carlspring.strongbox.services.ConfigurationManagementService#getConfiguration()
+     */
+    public LayoutFileSystem getRepositoryFileSystem(Repository r)
+    {
+        // The mutable repositories can be changed in place, so they can't be cached.
+        if (!(r instanceof RepositoryData))
+        {
+            return lookupRepositoryFileSystemFactory(r).create(r);
+        }
+
+        String key = r.getStorageIdAndRepositoryId();
+        LayoutFileSystem fileSystem = fileSystemCache.get(key);
+        if (fileSystem != null && fileSystem.getRepository() == r)
+        {
+            return fileSystem;
+        }
+
+        if (fileSystem != null)
+        {
+            evictStale();
+        }
+
+        fileSystem = lookupRepositoryFileSystemFactory(r).create(r);
+        fileSystemCache.put(key, fileSystem);
+
+        return fileSystem;
+    }
+
+    @EventListener
+    public void handle(RepositoryEvent event)
+    {
+        if (event.getType() == RepositoryEventTypeEnum.EVENT_REPOSITORY_DELETED.getType())
+        {
+            fileSystemCache.remove(event.getStorageId() + ":" + event.getRepositoryId());
+        }
+    }
+
+    /**
+     * Drops the file systems, which don't belong to the current configuration anymore. A cached file system of an
+     * outdated {@link Repository} instance means that the configuration has changed, which is rare, so the whole
+     * cache is checked only then.
+     */
+    private void evictStale()
+    {
+        fileSystemCache.values().removeIf(fs -> !isCurrent(fs.getRepository()));
+    }
+
+    private boolean isCurrent(Repository r)
+    {
+        Storage storage = configurationManager.getConfiguration().getStorage(r.getStorage().getId());
+
+        return storage != null && storage.getRepository(r.getId()) == r;
+    }
+
 }
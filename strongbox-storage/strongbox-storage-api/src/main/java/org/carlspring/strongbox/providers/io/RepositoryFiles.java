@@ -3,6 +3,8 @@ package org.carlspring.strongbox.providers.io;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RemoteArtifactEntry;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
 
 import java.io.IOException;
 import java.net.URI;
@@ -58,6 +60,20 @@ public abstract class RepositoryFiles
         return (Boolean) Files.getAttribute(path, formatAttributes(RepositoryFileAttributeType.ARTIFACT));
     }
 
+    /**
+     * The artifacts of the release repositories, which don't allow the redeployment, are written once (moved atomically
+     * from the {@link TempRepositoryPath}) and never modified after that, so they can be read without locking.
+     */
+    public static boolean isImmutable(RepositoryPath path)
+        throws IOException
+    {
+        Repository repository = path.getRepository();
+
+        return RepositoryPolicyEnum.RELEASE.getPolicy().equals(repository.getPolicy()) &&
+               !repository.allowsRedeployment() &&
+               isArtifact(path);
+    }
+
     public static boolean wasModifiedAfter(RepositoryPath path,
                                            Instant timeLinePoint)
             throws IOException
@@ -146,6 +162,19 @@ public abstract class RepositoryFiles
         return TempRepositoryPath.of(p);
     }
     
+    /**
+     * Creates unique spool file within temporary location of given path. Note
+     * that the result is the plain storage {@link java.nio.file.Path}, so it
+     * can be used without any of the layout specific logic.
+     */
+    public static java.nio.file.Path spool(RepositoryPath p)
+        throws IOException
+    {
+        TempRepositoryPath tempPath = TempRepositoryPath.of(p);
+
+        return Files.createTempFile(tempPath.getParent().getTarget(), p.getFileName().toString(), ".spool");
+    }
+
     public static RepositoryPath trash(RepositoryPath p)
         throws IOException
     {
@@ -4,22 +4,34 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import javax.annotation.Nonnull;
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import com.hazelcast.core.HazelcastInstance;
 
-import ca.thoughtwire.lock.DistributedLockService;
-
 /**
+ * The locks are provided by the {@link PathLockFactory} of the `strongbox.repositoryPathLock.mode`: the
+ * {@link DistributedPathLockFactory} (`distributed`, the default, for the clusters) or the
+ * {@link LocalPathLockFactory} (`local`, for the single node deployments).
+ * <br>
+ * The lock acquisitions of both are metered: the number of the acquisitions, the number of the acquisitions which
+ * took longer than {@link #CONTENDED_THRESHOLD_NANOS} or failed, and the average time to acquire.
+ *
  * @author Przemyslaw Fusik
  */
 @Component
@@ -28,12 +40,47 @@ public class RepositoryPathLock
 
     private static final Logger logger = LoggerFactory.getLogger(RepositoryPathLock.class);
 
-    private DistributedLockService lockService;
+    public static final String MODE_DISTRIBUTED = "distributed";
+
+    public static final String MODE_LOCAL = "local";
+
+    /**
+     * The acquisitions which took longer are counted as contended, the time of an uncontended acquisition includes
+     * the round trip to the cluster in the `distributed` mode.
+     */
+    static final long CONTENDED_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Value("${strongbox.repositoryPathLock.mode:" + MODE_DISTRIBUTED + "}")
+    private String mode;
 
     @Inject
-    public void setHazelcastInstance(HazelcastInstance hazelcastInstance)
+    private HazelcastInstance hazelcastInstance;
+
+    private PathLockFactory lockFactory;
+
+    private final LongAdder acquiredCount = new LongAdder();
+
+    private final LongAdder contendedCount = new LongAdder();
+
+    private final LongAdder totalAcquireNanos = new LongAdder();
+
+    @PostConstruct
+    public void init()
     {
-        lockService = DistributedLockService.newHazelcastLockService(hazelcastInstance);
+        if (MODE_LOCAL.equals(mode))
+        {
+            lockFactory = new LocalPathLockFactory();
+        }
+        else if (MODE_DISTRIBUTED.equals(mode))
+        {
+            lockFactory = new DistributedPathLockFactory(hazelcastInstance);
+        }
+        else
+        {
+            throw new IllegalArgumentException(String.format("Unknown repository path lock mode [%s].", mode));
+        }
+
+        logger.info("Using [{}] repository path locks.", mode);
     }
 
     public ReadWriteLock lock(final @Nonnull RepositoryPath repositoryPath) throws IOException
@@ -48,22 +95,27 @@ public class RepositoryPathLock
         String lockName = Optional.ofNullable(id)
                                   .map(p -> String.format("%s?%s", lock, p))
                                   .orElseGet(() -> lock.toString());
-        logger.debug("Get lock for [{}]", lock);
+        logger.debug("Get lock for [{}]", lockName);
         
-        return lockService.getReentrantReadWriteLock(lockName);
+        return new MeteredReadWriteLock(lockFactory.getLock(lockName));
     }
 
-    private URI getLock(final @Nonnull RepositoryPath repositoryPath) throws IOException
+    /**
+     * The lock of the {@link RepositoryArtifactIdGroupEntry} of the artifact. The artifact files are locked by their
+     * own path, so the different versions are written concurrently, and only the group update is serialized.
+     * <br>
+     * The group lock is taken while the artifact path lock is held, never the other way round.
+     */
+    public ReadWriteLock lockArtifactIdGroup(final @Nonnull RepositoryPath repositoryPath)
+        throws IOException
     {
-        if (RepositoryFiles.isArtifact(repositoryPath))
-        {
-            ArtifactCoordinates c = RepositoryFiles.readCoordinates(repositoryPath);
-            // We should lock all the RepositoryArtifactIdGroup because there can be
-            // `ArtifactEntryServiceImpl.updateLastVersionTag()` operations
-            // which affetcs on other artifacts from group.
-            return URI.create(URLEncoder.encode(c.getId(), "UTF-8"));
-        }
+        ArtifactCoordinates c = RepositoryFiles.readCoordinates(repositoryPath);
 
+        return lock(repositoryPath.getRoot(), URLEncoder.encode(c.getId(), "UTF-8"));
+    }
+
+    private URI getLock(final @Nonnull RepositoryPath repositoryPath)
+    {
         final URI lock = repositoryPath.toUri();
 
         Assert.isTrue(lock.isAbsolute(), String.format("Unable to lock relative path %s", lock));
@@ -71,4 +123,147 @@ public class RepositoryPathLock
         return lock;
     }
 
+    public String getMode()
+    {
+        return mode;
+    }
+
+    public long getAcquiredCount()
+    {
+        return acquiredCount.sum();
+    }
+
+    /**
+     * @return the number of the acquisitions which took longer than {@link #CONTENDED_THRESHOLD_NANOS} or failed
+     */
+    public long getContendedCount()
+    {
+        return contendedCount.sum();
+    }
+
+    /**
+     * @return the average time to acquire the lock, in milliseconds
+     */
+    public double getAverageAcquireMillis()
+    {
+        long count = acquiredCount.sum();
+
+        return count == 0 ? 0 : totalAcquireNanos.sum() / 1_000_000d / count;
+    }
+
+    private class MeteredReadWriteLock implements ReadWriteLock
+    {
+
+        private final Lock readLock;
+
+        private final Lock writeLock;
+
+        private MeteredReadWriteLock(ReadWriteLock target)
+        {
+            this.readLock = new MeteredLock(target.readLock());
+            this.writeLock = new MeteredLock(target.writeLock());
+        }
+
+        @Override
+        public Lock readLock()
+        {
+            return readLock;
+        }
+
+        @Override
+        public Lock writeLock()
+        {
+            return writeLock;
+        }
+
+    }
+
+    /**
+     * Only the acquisition itself is timed, there are no extra calls to the backend, which would mean the extra round
+     * trips to the cluster in the `distributed` mode.
+     */
+    private class MeteredLock implements Lock
+    {
+
+        private final Lock target;
+
+        private MeteredLock(Lock target)
+        {
+            this.target = target;
+        }
+
+        @Override
+        public void lock()
+        {
+            long start = System.nanoTime();
+            target.lock();
+            acquired(start);
+        }
+
+        @Override
+        public void lockInterruptibly()
+            throws InterruptedException
+        {
+            long start = System.nanoTime();
+            target.lockInterruptibly();
+            acquired(start);
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            long start = System.nanoTime();
+            if (!target.tryLock())
+            {
+                contendedCount.increment();
+
+                return false;
+            }
+            acquired(start);
+
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time,
+                               TimeUnit unit)
+            throws InterruptedException
+        {
+            long start = System.nanoTime();
+            if (!target.tryLock(time, unit))
+            {
+                contendedCount.increment();
+
+                return false;
+            }
+            acquired(start);
+
+            return true;
+        }
+
+        @Override
+        public void unlock()
+        {
+            target.unlock();
+        }
+
+        @Override
+        public Condition newCondition()
+        {
+            return target.newCondition();
+        }
+
+        private void acquired(long start)
+        {
+            long acquireNanos = System.nanoTime() - start;
+            if (acquireNanos > CONTENDED_THRESHOLD_NANOS)
+            {
+                contendedCount.increment();
+            }
+            acquiredCount.increment();
+            totalAcquireNanos.add(acquireNanos);
+        }
+
+    }
+
 }
@@ -3,7 +3,9 @@ package org.carlspring.strongbox.providers.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -71,7 +73,16 @@ public class RepositoryStreamSupport
         }
 
         RepositoryPath path = (RepositoryPath) ctx.getPath();
-        
+        if (ctx instanceof RepositoryStreamReadContext && RepositoryFiles.isImmutable(path))
+        {
+            // Once opened, the file is read to the end, even if it's deleted or replaced meanwhile.
+            logger.debug("Reading immutable [{}] without locking.", path);
+
+            ctx.setOpened(true);
+
+            return;
+        }
+
         logger.debug("Locking [{}].", path);
         
         Lock lock = ctx instanceof RepositoryStreamWriteContext ? lockSource.writeLock() : lockSource.readLock();
@@ -92,9 +103,13 @@ public class RepositoryStreamSupport
             return;
         }
 
-        ctx.getLock().unlock();
-        
-        logger.debug("Unlocked [{}].", ctx.getPath());
+        Lock lock = ctx.getLock();
+        if (lock != null)
+        {
+            lock.unlock();
+
+            logger.debug("Unlocked [{}].", ctx.getPath());
+        }
         
         clearContext();
     }
@@ -185,6 +200,8 @@ public class RepositoryStreamSupport
             extends ProxyInputStream
     {
 
+        private boolean transferred;
+
         protected RepositoryInputStream(Path path,
                                         InputStream in) throws IOException
         {
@@ -221,12 +238,53 @@ public class RepositoryStreamSupport
         protected void beforeRead(int n)
             throws IOException
         {
-            if (((CountingInputStream) in).getByteCount() == 0)
+            if (((CountingInputStream) in).getByteCount() == 0 && !transferred)
             {
                 callback.onBeforeRead((RepositoryStreamReadContext) ctx);
             }
         }
 
+        /**
+         * Opens the {@link FileChannel} of the underlying file, so it can be
+         * transferred without reading this stream. The file stays locked until
+         * this stream is closed, and the read callbacks are triggered the same
+         * way as for regular reading.
+         *
+         * @return the {@link FileChannel} or `null` if the storage doesn't
+         *         support it.
+         */
+        public FileChannel openChannel()
+            throws IOException
+        {
+            FileChannel channel;
+            try
+            {
+                channel = FileChannel.open(ctx.getPath(), StandardOpenOption.READ);
+            }
+            catch (UnsupportedOperationException e)
+            {
+                logger.debug("FileChannel not supported for [{}].", ctx.getPath());
+
+                return null;
+            }
+
+            if (((CountingInputStream) in).getByteCount() == 0 && !transferred)
+            {
+                try
+                {
+                    callback.onBeforeRead((RepositoryStreamReadContext) ctx);
+                }
+                catch (IOException e)
+                {
+                    channel.close();
+                    throw e;
+                }
+            }
+            transferred = true;
+
+            return channel;
+        }
+
         @Override
         public void close()
             throws IOException
@@ -234,7 +292,7 @@ public class RepositoryStreamSupport
             try
             {
                 super.close();
-                if (((CountingInputStream) in).getByteCount() > 0) 
+                if (((CountingInputStream) in).getByteCount() > 0 || transferred) 
                 {
                     callback.onAfterRead((RepositoryStreamReadContext) ctx);
                 }
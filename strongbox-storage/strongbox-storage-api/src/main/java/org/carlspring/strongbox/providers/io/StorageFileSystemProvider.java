@@ -5,11 +5,13 @@ import java.io.OutputStream;
 import java.net.URI;
 import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.AccessMode;
 import java.nio.file.CopyOption;
 import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.DirectoryStream.Filter;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileStore;
 import java.nio.file.FileSystem;
 import java.nio.file.FileVisitResult;
@@ -24,6 +26,7 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.FileAttributeView;
 import java.nio.file.spi.FileSystemProvider;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -34,6 +37,7 @@ import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.output.ProxyOutputStream;
+import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -302,6 +306,64 @@ public abstract class StorageFileSystemProvider
         return result;
     }
 
+    /**
+     * Resolves the checksum values of the path, mapped by digest algorithm.
+     * <br>
+     * The values are taken from the {@link ArtifactEntry}, which gets them when the artifact is stored, so the
+     * checksum files are only read for the algorithms which are missing there (for example if the path is not an
+     * artifact).
+     */
+    public Map<String, String> resolveChecksumMap(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        ArtifactEntry artifactEntry = Boolean.TRUE.equals(RepositoryFiles.isArtifact(repositoryPath))
+                ? repositoryPath.getArtifactEntry()
+                : null;
+
+        return resolveChecksumMap(repositoryPath, artifactEntry);
+    }
+
+    /**
+     * Same as {@link #resolveChecksumMap(RepositoryPath)}, but for those who already have the {@link ArtifactEntry}.
+     */
+    public Map<String, String> resolveChecksumMap(RepositoryPath repositoryPath,
+                                                  ArtifactEntry artifactEntry)
+        throws IOException
+    {
+        Map<String, String> artifactChecksums = artifactEntry == null ? Collections.emptyMap()
+                : artifactEntry.getChecksums();
+
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, RepositoryPath> entry : resolveChecksumPathMap(repositoryPath).entrySet())
+        {
+            String checksum = artifactChecksums.get(entry.getKey());
+            if (checksum == null)
+            {
+                checksum = readChecksum(entry.getValue());
+            }
+
+            if (checksum != null)
+            {
+                result.put(entry.getKey(), checksum);
+            }
+        }
+
+        return result;
+    }
+
+    private String readChecksum(RepositoryPath checksumPath)
+        throws IOException
+    {
+        try
+        {
+            return new String(Files.readAllBytes(checksumPath), StandardCharsets.UTF_8).trim();
+        }
+        catch (NoSuchFileException e)
+        {
+            return null;
+        }
+    }
+
     protected void doDeletePath(RepositoryPath repositoryPath,
                                 boolean force)
         throws IOException
@@ -369,11 +431,20 @@ public abstract class StorageFileSystemProvider
         {
             Files.createDirectories(unwrap(path).getParent());
         }
-        if (Files.exists(path.getTarget()))
+        // The target is replaced atomically, so that the readers see either the previous or the new file, never none.
+        try
+        {
+            Files.move(tempPath.getTarget(),
+                       path.getTarget(),
+                       StandardCopyOption.ATOMIC_MOVE,
+                       StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (FileAlreadyExistsException e)
         {
+            // The file system can't replace the existing file with the atomic move.
             Files.delete(path.getTarget());
+            Files.move(tempPath.getTarget(), path.getTarget(), StandardCopyOption.ATOMIC_MOVE);
         }
-        Files.move(tempPath.getTarget(), path.getTarget(), StandardCopyOption.ATOMIC_MOVE);
 
         //path.artifactEntry = tempPath.artifactEntry;
 
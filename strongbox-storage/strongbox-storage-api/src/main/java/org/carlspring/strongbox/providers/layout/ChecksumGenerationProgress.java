@@ -0,0 +1,85 @@
+package org.carlspring.strongbox.providers.layout;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts the files processed by {@link LayoutFileSystemProvider#storeChecksum(org.carlspring.strongbox.providers.io.RepositoryPath, boolean, ChecksumGenerationProgress)}
+ * and logs the throughput periodically. It can be shared by the concurrent calls, to report the whole repository.
+ */
+public class ChecksumGenerationProgress
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ChecksumGenerationProgress.class);
+
+    private static final long PROGRESS_REPORT_INTERVAL = 1000;
+
+    private final long startTime = System.currentTimeMillis();
+
+    private final AtomicLong digestedFiles = new AtomicLong();
+
+    private final LongAdder digestedBytes = new LongAdder();
+
+    private final LongAdder skippedFiles = new LongAdder();
+
+    public void digested(long bytes)
+    {
+        digestedBytes.add(bytes);
+
+        long files = digestedFiles.incrementAndGet();
+        if (files % PROGRESS_REPORT_INTERVAL == 0)
+        {
+            logger.info("Checksums progress: {}", this);
+        }
+    }
+
+    public void skipped()
+    {
+        skippedFiles.increment();
+    }
+
+    public long getDigestedFiles()
+    {
+        return digestedFiles.get();
+    }
+
+    public long getDigestedBytes()
+    {
+        return digestedBytes.sum();
+    }
+
+    public long getSkippedFiles()
+    {
+        return skippedFiles.sum();
+    }
+
+    public long getFilesPerSecond()
+    {
+        return getDigestedFiles() * 1000 / getDuration();
+    }
+
+    public long getBytesPerSecond()
+    {
+        return getDigestedBytes() * 1000 / getDuration();
+    }
+
+    private long getDuration()
+    {
+        return Math.max(1, System.currentTimeMillis() - startTime);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("digested [%s] files ([%s] files/s), [%s] bytes ([%s] bytes/s), skipped [%s] up to date files",
+                             getDigestedFiles(),
+                             getFilesPerSecond(),
+                             getDigestedBytes(),
+                             getBytesPerSecond(),
+                             getSkippedFiles());
+    }
+
+}
@@ -2,6 +2,7 @@ package org.carlspring.strongbox.providers.layout;
 
 import org.carlspring.commons.io.reloading.FSReloadableInputStreamHandler;
 import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
 import org.carlspring.strongbox.event.repository.RepositoryEventListenerRegistry;
@@ -11,30 +12,42 @@ import org.carlspring.strongbox.io.LayoutOutputStream;
 import org.carlspring.strongbox.io.LazyInputStream;
 import org.carlspring.strongbox.io.LazyOutputStream;
 import org.carlspring.strongbox.io.LazyOutputStream.OutputStreamSupplier;
-import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributeType;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.StorageFileSystemProvider;
 import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
 import org.carlspring.strongbox.storage.ArtifactResolutionException;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.util.MessageDigestUtils;
 
 import javax.inject.Inject;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.nio.file.spi.FileSystemProvider;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.google.common.collect.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +64,8 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
 
     private static final Logger logger = LoggerFactory.getLogger(LayoutFileSystemProvider.class);
 
+    private static final int READ_BUFFER_SIZE = 256 * 1024;
+
     @Inject
     private ArtifactEventListenerRegistry artifactEventListenerRegistry;
     
@@ -60,6 +75,9 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
     @Inject
     private ArtifactEntryService artifactEntryService;
 
+    @Inject
+    private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
+
 
     public LayoutFileSystemProvider(FileSystemProvider storageFileSystemProvider)
     {
@@ -72,7 +90,7 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
     public LazyInputStream newInputStream(Path path,
                                           OpenOption... options)
             throws IOException
-    {        
+    {
         return new LazyInputStream(() -> {
             try
             {
@@ -101,17 +119,15 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
         });
     }
 
+    /**
+     * The files are not digested on read, their checksums are calculated when they are written (see
+     * {@link #decorateStream(RepositoryPath, OutputStream)}) or regenerated (see {@link #writeChecksum}).
+     */
     protected LayoutInputStream decorateStream(RepositoryPath path,
                                                InputStream is)
             throws NoSuchAlgorithmException, IOException
     {
-        // Add digest algorithm only if it is not a Checksum (we don't need a Checksum of Checksum).
-        if (Boolean.TRUE.equals(RepositoryFiles.isChecksum(path)))
-        {
-            return new LayoutInputStream(is, Collections.emptySet());
-        }
-
-        return new LayoutInputStream(is, path.getFileSystem().getDigestAlgorithmSet());
+        return new LayoutInputStream(is, Collections.emptySet());
     }
 
     public RepositoryPath getChecksumPath(RepositoryPath path,
@@ -178,23 +194,46 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                               boolean forceRegeneration)
             throws IOException
     {
-        Files.walk(basePath)
-             .filter(p -> !Files.isDirectory(p))
-             .filter(p -> {
-                 try
-                 {
-                     return !Boolean.TRUE.equals(RepositoryFiles.isChecksum((RepositoryPath) p));
-                 }
-                 catch (IOException e)
-                 {
-                     logger.error("Failed to read attributes for [{}]", p, e);
-                 }
-                 return false;
-             })
+        ChecksumGenerationProgress progress = new ChecksumGenerationProgress();
+        storeChecksum(basePath, forceRegeneration, progress);
+
+        logger.debug("Stored checksums in [{}]: {}", basePath, progress);
+    }
+
+    /**
+     * Writes the checksums of all the files under the base path. The files are digested in parallel: within the
+     * fork-join pool of the caller (like the one of the {@link ArtifactDirectoryLocator}) they are spread across its
+     * workers, otherwise across the common pool.
+     */
+    public void storeChecksum(RepositoryPath basePath,
+                              boolean forceRegeneration,
+                              ChecksumGenerationProgress progress)
+            throws IOException
+    {
+        List<RepositoryPath> paths;
+        try (Stream<Path> pathStream = Files.walk(basePath))
+        {
+            paths = pathStream.filter(p -> !Files.isDirectory(p))
+                              .filter(p -> {
+                                  try
+                                  {
+                                      return !Boolean.TRUE.equals(RepositoryFiles.isChecksum((RepositoryPath) p));
+                                  }
+                                  catch (IOException e)
+                                  {
+                                      logger.error("Failed to read attributes for [{}]", p, e);
+                                  }
+                                  return false;
+                              })
+                              .map(p -> (RepositoryPath) p)
+                              .collect(Collectors.toList());
+        }
+
+        paths.parallelStream()
              .forEach(p -> {
                  try
                  {
-                     writeChecksum((RepositoryPath) p, forceRegeneration);
+                     writeChecksum(p, forceRegeneration, progress);
                  }
                  catch (IOException e)
                  {
@@ -203,40 +242,150 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
              });
     }
 
-    
+    /**
+     * Writes the missing checksums and the ones older than the file (all of them, if forced). The file is read once,
+     * and all the digests are calculated in the same pass.
+     */
     protected void writeChecksum(RepositoryPath path,
-                                 boolean force)
+                                 boolean force,
+                                 ChecksumGenerationProgress progress)
             throws IOException
     {
-        try (InputStream is = newInputStream(path))
+        FileTime lastModifiedTime = getLastModifiedTime(path);
+
+        Map<String, RepositoryPath> checksumPaths = new LinkedHashMap<>();
+        for (String digestAlgorithm : path.getFileSystem().getDigestAlgorithmSet())
         {
-            byte[] buffer = new byte[1024];
-            while (is.read(buffer) > 0)
+            RepositoryPath checksumPath = getChecksumPath(path, digestAlgorithm);
+            if (force || !Files.exists(checksumPath) ||
+                Files.getLastModifiedTime(checksumPath).compareTo(lastModifiedTime) < 0)
             {
-                //calculate checksum while reading the stream
+                checksumPaths.put(digestAlgorithm, checksumPath);
             }
-            Set<String> digestAlgorithmSet = path.getFileSystem().getDigestAlgorithmSet();
-            digestAlgorithmSet.stream()
-                              .forEach(p ->
-                                       {
-                                           String checksum = StreamUtils.findSource(LayoutInputStream.class, is)
-                                                                        .getMessageDigestAsHexadecimalString(p);
-                                           RepositoryPath checksumPath = getChecksumPath(path, p);
-                                           if (Files.exists(checksumPath) && !force)
-                                           {
-                                               return;
-                                           }
-                                           try
-                                           {
-                                               Files.write(checksumPath, checksum.getBytes());
-                                           }
-                                           catch (IOException e)
-                                           {
-                                               logger.error("Failed to write checksum for [{}]",
-                                                            checksumPath.toString(), e);
-                                           }
-                                       });
         }
+
+        if (checksumPaths.isEmpty())
+        {
+            progress.skipped();
+
+            return;
+        }
+
+        Map<String, MessageDigest> messageDigests = new LinkedHashMap<>();
+        for (String digestAlgorithm : checksumPaths.keySet())
+        {
+            try
+            {
+                messageDigests.put(digestAlgorithm, MessageDigest.getInstance(digestAlgorithm));
+            }
+            catch (NoSuchAlgorithmException e)
+            {
+                logger.error("Digest algorithm not supported: alg-[{}]", digestAlgorithm, e);
+            }
+        }
+
+        long bytes = digest(path, messageDigests.values());
+
+        Map<String, String> checksums = new LinkedHashMap<>();
+        messageDigests.forEach((digestAlgorithm, messageDigest) -> {
+            RepositoryPath checksumPath = checksumPaths.get(digestAlgorithm);
+            String checksum = MessageDigestUtils.convertToHexadecimalString(messageDigest);
+            try
+            {
+                Files.write(checksumPath, checksum.getBytes());
+            }
+            catch (IOException e)
+            {
+                logger.error("Failed to write checksum for [{}]", checksumPath.toString(), e);
+            }
+            checksums.put(digestAlgorithm, checksum);
+        });
+
+        if (RepositoryFiles.isArtifact(path))
+        {
+            saveChecksums(path, checksums);
+        }
+
+        progress.digested(bytes);
+    }
+
+    /**
+     * The checksums are served from the artifact entry, so the regenerated ones are saved into it as well.
+     */
+    private void saveChecksums(RepositoryPath path,
+                               Map<String, String> checksums)
+            throws IOException
+    {
+        ArtifactEntry artifactEntry = path.getArtifactEntry();
+        if (artifactEntry == null || checksums.equals(Maps.filterKeys(artifactEntry.getChecksums(),
+                                                                     checksums::containsKey)))
+        {
+            return;
+        }
+
+        artifactEntry.getChecksums().putAll(checksums);
+        artifactEntryService.save(artifactEntry);
+    }
+
+    /**
+     * Reads the file through the large buffer and updates all the digests with each chunk. The file is not mapped, the
+     * mapped buffers are only released by the garbage collector, so they would pile up with the big files.
+     *
+     * @return the number of the bytes digested
+     */
+    private long digest(RepositoryPath path,
+                        Collection<MessageDigest> messageDigests)
+            throws IOException
+    {
+        FileChannel channel;
+        try
+        {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+        catch (UnsupportedOperationException e)
+        {
+            return digest(Files.newInputStream(path), messageDigests);
+        }
+
+        long result = 0;
+        try (FileChannel c = channel)
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            while (c.read(buffer) != -1)
+            {
+                buffer.flip();
+                for (MessageDigest messageDigest : messageDigests)
+                {
+                    messageDigest.update(buffer.array(), 0, buffer.limit());
+                }
+                result += buffer.limit();
+                buffer.clear();
+            }
+        }
+
+        return result;
+    }
+
+    private long digest(InputStream inputStream,
+                        Collection<MessageDigest> messageDigests)
+            throws IOException
+    {
+        long result = 0;
+        try (InputStream is = inputStream)
+        {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int length;
+            while ((length = is.read(buffer)) != -1)
+            {
+                for (MessageDigest messageDigest : messageDigests)
+                {
+                    messageDigest.update(buffer, 0, length);
+                }
+                result += length;
+            }
+        }
+
+        return result;
     }
 
     @Override
@@ -281,12 +430,37 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                                               .orElseGet(() -> fetchArtifactEntry(repositoryPath));
         if (artifactEntry != null)
         {
-            artifactEntryService.delete(artifactEntry);
+            repositoryArtifactIdGroupService.deleteArtifactEntry(repositoryPath, artifactEntry);
         }
         
         super.doDeletePath(repositoryPath, force);
     }
 
+    /**
+     * The file content can be shared with the other paths (see the content-addressable storage), so the time when the
+     * artifact path was written is the last update of its artifact entry, if it's later than the file modification.
+     */
+    private FileTime getLastModifiedTime(RepositoryPath path)
+            throws IOException
+    {
+        FileTime result = Files.getLastModifiedTime(path);
+        if (!RepositoryFiles.isArtifact(path))
+        {
+            return result;
+        }
+
+        ArtifactEntry artifactEntry = Optional.ofNullable(path.getArtifactEntry())
+                                              .orElseGet(() -> fetchArtifactEntry(path));
+        if (artifactEntry == null || artifactEntry.getLastUpdated() == null)
+        {
+            return result;
+        }
+
+        FileTime lastUpdated = FileTime.fromMillis(artifactEntry.getLastUpdated().getTime());
+
+        return lastUpdated.compareTo(result) > 0 ? lastUpdated : result;
+    }
+
     private ArtifactEntry fetchArtifactEntry(RepositoryPath repositoryPath)
     {
         Repository repository = repositoryPath.getRepository();
@@ -1,32 +1,302 @@
 package org.carlspring.strongbox.providers.repository;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+
+import javax.inject.Inject;
 
-import org.carlspring.strongbox.artifact.AsyncArtifactEntryHandler;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.AsyncEventListener;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
 import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.repository.PendingArtifactDownloads.Downloads;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.orientechnologies.common.concur.ONeedRetryException;
 
+/**
+ * Accumulates the artifact downloads in memory and flushes them into the {@link ArtifactEntry} download count and
+ * last used date periodically (or when there are too many pending artifacts), in batched transactions.
+ * <br>
+ * Every node persists only its own downloads as the increments of the stored values, so the counts from all the
+ * cluster nodes are merged together. The pending downloads are flushed on shutdown, and the ones which failed to be
+ * written are kept for the next flush.
+ */
 @Component
-public class ArtifactDownloadingEventHandler extends AsyncArtifactEntryHandler
+public class ArtifactDownloadingEventHandler
+        implements InitializingBean, DisposableBean
 {
 
-    public ArtifactDownloadingEventHandler()
+    private static final int MAX_RETRY = 10;
+
+    /**
+     * The number of the artifacts, which are locked and written in one transaction.
+     */
+    private static final int LOCKED_CHUNK_SIZE = 20;
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactDownloadingEventHandler.class);
+
+    @Value("${strongbox.artifact.downloads.flushIntervalSeconds:10}")
+    private int flushIntervalSeconds;
+
+    @Value("${strongbox.artifact.downloads.flushBatchSize:500}")
+    private int flushBatchSize;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryPathLock repositoryPathLock;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    private final PendingArtifactDownloads pendingDownloads = new PendingArtifactDownloads();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private ScheduledExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet()
     {
-        super(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADING);
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("download-statistics-"));
+        executor.scheduleWithFixedDelay(this::flushQuietly,
+                                        flushIntervalSeconds,
+                                        flushIntervalSeconds,
+                                        TimeUnit.SECONDS);
     }
 
     @Override
-    protected ArtifactEntry handleEvent(RepositoryPath repositoryPath) throws IOException
+    public void destroy()
+        throws InterruptedException
+    {
+        executor.shutdown();
+        executor.awaitTermination(flushIntervalSeconds, TimeUnit.SECONDS);
+
+        flush();
+    }
+
+    @AsyncEventListener
+    public void handleEvent(final ArtifactEvent<RepositoryPath> event)
+        throws IOException
+    {
+        if (ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADING.getType() != event.getType())
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = (RepositoryPath) event.getPath();
+        if (!RepositoryFiles.isArtifact(repositoryPath))
+        {
+            return;
+        }
+
+        Repository repository = repositoryPath.getRepository();
+        String path = RepositoryFiles.relativizePath(repositoryPath);
+        String key = String.format("%s:%s:%s", repository.getStorage().getId(), repository.getId(), path);
+        long now = System.currentTimeMillis();
+
+        int pending = pendingDownloads.increment(key, repositoryPath, path, now);
+
+        if (pending >= flushBatchSize && !executor.isShutdown() && flushRequested.compareAndSet(false, true))
+        {
+            executor.execute(this::flushQuietly);
+        }
+    }
+
+    private void flushQuietly()
+    {
+        try
+        {
+            flush();
+        }
+        catch (InterruptedException e)
+        {
+            logger.warn("The download statistics flush was interrupted, the rest is kept for the next flush.");
+
+            Thread.currentThread().interrupt();
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to flush the download statistics.", e);
+        }
+    }
+
+    /**
+     * Writes all the pending downloads into the database, in the chunks of {@link #LOCKED_CHUNK_SIZE} artifacts.
+     */
+    public synchronized void flush()
+        throws InterruptedException
+    {
+        flushRequested.set(false);
+
+        List<Downloads> batch = pendingDownloads.drain();
+        int i = 0;
+        try
+        {
+            for (; i < batch.size(); i += LOCKED_CHUNK_SIZE)
+            {
+                flushLocked(batch.subList(i, Math.min(i + LOCKED_CHUNK_SIZE, batch.size())));
+            }
+        }
+        finally
+        {
+            // The chunks after an interrupted one are kept for the next flush.
+            batch.subList(Math.min(i + LOCKED_CHUNK_SIZE, batch.size()), batch.size())
+                 .forEach(pendingDownloads::requeue);
+        }
+    }
+
+    /**
+     * The locks are taken with `tryLock()`, because the chunk holds several of them at once and the other nodes can
+     * take them in a different order. The artifacts which are locked at the moment are left for the next flush, as
+     * well as the whole chunk if the locking fails unexpectedly.
+     */
+    private void flushLocked(List<Downloads> chunk)
+        throws InterruptedException
+    {
+        List<Lock> locks = new ArrayList<>();
+        List<Downloads> lockedChunk = new ArrayList<>();
+        int i = 0;
+        boolean locked = false;
+        try
+        {
+            for (; i < chunk.size(); i++)
+            {
+                Downloads downloads = chunk.get(i);
+                Lock lock = lookupLock(downloads);
+                if (lock == null || !lock.tryLock())
+                {
+                    pendingDownloads.requeue(downloads);
+                    continue;
+                }
+
+                locks.add(lock);
+                lockedChunk.add(downloads);
+            }
+            locked = true;
+
+            // From here on the chunk is requeued by the flush itself if it fails.
+            if (!lockedChunk.isEmpty())
+            {
+                flushWithRetry(lockedChunk);
+            }
+        }
+        finally
+        {
+            locks.forEach(Lock::unlock);
+
+            if (!locked)
+            {
+                lockedChunk.forEach(pendingDownloads::requeue);
+                chunk.subList(i, chunk.size()).forEach(pendingDownloads::requeue);
+            }
+        }
+    }
+
+    private Lock lookupLock(Downloads downloads)
     {
-        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
-        
-        artifactEntry.setDownloadCount(artifactEntry.getDownloadCount() + 1);
-        artifactEntry.setLastUsed(new Date());
+        try
+        {
+            return repositoryPathLock.lock(downloads.getRepositoryPath(), ArtifactEntry.class.getSimpleName())
+                                     .writeLock();
+        }
+        catch (IOException e)
+        {
+            logger.error("Failed to lock [{}].", downloads.getKey(), e);
+
+            return null;
+        }
+    }
+
+    private void flushWithRetry(List<Downloads> chunk)
+        throws InterruptedException
+    {
+        for (int i = 1; i <= MAX_RETRY; i++)
+        {
+            try
+            {
+                flushTransactional(chunk);
+
+                return;
+            }
+            catch (ONeedRetryException e)
+            {
+                logger.debug("Retry the download statistics flush of [{}] artifacts.", chunk.size());
+            }
+            catch (RuntimeException e)
+            {
+                logger.error("Failed to flush the download statistics of [{}] artifacts, postponed.", chunk.size(), e);
+                chunk.forEach(pendingDownloads::requeue);
+
+                return;
+            }
+
+            try
+            {
+                Thread.sleep(10);
+            }
+            catch (InterruptedException e)
+            {
+                chunk.forEach(pendingDownloads::requeue);
+
+                throw e;
+            }
+        }
+
+        logger.warn("Failed to flush the download statistics of [{}] artifacts, postponed.", chunk.size());
+        chunk.forEach(pendingDownloads::requeue);
+    }
+
+    private void flushTransactional(List<Downloads> chunk)
+    {
+        new TransactionTemplate(transactionManager).execute(t -> {
+            for (Downloads downloads : chunk)
+            {
+                Repository repository = downloads.getRepositoryPath().getRepository();
+                ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(repository.getStorage().getId(),
+                                                                                   repository.getId(),
+                                                                                   downloads.getPath());
+                if (artifactEntry == null)
+                {
+                    logger.debug("No [{}] found for [{}].", ArtifactEntry.class.getSimpleName(), downloads.getKey());
+
+                    continue;
+                }
+
+                Date lastUsed = artifactEntry.getLastUsed();
+                if (lastUsed == null || lastUsed.getTime() < downloads.getLastUsed())
+                {
+                    artifactEntry.setLastUsed(new Date(downloads.getLastUsed()));
+                }
+                artifactEntry.setDownloadCount(artifactEntry.getDownloadCount() + downloads.getCount());
+
+                artifactEntryService.save(artifactEntry);
+            }
 
-        return artifactEntry;
+            return null;
+        });
     }
 
 }
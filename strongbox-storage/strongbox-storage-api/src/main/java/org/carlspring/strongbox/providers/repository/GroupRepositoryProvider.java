@@ -4,20 +4,37 @@ package org.carlspring.strongbox.providers.repository;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.configuration.ConfigurationUtils;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
@@ -39,6 +56,10 @@ import org.carlspring.strongbox.util.ThrowingFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 /**
@@ -47,12 +68,19 @@ import org.springframework.stereotype.Component;
 @Component
 public class GroupRepositoryProvider
         extends AbstractRepositoryProvider
+        implements InitializingBean, DisposableBean
 {
 
     private static final Logger logger = LoggerFactory.getLogger(GroupRepositoryProvider.class);
 
     private static final String ALIAS = "group";
 
+    @Value("${strongbox.group.parallelResolution.enabled:false}")
+    private boolean parallelResolutionEnabled;
+
+    @Value("${strongbox.group.parallelResolution.threadsNumber:20}")
+    private int parallelResolutionThreadsNumber;
+
     @Inject
     private ArtifactRoutingRulesChecker artifactRoutingRulesChecker;
 
@@ -68,6 +96,39 @@ public class GroupRepositoryProvider
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private NegativeLookupCache negativeLookupCache;
+
+    private ExecutorService parallelResolutionExecutor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        if (!parallelResolutionEnabled)
+        {
+            return;
+        }
+
+        // The caller resolves the member by itself when the pool is exhausted.
+        parallelResolutionExecutor = new ThreadPoolExecutor(parallelResolutionThreadsNumber,
+                                                            parallelResolutionThreadsNumber,
+                                                            60L,
+                                                            TimeUnit.SECONDS,
+                                                            new LinkedBlockingQueue<>(parallelResolutionThreadsNumber),
+                                                            new CustomizableThreadFactory("group-resolve-"),
+                                                            new ThreadPoolExecutor.CallerRunsPolicy());
+        ((ThreadPoolExecutor) parallelResolutionExecutor).allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (parallelResolutionExecutor != null)
+        {
+            parallelResolutionExecutor.shutdown();
+        }
+    }
+
     @Override
     public String getAlias()
     {
@@ -85,6 +146,11 @@ public class GroupRepositoryProvider
     public RepositoryPath fetchPath(RepositoryPath repositoryPath)
             throws IOException
     {
+        if (negativeLookupCache.isMissing(repositoryPath))
+        {
+            return null;
+        }
+
         eventPublisher.publishEvent(new GroupRepositoryPathFetchEvent(repositoryPath));
 
         RepositoryPath result = resolvePathDirectlyFromGroupPathIfPossible(repositoryPath);
@@ -93,25 +159,29 @@ public class GroupRepositoryProvider
             return result;
         }
 
-        return resolvePathTraversal(repositoryPath);
+        result = resolvePathTraversal(repositoryPath);
+        if (result == null)
+        {
+            negativeLookupCache.putMissing(repositoryPath);
+        }
+
+        return result;
     }
 
     protected RepositoryPath resolvePathTraversal(RepositoryPath repositoryPath)
             throws IOException
     {
         Repository groupRepository = repositoryPath.getRepository();
-        Storage storage = groupRepository.getStorage();
+        if (parallelResolutionEnabled)
+        {
+            return resolvePathParallel(repositoryPath);
+        }
 
         // Iterate over the `repositories` collection.
         for (String storageAndRepositoryId : groupRepository.getGroupRepositories())
         {
-            String sId = ConfigurationUtils.getStorageId(storage.getId(), storageAndRepositoryId);
-            String rId = ConfigurationUtils.getRepositoryId(storageAndRepositoryId);
-
-            Repository subRepository = getConfiguration().getStorage(sId).getRepository(rId);
-            RepositoryPath subRepositoryPath = repositoryPathResolver.resolve(subRepository, repositoryPath);
-
-            if (!isRepositoryResolvable(groupRepository, subRepository, subRepositoryPath))
+            RepositoryPath subRepositoryPath = resolveSubRepositoryPath(repositoryPath, storageAndRepositoryId);
+            if (subRepositoryPath == null)
             {
                 continue;
             }
@@ -130,6 +200,140 @@ public class GroupRepositoryProvider
         return null;
     }
 
+    /**
+     * Resolves the path the same way as the sequential traversal does, which means that the first group member in
+     * the configured order, which has the path, wins. But instead of trying the members one by one:
+     * <ul>
+     * <li>the local caches of all the members are checked first, and only the members before the first local hit can
+     * win over it</li>
+     * <li>the remote lookups of these members are issued concurrently</li>
+     * <li>the other lookups are cancelled once a member wins, and the running ones are interrupted, which
+     * abandons their remote fetches before anything is committed into the member caches</li>
+     * </ul>
+     * Nested groups are traversed by the caller thread, so that the pool threads never wait for each other.
+     */
+    private RepositoryPath resolvePathParallel(RepositoryPath repositoryPath)
+            throws IOException
+    {
+        List<RepositoryPath> subRepositoryPaths = new ArrayList<>();
+        for (String storageAndRepositoryId : repositoryPath.getRepository().getGroupRepositories())
+        {
+            RepositoryPath subRepositoryPath = resolveSubRepositoryPath(repositoryPath, storageAndRepositoryId);
+            if (subRepositoryPath != null)
+            {
+                subRepositoryPaths.add(subRepositoryPath);
+            }
+        }
+
+        int localHit = subRepositoryPaths.size();
+        for (int i = 0; i < subRepositoryPaths.size(); i++)
+        {
+            RepositoryPath subRepositoryPath = subRepositoryPaths.get(i);
+            if (!subRepositoryPath.getRepository().isGroupRepository() &&
+                hostedRepositoryProvider.fetchPath(subRepositoryPath) != null)
+            {
+                localHit = i;
+                break;
+            }
+        }
+
+        List<Future<RepositoryPath>> lookups = new ArrayList<>();
+        for (int i = 0; i < localHit; i++)
+        {
+            RepositoryPath subRepositoryPath = subRepositoryPaths.get(i);
+            lookups.add(subRepositoryPath.getRepository().isProxyRepository() ?
+                        parallelResolutionExecutor.submit(() -> resolvePathFromGroupMemberOrTraverse(subRepositoryPath)) :
+                        null);
+        }
+
+        try
+        {
+            for (int i = 0; i < localHit; i++)
+            {
+                RepositoryPath subRepositoryPath = subRepositoryPaths.get(i);
+                Future<RepositoryPath> lookup = lookups.get(i);
+
+                RepositoryPath result;
+                if (lookup != null)
+                {
+                    result = awaitLookup(subRepositoryPath, lookup);
+                }
+                else if (subRepositoryPath.getRepository().isGroupRepository())
+                {
+                    result = resolvePathFromGroupMemberOrTraverse(subRepositoryPath);
+                }
+                else
+                {
+                    // Hosted member without the path.
+                    continue;
+                }
+
+                if (result != null)
+                {
+                    logger.debug("Located artifact: [{}]", result);
+
+                    return result;
+                }
+            }
+        }
+        finally
+        {
+            lookups.stream().filter(Objects::nonNull).forEach(f -> f.cancel(true));
+        }
+
+        if (localHit == subRepositoryPaths.size())
+        {
+            return null;
+        }
+
+        RepositoryPath result = resolvePathFromGroupMemberOrTraverse(subRepositoryPaths.get(localHit));
+        logger.debug("Located artifact: [{}]", result);
+
+        return result;
+    }
+
+    private RepositoryPath awaitLookup(RepositoryPath subRepositoryPath,
+                                       Future<RepositoryPath> lookup)
+            throws IOException
+    {
+        try
+        {
+            return lookup.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException(String.format("Interrupted while resolving [%s].", subRepositoryPath), e);
+        }
+        catch (ExecutionException e)
+        {
+            logger.error("Failed to resolve path [{}]", subRepositoryPath, e.getCause());
+
+            return null;
+        }
+    }
+
+    private RepositoryPath resolveSubRepositoryPath(RepositoryPath repositoryPath,
+                                                    String storageAndRepositoryId)
+            throws IOException
+    {
+        Repository groupRepository = repositoryPath.getRepository();
+        Storage storage = groupRepository.getStorage();
+
+        String sId = ConfigurationUtils.getStorageId(storage.getId(), storageAndRepositoryId);
+        String rId = ConfigurationUtils.getRepositoryId(storageAndRepositoryId);
+
+        Repository subRepository = getConfiguration().getStorage(sId).getRepository(rId);
+        RepositoryPath subRepositoryPath = repositoryPathResolver.resolve(subRepository, repositoryPath);
+
+        if (!isRepositoryResolvable(groupRepository, subRepository, subRepositoryPath))
+        {
+            return null;
+        }
+
+        return subRepositoryPath;
+    }
+
     private boolean isRepositoryResolvable(Repository groupRepository,
                                            Repository subRepository,
                                            RepositoryPath repositoryPath)
@@ -180,6 +384,11 @@ public class GroupRepositoryProvider
         {
             return (RepositoryPath) provider.fetchPath(repositoryPath);
         }
+        catch (ArtifactNotFoundException e)
+        {
+            logger.debug("Path [{}] was not found.", repositoryPath);
+            return null;
+        }
         catch (IOException e)
         {
             logger.error("Failed to resolve path [{}]", repositoryPath);
@@ -197,12 +406,62 @@ public class GroupRepositoryProvider
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public Stream<Path> stream(String storageId,
+                               String repositoryId,
+                               Predicate predicate,
+                               Paginator paginator)
+    {
+        logger.debug("Stream [{}]:[{}] ...", storageId, repositoryId);
+
+        Storage storage = getConfiguration().getStorage(storageId);
+        Repository groupRepository = storage.getRepository(repositoryId);
+        Set<Repository> groupRepositorySet = groupRepositorySetCollector.collect(groupRepository);
+
+        List<Iterator<Path>> memberCursors = new ArrayList<>();
+        for (Repository r : groupRepositorySet)
+        {
+            RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(r.getType());
+            memberCursors.add(repositoryProvider.stream(r.getStorage().getId(), r.getId(), predicate, paginator)
+                                                .iterator());
+        }
+
+        Iterator<Path> iterator = new MergingIterator(memberCursors, paginator.getOrder());
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                                                                        Spliterator.ORDERED | Spliterator.NONNULL),
+                                    false);
+    }
+
+    /**
+     * The results, which are ordered by the coordinates path (default), are merged from the member cursors, so a page
+     * reads at most {@code skip + limit} entries of each member. The member cursors read the skipped entries in the
+     * batches as large as the offset, up to {@link Paginator#MAX_LIMIT}, rather than in the batches of the page size.
+     * The results, which are ordered by any other property, are collected with the repeated member queries.
+     */
     @Override
     public List<Path> search(String storageId,
                              String repositoryId,
                              Predicate predicate,
                              Paginator paginator)
     {
+        String property = paginator.getProperty();
+        if (paginator.getCursor() != null || property == null || property.trim().isEmpty() ||
+            HostedRepositoryProvider.KEYSET_PROPERTY.equals(property))
+        {
+            int skip = paginator.getCursor() != null ? 0 : paginator.getSkip();
+
+            Paginator memberPaginator = new Paginator();
+            memberPaginator.setLimit((int) Math.min((long) skip + paginator.getLimit(), Paginator.MAX_LIMIT));
+            memberPaginator.setProperty(property);
+            memberPaginator.setOrder(paginator.getOrder());
+            memberPaginator.setCursor(paginator.getCursor());
+
+            return stream(storageId, repositoryId, predicate, memberPaginator).skip(skip)
+                                                                              .limit(paginator.getLimit())
+                                                                              .collect(Collectors.toList());
+        }
+
         logger.debug("Search in [{}]:[{}] ...", storageId, repositoryId);
 
         Map<ArtifactCoordinates, Path> resultMap = new LinkedHashMap<>();
@@ -312,4 +571,98 @@ public class GroupRepositoryProvider
 
     }
 
+    /**
+     * Merges the member cursors, which are ordered by the coordinates path, and skips the repeated paths, so that
+     * the first member in the group order wins.
+     */
+    private static class MergingIterator
+            implements Iterator<Path>
+    {
+
+        private final List<Iterator<Path>> cursors;
+
+        private final PriorityQueue<Head> heads;
+
+        MergingIterator(List<Iterator<Path>> cursors,
+                        Paginator.Order order)
+        {
+            Comparator<String> keyComparator = Paginator.Order.DESC.equals(order) ? Comparator.reverseOrder() :
+                                               Comparator.naturalOrder();
+
+            this.cursors = cursors;
+            this.heads = new PriorityQueue<>(Math.max(1, cursors.size()),
+                                             Comparator.comparing((Head h) -> h.key, keyComparator)
+                                                       .thenComparingInt(h -> h.member));
+
+            for (int i = 0; i < cursors.size(); i++)
+            {
+                advance(i);
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Path next()
+        {
+            Head head = heads.poll();
+            if (head == null)
+            {
+                throw new NoSuchElementException();
+            }
+            advance(head.member);
+
+            while (!heads.isEmpty() && heads.peek().key.equals(head.key))
+            {
+                advance(heads.poll().member);
+            }
+
+            return head.path;
+        }
+
+        private void advance(int member)
+        {
+            Iterator<Path> cursor = cursors.get(member);
+            if (!cursor.hasNext())
+            {
+                return;
+            }
+
+            Path path = cursor.next();
+            try
+            {
+                heads.add(new Head(RepositoryFiles.relativizePath((RepositoryPath) path), path, member));
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+    private static class Head
+    {
+
+        private final String key;
+
+        private final Path path;
+
+        private final int member;
+
+        Head(String key,
+             Path path,
+             int member)
+        {
+            this.key = key;
+            this.path = path;
+            this.member = member;
+        }
+
+    }
+
 }
@@ -5,8 +5,17 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
@@ -14,6 +23,7 @@ import javax.persistence.PersistenceContext;
 
 import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
 import org.carlspring.strongbox.data.criteria.DetachQueryTemplate;
+import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
 import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
@@ -31,6 +41,8 @@ import org.carlspring.strongbox.storage.repository.Repository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * @author carlspring
@@ -43,11 +55,19 @@ public class HostedRepositoryProvider extends AbstractRepositoryProvider
 
     private static final String ALIAS = "hosted";
 
+    /**
+     * The unique sort key of the keyset pagination, the last key of the `idx_artifact_path` index.
+     */
+    public static final String KEYSET_PROPERTY = "artifactPath";
+
     @PersistenceContext
     private EntityManager entityManager;
     
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
     
     @Override
     public String getAlias()
@@ -82,12 +102,34 @@ public class HostedRepositoryProvider extends AbstractRepositoryProvider
         return Files.newOutputStream(repositoryPath);
     }
 
+    /**
+     * The page after a cursor is read from the keyset cursor. The other pages are queried with the `SKIP` and `LIMIT`,
+     * ordered by the artifact path (default) or by the requested property, so a deep page is still a single query.
+     */
     @Override
     public List<Path> search(String storageId,
                              String repositoryId,
                              Predicate predicate,
                              Paginator paginator)
     {
+        if (paginator.getCursor() != null)
+        {
+            return stream(storageId, repositoryId, predicate, paginator).limit(paginator.getLimit())
+                                                                        .collect(Collectors.toList());
+        }
+
+        String property = paginator.getProperty();
+        if (property == null || property.trim().isEmpty())
+        {
+            Paginator keysetOrderPaginator = new Paginator();
+            keysetOrderPaginator.setSkip(paginator.getSkip());
+            keysetOrderPaginator.setLimit(paginator.getLimit());
+            keysetOrderPaginator.setProperty(KEYSET_PROPERTY);
+            keysetOrderPaginator.setOrder(paginator.getOrder());
+
+            paginator = keysetOrderPaginator;
+        }
+
         List<Path> result = new LinkedList<Path>();
 
         Storage storage = configurationManager.getConfiguration().getStorage(storageId);
@@ -117,6 +159,53 @@ public class HostedRepositoryProvider extends AbstractRepositoryProvider
         return result;
     }
 
+    @Override
+    public Stream<Path> stream(String storageId,
+                               String repositoryId,
+                               Predicate predicate,
+                               Paginator paginator)
+    {
+        Storage storage = configurationManager.getConfiguration().getStorage(storageId);
+        Repository repository = storage.getRepository(repositoryId);
+        RootRepositoryPath rootRepositoryPath = repositoryPathResolver.resolve(repository);
+
+        return streamArtifactEntries(storageId, repositoryId, predicate, paginator)
+                       .map(e -> resolve(rootRepositoryPath, e))
+                       .filter(Objects::nonNull);
+    }
+
+    /**
+     * Same as {@link #stream(String, String, Predicate, Paginator)}, but the entries aren't resolved to the paths, for
+     * those who need the entries only.
+     */
+    public Stream<ArtifactEntry> streamArtifactEntries(String storageId,
+                                                       String repositoryId,
+                                                       Predicate predicate,
+                                                       Paginator paginator)
+    {
+        Iterator<ArtifactEntry> iterator = new KeysetIterator(storageId, repositoryId, predicate, paginator);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                                                                        Spliterator.ORDERED | Spliterator.NONNULL),
+                                    false);
+    }
+
+    private Path resolve(RootRepositoryPath rootRepositoryPath,
+                         ArtifactEntry artifactEntry)
+    {
+        try
+        {
+            return rootRepositoryPath.resolve(artifactEntry);
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to resolve Artifact [{}]",
+                         artifactEntry.getArtifactCoordinates(), e);
+
+            return null;
+        }
+    }
+
     @Override
     public Long count(String storageId,
                       String repositoryId,
@@ -150,4 +239,102 @@ public class HostedRepositoryProvider extends AbstractRepositoryProvider
         return RepositoryFiles.artifactDoesNotExist(repositoryPath);
     }
 
+    /**
+     * Fetches the next batch, when the current one is consumed, with the
+     * `WHERE storageId = :s AND repositoryId = :r AND artifactPath > :cursor ORDER BY artifactPath LIMIT n` query,
+     * which is a range scan of the `(storageId, repositoryId, artifactPath)` index, however deep the page is.
+     */
+    private class KeysetIterator
+            implements Iterator<ArtifactEntry>
+    {
+
+        private final String storageId;
+
+        private final String repositoryId;
+
+        private final Predicate predicate;
+
+        private final Paginator.Order order;
+
+        private final int batchSize;
+
+        private String cursor;
+
+        private Iterator<ArtifactEntry> batch = Collections.emptyIterator();
+
+        private boolean exhausted;
+
+        KeysetIterator(String storageId,
+                       String repositoryId,
+                       Predicate predicate,
+                       Paginator paginator)
+        {
+            this.storageId = storageId;
+            this.repositoryId = repositoryId;
+            this.predicate = predicate;
+            this.order = paginator.getOrder();
+            this.batchSize = paginator.getLimit() > 0 ? paginator.getLimit() : Paginator.MAX_LIMIT;
+            this.cursor = paginator.getCursor();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (!batch.hasNext() && !exhausted)
+            {
+                List<ArtifactEntry> entries = fetch();
+                exhausted = entries.size() < batchSize;
+                batch = entries.iterator();
+            }
+
+            return batch.hasNext();
+        }
+
+        @Override
+        public ArtifactEntry next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            ArtifactEntry result = batch.next();
+            cursor = result.getArtifactPath();
+
+            return result;
+        }
+
+        private List<ArtifactEntry> fetch()
+        {
+            Predicate keysetPredicate = Predicate.empty();
+            if (!predicate.isEmpty())
+            {
+                keysetPredicate.and(predicate);
+            }
+            if (cursor != null)
+            {
+                ExpOperator operator = Paginator.Order.DESC.equals(order) ? ExpOperator.LT : ExpOperator.GT;
+                keysetPredicate.and(Predicate.of(operator.of(KEYSET_PROPERTY, cursor)));
+            }
+
+            Paginator keysetPaginator = new Paginator();
+            keysetPaginator.setProperty(KEYSET_PROPERTY);
+            keysetPaginator.setOrder(order);
+            keysetPaginator.setLimit(batchSize);
+
+            Selector<ArtifactEntry> selector = createSelector(storageId, repositoryId, keysetPredicate).with(keysetPaginator)
+                                                                                                        .fetch();
+
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+
+            return transactionTemplate.execute(t -> {
+                QueryTemplate<List<ArtifactEntry>, ArtifactEntry> queryTemplate = new DetachQueryTemplate<>(entityManager);
+
+                return queryTemplate.select(selector);
+            });
+        }
+
+    }
+
 }
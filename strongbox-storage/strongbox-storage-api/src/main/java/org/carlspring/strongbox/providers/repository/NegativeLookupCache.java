@@ -0,0 +1,231 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the paths which were not found within the group and proxy repositories, so that the repeated requests
+ * for them (like the `-sources.jar`, `.asc` or `maven-metadata.xml` probes from the build tools) are answered
+ * without touching the disk or the remote repositories.
+ * <br>
+ * Only the confirmed misses are remembered: a proxy repository's path once the remote repository answered `404`,
+ * and a group repository's path once all the proxy repositories within the group have confirmed it. A remote
+ * repository which is down or failing is asked again by the next request.
+ * <br>
+ * The entries expire after the configured TTL and are evicted, for the repository and all the groups which contain
+ * it, once the path gets stored in the repository.
+ *
+ * @see CacheName.Repository#NEGATIVE_LOOKUPS
+ */
+@Component
+public class NegativeLookupCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(NegativeLookupCache.class);
+
+    @Value("${strongbox.negativeLookupCache.enabled:true}")
+    private boolean enabled;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private GroupRepositorySetCollector groupRepositorySetCollector;
+
+    private final Cache cache;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private volatile GroupIndex groupIndex = new GroupIndex(null, Collections.emptyMap());
+
+    @Inject
+    NegativeLookupCache(CacheManager cacheManager)
+    {
+        cache = cacheManager.getCache(CacheName.Repository.NEGATIVE_LOOKUPS);
+        Objects.requireNonNull(cache, "negativeLookups cache configuration was not provided");
+    }
+
+    /**
+     * @return `true` if the path is known to be missing within the repository.
+     */
+    public boolean isMissing(RepositoryPath repositoryPath)
+            throws IOException
+    {
+        if (!enabled)
+        {
+            return false;
+        }
+
+        if (cache.get(getKey(repositoryPath)) == null)
+        {
+            missCount.increment();
+
+            return false;
+        }
+
+        logger.debug("Path [{}] is known to be missing.", repositoryPath);
+        hitCount.increment();
+
+        return true;
+    }
+
+    /**
+     * Remembers the path of a proxy repository, which the remote repository doesn't have, or the path of a group
+     * repository, which none of its members have. The group's path is only remembered if all the proxy repositories
+     * within the group have confirmed the miss.
+     */
+    public void putMissing(RepositoryPath repositoryPath)
+            throws IOException
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        Repository repository = repositoryPath.getRepository();
+        String path = RepositoryFiles.relativizePath(repositoryPath);
+        if (repository.isGroupRepository() && !isConfirmedByMembers(repository, path))
+        {
+            logger.debug("Path [{}] is not confirmed to be missing by all the group members.", repositoryPath);
+
+            return;
+        }
+
+        cache.put(getKey(repository, path), Boolean.TRUE);
+    }
+
+    private boolean isConfirmedByMembers(Repository groupRepository,
+                                         String path)
+    {
+        return groupRepositorySetCollector.collect(groupRepository, true)
+                                          .stream()
+                                          .filter(Repository::isProxyRepository)
+                                          .allMatch(r -> cache.get(getKey(r, path)) != null);
+    }
+
+    public long getHitCount()
+    {
+        return hitCount.sum();
+    }
+
+    public long getMissCount()
+    {
+        return missCount.sum();
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+            throws IOException
+    {
+        int type = event.getType();
+        if (!enabled ||
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_STORED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_FETCHED_FROM_REMOTE.getType())
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = event.getPath();
+        Repository repository = repositoryPath.getRepository();
+        String path = RepositoryFiles.relativizePath(repositoryPath);
+
+        cache.evict(getKey(repository, path));
+
+        for (Repository groupRepository : getGroupIndex().getGroups(repository))
+        {
+            cache.evict(getKey(groupRepository, path));
+        }
+    }
+
+    /**
+     * @return the index of the groups by their members, which is rebuilt once the configuration changes
+     */
+    private GroupIndex getGroupIndex()
+    {
+        Configuration configuration = configurationManager.getConfiguration();
+
+        GroupIndex result = groupIndex;
+        if (result.configuration == configuration)
+        {
+            return result;
+        }
+
+        Map<String, List<Repository>> groupsByMember = new HashMap<>();
+        for (Repository groupRepository : configuration.getGroupRepositories())
+        {
+            for (Repository member : groupRepositorySetCollector.collect(groupRepository, true))
+            {
+                groupsByMember.computeIfAbsent(member.getStorageIdAndRepositoryId(), k -> new ArrayList<>())
+                              .add(groupRepository);
+            }
+        }
+
+        result = new GroupIndex(configuration, groupsByMember);
+        groupIndex = result;
+
+        return result;
+    }
+
+    private String getKey(RepositoryPath repositoryPath)
+            throws IOException
+    {
+        return getKey(repositoryPath.getRepository(), RepositoryFiles.relativizePath(repositoryPath));
+    }
+
+    private String getKey(Repository repository,
+                          String path)
+    {
+        return repository.getStorage().getId() + ":" + repository.getId() + ":" + path;
+    }
+
+    private static class GroupIndex
+    {
+
+        private final Configuration configuration;
+
+        private final Map<String, List<Repository>> groupsByMember;
+
+        GroupIndex(Configuration configuration,
+                   Map<String, List<Repository>> groupsByMember)
+        {
+            this.configuration = configuration;
+            this.groupsByMember = groupsByMember;
+        }
+
+        List<Repository> getGroups(Repository member)
+        {
+            return groupsByMember.getOrDefault(member.getStorageIdAndRepositoryId(), Collections.emptyList());
+        }
+
+    }
+
+}
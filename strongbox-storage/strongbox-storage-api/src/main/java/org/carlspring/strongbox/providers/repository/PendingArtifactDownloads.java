@@ -0,0 +1,134 @@
+package org.carlspring.strongbox.providers.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+/**
+ * The downloads of the artifacts, which are not written into the database yet, by the
+ * `storageId:repositoryId:path` of the artifact.
+ * <br>
+ * The accumulator is a {@link ConcurrentHashMap} updated with `compute()`: the increment happens under the map bin
+ * lock, so it can't be lost by the concurrent {@link #drain()} which removes the entry.
+ *
+ * @see ArtifactDownloadingEventHandler
+ */
+class PendingArtifactDownloads
+{
+
+    private final ConcurrentMap<String, Downloads> pendingDownloads = new ConcurrentHashMap<>();
+
+    /**
+     * @return the number of the artifacts with the pending downloads
+     */
+    int increment(String key,
+                  RepositoryPath repositoryPath,
+                  String path,
+                  long time)
+    {
+        pendingDownloads.compute(key, (k, v) -> (v == null ? new Downloads(k, repositoryPath, path) : v).increment(time));
+
+        return pendingDownloads.size();
+    }
+
+    /**
+     * Removes all the pending downloads. The downloads, which are counted or requeued meanwhile, are left for the next
+     * drain.
+     */
+    List<Downloads> drain()
+    {
+        List<Downloads> result = new ArrayList<>();
+        for (String key : new ArrayList<>(pendingDownloads.keySet()))
+        {
+            Downloads downloads = pendingDownloads.remove(key);
+            if (downloads != null)
+            {
+                result.add(downloads);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the downloads, which failed to be written, so that they are merged with the downloads counted meanwhile.
+     */
+    void requeue(Downloads downloads)
+    {
+        pendingDownloads.merge(downloads.getKey(), downloads, Downloads::merge);
+    }
+
+    int size()
+    {
+        return pendingDownloads.size();
+    }
+
+    static class Downloads
+    {
+
+        private final String key;
+
+        private final RepositoryPath repositoryPath;
+
+        private final String path;
+
+        private int count;
+
+        private long lastUsed;
+
+        private Downloads(String key,
+                          RepositoryPath repositoryPath,
+                          String path)
+        {
+            this.key = key;
+            this.repositoryPath = repositoryPath;
+            this.path = path;
+        }
+
+        String getKey()
+        {
+            return key;
+        }
+
+        RepositoryPath getRepositoryPath()
+        {
+            return repositoryPath;
+        }
+
+        String getPath()
+        {
+            return path;
+        }
+
+        int getCount()
+        {
+            return count;
+        }
+
+        long getLastUsed()
+        {
+            return lastUsed;
+        }
+
+        private Downloads increment(long time)
+        {
+            count++;
+            lastUsed = Math.max(lastUsed, time);
+
+            return this;
+        }
+
+        private Downloads merge(Downloads other)
+        {
+            count += other.count;
+            lastUsed = Math.max(lastUsed, other.lastUsed);
+
+            return this;
+        }
+
+    }
+
+}
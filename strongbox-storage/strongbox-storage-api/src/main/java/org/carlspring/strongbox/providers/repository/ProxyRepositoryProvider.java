@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.providers.repository;
 
 
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
 import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.domain.ArtifactEntry;
@@ -9,9 +10,11 @@ import org.carlspring.strongbox.providers.io.AbstractRepositoryProvider;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
 import org.carlspring.strongbox.providers.repository.event.ProxyRepositoryPathExpiredEvent;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactDownload;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -22,6 +25,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,12 +53,32 @@ public class ProxyRepositoryProvider
     @Inject
     private RepositoryPathLock repositoryPathLock;
 
+    @Inject
+    private NegativeLookupCache negativeLookupCache;
+
     @Override
     public String getAlias()
     {
         return ALIAS;
     }
 
+    @Override
+    public RepositoryInputStream getInputStream(Path path)
+        throws IOException
+    {
+        // Callers which need the complete local file should wait for the
+        // in-flight stream-through fetch to be stored.
+        RemoteArtifactDownload download = path instanceof RepositoryPath
+                ? proxyRepositoryArtifactResolver.getRemoteArtifactDownload((RepositoryPath) path)
+                : null;
+        if (download != null)
+        {
+            download.awaitCompleted();
+        }
+
+        return super.getInputStream(path);
+    }
+
     @Override
     protected InputStream getInputStreamInternal(RepositoryPath path)
         throws IOException
@@ -66,18 +90,38 @@ public class ProxyRepositoryProvider
     protected RepositoryPath fetchPath(RepositoryPath repositoryPath)
         throws IOException
     {
-        RepositoryPath targetPath = hostedRepositoryProvider.fetchPath(repositoryPath);
+        if (negativeLookupCache.isMissing(repositoryPath))
+        {
+            return null;
+        }
 
-        if (targetPath == null)
+        RepositoryPath targetPath = hostedRepositoryProvider.fetchPath(repositoryPath);
+        if (targetPath != null)
         {
-            targetPath = resolvePathExclusive(repositoryPath);
+            if (RepositoryFiles.hasExpired(targetPath))
+            {
+                eventPublisher.publishEvent(new ProxyRepositoryPathExpiredEvent(targetPath));
+            }
+
+            return targetPath;
         }
-        else if (RepositoryFiles.hasExpired(targetPath))
+
+        try
         {
-            eventPublisher.publishEvent(new ProxyRepositoryPathExpiredEvent(targetPath));
+            if (proxyRepositoryArtifactResolver.isStreamThroughEnabled() && RepositoryFiles.isArtifact(repositoryPath))
+            {
+                return proxyRepositoryArtifactResolver.fetchRemoteResourceStreamThrough(repositoryPath);
+            }
+
+            return resolvePathExclusive(repositoryPath);
         }
+        catch (ArtifactNotFoundException e)
+        {
+            // Only the remote `404` is remembered, the `null` of a remote which is down is not.
+            negativeLookupCache.putMissing(repositoryPath);
 
-        return targetPath;
+            throw e;
+        }
     }
 
     private RepositoryPath resolvePathExclusive(RepositoryPath repositoryPath)
@@ -135,6 +179,21 @@ public class ProxyRepositoryProvider
         return hostedRepositoryProvider.search(storageId, repositoryId, predicate, paginator);
     }
 
+    @Override
+    public Stream<Path> stream(String storageId,
+                               String repositoryId,
+                               Predicate predicate,
+                               Paginator paginator)
+    {
+        RemoteRepositorySearchEvent event = new RemoteRepositorySearchEvent(storageId,
+                                                                            repositoryId,
+                                                                            predicate,
+                                                                            paginator);
+        eventPublisher.publishEvent(event);
+
+        return hostedRepositoryProvider.stream(storageId, repositoryId, predicate, paginator);
+    }
+
     @Override
     public Long count(String storageId,
                       String repositoryId,
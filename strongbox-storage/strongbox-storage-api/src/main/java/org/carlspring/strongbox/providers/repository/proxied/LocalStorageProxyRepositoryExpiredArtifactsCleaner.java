@@ -2,11 +2,14 @@ package org.carlspring.strongbox.providers.repository.proxied;
 
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
+import org.carlspring.strongbox.data.service.support.search.Sort;
+import org.carlspring.strongbox.data.service.support.search.Sort.Order;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
 import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -15,14 +18,20 @@ import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteReposi
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import static org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria.Builder.anArtifactEntrySearchCriteria;
 
 /**
@@ -32,6 +41,8 @@ import static org.carlspring.strongbox.services.support.ArtifactEntrySearchCrite
 public class LocalStorageProxyRepositoryExpiredArtifactsCleaner
 {
 
+    private static final int PAGE_SIZE = 100;
+
     private final Logger logger = LoggerFactory.getLogger(LocalStorageProxyRepositoryExpiredArtifactsCleaner.class);
 
     @Inject
@@ -49,7 +60,18 @@ public class LocalStorageProxyRepositoryExpiredArtifactsCleaner
     @Inject
     private ArtifactManagementService artifactManagementService;
 
-    @Transactional(rollbackFor = Exception.class)
+    @Inject
+    private ProxyRepositoryUsageCounter proxyRepositoryUsageCounter;
+
+    @Inject
+    private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Removes the proxied artifacts, which were not used for the given number of days, least recently used first.
+     */
     public void cleanup(final Integer lastAccessedTimeInDays,
                         final Long minSizeInBytes)
             throws IOException
@@ -59,17 +81,85 @@ public class LocalStorageProxyRepositoryExpiredArtifactsCleaner
                                                                    .withMinSizeInBytes(minSizeInBytes)
                                                                    .build();
 
-        final List<ArtifactEntry> artifactEntries = artifactEntryService.findMatching(searchCriteria,
-                                                                                      PagingCriteria.ALL);
-        filterAccessibleProxiedArtifacts(artifactEntries);
+        evict(searchCriteria, () -> Long.MAX_VALUE);
+    }
 
-        if (CollectionUtils.isEmpty(artifactEntries))
+    /**
+     * Removes the least recently used artifacts of the proxy repository, once its artifacts take more than the high
+     * watermark of the quota, until they take less than the low watermark.
+     */
+    public void evict(final String storageId,
+                      final String repositoryId,
+                      final long maxSizeInBytes,
+                      final int highWatermarkPercent,
+                      final int lowWatermarkPercent)
+            throws IOException
+    {
+        final Repository repository = configurationManager.getConfiguration()
+                                                          .getStorage(storageId)
+                                                          .getRepository(repositoryId);
+        final long highWatermark = maxSizeInBytes * highWatermarkPercent / 100;
+        final long lowWatermark = maxSizeInBytes * lowWatermarkPercent / 100;
+
+        if (proxyRepositoryUsageCounter.getUsage(repository) <= highWatermark ||
+            proxyRepositoryUsageCounter.recalculate(repository) <= highWatermark)
         {
             return;
         }
 
-        logger.debug("Cleaning artifacts {}", artifactEntries);
-        deleteFromStorage(artifactEntries);
+        logger.info("Repository [{}] takes [{}] bytes of [{}], evicting down to [{}].",
+                    repository.getStorageIdAndRepositoryId(),
+                    proxyRepositoryUsageCounter.getUsage(repository),
+                    maxSizeInBytes,
+                    lowWatermark);
+
+        final ArtifactEntrySearchCriteria searchCriteria = anArtifactEntrySearchCriteria()
+                                                                   .withStorageId(storageId)
+                                                                   .withRepositoryId(repositoryId)
+                                                                   .withMinSizeInBytes(1L)
+                                                                   .build();
+
+        evict(searchCriteria, () -> proxyRepositoryUsageCounter.getUsage(repository) - lowWatermark);
+
+        proxyRepositoryUsageCounter.recalculate(repository);
+    }
+
+    /**
+     * Pages through the matching artifacts, least recently used first, while there are bytes to evict. The artifact
+     * entries of every page are deleted in their own transaction, and their files only once it has been committed. The
+     * deleted entries leave the result, so only the entries which are still there are paged over.
+     */
+    private void evict(final ArtifactEntrySearchCriteria searchCriteria,
+                       final LongSupplier bytesToEvict)
+            throws IOException
+    {
+        final Sort sort = Sort.by(Order.asc("lastUsed"));
+
+        int skip = 0;
+        long remaining;
+        while ((remaining = bytesToEvict.getAsLong()) > 0)
+        {
+            final List<ArtifactEntry> artifactEntries = artifactEntryService.findMatching(searchCriteria,
+                                                                                          new PagingCriteria(skip,
+                                                                                                             PAGE_SIZE,
+                                                                                                             sort));
+            if (CollectionUtils.isEmpty(artifactEntries))
+            {
+                return;
+            }
+
+            final int found = artifactEntries.size();
+            filterAccessibleProxiedArtifacts(artifactEntries);
+
+            logger.debug("Cleaning artifacts {}", artifactEntries);
+            final int deleted = deleteFromStorage(artifactEntries, remaining);
+            skip += found - deleted;
+
+            if (found < PAGE_SIZE)
+            {
+                return;
+            }
+        }
     }
 
     private void filterAccessibleProxiedArtifacts(final List<ArtifactEntry> artifactEntries)
@@ -105,18 +195,93 @@ public class LocalStorageProxyRepositoryExpiredArtifactsCleaner
 
     }
 
-    private void deleteFromStorage(final List<ArtifactEntry> artifactEntries)
+    /**
+     * @return the number of the deleted artifact entries
+     */
+    private int deleteFromStorage(final List<ArtifactEntry> artifactEntries,
+                                  final long bytesToEvict)
             throws IOException
     {
+        final List<RepositoryPath> evictedPaths = new ArrayList<>();
+
+        long evicted = 0;
         for (final ArtifactEntry artifactEntry : artifactEntries)
         {
-            final Storage storage = configurationManager.getConfiguration().getStorage(artifactEntry.getStorageId());
-            final Repository repository = storage.getRepository(artifactEntry.getRepositoryId());
-            
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository).resolve(artifactEntry);
+            if (evicted >= bytesToEvict)
+            {
+                break;
+            }
 
-            artifactManagementService.delete(repositoryPath, true);
+            final RepositoryPath repositoryPath = resolve(artifactEntry);
+            // The entries of the artifacts, which have never been downloaded, free nothing and stay.
+            if (!Files.exists(repositoryPath))
+            {
+                continue;
+            }
+
+            evictedPaths.add(repositoryPath);
+            evicted += Optional.ofNullable(artifactEntry.getSizeInBytes()).orElse(0L);
         }
+
+        if (evictedPaths.isEmpty())
+        {
+            return 0;
+        }
+
+        // The entries go first, a rolled back transaction leaves both the entries and the files.
+        try
+        {
+            new TransactionTemplate(transactionManager).execute(t -> {
+                for (final RepositoryPath repositoryPath : evictedPaths)
+                {
+                    try
+                    {
+                        repositoryArtifactIdGroupService.deleteArtifactEntry(repositoryPath,
+                                                                             repositoryPath.getArtifactEntry());
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                return null;
+            });
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+
+        for (final RepositoryPath repositoryPath : evictedPaths)
+        {
+            final Long sizeInBytes = repositoryPath.getArtifactEntry().getSizeInBytes();
+            try
+            {
+                artifactManagementService.delete(repositoryPath, true);
+            }
+            catch (IOException e)
+            {
+                logger.error("Failed to delete [{}].", repositoryPath, e);
+
+                continue;
+            }
+
+            if (sizeInBytes != null)
+            {
+                proxyRepositoryUsageCounter.add(repositoryPath.getRepository(), -sizeInBytes);
+            }
+        }
+
+        return evictedPaths.size();
+    }
+
+    private RepositoryPath resolve(final ArtifactEntry artifactEntry)
+    {
+        final Storage storage = configurationManager.getConfiguration().getStorage(artifactEntry.getStorageId());
+        final Repository repository = storage.getRepository(artifactEntry.getRepositoryId());
+
+        return repositoryPathResolver.resolve(repository).resolve(artifactEntry);
     }
 
 }
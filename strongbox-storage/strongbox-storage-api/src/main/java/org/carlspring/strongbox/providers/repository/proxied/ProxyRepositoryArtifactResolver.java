@@ -3,23 +3,40 @@ package org.carlspring.strongbox.providers.repository.proxied;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.nio.file.Files;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import javax.inject.Inject;
 
+import org.apache.commons.io.input.TeeInputStream;
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactStreamFetcher.RemoteArtifactInputStream;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 /**
@@ -27,9 +44,16 @@ import org.springframework.stereotype.Component;
  */
 @Component
 public class ProxyRepositoryArtifactResolver
+        implements InitializingBean, DisposableBean
 {
     private static final Logger logger = LoggerFactory.getLogger(ProxyRepositoryArtifactResolver.class);
 
+    @Value("${strongbox.proxy.streamThrough.enabled:false}")
+    private boolean streamThroughEnabled;
+
+    @Value("${strongbox.proxy.streamThrough.threadsNumber:20}")
+    private int streamThroughThreadsNumber;
+
     @Inject
     private RemoteRepositoryAlivenessService remoteRepositoryAlivenessCacheManager;
 
@@ -45,6 +69,36 @@ public class ProxyRepositoryArtifactResolver
     @Inject
     private ArtifactManagementService artifactManagementService;
 
+    private final ConcurrentMap<URI, RemoteArtifactDownload> remoteArtifactDownloads = new ConcurrentHashMap<>();
+
+    private ExecutorService streamThroughExecutor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        // The caller runs the fetch by itself when the pool is exhausted, which
+        // is the same as the regular fetch-to-disk-then-serve behaviour.
+        streamThroughExecutor = new ThreadPoolExecutor(streamThroughThreadsNumber,
+                                                       streamThroughThreadsNumber,
+                                                       60L,
+                                                       TimeUnit.SECONDS,
+                                                       new LinkedBlockingQueue<>(streamThroughThreadsNumber),
+                                                       new CustomizableThreadFactory("remote-fetch-"),
+                                                       new ThreadPoolExecutor.CallerRunsPolicy());
+        ((ThreadPoolExecutor) streamThroughExecutor).allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void destroy()
+    {
+        streamThroughExecutor.shutdown();
+    }
+
+    public boolean isStreamThroughEnabled()
+    {
+        return streamThroughEnabled;
+    }
+
     /**
      * This method has been developed to force fetch resource from remote.
      *
@@ -80,6 +134,142 @@ public class ProxyRepositoryArtifactResolver
         }
     }
 
+    /**
+     * Fetches the resource from remote the same way as
+     * {@link #fetchRemoteResource(RepositoryPath)} does, but doesn't wait for
+     * the whole resource to be stored. Remote bytes are teed into a spool file
+     * which can be tailed with {@link RemoteArtifactDownload#newInputStream()}
+     * while the fetch is in progress. Concurrent requesters of the same path
+     * are attached to the same {@link RemoteArtifactDownload}.
+     *
+     * @return the path to serve, or `null` if remote is down.
+     * @throws ArtifactNotFoundException if remote doesn't have the resource.
+     */
+    public RepositoryPath fetchRemoteResourceStreamThrough(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        Repository repository = repositoryPath.getFileSystem().getRepository();
+        final RemoteRepository remoteRepository = repository.getRemoteRepository();
+        if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository))
+        {
+            logger.debug("Remote repository '{}' is down.", remoteRepository.getUrl());
+
+            return null;
+        }
+
+        URI key = repositoryPath.toUri();
+        RemoteArtifactDownload download;
+        boolean owner = false;
+        synchronized (remoteArtifactDownloads)
+        {
+            download = remoteArtifactDownloads.get(key);
+            if (download == null)
+            {
+                download = new RemoteArtifactDownload(repositoryPath, RepositoryFiles.spool(repositoryPath));
+                remoteArtifactDownloads.put(key, download);
+                owner = true;
+            }
+        }
+
+        if (owner)
+        {
+            RemoteArtifactDownload target = download;
+            streamThroughExecutor.execute(() -> doFetchStreamThrough(target));
+        }
+        else
+        {
+            logger.debug("Attached to in-flight remote fetch of [{}].", repositoryPath);
+        }
+
+        if (!download.awaitStarted())
+        {
+            throw new ArtifactNotFoundException(RepositoryFiles.resolveResource(repositoryPath));
+        }
+
+        return repositoryPath;
+    }
+
+    /**
+     * @return the in-flight {@link RemoteArtifactDownload} for given path, if
+     *         any.
+     */
+    public RemoteArtifactDownload getRemoteArtifactDownload(RepositoryPath repositoryPath)
+    {
+        if (!streamThroughEnabled)
+        {
+            return null;
+        }
+
+        return remoteArtifactDownloads.get(repositoryPath.toUri());
+    }
+
+    private void doFetchStreamThrough(RemoteArtifactDownload download)
+    {
+        RepositoryPath repositoryPath = download.getRepositoryPath();
+        try
+        {
+            doFetchStreamThroughLocked(download);
+            download.complete();
+        }
+        catch (IOException e)
+        {
+            logger.debug("Failed to fetch [{}] from remote.", repositoryPath, e);
+
+            download.fail(e);
+        }
+        catch (RuntimeException e)
+        {
+            logger.error("Failed to fetch [{}] from remote.", repositoryPath, e);
+
+            download.fail(new IOException(e));
+        }
+        finally
+        {
+            remoteArtifactDownloads.remove(repositoryPath.toUri(), download);
+        }
+    }
+
+    private void doFetchStreamThroughLocked(RemoteArtifactDownload download)
+        throws IOException
+    {
+        RepositoryPath repositoryPath = download.getRepositoryPath();
+
+        ReadWriteLock lockSource = repositoryPathLock.lock(repositoryPath, "remote-fetch");
+        Lock lock = lockSource.writeLock();
+        lock.lock();
+
+        try
+        {
+            // Other cluster node could fetch it while we were waiting for the lock.
+            if (RepositoryFiles.artifactExists(repositoryPath))
+            {
+                download.onCached();
+
+                return;
+            }
+
+            RestArtifactResolver client = restArtifactResolverFactory.newInstance(repositoryPath.getRepository()
+                                                                                                     .getRemoteRepository());
+            try (OutputStream spoolOs = download.newSpoolOutputStream();
+                 InputStream is = new BufferedInputStream(new TeeInputStream(new ProxyRepositoryInputStream(client, repositoryPath),
+                                                                             spoolOs)))
+            {
+                //We need this to force initialize lazy connection to remote repository.
+                int available = is.available();
+                logger.debug("Got [{}] available bytes for [{}].", available, repositoryPath);
+
+                RemoteArtifactInputStream rais = StreamUtils.findSource(RemoteArtifactInputStream.class, is);
+                download.onStarted(rais == null ? -1 : rais.getConnection().getResponse().getLength());
+
+                doStore(repositoryPath, is);
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
     private RepositoryPath doFetch(RepositoryPath repositoryPath,
                                    InputStream is)
         throws IOException
@@ -88,7 +278,13 @@ public class ProxyRepositoryArtifactResolver
         int available = is.available();
         logger.debug("Got [{}] available bytes for [{}].", available, repositoryPath);
         
-        
+        return doStore(repositoryPath, is);
+    }
+
+    private RepositoryPath doStore(RepositoryPath repositoryPath,
+                                   InputStream is)
+        throws IOException
+    {
         RepositoryPath result = onSuccessfulProxyRepositoryResponse(is, repositoryPath);
         
         RepositoryFileAttributes artifactFileAttributes = Files.readAttributes(repositoryPath,
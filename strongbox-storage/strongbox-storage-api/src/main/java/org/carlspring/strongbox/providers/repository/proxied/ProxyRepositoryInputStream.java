@@ -3,6 +3,7 @@ package org.carlspring.strongbox.providers.repository.proxied;
 import java.io.Closeable;
 import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
@@ -134,17 +135,21 @@ public class ProxyRepositoryInputStream extends FilterInputStream
         {
             ArtifactCopyContext ctx = artifactCopyContext.get();
 
+            checkInterrupted();
+
             long offset = 0;
             try
             {
                 offset = f.read();
             }
-            catch (ArtifactNotFoundException e)
+            catch (ArtifactNotFoundException | InterruptedIOException e)
             {
                 throw e;
             }
             catch (IOException e)
             {
+                checkInterrupted();
+
                 offset = retryReadIfPossible(f, e);
             }
 
@@ -155,6 +160,20 @@ public class ProxyRepositoryInputStream extends FilterInputStream
 
     }
 
+    /**
+     * The fetch is abandoned when the thread is interrupted, for example when a parallel group lookup was won by
+     * another member, so that the resource isn't downloaded and cached for nothing.
+     */
+    private void checkInterrupted()
+        throws InterruptedIOException
+    {
+        if (Thread.currentThread().isInterrupted())
+        {
+            throw new InterruptedIOException(String.format("Interrupted while reading [%s] from remote.",
+                                                           repositoryPath));
+        }
+    }
+
     private long retryReadIfPossible(InputStreamRead f,
                                      IOException lastException)
         throws IOException
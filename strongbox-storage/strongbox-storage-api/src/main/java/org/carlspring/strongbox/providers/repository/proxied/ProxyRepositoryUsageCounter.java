@@ -0,0 +1,93 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.event.AsyncEventListener;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the running total of the artifact sizes of the proxy repositories on this node, so that the quota can be
+ * checked without summing the artifact entries every time.
+ * <br>
+ * The total is summed from the database once, and then it's increased with each stored artifact and decreased with
+ * each evicted one. The artifacts deleted by the other means are not tracked, so the total should be
+ * {@link #recalculate(Repository) recalculated} before it's relied on to evict.
+ */
+@Component
+public class ProxyRepositoryUsageCounter
+{
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    private final ConcurrentMap<String, AtomicLong> usage = new ConcurrentHashMap<>();
+
+    /**
+     * @return the total size of the artifacts of the repository, in bytes
+     */
+    public long getUsage(Repository repository)
+    {
+        return usage.computeIfAbsent(getKey(repository), k -> new AtomicLong(calculate(repository))).get();
+    }
+
+    public long recalculate(Repository repository)
+    {
+        long result = calculate(repository);
+        usage.put(getKey(repository), new AtomicLong(result));
+
+        return result;
+    }
+
+    public void add(Repository repository,
+                    long sizeInBytes)
+    {
+        AtomicLong repositoryUsage = usage.get(getKey(repository));
+        if (repositoryUsage != null)
+        {
+            repositoryUsage.addAndGet(sizeInBytes);
+        }
+    }
+
+    @AsyncEventListener
+    public void handleEvent(final ArtifactEvent<RepositoryPath> event)
+        throws IOException
+    {
+        if (ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() != event.getType())
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = (RepositoryPath) event.getPath();
+        Repository repository = repositoryPath.getRepository();
+        if (!repository.isProxyRepository() || !RepositoryFiles.isArtifact(repositoryPath) ||
+            !Files.exists(repositoryPath))
+        {
+            return;
+        }
+
+        add(repository, Files.size(repositoryPath));
+    }
+
+    private long calculate(Repository repository)
+    {
+        return artifactEntryService.calculateSizeInBytes(repository.getStorage().getId(), repository.getId());
+    }
+
+    private String getKey(Repository repository)
+    {
+        return repository.getStorageIdAndRepositoryId();
+    }
+
+}
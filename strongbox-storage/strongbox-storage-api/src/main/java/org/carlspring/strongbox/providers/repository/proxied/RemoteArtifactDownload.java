@@ -0,0 +1,404 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Represents single in-flight remote fetch, which is teed into a local spool
+ * file while it's being stored into the proxy repository. Any number of
+ * requesters can attach to the download and tail the growing spool file, so
+ * there is still exactly one upstream request per path.
+ *
+ * @see ProxyRepositoryArtifactResolver#fetchRemoteResourceStreamThrough(RepositoryPath)
+ */
+public class RemoteArtifactDownload
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteArtifactDownload.class);
+
+    private final RepositoryPath repositoryPath;
+
+    private final Path spoolPath;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final Object monitor = new Object();
+
+    private volatile long contentLength = -1;
+
+    private volatile long length;
+
+    private volatile boolean completed;
+
+    private volatile boolean cached;
+
+    private volatile IOException failure;
+
+    private int readers;
+
+    private boolean spoolDeleted;
+
+    public RemoteArtifactDownload(RepositoryPath repositoryPath,
+                                  Path spoolPath)
+    {
+        this.repositoryPath = repositoryPath;
+        this.spoolPath = spoolPath;
+    }
+
+    public RepositoryPath getRepositoryPath()
+    {
+        return repositoryPath;
+    }
+
+    /**
+     * @return the remote `Content-Length` or `-1` if remote didn't provide it.
+     */
+    public long getContentLength()
+    {
+        return contentLength;
+    }
+
+    public long getLength()
+    {
+        return length;
+    }
+
+    public boolean isCompleted()
+    {
+        return completed;
+    }
+
+    /**
+     * @return `true` if the path appeared in the local cache before the remote
+     *         fetch was started (for example it was fetched by another cluster
+     *         node), so there is nothing to tail.
+     */
+    public boolean isCached()
+    {
+        return cached;
+    }
+
+    void onStarted(long contentLength)
+    {
+        this.contentLength = contentLength;
+        started.countDown();
+    }
+
+    void onCached()
+    {
+        cached = true;
+        complete();
+    }
+
+    void complete()
+    {
+        synchronized (monitor)
+        {
+            completed = true;
+            monitor.notifyAll();
+            deleteSpoolIfUnused();
+        }
+        started.countDown();
+    }
+
+    void fail(IOException e)
+    {
+        synchronized (monitor)
+        {
+            failure = e;
+            completed = true;
+            monitor.notifyAll();
+            deleteSpoolIfUnused();
+        }
+        started.countDown();
+    }
+
+    /**
+     * Waits until the remote connection has been established.
+     *
+     * @return `false` if the remote resource was not found.
+     */
+    public boolean awaitStarted()
+        throws IOException
+    {
+        try
+        {
+            started.await();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Interrupted while waiting for [%s].", repositoryPath));
+        }
+
+        IOException e = failure;
+        if (e instanceof ArtifactNotFoundException)
+        {
+            return false;
+        }
+        else if (e != null && length == 0)
+        {
+            throw e;
+        }
+
+        return true;
+    }
+
+    /**
+     * Waits until the whole artifact has been stored into the local cache.
+     */
+    public void awaitCompleted()
+        throws IOException
+    {
+        synchronized (monitor)
+        {
+            while (!completed)
+            {
+                waitForProgress();
+            }
+        }
+
+        if (failure != null)
+        {
+            throw failure;
+        }
+    }
+
+    /**
+     * @return the {@link OutputStream} which should receive remote bytes in
+     *         the same order as they are stored into the repository.
+     */
+    OutputStream newSpoolOutputStream()
+        throws IOException
+    {
+        return new SpoolOutputStream(Files.newOutputStream(spoolPath, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * @return the {@link InputStream} which follows the download, or `null` if
+     *         the download is already over and the path should be served from
+     *         the local cache instead.
+     */
+    public InputStream newInputStream()
+        throws IOException
+    {
+        synchronized (monitor)
+        {
+            if (spoolDeleted)
+            {
+                return null;
+            }
+
+            FileChannel channel = FileChannel.open(spoolPath, StandardOpenOption.READ);
+            readers++;
+
+            return new TailInputStream(channel);
+        }
+    }
+
+    private void release()
+    {
+        synchronized (monitor)
+        {
+            readers--;
+            deleteSpoolIfUnused();
+        }
+    }
+
+    private void deleteSpoolIfUnused()
+    {
+        if (!completed || readers > 0 || spoolDeleted)
+        {
+            return;
+        }
+
+        spoolDeleted = true;
+        try
+        {
+            Files.deleteIfExists(spoolPath);
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to delete spool file [{}] for [{}].", spoolPath, repositoryPath, e);
+        }
+    }
+
+    private void waitForProgress()
+        throws InterruptedIOException
+    {
+        try
+        {
+            monitor.wait();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Interrupted while waiting for [%s].", repositoryPath));
+        }
+    }
+
+    private class SpoolOutputStream extends OutputStream
+    {
+
+        private final OutputStream target;
+
+        private SpoolOutputStream(OutputStream target)
+        {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b)
+            throws IOException
+        {
+            target.write(b);
+            onWritten(1);
+        }
+
+        @Override
+        public void write(byte[] b,
+                          int off,
+                          int len)
+            throws IOException
+        {
+            target.write(b, off, len);
+            onWritten(len);
+        }
+
+        private void onWritten(int n)
+            throws IOException
+        {
+            // Readers use FileChannel, so the bytes should reach the file
+            // before they are announced.
+            target.flush();
+
+            synchronized (monitor)
+            {
+                length += n;
+                monitor.notifyAll();
+            }
+        }
+
+        @Override
+        public void close()
+            throws IOException
+        {
+            target.close();
+        }
+
+    }
+
+    private class TailInputStream extends InputStream
+    {
+
+        private final FileChannel channel;
+
+        private long position;
+
+        private boolean closed;
+
+        private TailInputStream(FileChannel channel)
+        {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read()
+            throws IOException
+        {
+            byte[] b = new byte[1];
+            int n = read(b, 0, 1);
+
+            return n == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len)
+            throws IOException
+        {
+            if (len == 0)
+            {
+                return 0;
+            }
+
+            long available = awaitAvailable();
+            if (available <= 0)
+            {
+                return -1;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(b, off, (int) Math.min(len, available));
+            int n = channel.read(buffer, position);
+            if (n > 0)
+            {
+                position += n;
+            }
+
+            return n;
+        }
+
+        @Override
+        public int available()
+        {
+            return (int) Math.min(Integer.MAX_VALUE, length - position);
+        }
+
+        private long awaitAvailable()
+            throws IOException
+        {
+            synchronized (monitor)
+            {
+                while (length == position && !completed)
+                {
+                    waitForProgress();
+                }
+            }
+
+            // Bytes which already reached the spool file are good to serve,
+            // but there is no way to complete the response if remote failed.
+            if (length == position && failure != null)
+            {
+                throw new IOException(String.format("Remote fetch failed for [%s].", repositoryPath), failure);
+            }
+
+            return length - position;
+        }
+
+        @Override
+        public void close()
+            throws IOException
+        {
+            if (closed)
+            {
+                return;
+            }
+            closed = true;
+
+            try
+            {
+                channel.close();
+            }
+            finally
+            {
+                release();
+            }
+        }
+
+    }
+
+}
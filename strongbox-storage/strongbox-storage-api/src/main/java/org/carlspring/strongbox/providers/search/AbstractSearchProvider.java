@@ -30,6 +30,15 @@ public abstract class AbstractSearchProvider
 {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractSearchProvider.class);
+
+    public static final String OPTION_SKIP = "skip";
+
+    public static final String OPTION_LIMIT = "limit";
+
+    /**
+     * The page size of the providers, which can't return all the results at once, when no limit is requested.
+     */
+    protected static final int DEFAULT_LIMIT = 100;
     
     @Inject
     private ArtifactEntryService artifactEntryService;
@@ -98,6 +107,27 @@ public abstract class AbstractSearchProvider
                                 artifactResource.toString());
     }
 
+    protected int parseOption(SearchRequest searchRequest,
+                              String option,
+                              int defaultValue)
+            throws SearchException
+    {
+        String value = searchRequest.getOption(option);
+        if (value == null)
+        {
+            return defaultValue;
+        }
+
+        try
+        {
+            return Math.max(0, Integer.parseInt(value));
+        }
+        catch (NumberFormatException e)
+        {
+            throw new SearchException(String.format("Invalid [%s] value [%s].", option, value), e);
+        }
+    }
+
     public Configuration getConfiguration()
     {
         return configurationManager.getConfiguration();
@@ -0,0 +1,587 @@
+package org.carlspring.strongbox.providers.search;
+
+import org.carlspring.strongbox.artifact.ArtifactTag;
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.AsyncEventListener;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.HostedRepositoryProvider;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.LockObtainFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The embedded Lucene index of the {@link ArtifactEntry} coordinates, tags and the layout specific description and
+ * keywords, which is used by the {@link LuceneSearchProvider}.
+ * <br>
+ * The index follows the artifact events, including the tag and the entry metadata updates, and the repository import
+ * events. It's reopened periodically (near real time), so the changes become searchable within
+ * {@code strongbox.search.lucene.refreshMillis}. It's rebuilt from the database when it's empty, for example on the
+ * first start.
+ * <br>
+ * The index is kept by each node in its own directory, {@code strongbox.search.lucene.directory}, by default
+ * {@code <vault>/lucene-search/<host>-<port>}, since a Lucene directory can have only one writer. The application
+ * contexts of the same JVM share the writer of the directory.
+ * <br>
+ * The index is opened only when {@code strongbox.search.provider} is {@link LuceneSearchProvider#ALIAS}.
+ */
+@Component
+@Conditional(LuceneSearchCondition.class)
+public class LuceneArtifactEntryIndex
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(LuceneArtifactEntryIndex.class);
+
+    public static final String FIELD_PATH = "path";
+
+    public static final String FIELD_STORAGE_ID = "storageId";
+
+    public static final String FIELD_REPOSITORY_ID = "repositoryId";
+
+    public static final String FIELD_ARTIFACT_PATH = "artifactPath";
+
+    /**
+     * The prefix of the not analyzed, lower case coordinate fields, such as {@code coordinates.groupId}. Every suffix
+     * of the value is indexed, so the substring match is a prefix query, rather than a leading wildcard scan of all
+     * the terms.
+     */
+    public static final String FIELD_COORDINATES_PREFIX = "coordinates.";
+
+    public static final String FIELD_COORDINATES = "coordinates";
+
+    public static final String FIELD_TAGS = "tags";
+
+    public static final String FIELD_DESCRIPTION = "description";
+
+    public static final String FIELD_KEYWORDS = "keywords";
+
+    private static final String[] DESCRIPTION_METADATA = { "title", "summary", "description" };
+
+    private static final String[] KEYWORDS_METADATA = { "tags", "keywords" };
+
+    private static final String INDEX_DIRECTORY = "lucene-search";
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    @Value("${strongbox.search.lucene.refreshMillis:1000}")
+    private long refreshMillis;
+
+    @Value("${strongbox.search.lucene.commitSeconds:60}")
+    private long commitSeconds;
+
+    @Value("${strongbox.search.lucene.directory:}")
+    private String indexDirectory;
+
+    @Inject
+    private PropertiesBooter propertiesBooter;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private HostedRepositoryProvider hostedRepositoryProvider;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    private SharedIndex sharedIndex;
+
+    private IndexWriter indexWriter;
+
+    private SearcherManager searcherManager;
+
+    private ScheduledExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet()
+        throws IOException
+    {
+        Path indexPath = getIndexPath();
+
+        sharedIndex = SharedIndex.acquire(indexPath);
+        indexWriter = sharedIndex.indexWriter;
+        searcherManager = sharedIndex.searcherManager;
+
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("lucene-search-"));
+        executor.scheduleWithFixedDelay(this::refreshQuietly, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::commitQuietly, commitSeconds, commitSeconds, TimeUnit.SECONDS);
+
+        if (sharedIndex.requestRebuild())
+        {
+            executor.execute(this::rebuildQuietly);
+        }
+
+        logger.info("Opened the search index [{}] with [{}] documents.", indexPath, indexWriter.numDocs());
+    }
+
+    @Override
+    public void destroy()
+        throws IOException,
+        InterruptedException
+    {
+        // Not interrupted, an interrupt while the shared writer is writing would close it for all the contexts.
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS))
+        {
+            logger.warn("The search index tasks are still running, closing the index anyway.");
+        }
+
+        sharedIndex.release();
+    }
+
+    private Path getIndexPath()
+        throws IOException
+    {
+        if (indexDirectory != null && !indexDirectory.trim().isEmpty())
+        {
+            return Paths.get(indexDirectory);
+        }
+
+        String node = String.format("%s-%s", InetAddress.getLocalHost().getHostName(), propertiesBooter.getPort());
+
+        return Paths.get(propertiesBooter.getVaultDirectory(), INDEX_DIRECTORY, node);
+    }
+
+    public Analyzer getAnalyzer()
+    {
+        return sharedIndex.analyzer;
+    }
+
+    /**
+     * Runs the query against the latest reopened searcher.
+     *
+     * @return the page of the matching documents, by relevance
+     */
+    public <T> List<T> search(Query query,
+                              int skip,
+                              int limit,
+                              Function<Document, T> mapper)
+        throws IOException
+    {
+        List<T> result = new ArrayList<>();
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try
+        {
+            TopDocs topDocs = searcher.search(query, Math.max(1, skip + limit));
+            for (int i = skip; i < topDocs.scoreDocs.length; i++)
+            {
+                result.add(mapper.apply(searcher.doc(topDocs.scoreDocs[i].doc)));
+            }
+        }
+        finally
+        {
+            searcherManager.release(searcher);
+        }
+
+        return result;
+    }
+
+    public void index(ArtifactEntry artifactEntry)
+        throws IOException
+    {
+        indexWriter.updateDocument(new Term(FIELD_PATH, getPath(artifactEntry)), createDocument(artifactEntry));
+    }
+
+    /**
+     * Removes the artifact, or all the artifacts under the directory.
+     */
+    public void delete(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        String path = getPath(repositoryPath.getRepository().getStorage().getId(),
+                              repositoryPath.getRepository().getId(),
+                              RepositoryFiles.relativizePath(repositoryPath));
+
+        indexWriter.deleteDocuments(new Term(FIELD_PATH, path));
+        indexWriter.deleteDocuments(new PrefixQuery(new Term(FIELD_PATH, path.endsWith("/") ? path : path + "/")));
+    }
+
+    /**
+     * Re-indexes all the artifact entries, repository by repository.
+     */
+    public void rebuild()
+        throws IOException
+    {
+        logger.info("Rebuilding the search index.");
+
+        indexWriter.deleteAll();
+
+        int indexed = 0;
+        for (Repository repository : configurationManager.getConfiguration().getRepositories())
+        {
+            indexed += index(repository.getStorage().getId(), repository.getId());
+        }
+
+        indexWriter.commit();
+        searcherManager.maybeRefresh();
+
+        logger.info("Rebuilt the search index with [{}] documents.", indexed);
+    }
+
+    /**
+     * Re-indexes the artifact entries of the repository.
+     */
+    public void reindex(String storageId,
+                        String repositoryId)
+        throws IOException
+    {
+        int indexed = index(storageId, repositoryId);
+
+        indexWriter.commit();
+        searcherManager.maybeRefresh();
+
+        logger.info("Re-indexed [{}] documents of [{}:{}].", indexed, storageId, repositoryId);
+    }
+
+    /**
+     * Reads the entries with the repository keyset cursor, so each page is a range scan of the artifact path index,
+     * however far the page is. The entries of the page are indexed as they are, without resolving their paths.
+     */
+    private int index(String storageId,
+                      String repositoryId)
+        throws IOException
+    {
+        Paginator paginator = new Paginator();
+        paginator.setLimit(REBUILD_PAGE_SIZE);
+
+        int result = 0;
+        Iterator<ArtifactEntry> artifactEntries = hostedRepositoryProvider.streamArtifactEntries(storageId,
+                                                                                                 repositoryId,
+                                                                                                 Predicate.empty(),
+                                                                                                 paginator)
+                                                                          .iterator();
+        while (artifactEntries.hasNext())
+        {
+            index(artifactEntries.next());
+            result++;
+        }
+
+        return result;
+    }
+
+    @AsyncEventListener
+    public void handleRepositoryEvent(final RepositoryEvent event)
+        throws IOException
+    {
+        if (RepositoryEventTypeEnum.EVENT_REPOSITORY_IMPORTED.getType() != event.getType())
+        {
+            return;
+        }
+
+        reindex(event.getStorageId(), event.getRepositoryId());
+    }
+
+    @AsyncEventListener
+    public void handleEvent(final ArtifactEvent<RepositoryPath> event)
+        throws IOException
+    {
+        RepositoryPath repositoryPath = (RepositoryPath) event.getPath();
+
+        if (ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType() == event.getType())
+        {
+            delete(repositoryPath);
+
+            return;
+        }
+
+        if (ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() != event.getType() &&
+            ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() != event.getType() &&
+            ArtifactEventTypeEnum.EVENT_ARTIFACT_TAGS_UPDATED.getType() != event.getType() &&
+            ArtifactEventTypeEnum.EVENT_ARTIFACT_ENTRY_METADATA_UPDATED.getType() != event.getType())
+        {
+            return;
+        }
+
+        if (!RepositoryFiles.isArtifact(repositoryPath))
+        {
+            return;
+        }
+
+        new TransactionTemplate(transactionManager).execute(t -> {
+            try
+            {
+                ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
+                if (artifactEntry != null)
+                {
+                    index(artifactEntry);
+                }
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+
+            return null;
+        });
+    }
+
+    private Document createDocument(ArtifactEntry artifactEntry)
+    {
+        Document document = new Document();
+        document.add(new StringField(FIELD_PATH, getPath(artifactEntry), Field.Store.YES));
+        document.add(new StringField(FIELD_STORAGE_ID, artifactEntry.getStorageId(), Field.Store.YES));
+        document.add(new StringField(FIELD_REPOSITORY_ID, artifactEntry.getRepositoryId(), Field.Store.YES));
+        document.add(new StringField(FIELD_ARTIFACT_PATH, artifactEntry.getArtifactPath(), Field.Store.YES));
+
+        for (Map.Entry<String, String> coordinate : artifactEntry.getArtifactCoordinates().getCoordinates().entrySet())
+        {
+            if (coordinate.getValue() == null)
+            {
+                continue;
+            }
+
+            String value = coordinate.getValue().toLowerCase(Locale.ENGLISH);
+            for (int i = 0; i < value.length(); i++)
+            {
+                document.add(new StringField(FIELD_COORDINATES_PREFIX + coordinate.getKey(),
+                                             value.substring(i),
+                                             Field.Store.NO));
+            }
+            document.add(new TextField(FIELD_COORDINATES, coordinate.getValue(), Field.Store.NO));
+        }
+
+        for (ArtifactTag artifactTag : artifactEntry.getTagSet())
+        {
+            document.add(new TextField(FIELD_TAGS, artifactTag.getName(), Field.Store.NO));
+        }
+
+        Map<String, String> metadata = artifactEntry.getMetadata();
+        addMetadata(document, FIELD_DESCRIPTION, metadata, DESCRIPTION_METADATA);
+        addMetadata(document, FIELD_KEYWORDS, metadata, KEYWORDS_METADATA);
+
+        return document;
+    }
+
+    private void addMetadata(Document document,
+                             String field,
+                             Map<String, String> metadata,
+                             String[] keys)
+    {
+        List<String> values = new ArrayList<>();
+        for (String key : keys)
+        {
+            String value = metadata.get(key);
+            if (value != null)
+            {
+                values.add(value);
+            }
+        }
+
+        if (!values.isEmpty())
+        {
+            document.add(new TextField(field, String.join(" ", values), Field.Store.NO));
+        }
+    }
+
+    private String getPath(ArtifactEntry artifactEntry)
+    {
+        return getPath(artifactEntry.getStorageId(), artifactEntry.getRepositoryId(), artifactEntry.getArtifactPath());
+    }
+
+    private String getPath(String storageId,
+                           String repositoryId,
+                           String artifactPath)
+    {
+        return String.format("%s/%s/%s", storageId, repositoryId, artifactPath);
+    }
+
+    private void refreshQuietly()
+    {
+        try
+        {
+            searcherManager.maybeRefresh();
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to reopen the search index.", e);
+        }
+    }
+
+    private void commitQuietly()
+    {
+        try
+        {
+            if (indexWriter.hasUncommittedChanges())
+            {
+                indexWriter.commit();
+            }
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to commit the search index.", e);
+        }
+    }
+
+    private void rebuildQuietly()
+    {
+        try
+        {
+            rebuild();
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to rebuild the search index.", e);
+        }
+    }
+
+    /**
+     * The writer of an index directory, which is shared by all the application contexts of this JVM, since a second
+     * writer of the same directory can't obtain its {@code write.lock}.
+     */
+    static class SharedIndex
+    {
+
+        private static final Map<Path, SharedIndex> opened = new HashMap<>();
+
+        private final Path path;
+
+        private final Analyzer analyzer = new StandardAnalyzer();
+
+        private final Directory directory;
+
+        private final IndexWriter indexWriter;
+
+        private final SearcherManager searcherManager;
+
+        private int references;
+
+        private boolean rebuildRequested;
+
+        private SharedIndex(Path path)
+            throws IOException
+        {
+            this.path = path;
+
+            directory = FSDirectory.open(path);
+            try
+            {
+                indexWriter = new IndexWriter(directory,
+                                              new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            }
+            catch (LockObtainFailedException e)
+            {
+                directory.close();
+
+                throw new IOException(String.format("The search index [%s] is used by another process, " +
+                                                    "please set a separate [strongbox.search.lucene.directory].",
+                                                    path),
+                                      e);
+            }
+            searcherManager = new SearcherManager(indexWriter, true, new SearcherFactory());
+        }
+
+        static synchronized SharedIndex acquire(Path path)
+            throws IOException
+        {
+            Path key = path.toAbsolutePath().normalize();
+
+            SharedIndex result = opened.get(key);
+            if (result == null)
+            {
+                result = new SharedIndex(key);
+                opened.put(key, result);
+            }
+            result.references++;
+
+            return result;
+        }
+
+        IndexWriter getIndexWriter()
+        {
+            return indexWriter;
+        }
+
+        /**
+         * @return true, only for the first caller, if the index is empty
+         */
+        synchronized boolean requestRebuild()
+        {
+            if (rebuildRequested || indexWriter.numDocs() > 0)
+            {
+                return false;
+            }
+
+            return rebuildRequested = true;
+        }
+
+        void release()
+            throws IOException
+        {
+            synchronized (SharedIndex.class)
+            {
+                if (--references > 0)
+                {
+                    return;
+                }
+
+                opened.remove(path);
+            }
+
+            try
+            {
+                searcherManager.close();
+                indexWriter.close();
+            }
+            finally
+            {
+                directory.close();
+            }
+        }
+
+    }
+
+}
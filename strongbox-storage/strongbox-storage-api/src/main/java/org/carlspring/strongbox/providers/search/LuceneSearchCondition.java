@@ -0,0 +1,26 @@
+package org.carlspring.strongbox.providers.search;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Matches, when the {@link LuceneSearchProvider} is the configured {@code strongbox.search.provider}, so the Lucene
+ * index is neither opened nor maintained otherwise.
+ */
+public class LuceneSearchCondition
+        implements Condition
+{
+
+    public static final String PROPERTY_SEARCH_PROVIDER = "strongbox.search.provider";
+
+    @Override
+    public boolean matches(ConditionContext conditionContext,
+                           AnnotatedTypeMetadata metadata)
+    {
+        String searchProvider = conditionContext.getEnvironment().getProperty(PROPERTY_SEARCH_PROVIDER);
+
+        return LuceneSearchProvider.ALIAS.equals(searchProvider);
+    }
+
+}
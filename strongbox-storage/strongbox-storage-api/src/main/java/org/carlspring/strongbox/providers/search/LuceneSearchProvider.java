@@ -0,0 +1,176 @@
+package org.carlspring.strongbox.providers.search;
+
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.search.SearchRequest;
+import org.carlspring.strongbox.storage.search.SearchResult;
+import org.carlspring.strongbox.storage.search.SearchResults;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Searches the {@link LuceneArtifactEntryIndex} instead of the database.
+ * <br>
+ * The {@code key=value;} queries match the coordinates case insensitively, by substring, as the
+ * {@link OrientDbSearchProvider} does. Any other query is a Lucene full text query over the coordinates, tags,
+ * keywords and description, and the results are ranked by relevance.
+ * <br>
+ * The results are paginated with the {@link #OPTION_SKIP} and {@link #OPTION_LIMIT} request options.
+ * <br>
+ * The provider is registered only when it's the configured {@code strongbox.search.provider}.
+ */
+@Component("luceneSearchProvider")
+@Conditional(LuceneSearchCondition.class)
+public class LuceneSearchProvider
+        extends AbstractSearchProvider
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(LuceneSearchProvider.class);
+
+    private static final Pattern QUERY_PATTERN_DB = Pattern.compile("([^=]+)=([^;]+);");
+
+    private static final String[] FULL_TEXT_FIELDS = { LuceneArtifactEntryIndex.FIELD_COORDINATES,
+                                                       LuceneArtifactEntryIndex.FIELD_TAGS,
+                                                       LuceneArtifactEntryIndex.FIELD_KEYWORDS,
+                                                       LuceneArtifactEntryIndex.FIELD_DESCRIPTION };
+
+    private static final Map<String, Float> FULL_TEXT_BOOSTS = new HashMap<>();
+
+    static
+    {
+        FULL_TEXT_BOOSTS.put(LuceneArtifactEntryIndex.FIELD_COORDINATES, 4f);
+        FULL_TEXT_BOOSTS.put(LuceneArtifactEntryIndex.FIELD_TAGS, 2f);
+        FULL_TEXT_BOOSTS.put(LuceneArtifactEntryIndex.FIELD_KEYWORDS, 2f);
+        FULL_TEXT_BOOSTS.put(LuceneArtifactEntryIndex.FIELD_DESCRIPTION, 1f);
+    }
+
+    public static final String ALIAS = "Lucene";
+
+    @Inject
+    private LuceneArtifactEntryIndex luceneArtifactEntryIndex;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Override
+    public String getAlias()
+    {
+        return ALIAS;
+    }
+
+    @Override
+    public SearchResults search(SearchRequest searchRequest)
+            throws SearchException
+    {
+        SearchResults searchResults = new SearchResults();
+
+        Query query = createQuery(searchRequest);
+        if (query == null)
+        {
+            return searchResults;
+        }
+
+        int skip = parseOption(searchRequest, OPTION_SKIP, 0);
+        int limit = parseOption(searchRequest, OPTION_LIMIT, DEFAULT_LIMIT);
+
+        List<SearchResult> results;
+        try
+        {
+            results = luceneArtifactEntryIndex.search(query, skip, limit, d -> {
+                ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(
+                        d.get(LuceneArtifactEntryIndex.FIELD_STORAGE_ID),
+                        d.get(LuceneArtifactEntryIndex.FIELD_REPOSITORY_ID),
+                        d.get(LuceneArtifactEntryIndex.FIELD_ARTIFACT_PATH));
+
+                return artifactEntry == null ? null : createSearchResult(artifactEntry);
+            });
+        }
+        catch (IOException e)
+        {
+            throw new SearchException(String.format("Failed to search [%s].", searchRequest.getQuery()), e);
+        }
+
+        results.stream().filter(Objects::nonNull).forEach(searchResults.getResults()::add);
+
+        logger.debug("Results: {}", searchResults.getResults().size());
+
+        return searchResults;
+    }
+
+    private Query createQuery(SearchRequest searchRequest)
+            throws SearchException
+    {
+        String query = searchRequest.getQuery();
+        if (StringUtils.isBlank(query))
+        {
+            return null;
+        }
+
+        BooleanQuery.Builder result = new BooleanQuery.Builder();
+
+        Matcher matcher = QUERY_PATTERN_DB.matcher(query);
+        if (matcher.find())
+        {
+            do
+            {
+                String value = matcher.group(2).toLowerCase(Locale.ENGLISH);
+                result.add(new PrefixQuery(new Term(LuceneArtifactEntryIndex.FIELD_COORDINATES_PREFIX + matcher.group(1),
+                                                    value)),
+                           Occur.FILTER);
+            }
+            while (matcher.find());
+        }
+        else
+        {
+            QueryParser queryParser = new MultiFieldQueryParser(FULL_TEXT_FIELDS,
+                                                                luceneArtifactEntryIndex.getAnalyzer(),
+                                                                FULL_TEXT_BOOSTS);
+            try
+            {
+                result.add(queryParser.parse(query), Occur.MUST);
+            }
+            catch (ParseException e)
+            {
+                throw new SearchException(String.format("Invalid query [%s].", query), e);
+            }
+        }
+
+        if (StringUtils.isNotBlank(searchRequest.getStorageId()))
+        {
+            result.add(new TermQuery(new Term(LuceneArtifactEntryIndex.FIELD_STORAGE_ID, searchRequest.getStorageId())),
+                       Occur.FILTER);
+        }
+        if (StringUtils.isNotBlank(searchRequest.getRepositoryId()))
+        {
+            result.add(new TermQuery(new Term(LuceneArtifactEntryIndex.FIELD_REPOSITORY_ID,
+                                              searchRequest.getRepositoryId())),
+                       Occur.FILTER);
+        }
+
+        return result.build();
+    }
+
+}
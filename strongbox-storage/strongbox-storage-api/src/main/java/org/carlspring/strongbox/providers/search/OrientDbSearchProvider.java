@@ -1,24 +1,43 @@
 package org.carlspring.strongbox.providers.search;
 
+import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.RepositoryProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.search.SearchRequest;
 import org.carlspring.strongbox.storage.search.SearchResult;
 import org.carlspring.strongbox.storage.search.SearchResults;
 
 import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
+ * The results are paginated with the {@link #OPTION_SKIP} and {@link #OPTION_LIMIT} request options, all the matching
+ * artifacts are returned without the limit. The first page of a single repository is streamed from the repository
+ * keyset cursor, the pages at an offset are queried by the repository provider with the `SKIP` and `LIMIT`.
+ *
  * @author carlspring
  */
 @Component("orientDbSearchProvider")
@@ -28,13 +47,16 @@ public class OrientDbSearchProvider
 
     private static final Logger logger = LoggerFactory.getLogger(OrientDbSearchProvider.class);
 
-    private static final String QUERY_PATTERN_DB = "([^=]+)=([^;]+);";
+    private static final Pattern QUERY_PATTERN_DB = Pattern.compile("([^=]+)=([^;]+);");
 
     public static final String ALIAS = "OrientDB";
 
     @Inject
     private ArtifactEntryService artifactEntryService;
 
+    @Inject
+    private RepositoryProviderRegistry repositoryProviderRegistry;
+
     @Override
     public String getAlias()
     {
@@ -49,8 +71,7 @@ public class OrientDbSearchProvider
 
         String query = searchRequest.getQuery();
 
-        Pattern pattern = Pattern.compile(QUERY_PATTERN_DB);
-        Matcher matcher = pattern.matcher(query);
+        Matcher matcher = QUERY_PATTERN_DB.matcher(query);
 
         if (matcher.find())
         {
@@ -61,17 +82,35 @@ public class OrientDbSearchProvider
             }
             while (matcher.find());
 
-            List<SearchResult> results = new LinkedList<>();
-            results.addAll(artifactEntryService.findArtifactList(searchRequest.getStorageId(),
-                                                                 searchRequest.getRepositoryId(),
-                                                                 coordinates, false)
-                                               .stream()
-                                               .map(this::createSearchResult)
-                                               .collect(Collectors.toList()));
+            int skip = parseOption(searchRequest, OPTION_SKIP, 0);
+            int limit = parseOption(searchRequest, OPTION_LIMIT, -1);
 
-            searchResults.getResults().addAll(results);
+            List<SearchResult> results;
+            if (StringUtils.isNotBlank(searchRequest.getStorageId()) &&
+                StringUtils.isNotBlank(searchRequest.getRepositoryId()))
+            {
+                results = searchRepository(searchRequest.getStorageId(),
+                                           searchRequest.getRepositoryId(),
+                                           coordinates,
+                                           skip,
+                                           limit);
+            }
+            else
+            {
+                results = artifactEntryService.findArtifactList(searchRequest.getStorageId(),
+                                                                searchRequest.getRepositoryId(),
+                                                                coordinates,
+                                                                Collections.emptySet(),
+                                                                skip,
+                                                                limit,
+                                                                null,
+                                                                false)
+                                              .stream()
+                                              .map(this::createSearchResult)
+                                              .collect(Collectors.toList());
+            }
 
-            return searchResults;
+            results.stream().filter(Objects::nonNull).forEach(searchResults.getResults()::add);
         }
 
         logger.debug("Results: {}", searchResults.getResults().size());
@@ -79,4 +118,59 @@ public class OrientDbSearchProvider
         return searchResults;
     }
 
+    private List<SearchResult> searchRepository(String storageId,
+                                                String repositoryId,
+                                                Map<String, String> coordinates,
+                                                int skip,
+                                                int limit)
+    {
+        Storage storage = getConfiguration().getStorage(storageId);
+        Repository repository = storage == null ? null : storage.getRepository(repositoryId);
+        if (repository == null)
+        {
+            return Collections.emptyList();
+        }
+
+        // The same case insensitive substring match, as the `ArtifactEntryService.findArtifactList()` does.
+        Predicate predicate = Predicate.empty();
+        coordinates.forEach((k, v) -> {
+            String property = String.format("artifactCoordinates.coordinates.%s.toLowerCase()", k);
+            String value = "%" + v.toLowerCase(Locale.ENGLISH) + "%";
+
+            predicate.and(Predicate.of(ExpOperator.LIKE.of(property, value)));
+        });
+
+        RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(repository.getType());
+
+        Paginator paginator = new Paginator();
+        paginator.setLimit(limit);
+
+        Stream<Path> paths;
+        if (skip > 0 && limit > 0 && limit <= Paginator.MAX_LIMIT)
+        {
+            paginator.setSkip(skip);
+
+            paths = repositoryProvider.search(storageId, repositoryId, predicate, paginator).stream();
+        }
+        else
+        {
+            paths = repositoryProvider.stream(storageId, repositoryId, predicate, paginator).skip(skip);
+        }
+
+        return (limit > 0 ? paths.limit(limit) : paths).map(p -> {
+            try
+            {
+                ArtifactEntry artifactEntry = ((RepositoryPath) p).getArtifactEntry();
+
+                return artifactEntry == null ? null : createSearchResult(artifactEntry);
+            }
+            catch (IOException e)
+            {
+                logger.error("Failed to resolve the artifact entry of [{}]", p, e);
+
+                return null;
+            }
+        }).collect(Collectors.toList());
+    }
+
 }
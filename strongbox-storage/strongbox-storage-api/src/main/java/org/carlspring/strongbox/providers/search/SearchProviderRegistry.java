@@ -0,0 +1,33 @@
+package org.carlspring.strongbox.providers.search;
+
+import org.carlspring.strongbox.providers.AbstractMappedProviderRegistry;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SearchProviderRegistry
+        extends AbstractMappedProviderRegistry<SearchProvider>
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchProviderRegistry.class);
+
+    @Inject
+    private List<SearchProvider> searchProviders;
+
+
+    @Override
+    @PostConstruct
+    public void initialize()
+    {
+        searchProviders.forEach(sp -> addProvider(sp.getAlias(), sp));
+
+        logger.info("Initialized the search provider registry.");
+    }
+
+}
@@ -69,6 +69,12 @@ public interface ArtifactEntryService
                         Map<String, String> coordinates,
                         boolean strict);
 
+    /**
+     * @return the total size of the artifacts of the repository, in bytes
+     */
+    long calculateSizeInBytes(String storageId,
+                              String repositoryId);
+
     boolean artifactExists(String storageId,
                            String repositoryId,
                            String path);
@@ -0,0 +1,47 @@
+package org.carlspring.strongbox.services;
+
+import org.carlspring.strongbox.services.support.ArtifactImportResult;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Imports many files into a hosted repository at once.
+ * <br>
+ * The files are stored by a pool of workers, in batches, one transaction per batch. The files which have been
+ * imported already are skipped, so a failed batch or import can be repeated. The checksum files are
+ * regenerated from the imported files, and the metadata and the search index are regenerated once, after the import,
+ * instead of after every file.
+ */
+public interface ArtifactImportService
+{
+
+    /**
+     * Imports the files of a tar (optionally compressed) or zip archive. The archive entry names are the paths of the
+     * files relative to the repository root.
+     *
+     * @param repository Repository
+     * @param is         the archive stream
+     * @return the import counters
+     * @throws IOException if the archive can't be read
+     */
+    ArtifactImportResult importArchive(Repository repository,
+                                       InputStream is)
+            throws IOException;
+
+    /**
+     * Imports the files of a directory on the server. The paths of the files relative to the directory are the paths
+     * relative to the repository root.
+     *
+     * @param repository Repository
+     * @param directory  the server local directory
+     * @return the import counters
+     * @throws IOException if the directory can't be read
+     */
+    ArtifactImportResult importDirectory(Repository repository,
+                                         Path directory)
+            throws IOException;
+
+}
@@ -99,32 +99,33 @@ public class ArtifactManagementService
         return doStore(repositoryPath, is);
     }
 
+    /**
+     * Validates and stores the file as {@link #validateAndStore(RepositoryPath, InputStream)} does, but within the
+     * caller's transaction and without dispatching the stored, updated and metadata stored events, so that the caller
+     * regenerates the metadata and the indexes once, after a bulk import.
+     */
+    public long importFile(RepositoryPath repositoryPath,
+                           InputStream is)
+        throws IOException,
+        ProviderImplementationException,
+        ArtifactCoordinatesValidationException
+    {
+        performRepositoryAcceptanceValidation(repositoryPath);
+        return write(repositoryPath, is);
+    }
+
     private long doStore(RepositoryPath repositoryPath,
                          InputStream is)
             throws IOException
     {
-        long result;
         boolean updatedArtifactFile = false;
 
         if (RepositoryFiles.artifactExists(repositoryPath))
         {
             updatedArtifactFile = RepositoryFiles.isArtifact(repositoryPath);
         }
-        
-        try (final RepositoryOutputStream aos = artifactResolutionService.getOutputStream(repositoryPath))
-        {
-            result = writeArtifact(repositoryPath, is, aos);
-            logger.debug("Stored [{}] bytes for [{}].", result, repositoryPath);
-            aos.flush();
-        }
-        catch (IOException e)
-        {
-           throw e; 
-        }
-        catch (Exception e)
-        {
-            throw new ArtifactStorageException(e);
-        }
+
+        long result = write(repositoryPath, is);
 
         if (updatedArtifactFile)
         {
@@ -144,6 +145,29 @@ public class ArtifactManagementService
         return result;
     }
 
+    private long write(RepositoryPath repositoryPath,
+                       InputStream is)
+            throws IOException
+    {
+        long result;
+        try (final RepositoryOutputStream aos = artifactResolutionService.getOutputStream(repositoryPath))
+        {
+            result = writeArtifact(repositoryPath, is, aos);
+            logger.debug("Stored [{}] bytes for [{}].", result, repositoryPath);
+            aos.flush();
+        }
+        catch (IOException e)
+        {
+           throw e; 
+        }
+        catch (Exception e)
+        {
+            throw new ArtifactStorageException(e);
+        }
+
+        return result;
+    }
+
     private long writeArtifact(RepositoryPath repositoryPath,
                                InputStream is,
                                OutputStream os)
@@ -10,6 +10,11 @@ import org.carlspring.strongbox.storage.search.SearchResults;
 public interface ArtifactSearchService
 {
 
+    /**
+     * The request option, which selects the search provider by alias, instead of the default one.
+     */
+    String OPTION_SEARCH_PROVIDER = "searchProvider";
+
     SearchResults search(SearchRequest searchRequest)
             throws SearchException;
 
@@ -1,8 +1,11 @@
 package org.carlspring.strongbox.services;
 
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
+import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -27,6 +30,25 @@ public interface RepositoryArtifactIdGroupService
                                            String repositoryId,
                                            String artifactId);
 
+    void removeArtifactFromGroup(RepositoryArtifactIdGroupEntry artifactGroup,
+                                 ArtifactEntry artifactEntry);
+
+    /**
+     * Saves the new entry of the artifact path and adds it to the artifact id group, within the group lock and in a
+     * separate transaction.
+     */
+    void saveArtifactEntry(RepositoryPath repositoryPath,
+                           ArtifactEntry artifactEntry)
+        throws IOException;
+
+    /**
+     * Removes the entry of the artifact path from the artifact id group and deletes it, within the group lock and in a
+     * separate transaction.
+     */
+    void deleteArtifactEntry(RepositoryPath repositoryPath,
+                             ArtifactEntry artifactEntry)
+        throws IOException;
+
     @Override
     default Class<RepositoryArtifactIdGroupEntry> getEntityClass()
     {
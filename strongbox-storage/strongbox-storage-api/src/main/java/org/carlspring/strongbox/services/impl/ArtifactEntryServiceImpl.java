@@ -120,8 +120,26 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
             sb.append(" WHERE ");
             parameterMap = new HashMap<>();
 
+            if (searchCriteria.getStorageId() != null)
+            {
+                criteriaQueryClasuse.append(" storageId = :storageId ");
+                parameterMap.put("storageId", searchCriteria.getStorageId());
+            }
+            if (searchCriteria.getRepositoryId() != null)
+            {
+                if (criteriaQueryClasuse.length() > 0)
+                {
+                    criteriaQueryClasuse.append(" AND ");
+                }
+                criteriaQueryClasuse.append(" repositoryId = :repositoryId ");
+                parameterMap.put("repositoryId", searchCriteria.getRepositoryId());
+            }
             if (searchCriteria.getMinSizeInBytes() != null && searchCriteria.getMinSizeInBytes() > 0)
             {
+                if (criteriaQueryClasuse.length() > 0)
+                {
+                    criteriaQueryClasuse.append(" AND ");
+                }
                 criteriaQueryClasuse.append(" sizeInBytes >= :minSizeInBytes ");
                 parameterMap.put("minSizeInBytes", searchCriteria.getMinSizeInBytes());
             }
@@ -352,6 +370,25 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return result;
     }
 
+    @Override
+    public long calculateSizeInBytes(String storageId,
+                                     String repositoryId)
+    {
+        String sQuery = String.format("SELECT sum(sizeInBytes) AS sizeInBytes FROM %s " +
+                                      "WHERE storageId = :storageId AND repositoryId = :repositoryId",
+                                      getEntityClass().getSimpleName());
+        OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
+
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("storageId", storageId);
+        parameterMap.put("repositoryId", repositoryId);
+
+        List<ODocument> result = getDelegate().command(oQuery).execute(parameterMap);
+        Number sizeInBytes = result.isEmpty() ? null : result.iterator().next().field("sizeInBytes");
+
+        return sizeInBytes == null ? 0 : sizeInBytes.longValue();
+    }
+
     @Override
     public boolean artifactExists(String storageId,
                                   String repositoryId,
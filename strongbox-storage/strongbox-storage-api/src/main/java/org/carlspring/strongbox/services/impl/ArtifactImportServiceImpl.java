@@ -0,0 +1,481 @@
+package org.carlspring.strongbox.services.impl;
+
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.repository.RepositoryEventListenerRegistry;
+import org.carlspring.strongbox.providers.ProviderImplementationException;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.io.RepositoryRelativePathConstructionException;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.ArtifactImportService;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.services.support.ArtifactImportResult;
+import org.carlspring.strongbox.storage.ArtifactStorageException;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.validation.artifact.ArtifactCoordinatesValidationException;
+
+import javax.inject.Inject;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.orientechnologies.common.concur.ONeedRetryException;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveException;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.ArchiveStreamFactory;
+import org.apache.commons.compress.compressors.CompressorException;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * The archive entries are spooled to temporary files while the previous batches are being stored, and the reading
+ * is throttled (the caller stores a batch itself) once {@code strongbox.import.threads} batches are waiting.
+ */
+@Component
+public class ArtifactImportServiceImpl
+        implements ArtifactImportService, InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactImportServiceImpl.class);
+
+    private static final int MAX_RETRY = 10;
+
+    @Value("${strongbox.import.threads:4}")
+    private int threads;
+
+    @Value("${strongbox.import.batchSize:100}")
+    private int batchSize;
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private RepositoryEventListenerRegistry repositoryEventListenerRegistry;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    private ThreadPoolExecutor executor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        executor = new ThreadPoolExecutor(threads,
+                                          threads,
+                                          0L,
+                                          TimeUnit.MILLISECONDS,
+                                          new ArrayBlockingQueue<>(threads),
+                                          new CustomizableThreadFactory("artifact-import-"),
+                                          new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public void destroy()
+    {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public ArtifactImportResult importArchive(Repository repository,
+                                              InputStream is)
+            throws IOException
+    {
+        checkHosted(repository);
+
+        ArtifactImportResult result = new ArtifactImportResult();
+        List<Future<?>> batches = new ArrayList<>();
+
+        Path spoolDirectory = Files.createTempDirectory("strongbox-import-");
+        try (ArchiveInputStream archive = openArchive(is))
+        {
+            List<ImportFile> batch = new ArrayList<>(batchSize);
+            int spooled = 0;
+
+            ArchiveEntry entry;
+            while ((entry = archive.getNextEntry()) != null)
+            {
+                if (entry.isDirectory())
+                {
+                    continue;
+                }
+
+                RepositoryPath repositoryPath = resolve(repository, entry.getName());
+                if (repositoryPath == null || !archive.canReadEntryData(entry))
+                {
+                    logger.warn("Skipping the archive entry [{}].", entry.getName());
+                    result.addSkipped(1);
+                    continue;
+                }
+                if (Boolean.TRUE.equals(RepositoryFiles.isChecksum(repositoryPath)))
+                {
+                    result.addSkipped(1);
+                    continue;
+                }
+
+                Path source = spoolDirectory.resolve(String.valueOf(spooled++));
+                Files.copy(archive, source);
+
+                batch.add(new ImportFile(repositoryPath, source));
+                if (batch.size() == batchSize)
+                {
+                    batches.add(submit(batch, true, result));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (!batch.isEmpty())
+            {
+                batches.add(submit(batch, true, result));
+            }
+        }
+        finally
+        {
+            // The remaining batches must finish before their spooled files are removed.
+            await(batches);
+
+            FileSystemUtils.deleteRecursively(spoolDirectory);
+        }
+
+        complete(repository, result);
+
+        return result;
+    }
+
+    @Override
+    public ArtifactImportResult importDirectory(Repository repository,
+                                                Path directory)
+            throws IOException
+    {
+        checkHosted(repository);
+
+        if (!Files.isDirectory(directory))
+        {
+            throw new NotDirectoryException(directory.toString());
+        }
+
+        ArtifactImportResult result = new ArtifactImportResult();
+        List<Future<?>> batches = new ArrayList<>();
+
+        try (Stream<Path> files = Files.walk(directory))
+        {
+            List<ImportFile> batch = new ArrayList<>(batchSize);
+
+            for (Iterator<Path> i = files.filter(Files::isRegularFile).iterator(); i.hasNext(); )
+            {
+                Path source = i.next();
+
+                RepositoryPath repositoryPath = resolve(repository, directory.relativize(source).toString());
+                if (repositoryPath == null || Boolean.TRUE.equals(RepositoryFiles.isChecksum(repositoryPath)))
+                {
+                    result.addSkipped(1);
+                    continue;
+                }
+
+                batch.add(new ImportFile(repositoryPath, source));
+                if (batch.size() == batchSize)
+                {
+                    batches.add(submit(batch, false, result));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (!batch.isEmpty())
+            {
+                batches.add(submit(batch, false, result));
+            }
+        }
+        finally
+        {
+            await(batches);
+        }
+
+        complete(repository, result);
+
+        return result;
+    }
+
+    private void checkHosted(Repository repository)
+            throws ArtifactStorageException
+    {
+        if (!repository.isHostedRepository())
+        {
+            throw new ArtifactStorageException(String.format("Repository [%s:%s] isn't a hosted repository.",
+                                                             repository.getStorage().getId(),
+                                                             repository.getId()));
+        }
+    }
+
+    private ArchiveInputStream openArchive(InputStream is)
+            throws IOException
+    {
+        InputStream result = new BufferedInputStream(is);
+        try
+        {
+            result = new BufferedInputStream(new CompressorStreamFactory().createCompressorInputStream(result));
+        }
+        catch (CompressorException e)
+        {
+            // Not compressed, the stream was reset.
+        }
+
+        try
+        {
+            return new ArchiveStreamFactory().createArchiveInputStream(result);
+        }
+        catch (ArchiveException e)
+        {
+            throw new ArtifactStorageException("Unsupported archive format, expected tar or zip.", e);
+        }
+    }
+
+    /**
+     * @return the repository path, or {@code null} if the path points outside of the repository
+     */
+    private RepositoryPath resolve(Repository repository,
+                                   String path)
+    {
+        // The separators are unified before the path is normalized, a "..\" is an ordinary file name on Linux.
+        Path relativePath = Paths.get(path.replace('\\', '/').replaceFirst("^/+", "")).normalize();
+        if (relativePath.isAbsolute() || relativePath.startsWith("..") || relativePath.toString().isEmpty())
+        {
+            return null;
+        }
+
+        RepositoryPath result;
+        try
+        {
+            result = repositoryPathResolver.resolve(repository, relativePath.toString());
+        }
+        catch (RepositoryRelativePathConstructionException e)
+        {
+            return null;
+        }
+
+        return result.normalize().startsWith(repositoryPathResolver.resolve(repository)) ? result : null;
+    }
+
+    private Future<?> submit(List<ImportFile> batch,
+                             boolean spooled,
+                             ArtifactImportResult result)
+    {
+        return executor.submit(() -> {
+            try
+            {
+                importBatch(batch, result);
+            }
+            finally
+            {
+                if (spooled)
+                {
+                    batch.forEach(f -> deleteQuietly(f.source));
+                }
+            }
+        });
+    }
+
+    /**
+     * Stores the batch in one transaction. The batch is sorted by path first, so that the concurrent batches take the
+     * artifact group locks, which are held until the commit, in the same order.
+     */
+    private void importBatch(List<ImportFile> batch,
+                             ArtifactImportResult result)
+    {
+        batch.sort(Comparator.comparing((ImportFile f) -> f.repositoryPath));
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (int i = 1; i <= MAX_RETRY; i++)
+        {
+            try
+            {
+                ArtifactImportResult batchResult = transactionTemplate.execute(t -> storeBatch(batch));
+
+                result.addImported(batchResult.getImported());
+                result.addSkipped(batchResult.getSkipped());
+                result.addFailed(batchResult.getFailed());
+
+                return;
+            }
+            catch (RuntimeException e)
+            {
+                if (i < MAX_RETRY && isConflict(e))
+                {
+                    logger.debug("Retry importing the batch starting with [{}].", batch.get(0).repositoryPath);
+
+                    continue;
+                }
+
+                logger.error("Failed to import the batch starting with [{}].", batch.get(0).repositoryPath, e);
+
+                break;
+            }
+        }
+
+        result.addFailed(batch.size());
+    }
+
+    /**
+     * The file, which has been imported already, with the same size, is skipped, so that a retried batch or a
+     * repeated import doesn't rewrite it.
+     */
+    private ArtifactImportResult storeBatch(List<ImportFile> batch)
+    {
+        ArtifactImportResult result = new ArtifactImportResult();
+        for (ImportFile file : batch)
+        {
+            try
+            {
+                if (isImported(file))
+                {
+                    result.addSkipped(1);
+
+                    continue;
+                }
+
+                try (InputStream is = Files.newInputStream(file.source))
+                {
+                    artifactManagementService.importFile(file.repositoryPath, is);
+                }
+                result.addImported(1);
+            }
+            catch (IOException | ProviderImplementationException | ArtifactCoordinatesValidationException e)
+            {
+                logger.error("Failed to import [{}].", file.repositoryPath, e);
+
+                result.addFailed(1);
+            }
+        }
+
+        return result;
+    }
+
+    private boolean isImported(ImportFile file)
+        throws IOException
+    {
+        RepositoryPath repositoryPath = file.repositoryPath;
+        if (!Files.exists(repositoryPath))
+        {
+            return false;
+        }
+
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(repositoryPath.getRepository()
+                                                                                         .getStorage()
+                                                                                         .getId(),
+                                                                           repositoryPath.getRepository().getId(),
+                                                                           RepositoryFiles.relativizePath(repositoryPath));
+
+        return artifactEntry != null && Long.valueOf(Files.size(file.source)).equals(artifactEntry.getSizeInBytes());
+    }
+
+    private boolean isConflict(Throwable e)
+    {
+        for (Throwable cause = e; cause != null; cause = cause.getCause())
+        {
+            if (cause instanceof ONeedRetryException)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void await(List<Future<?>> batches)
+            throws InterruptedIOException
+    {
+        for (Future<?> batch : batches)
+        {
+            try
+            {
+                batch.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new InterruptedIOException("Interrupted while waiting for the import to complete.");
+            }
+            catch (ExecutionException e)
+            {
+                logger.error("Failed to import a batch.", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Regenerates the metadata and the indexes of the repository once, for all the imported files. The imported files
+     * don't dispatch the stored events, the handlers of those go through the repository on the imported event.
+     */
+    private void complete(Repository repository,
+                          ArtifactImportResult result)
+    {
+        logger.info("Imported into [{}:{}]: {}", repository.getStorage().getId(), repository.getId(), result);
+
+        if (result.getImported() > 0)
+        {
+            repositoryEventListenerRegistry.dispatchImportedEvent(repository.getStorage().getId(),
+                                                                  repository.getId());
+        }
+    }
+
+    private void deleteQuietly(Path path)
+    {
+        try
+        {
+            Files.deleteIfExists(path);
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to delete [{}].", path, e);
+        }
+    }
+
+    private static class ImportFile
+    {
+
+        private final RepositoryPath repositoryPath;
+
+        private final Path source;
+
+        ImportFile(RepositoryPath repositoryPath,
+                   Path source)
+        {
+            this.repositoryPath = repositoryPath;
+            this.source = source;
+        }
+
+    }
+
+}
@@ -1,13 +1,16 @@
 package org.carlspring.strongbox.services.impl;
 
-import org.carlspring.strongbox.providers.search.OrientDbSearchProvider;
 import org.carlspring.strongbox.providers.search.SearchException;
+import org.carlspring.strongbox.providers.search.SearchProvider;
+import org.carlspring.strongbox.providers.search.SearchProviderRegistry;
 import org.carlspring.strongbox.services.ArtifactSearchService;
 import org.carlspring.strongbox.storage.search.SearchRequest;
 import org.carlspring.strongbox.storage.search.SearchResults;
 
 import javax.inject.Inject;
+import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -18,15 +21,18 @@ public class ArtifactSearchServiceImpl
         implements ArtifactSearchService
 {
 
+    @Value("${strongbox.search.provider:OrientDB}")
+    private String defaultSearchProvider;
+
     @Inject
-    private OrientDbSearchProvider orientDbSearchProvider;
+    private SearchProviderRegistry searchProviderRegistry;
 
 
     @Override
     public SearchResults search(SearchRequest searchRequest)
             throws SearchException
     {
-        return orientDbSearchProvider.search(searchRequest);
+        return getSearchProvider(searchRequest).search(searchRequest);
     }
 
     @Override
@@ -36,4 +42,19 @@ public class ArtifactSearchServiceImpl
         return !search(searchRequest).getResults().isEmpty();
     }
 
-}
\ No newline at end of file
+    private SearchProvider getSearchProvider(SearchRequest searchRequest)
+            throws SearchException
+    {
+        String alias = Optional.ofNullable(searchRequest.getOption(OPTION_SEARCH_PROVIDER))
+                               .orElse(defaultSearchProvider);
+
+        SearchProvider searchProvider = searchProviderRegistry.getProvider(alias);
+        if (searchProvider == null)
+        {
+            throw new SearchException(String.format("Unknown search provider [%s].", alias));
+        }
+
+        return searchProvider;
+    }
+
+}
@@ -18,6 +18,7 @@ import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -38,6 +39,9 @@ public class ChecksumServiceImpl
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Value("${strongbox.artifact.locator.parallelism:4}")
+    private int locatorParallelism;
+
     @Override
     public void regenerateChecksum(String storageId,
                                    String repositoryId,
@@ -67,7 +71,10 @@ public class ChecksumServiceImpl
 
         ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
         locator.setOperation(operation);
+        locator.setParallelism(locatorParallelism);
         locator.locateArtifactDirectories();
+
+        logger.info("Regenerated checksums of [{}]: {}", repositoryBasePath, operation.getProgress());
     }
 
     public Configuration getConfiguration()
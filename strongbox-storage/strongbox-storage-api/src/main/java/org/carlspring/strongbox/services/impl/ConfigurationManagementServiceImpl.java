@@ -20,7 +20,6 @@ import java.io.IOException;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.*;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 
@@ -29,6 +28,7 @@ import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.carlspring.strongbox.storage.routing.MutableRoutingRules;
+import org.carlspring.strongbox.storage.routing.RoutingRulesMatcher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -41,7 +41,7 @@ public class ConfigurationManagementServiceImpl
         implements ConfigurationManagementService
 {
 
-    private final ReadWriteLock configurationLock = new ReentrantReadWriteLock();
+    private final ReentrantReadWriteLock configurationLock = new ReentrantReadWriteLock();
 
     @Inject
     private ConfigurationFileManager configurationFileManager;
@@ -67,6 +67,19 @@ public class ConfigurationManagementServiceImpl
      */
     private MutableConfiguration configuration;
 
+    /**
+     * Immutable snapshot of the {@link #configuration}, which is published once per modification, so that the
+     * readers don't need to lock and copy it.
+     *
+     * @see #modifyInLock(Consumer, boolean)
+     */
+    private volatile Configuration configurationSnapshot;
+
+    /**
+     * Compiled from the {@link #configurationSnapshot} on every modification.
+     */
+    private volatile RoutingRulesMatcher routingRulesMatcher = new RoutingRulesMatcher(null);
+
     @PostConstruct
     public void init()
     {
@@ -109,17 +122,13 @@ public class ConfigurationManagementServiceImpl
     @Override
     public Configuration getConfiguration()
     {
-        final Lock readLock = configurationLock.readLock();
-        readLock.lock();
-
-        try
+        // The modification in progress should be visible to itself.
+        if (configurationLock.isWriteLockedByCurrentThread())
         {
             return new Configuration(configuration);
         }
-        finally
-        {
-            readLock.unlock();
-        }
+
+        return configurationSnapshot;
     }
 
     @Override
@@ -289,6 +298,12 @@ public class ConfigurationManagementServiceImpl
                                              .orElse(null);
     }
 
+    @Override
+    public RoutingRulesMatcher getRoutingRulesMatcher()
+    {
+        return routingRulesMatcher;
+    }
+
     @Override
     public boolean updateRoutingRule(UUID uuid,
                                      MutableRoutingRule routingRule) throws IOException
@@ -614,8 +629,26 @@ public class ConfigurationManagementServiceImpl
         }
         finally
         {
+            // The nested modifications are published by the outermost one.
+            if (configurationLock.getWriteHoldCount() == 1)
+            {
+                publishConfigurationSnapshot();
+            }
+
             writeLock.unlock();
         }
     }
 
+    private void publishConfigurationSnapshot()
+    {
+        if (configuration == null)
+        {
+            return;
+        }
+
+        Configuration snapshot = new Configuration(configuration);
+        routingRulesMatcher = new RoutingRulesMatcher(snapshot.getRoutingRules());
+        configurationSnapshot = snapshot;
+    }
+
 }
@@ -6,22 +6,40 @@ import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.ArtifactTagService;
 import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
 
 import javax.inject.Inject;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
 
 import com.orientechnologies.common.concur.ONeedRetryException;
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.db.record.ORecordLazySet;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
 /**
@@ -37,9 +55,35 @@ public class RepositoryArtifactIdGroupServiceImpl
 
     private static final Logger logger = LoggerFactory.getLogger(RepositoryArtifactIdGroupEntry.class);
 
+    private static final String ARTIFACT_ENTRIES = "artifactEntries";
+
+    private static final String LAST_VERSION_ENTRIES = "lastVersionEntries";
+
     @Inject
     private ArtifactTagService artifactTagService;
 
+    @Inject
+    private ArtifactEventListenerRegistry artifactEventListenerRegistry;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryPathLock repositoryPathLock;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * The new entry is saved first and compared only with the {@link RepositoryArtifactIdGroupEntry#getLastVersionEntries()},
+     * then it's linked to the group document, so the cost doesn't depend on the number of the versions in the group.
+     * <br>
+     * The caller holds the {@link RepositoryPathLock#lockArtifactIdGroup(RepositoryPath)}, see
+     * {@link #saveArtifactEntry(RepositoryPath, ArtifactEntry)}.
+     */
     @Override
     public void addArtifactToGroup(RepositoryArtifactIdGroupEntry artifactGroup,
                                    ArtifactEntry artifactEntry)
@@ -49,56 +93,236 @@ public class RepositoryArtifactIdGroupServiceImpl
 
         ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
 
-        artifactEntry.getTagSet().add(lastVersionTag);
-        artifactGroup.putArtifactEntry(artifactEntry);
-
-        artifactGroup.getArtifactEntries()
-                     .stream()
-                     .filter(e -> e.getTagSet().contains(lastVersionTag))
-                     .sorted((e1,
-                              e2) -> e1.getArtifactCoordinates().compareTo(e2.getArtifactCoordinates()))
-                     .forEach(e -> checkAndUpdateLastVersionTagIfNeeded(e, artifactEntry, lastVersionTag));
-
-
-        save(artifactGroup);
-    }
-
-    private <S extends ArtifactEntry> Optional<S> checkAndUpdateLastVersionTagIfNeeded(S lastVersionEntry,
-                                                                                       S entity,
-                                                                                       ArtifactTag lastVersionTag)
-    {
-        Optional<S> result = Optional.empty();
-        ArtifactCoordinates coordinates = entity.getArtifactCoordinates();
+        List<ArtifactEntry> lastVersionEntries = new ArrayList<>(artifactGroup.getLastVersionEntries());
+        if (lastVersionEntries.isEmpty())
+        {
+            lastVersionEntries.addAll(findLastVersionEntries(artifactGroup.getArtifactEntries(), lastVersionTag));
+        }
+        lastVersionEntries.removeIf(e -> isSameEntry(e, artifactEntry));
 
-        int artifactCoordinatesComparison = entity.getArtifactCoordinates()
-                                                  .compareTo(lastVersionEntry.getArtifactCoordinates());
+        List<ArtifactEntry> previousLastVersionEntries = Collections.emptyList();
+        Optional<ArtifactEntry> lastVersionEntry = lastVersionEntries.stream().findFirst();
+        int artifactCoordinatesComparison = lastVersionEntry.map(e -> coordinates.compareTo(e.getArtifactCoordinates()))
+                                                            .orElse(1);
         if (artifactCoordinatesComparison == 0)
         {
             logger.debug("Set [{}] last version to [{}]",
-                         entity.getArtifactPath(),
+                         artifactEntry.getArtifactPath(),
                          coordinates.getVersion());
-            entity.getTagSet().add(lastVersionTag);
+            artifactEntry.getTagSet().add(lastVersionTag);
         }
         else if (artifactCoordinatesComparison > 0)
         {
             logger.debug("Update [{}] last version from [{}] to [{}]",
-                         entity.getArtifactPath(),
-                         lastVersionEntry.getArtifactCoordinates().getVersion(),
+                         artifactEntry.getArtifactPath(),
+                         lastVersionEntry.map(e -> e.getArtifactCoordinates().getVersion()).orElse(null),
                          coordinates.getVersion());
-            entity.getTagSet().add(lastVersionTag);
+            artifactEntry.getTagSet().add(lastVersionTag);
 
-            lastVersionEntry.getTagSet().remove(lastVersionTag);
-            result = Optional.of(lastVersionEntry);
+            previousLastVersionEntries = lastVersionEntries;
+            lastVersionEntries = new ArrayList<>();
         }
         else
         {
             logger.debug("Keep [{}] last version [{}]",
-                         entity.getArtifactPath(),
-                         lastVersionEntry.getArtifactCoordinates().getVersion());
-            entity.getTagSet().remove(lastVersionTag);
+                         artifactEntry.getArtifactPath(),
+                         lastVersionEntry.get().getArtifactCoordinates().getVersion());
+            artifactEntry.getTagSet().remove(lastVersionTag);
+        }
+
+        // Saved before it's put into any set, so that its identity doesn't change afterwards.
+        ArtifactEntry savedEntry = artifactEntryService.save(artifactEntry);
+        if (artifactCoordinatesComparison >= 0)
+        {
+            lastVersionEntries.add(savedEntry);
+        }
+
+        previousLastVersionEntries.forEach(e -> {
+            e.getTagSet().remove(lastVersionTag);
+            artifactEntryService.save(e);
+            dispatchTagsUpdatedEvent(e);
+        });
+
+        ODocument groupDocument = getDelegate().getRecordByUserObject(artifactGroup, false);
+        getLinks(groupDocument, ARTIFACT_ENTRIES).add(getDelegate().getRecordByUserObject(savedEntry, false));
+        setLinks(groupDocument, LAST_VERSION_ENTRIES, lastVersionEntries);
+        groupDocument.save();
+    }
+
+    /**
+     * The entry is unlinked from the group document. Once the last of the last version entries is removed, the
+     * entries of the next version are tagged, which is the only case when all the group entries are loaded.
+     * <br>
+     * The caller holds the {@link RepositoryPathLock#lockArtifactIdGroup(RepositoryPath)}, see
+     * {@link #deleteArtifactEntry(RepositoryPath, ArtifactEntry)}.
+     */
+    @Override
+    public void removeArtifactFromGroup(RepositoryArtifactIdGroupEntry artifactGroup,
+                                        ArtifactEntry artifactEntry)
+    {
+        ODocument groupDocument = getDelegate().getRecordByUserObject(artifactGroup, false);
+        ODocument entryDocument = getDelegate().getRecordByUserObject(artifactEntry, false);
+        getLinks(groupDocument, ARTIFACT_ENTRIES).remove(entryDocument);
+
+        List<ArtifactEntry> lastVersionEntries = new ArrayList<>(artifactGroup.getLastVersionEntries());
+        if (lastVersionEntries.removeIf(e -> isSameEntry(e, artifactEntry)) && lastVersionEntries.isEmpty())
+        {
+            ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
+
+            List<ArtifactEntry> remainingEntries = artifactGroup.getArtifactEntries()
+                                                                .stream()
+                                                                .filter(e -> !isSameEntry(e, artifactEntry))
+                                                                .collect(Collectors.toList());
+            lastVersionEntries.addAll(findLastVersionEntries(remainingEntries, null));
+            lastVersionEntries.forEach(e -> {
+                logger.debug("Set [{}] last version to [{}]",
+                             e.getArtifactPath(),
+                             e.getArtifactCoordinates().getVersion());
+                e.getTagSet().add(lastVersionTag);
+                artifactEntryService.save(e);
+                dispatchTagsUpdatedEvent(e);
+            });
+        }
+        setLinks(groupDocument, LAST_VERSION_ENTRIES, lastVersionEntries);
+        groupDocument.save();
+    }
+
+    @Override
+    public void saveArtifactEntry(RepositoryPath repositoryPath,
+                                  ArtifactEntry artifactEntry)
+        throws IOException
+    {
+        executeLocked(repositoryPath, () -> {
+            RepositoryArtifactIdGroupEntry artifactGroup = findOneOrCreate(artifactEntry.getStorageId(),
+                                                                           artifactEntry.getRepositoryId(),
+                                                                           artifactEntry.getArtifactCoordinates().getId());
+            addArtifactToGroup(artifactGroup, artifactEntry);
+        });
+    }
+
+    @Override
+    public void deleteArtifactEntry(RepositoryPath repositoryPath,
+                                    ArtifactEntry artifactEntry)
+        throws IOException
+    {
+        executeLocked(repositoryPath, () -> {
+            ArtifactEntry attachedEntry = artifactEntryService.findOne(artifactEntry.getObjectId()).orElse(null);
+            if (attachedEntry == null)
+            {
+                return;
+            }
+
+            RepositoryArtifactIdGroupEntry artifactGroup = findOne(attachedEntry.getStorageId(),
+                                                                   attachedEntry.getRepositoryId(),
+                                                                   attachedEntry.getArtifactCoordinates().getId());
+            if (artifactGroup != null)
+            {
+                removeArtifactFromGroup(artifactGroup, attachedEntry);
+            }
+            artifactEntryService.delete(attachedEntry);
+        });
+    }
+
+    /**
+     * The group is updated within the caller's transaction, if there is one, so that the artifact entry and its group
+     * links are committed or rolled back together. The group lock is held until that transaction completes, so that
+     * the concurrent updates of the group don't conflict on commit.
+     */
+    private void executeLocked(RepositoryPath repositoryPath,
+                               Runnable groupUpdate)
+        throws IOException
+    {
+        Lock lock = repositoryPathLock.lockArtifactIdGroup(repositoryPath).writeLock();
+        lock.lock();
+
+        boolean unlockAfterCompletion = false;
+        try
+        {
+            new TransactionTemplate(transactionManager).execute(t -> {
+                groupUpdate.run();
+
+                return null;
+            });
+
+            // Still active only if the caller's transaction has been joined.
+            if (TransactionSynchronizationManager.isSynchronizationActive())
+            {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+                {
+                    @Override
+                    public void afterCompletion(int status)
+                    {
+                        lock.unlock();
+                    }
+                });
+                unlockAfterCompletion = true;
+            }
+        }
+        finally
+        {
+            if (!unlockAfterCompletion)
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    private boolean isSameEntry(ArtifactEntry e1,
+                                ArtifactEntry e2)
+    {
+        return e1.getObjectId() != null && e1.getObjectId().equals(e2.getObjectId());
+    }
+
+    private Set<OIdentifiable> getLinks(ODocument groupDocument,
+                                        String field)
+    {
+        Set<OIdentifiable> links = groupDocument.field(field);
+        if (links == null)
+        {
+            links = new ORecordLazySet(groupDocument);
+            groupDocument.field(field, links);
         }
 
-        return result;
+        return links;
+    }
+
+    private void setLinks(ODocument groupDocument,
+                          String field,
+                          List<ArtifactEntry> artifactEntries)
+    {
+        Set<OIdentifiable> links = getLinks(groupDocument, field);
+        links.clear();
+        artifactEntries.forEach(e -> links.add(getDelegate().getRecordByUserObject(e, false)));
+    }
+
+    private void dispatchTagsUpdatedEvent(ArtifactEntry artifactEntry)
+    {
+        artifactEventListenerRegistry.dispatchArtifactTagsUpdatedEvent(
+                repositoryPathResolver.resolve(artifactEntry.getStorageId(),
+                                               artifactEntry.getRepositoryId(),
+                                               artifactEntry.getArtifactPath()));
+    }
+
+    /**
+     * The entries of the highest version among the given ones. With the tag, only the tagged entries are considered,
+     * as the groups stored before the {@link RepositoryArtifactIdGroupEntry#getLastVersionEntries()} was introduced
+     * have the last version only as the entry tags.
+     */
+    private List<ArtifactEntry> findLastVersionEntries(Collection<ArtifactEntry> artifactEntries,
+                                                       ArtifactTag lastVersionTag)
+    {
+        List<ArtifactEntry> candidates = artifactEntries.stream()
+                                                        .filter(e -> lastVersionTag == null ||
+                                                                     e.getTagSet().contains(lastVersionTag))
+                                                        .collect(Collectors.toList());
+
+        return candidates.stream()
+                         .map(ArtifactEntry::getArtifactCoordinates)
+                         .max(ArtifactCoordinates::compareTo)
+                         .map(max -> candidates.stream()
+                                               .filter(e -> e.getArtifactCoordinates().compareTo(max) == 0)
+                                               .collect(Collectors.toList()))
+                         .orElse(Collections.emptyList());
     }
 
     @Override
@@ -6,13 +6,27 @@ package org.carlspring.strongbox.services.support;
 public class ArtifactEntrySearchCriteria
 {
 
+    private String storageId;
+
+    private String repositoryId;
+
     private Integer lastAccessedTimeInDays;
 
     private Long minSizeInBytes;
 
     public boolean isEmpty()
     {
-        return lastAccessedTimeInDays == null && minSizeInBytes == null;
+        return storageId == null && repositoryId == null && lastAccessedTimeInDays == null && minSizeInBytes == null;
+    }
+
+    public String getStorageId()
+    {
+        return storageId;
+    }
+
+    public String getRepositoryId()
+    {
+        return repositoryId;
     }
 
     public Integer getLastAccessedTimeInDays()
@@ -28,6 +42,8 @@ public class ArtifactEntrySearchCriteria
     public static final class Builder
     {
 
+        private String storageId;
+        private String repositoryId;
         private Integer lastAccessedTimeInDays;
         private Long minSizeInBytes;
 
@@ -40,6 +56,18 @@ public class ArtifactEntrySearchCriteria
             return new Builder();
         }
 
+        public Builder withStorageId(String storageId)
+        {
+            this.storageId = storageId;
+            return this;
+        }
+
+        public Builder withRepositoryId(String repositoryId)
+        {
+            this.repositoryId = repositoryId;
+            return this;
+        }
+
         public Builder withLastAccessedTimeInDays(Integer lastAccessedTimeInDays)
         {
             this.lastAccessedTimeInDays = lastAccessedTimeInDays;
@@ -55,6 +83,8 @@ public class ArtifactEntrySearchCriteria
         public ArtifactEntrySearchCriteria build()
         {
             ArtifactEntrySearchCriteria artifactEntrySearchCriteria = new ArtifactEntrySearchCriteria();
+            artifactEntrySearchCriteria.storageId = this.storageId;
+            artifactEntrySearchCriteria.repositoryId = this.repositoryId;
             artifactEntrySearchCriteria.lastAccessedTimeInDays = this.lastAccessedTimeInDays;
             artifactEntrySearchCriteria.minSizeInBytes = this.minSizeInBytes;
             return artifactEntrySearchCriteria;
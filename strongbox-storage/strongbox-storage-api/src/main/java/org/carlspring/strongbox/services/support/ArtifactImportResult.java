@@ -0,0 +1,54 @@
+package org.carlspring.strongbox.services.support;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The counters of an {@link org.carlspring.strongbox.services.ArtifactImportService} import, which are updated by
+ * the import workers concurrently.
+ */
+public class ArtifactImportResult
+{
+
+    private final AtomicInteger imported = new AtomicInteger();
+
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public int getImported()
+    {
+        return imported.get();
+    }
+
+    public int getSkipped()
+    {
+        return skipped.get();
+    }
+
+    public int getFailed()
+    {
+        return failed.get();
+    }
+
+    public void addImported(int count)
+    {
+        imported.addAndGet(count);
+    }
+
+    public void addSkipped(int count)
+    {
+        skipped.addAndGet(count);
+    }
+
+    public void addFailed(int count)
+    {
+        failed.addAndGet(count);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("imported [%s], skipped [%s], failed [%s]", getImported(), getSkipped(), getFailed());
+    }
+
+}
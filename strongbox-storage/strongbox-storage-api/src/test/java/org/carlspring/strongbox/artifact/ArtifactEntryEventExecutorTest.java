@@ -0,0 +1,116 @@
+package org.carlspring.strongbox.artifact;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArtifactEntryEventExecutorTest
+{
+
+    private static final String KEY = "org.carlspring.strongbox:foo";
+
+    private ArtifactEntryEventExecutor executor;
+
+    @AfterEach
+    public void tearDown()
+            throws InterruptedException
+    {
+        if (executor != null)
+        {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void tasksOfSameArtifactShouldBeExecutedInSubmissionOrder()
+            throws Exception
+    {
+        executor = createExecutor(4, 1000);
+
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        Future<?> last = null;
+        for (int i = 0; i < 100; i++)
+        {
+            int n = i;
+            last = executor.submit(KEY, () -> executed.add(n));
+        }
+        last.get(10, TimeUnit.SECONDS);
+
+        assertThat(executed).isEqualTo(IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+        assertThat(executor.getCompletedCount()).isEqualTo(100);
+    }
+
+    @Test
+    public void submitShouldWaitWhileLaneQueueIsFull()
+            throws Exception
+    {
+        executor = createExecutor(1, 1);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(KEY, () -> {
+            started.countDown();
+            await(release);
+        });
+        started.await(10, TimeUnit.SECONDS);
+
+        // Takes the only place in the queue.
+        executor.submit(KEY, () -> {});
+        assertThat(executor.getQueueDepth()).isEqualTo(1);
+
+        CompletableFuture<Future<?>> blocked = CompletableFuture.supplyAsync(() -> executor.submit(KEY, () -> {}));
+
+        Thread.sleep(200);
+        assertThat(blocked).isNotDone();
+
+        release.countDown();
+
+        blocked.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+        assertThat(executor.getCompletedCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void tasksShouldBeExecutedByCallerWithoutLanes()
+    {
+        executor = createExecutor(0, 1000);
+
+        AtomicReference<Thread> executingThread = new AtomicReference<>();
+        Future<?> result = executor.submit(KEY, () -> executingThread.set(Thread.currentThread()));
+
+        assertThat(result).isDone();
+        assertThat(executingThread.get()).isSameAs(Thread.currentThread());
+        assertThat(executor.getQueueDepth()).isZero();
+    }
+
+    private ArtifactEntryEventExecutor createExecutor(int lanes,
+                                                      int queueCapacity)
+    {
+        ArtifactEntryEventExecutor result = new ArtifactEntryEventExecutor(lanes, queueCapacity);
+        result.afterPropertiesSet();
+
+        return result;
+    }
+
+    private void await(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+
+public class DistributedPathLockFactoryTest
+{
+
+    private static final String PATH_LOCK = "strongbox:///storage0/releases/org/carlspring/foo/1.0/foo-1.0.jar";
+
+    private static final String GROUP_LOCK = "strongbox:///storage0/releases?org.carlspring%3Afoo";
+
+    private HazelcastInstance hazelcastInstance;
+
+    private DistributedPathLockFactory lockFactory;
+
+    @BeforeEach
+    public void setUp()
+    {
+        Config config = new Config("distributed-path-lock-factory-test");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(false);
+
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+        lockFactory = new DistributedPathLockFactory(hazelcastInstance);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        if (hazelcastInstance != null)
+        {
+            hazelcastInstance.shutdown();
+        }
+    }
+
+    @Test
+    public void sameNameShouldGetSameLock()
+        throws Exception
+    {
+        Lock lock = lockFactory.getLock(PATH_LOCK).writeLock();
+        lock.lock();
+        try
+        {
+            assertThat(tryLockInOtherThread(PATH_LOCK)).isFalse();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        assertThat(tryLockInOtherThread(PATH_LOCK)).isTrue();
+    }
+
+    @Test
+    public void nestedLocksOfDifferentNamesShouldBeAcquired()
+        throws Exception
+    {
+        Lock lock = lockFactory.getLock(PATH_LOCK).readLock();
+        lock.lock();
+        try
+        {
+            Lock groupLock = lockFactory.getLock(GROUP_LOCK).writeLock();
+            assertThat(groupLock.tryLock(10, TimeUnit.SECONDS)).isTrue();
+            groupLock.unlock();
+
+            assertThat(tryLockInOtherThread(GROUP_LOCK)).isTrue();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    public void lockShouldBeReentrant()
+    {
+        Lock lock = lockFactory.getLock(PATH_LOCK).writeLock();
+        lock.lock();
+        try
+        {
+            assertThat(lockFactory.getLock(PATH_LOCK).writeLock().tryLock()).isTrue();
+            lockFactory.getLock(PATH_LOCK).writeLock().unlock();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private boolean tryLockInOtherThread(String name)
+        throws Exception
+    {
+        return CompletableFuture.supplyAsync(() -> {
+            Lock lock = lockFactory.getLock(name).writeLock();
+            if (!lock.tryLock())
+            {
+                return false;
+            }
+            lock.unlock();
+
+            return true;
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,183 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalPathLockFactoryTest
+{
+
+    private static final String PATH_LOCK = "strongbox:///storage0/releases/org/carlspring/foo/1.0/foo-1.0.jar";
+
+    private static final String GROUP_LOCK = "strongbox:///storage0/releases?org.carlspring%3Afoo";
+
+    private final LocalPathLockFactory lockFactory = new LocalPathLockFactory();
+
+    @Test
+    public void sameNameShouldGetSameLock()
+        throws Exception
+    {
+        Lock lock = lockFactory.getLock(PATH_LOCK).writeLock();
+        lock.lock();
+        try
+        {
+            assertThat(tryLockInOtherThread(PATH_LOCK)).isFalse();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        assertThat(tryLockInOtherThread(PATH_LOCK)).isTrue();
+    }
+
+    @Test
+    public void differentNamesShouldNotBlockEachOther()
+    {
+        // Many names, so that some of them would share the lock with the group if the locks were striped, and the
+        // read lock held would block the write lock of the same thread.
+        for (int i = 0; i < 10000; i++)
+        {
+            Lock lock = lockFactory.getLock(PATH_LOCK + i).readLock();
+            lock.lock();
+            try
+            {
+                Lock groupLock = lockFactory.getLock(GROUP_LOCK).writeLock();
+                assertThat(groupLock.tryLock()).isTrue();
+                groupLock.unlock();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Test
+    public void otherNameShouldBeLockedByOtherThread()
+        throws Exception
+    {
+        String otherPathLock = PATH_LOCK + ".sha1";
+        Lock lock = lockFactory.getLock(PATH_LOCK).writeLock();
+        lock.lock();
+        try
+        {
+            CompletableFuture<Boolean> other = CompletableFuture.supplyAsync(() -> {
+                Lock otherLock = lockFactory.getLock(otherPathLock).writeLock();
+                otherLock.lock();
+                try
+                {
+                    return true;
+                }
+                finally
+                {
+                    otherLock.unlock();
+                }
+            });
+
+            assertThat(other.get(10, TimeUnit.SECONDS)).isTrue();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    public void heldLockShouldNotBeCollected()
+        throws Exception
+    {
+        Lock lock = lockFactory.getLock(PATH_LOCK).writeLock();
+        lock.lock();
+        try
+        {
+            collectGarbage();
+
+            assertThat(tryLockInOtherThread(PATH_LOCK)).isFalse();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    public void heldLockShouldNotBeCollectedWithoutReference()
+        throws Exception
+    {
+        lockWithoutReference(PATH_LOCK);
+        try
+        {
+            collectGarbage();
+            // The map cleans up the collected values on the writes.
+            lockFactory.getLock(GROUP_LOCK);
+
+            assertThat(tryLockInOtherThread(PATH_LOCK)).isFalse();
+        }
+        finally
+        {
+            // The same lock, otherwise it would fail as not held by this thread.
+            lockFactory.getLock(PATH_LOCK).writeLock().unlock();
+        }
+
+        assertThat(tryLockInOtherThread(PATH_LOCK)).isTrue();
+    }
+
+    @Test
+    public void unusedLocksShouldBeCollected()
+    {
+        for (int i = 0; i < 1000; i++)
+        {
+            ReadWriteLock lock = lockFactory.getLock(PATH_LOCK + i);
+            lock.readLock().lock();
+            lock.readLock().unlock();
+        }
+
+        for (int i = 0; i < 10 && lockFactory.size() > 0; i++)
+        {
+            collectGarbage();
+            // The map cleans up the collected values on the writes.
+            lockFactory.getLock(GROUP_LOCK);
+        }
+
+        assertThat(lockFactory.size()).isLessThan(1000);
+    }
+
+    private void lockWithoutReference(String name)
+    {
+        lockFactory.getLock(name).writeLock().lock();
+    }
+
+    private boolean tryLockInOtherThread(String name)
+        throws Exception
+    {
+        return CompletableFuture.supplyAsync(() -> {
+            Lock lock = lockFactory.getLock(name).writeLock();
+            if (!lock.tryLock())
+            {
+                return false;
+            }
+            lock.unlock();
+
+            return true;
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    private static void collectGarbage()
+    {
+        System.gc();
+        try
+        {
+            Thread.sleep(100);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
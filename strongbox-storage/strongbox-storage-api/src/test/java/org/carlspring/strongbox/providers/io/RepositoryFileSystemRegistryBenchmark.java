@@ -0,0 +1,158 @@
+package org.carlspring.strongbox.providers.io;
+
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.concurrent.TimeUnit;
+
+import org.carlspring.strongbox.artifact.coordinates.RawArtifactCoordinates;
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.event.repository.RepositoryEventListenerRegistry;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.testing.NullFileSystem;
+import org.carlspring.strongbox.testing.NullFileSystemProvider;
+import org.carlspring.strongbox.testing.NullLayoutConfiguration;
+import org.carlspring.strongbox.testing.NullLayoutProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+
+/**
+ * Compares the {@link LayoutFileSystem} creation through the prototype beans, which was done for every
+ * {@link RepositoryPathResolver#resolve(Repository)} call, with the {@link RepositoryFileSystemRegistry} cache.
+ * <br>
+ * This is not a test, run it with the {@link #main(String[])} method. The GC profiler reports the allocation per
+ * operation (`gc.alloc.rate.norm`).
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryFileSystemRegistryBenchmark
+{
+
+    private AnnotationConfigApplicationContext context;
+
+    private RepositoryFileSystemRegistry fileSystemRegistry;
+
+    private Repository repository;
+
+    @Setup
+    public void setUp()
+        throws Exception
+    {
+        context = new AnnotationConfigApplicationContext();
+
+        // The singletons are registered as is, without the dependency injection.
+        ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+        beanFactory.registerSingleton("artifactEventListenerRegistry", mock(ArtifactEventListenerRegistry.class));
+        beanFactory.registerSingleton("repositoryEventListenerRegistry", mock(RepositoryEventListenerRegistry.class));
+        beanFactory.registerSingleton("artifactEntryService", mock(ArtifactEntryService.class));
+        beanFactory.registerSingleton("nullLayoutProvider", mock(NullLayoutProvider.class));
+        // Only asked when the configuration changes, which it doesn't here.
+        beanFactory.registerSingleton("configurationManager", mock(ConfigurationManager.class));
+
+        context.register(BenchmarkLayoutConfiguration.class, RepositoryFileSystemRegistry.class);
+        context.refresh();
+
+        fileSystemRegistry = context.getBean(RepositoryFileSystemRegistry.class);
+
+        RepositoryDto repositoryDto = new RepositoryDto("releases");
+        repositoryDto.setStorage(new StorageDto("storage0"));
+        repositoryDto.setLayout(RawArtifactCoordinates.LAYOUT_NAME);
+        repositoryDto.setBasedir(Files.createTempDirectory("strongbox-benchmark").toString());
+        repository = new RepositoryData(repositoryDto);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public RootRepositoryPath prototypeFileSystem()
+    {
+        return fileSystemRegistry.lookupRepositoryFileSystemFactory(repository).create(repository).getRootDirectory();
+    }
+
+    @Benchmark
+    public RootRepositoryPath cachedFileSystem()
+    {
+        return fileSystemRegistry.getRepositoryFileSystem(repository).getRootDirectory();
+    }
+
+    public static void main(String[] args)
+        throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(RepositoryFileSystemRegistryBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+
+    /**
+     * The same prototype beans as in {@link NullLayoutConfiguration}, over the default file system. The
+     * {@link PropertiesBooter} is not needed, because the repository has the basedir.
+     */
+    @Configuration
+    public static class BenchmarkLayoutConfiguration
+    {
+
+        @Bean(NullLayoutConfiguration.FILE_SYSTEM_ALIAS)
+        public LayoutFileSystemFactory nullRepositoryFileSystemFactory()
+        {
+            return (repository) -> nullRepositoryFileSystem(null,
+                                                            repository,
+                                                            FileSystems.getDefault(),
+                                                            nullFileSystemProvider(FileSystems.getDefault()
+                                                                                              .provider()));
+        }
+
+        @Bean
+        @Scope("prototype")
+        public NullFileSystemProvider nullFileSystemProvider(FileSystemProvider provider)
+        {
+            return new NullFileSystemProvider(provider);
+        }
+
+        @Bean
+        @Scope("prototype")
+        public NullFileSystem nullRepositoryFileSystem(PropertiesBooter propertiesBooter,
+                                                       Repository repository,
+                                                       FileSystem storageFileSystem,
+                                                       LayoutFileSystemProvider provider)
+        {
+            return new NullFileSystem(propertiesBooter, repository, storageFileSystem, provider);
+        }
+
+    }
+
+}
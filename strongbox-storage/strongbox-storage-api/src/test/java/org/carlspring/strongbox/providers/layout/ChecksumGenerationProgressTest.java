@@ -0,0 +1,51 @@
+package org.carlspring.strongbox.providers.layout;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChecksumGenerationProgressTest
+{
+
+    @Test
+    public void digestedAndSkippedFilesShouldBeCounted()
+    {
+        ChecksumGenerationProgress progress = new ChecksumGenerationProgress();
+
+        progress.digested(100);
+        progress.digested(50);
+        progress.skipped();
+
+        assertThat(progress.getDigestedFiles()).isEqualTo(2);
+        assertThat(progress.getDigestedBytes()).isEqualTo(150);
+        assertThat(progress.getSkippedFiles()).isEqualTo(1);
+        assertThat(progress.getFilesPerSecond()).isNotNegative();
+        assertThat(progress.getBytesPerSecond()).isNotNegative();
+        assertThat(progress.toString()).contains("digested [2] files", "[150] bytes", "skipped [1]");
+    }
+
+    @Test
+    public void progressShouldBeSharedByConcurrentCalls()
+    {
+        ChecksumGenerationProgress progress = new ChecksumGenerationProgress();
+
+        IntStream.range(0, 10000)
+                 .parallel()
+                 .forEach(i -> {
+                     if (i % 2 == 0)
+                     {
+                         progress.digested(10);
+                     }
+                     else
+                     {
+                         progress.skipped();
+                     }
+                 });
+
+        assertThat(progress.getDigestedFiles()).isEqualTo(5000);
+        assertThat(progress.getDigestedBytes()).isEqualTo(50000);
+        assertThat(progress.getSkippedFiles()).isEqualTo(5000);
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.carlspring.strongbox.providers.repository;
+
+import java.util.List;
+
+import org.carlspring.strongbox.providers.repository.PendingArtifactDownloads.Downloads;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PendingArtifactDownloadsTest
+{
+
+    private static final String KEY = "storage0:releases:org/carlspring/foo/1.0/foo-1.0.jar";
+
+    private static final String OTHER_KEY = "storage0:releases:org/carlspring/bar/1.0/bar-1.0.jar";
+
+    private final PendingArtifactDownloads pendingDownloads = new PendingArtifactDownloads();
+
+    @Test
+    public void downloadsShouldBeAccumulatedPerArtifact()
+    {
+        pendingDownloads.increment(KEY, null, "foo-1.0.jar", 10);
+        pendingDownloads.increment(KEY, null, "foo-1.0.jar", 30);
+        assertThat(pendingDownloads.increment(OTHER_KEY, null, "bar-1.0.jar", 5)).isEqualTo(2);
+        pendingDownloads.increment(KEY, null, "foo-1.0.jar", 20);
+
+        List<Downloads> result = pendingDownloads.drain();
+
+        assertThat(result).hasSize(2);
+        Downloads downloads = find(result, KEY);
+        assertThat(downloads.getCount()).isEqualTo(3);
+        assertThat(downloads.getLastUsed()).isEqualTo(30);
+        assertThat(downloads.getPath()).isEqualTo("foo-1.0.jar");
+        assertThat(find(result, OTHER_KEY).getCount()).isEqualTo(1);
+
+        assertThat(pendingDownloads.size()).isZero();
+        assertThat(pendingDownloads.drain()).isEmpty();
+    }
+
+    @Test
+    public void requeuedDownloadsShouldBeMergedWithNewOnes()
+    {
+        pendingDownloads.increment(KEY, null, "foo-1.0.jar", 10);
+        pendingDownloads.increment(KEY, null, "foo-1.0.jar", 30);
+
+        List<Downloads> failed = pendingDownloads.drain();
+
+        // Counted while the drained downloads were being written.
+        pendingDownloads.increment(KEY, null, "foo-1.0.jar", 40);
+        failed.forEach(pendingDownloads::requeue);
+
+        List<Downloads> result = pendingDownloads.drain();
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getCount()).isEqualTo(3);
+        assertThat(result.get(0).getLastUsed()).isEqualTo(40);
+    }
+
+    @Test
+    public void requeuedDownloadsShouldBeKeptForNextDrain()
+    {
+        pendingDownloads.increment(KEY, null, "foo-1.0.jar", 10);
+
+        List<Downloads> failed = pendingDownloads.drain();
+        failed.forEach(pendingDownloads::requeue);
+
+        assertThat(pendingDownloads.size()).isEqualTo(1);
+
+        List<Downloads> result = pendingDownloads.drain();
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getCount()).isEqualTo(1);
+        assertThat(result.get(0).getLastUsed()).isEqualTo(10);
+    }
+
+    private Downloads find(List<Downloads> downloads,
+                           String key)
+    {
+        return downloads.stream().filter(d -> key.equals(d.getKey())).findFirst().orElse(null);
+    }
+
+}
@@ -0,0 +1,114 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class RemoteArtifactDownloadTest
+{
+
+    private Path spoolPath;
+
+    private RemoteArtifactDownload download;
+
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        spoolPath = Files.createTempFile("remote-artifact-download", ".spool");
+        download = new RemoteArtifactDownload(null, spoolPath);
+    }
+
+    @Test
+    public void readersShouldTailGrowingSpool()
+        throws Exception
+    {
+        download.onStarted(6);
+        assertThat(download.awaitStarted()).isTrue();
+
+        InputStream first = download.newInputStream();
+        InputStream second = download.newInputStream();
+
+        CompletableFuture<byte[]> firstResult = CompletableFuture.supplyAsync(() -> readFully(first));
+
+        try (OutputStream os = download.newSpoolOutputStream())
+        {
+            os.write(new byte[]{ 1, 2, 3 });
+            os.write(new byte[]{ 4, 5, 6 });
+        }
+        download.complete();
+
+        assertThat(firstResult.get(10, TimeUnit.SECONDS)).containsExactly(new byte[]{ 1, 2, 3, 4, 5, 6 });
+        assertThat(readFully(second)).containsExactly(new byte[]{ 1, 2, 3, 4, 5, 6 });
+        assertThat(download.getContentLength()).isEqualTo(6);
+    }
+
+    @Test
+    public void spoolShouldBeDeletedAfterLastReader()
+        throws Exception
+    {
+        InputStream is = download.newInputStream();
+        download.complete();
+
+        assertThat(Files.exists(spoolPath)).isTrue();
+
+        is.close();
+
+        assertThat(Files.exists(spoolPath)).isFalse();
+        assertThat(download.newInputStream()).isNull();
+    }
+
+    @Test
+    public void notFoundShouldNotBeStarted()
+        throws Exception
+    {
+        download.fail(new ArtifactNotFoundException(null));
+
+        assertThat(download.awaitStarted()).isFalse();
+    }
+
+    @Test
+    public void readersShouldFailIfRemoteFailed()
+        throws Exception
+    {
+        download.onStarted(-1);
+        InputStream is = download.newInputStream();
+
+        try (OutputStream os = download.newSpoolOutputStream())
+        {
+            os.write(new byte[]{ 1, 2, 3 });
+        }
+        download.fail(new IOException("Connection reset"));
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> IOUtils.toByteArray(is));
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> download.awaitCompleted());
+    }
+
+    private static byte[] readFully(InputStream is)
+    {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream source = is)
+        {
+            IOUtils.copy(source, result);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+
+        return result.toByteArray();
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.carlspring.strongbox.providers.search;
+
+import org.carlspring.strongbox.providers.search.LuceneArtifactEntryIndex.SharedIndex;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class LuceneArtifactEntryIndexTest
+{
+
+    private Path indexPath;
+
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        indexPath = Files.createTempDirectory("lucene-search-");
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        FileUtils.deleteDirectory(indexPath.toFile());
+    }
+
+    @Test
+    public void contextsOfSameJvmShouldShareTheWriter()
+        throws IOException
+    {
+        SharedIndex first = SharedIndex.acquire(indexPath);
+        SharedIndex second = SharedIndex.acquire(indexPath.resolve(".").resolve("../" + indexPath.getFileName()));
+
+        assertThat(second).isSameAs(first);
+
+        // Only the first one rebuilds the empty index.
+        assertThat(first.requestRebuild()).isTrue();
+        assertThat(second.requestRebuild()).isFalse();
+
+        IndexWriter indexWriter = first.getIndexWriter();
+
+        first.release();
+        indexWriter.addDocument(createDocument());
+
+        second.release();
+        assertThatExceptionOfType(AlreadyClosedException.class).isThrownBy(() -> indexWriter.addDocument(createDocument()));
+
+        // The lock is released with the last reference.
+        SharedIndex reopened = SharedIndex.acquire(indexPath);
+        try
+        {
+            assertThat(reopened).isNotSameAs(first);
+            assertThat(reopened.getIndexWriter().numDocs()).isEqualTo(1);
+            assertThat(reopened.requestRebuild()).isFalse();
+        }
+        finally
+        {
+            reopened.release();
+        }
+    }
+
+    @Test
+    public void lockedDirectoryShouldBeReported()
+        throws IOException
+    {
+        try (Directory directory = FSDirectory.open(indexPath);
+             IndexWriter indexWriter = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer())))
+        {
+            assertThatExceptionOfType(IOException.class).isThrownBy(() -> SharedIndex.acquire(indexPath))
+                                                        .withMessageContaining("strongbox.search.lucene.directory");
+        }
+
+        SharedIndex sharedIndex = SharedIndex.acquire(indexPath);
+        sharedIndex.release();
+    }
+
+    private Document createDocument()
+    {
+        Document document = new Document();
+        document.add(new StringField(LuceneArtifactEntryIndex.FIELD_PATH, "storage0/releases/foo", Field.Store.YES));
+
+        return document;
+    }
+
+}
@@ -0,0 +1,166 @@
+package org.carlspring.strongbox.providers.search;
+
+import org.carlspring.strongbox.services.ArtifactSearchService;
+import org.carlspring.strongbox.services.impl.ArtifactSearchServiceImpl;
+import org.carlspring.strongbox.storage.search.SearchRequest;
+import org.carlspring.strongbox.storage.search.SearchResult;
+import org.carlspring.strongbox.storage.search.SearchResults;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.env.MapPropertySource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class SearchProviderRegistryTest
+{
+
+    private AnnotationConfigApplicationContext context;
+
+    @AfterEach
+    public void tearDown()
+    {
+        if (context != null)
+        {
+            context.close();
+        }
+    }
+
+    @Test
+    public void luceneProviderShouldNotBeRegisteredByDefault()
+        throws SearchException
+    {
+        context = createContext(null,
+                                LuceneArtifactEntryIndex.class,
+                                LuceneSearchProvider.class);
+
+        SearchProviderRegistry searchProviderRegistry = context.getBean(SearchProviderRegistry.class);
+
+        assertThat(searchProviderRegistry.getProviders()).containsOnlyKeys(OrientDbSearchProvider.ALIAS);
+        assertThat(context.getBeanNamesForType(LuceneArtifactEntryIndex.class)).isEmpty();
+
+        ArtifactSearchService artifactSearchService = context.getBean(ArtifactSearchService.class);
+        assertThat(artifactSearchService.search(new SearchRequest("storage0", "releases", "q")).getResults())
+                .extracting(SearchResult::getStorageId)
+                .containsExactly(OrientDbSearchProvider.ALIAS);
+
+        SearchRequest luceneRequest = new SearchRequest("storage0", "releases", "q");
+        luceneRequest.addOption(ArtifactSearchService.OPTION_SEARCH_PROVIDER, LuceneSearchProvider.ALIAS);
+        assertThatExceptionOfType(SearchException.class).isThrownBy(() -> artifactSearchService.search(luceneRequest));
+    }
+
+    @Test
+    public void luceneProviderShouldBeRegisteredAndUsedWhenConfigured()
+        throws SearchException
+    {
+        context = createContext(LuceneSearchProvider.ALIAS,
+                                LuceneStubSearchProvider.class);
+
+        SearchProviderRegistry searchProviderRegistry = context.getBean(SearchProviderRegistry.class);
+
+        assertThat(searchProviderRegistry.getProviders()).containsOnlyKeys(OrientDbSearchProvider.ALIAS,
+                                                                           LuceneSearchProvider.ALIAS);
+
+        ArtifactSearchService artifactSearchService = context.getBean(ArtifactSearchService.class);
+        assertThat(artifactSearchService.search(new SearchRequest("storage0", "releases", "q")).getResults())
+                .extracting(SearchResult::getStorageId)
+                .containsExactly(LuceneSearchProvider.ALIAS);
+
+        SearchRequest orientDbRequest = new SearchRequest("storage0", "releases", "q");
+        orientDbRequest.addOption(ArtifactSearchService.OPTION_SEARCH_PROVIDER, OrientDbSearchProvider.ALIAS);
+        assertThat(artifactSearchService.search(orientDbRequest).getResults())
+                .extracting(SearchResult::getStorageId)
+                .containsExactly(OrientDbSearchProvider.ALIAS);
+    }
+
+    private AnnotationConfigApplicationContext createContext(String searchProvider,
+                                                             Class<?>... componentClasses)
+    {
+        AnnotationConfigApplicationContext result = new AnnotationConfigApplicationContext();
+        if (searchProvider != null)
+        {
+            result.getEnvironment()
+                  .getPropertySources()
+                  .addFirst(new MapPropertySource("test",
+                                                  Collections.singletonMap(LuceneSearchCondition.PROPERTY_SEARCH_PROVIDER,
+                                                                           searchProvider)));
+        }
+
+        result.register(SearchProviderRegistry.class, ArtifactSearchServiceImpl.class, OrientDbStubSearchProvider.class);
+        result.register(componentClasses);
+        result.refresh();
+
+        return result;
+    }
+
+    static class OrientDbStubSearchProvider
+            extends StubSearchProvider
+    {
+
+        OrientDbStubSearchProvider()
+        {
+            super(OrientDbSearchProvider.ALIAS);
+        }
+
+    }
+
+    @Conditional(LuceneSearchCondition.class)
+    static class LuceneStubSearchProvider
+            extends StubSearchProvider
+    {
+
+        LuceneStubSearchProvider()
+        {
+            super(LuceneSearchProvider.ALIAS);
+        }
+
+    }
+
+    /**
+     * Answers with a single result, which has the alias of the provider as the storage.
+     */
+    abstract static class StubSearchProvider
+            implements SearchProvider
+    {
+
+        private final String alias;
+
+        StubSearchProvider(String alias)
+        {
+            this.alias = alias;
+        }
+
+        @Override
+        public String getAlias()
+        {
+            return alias;
+        }
+
+        @Override
+        public SearchResults search(SearchRequest searchRequest)
+        {
+            SearchResults result = new SearchResults();
+            result.getResults().add(new SearchResult(alias, searchRequest.getRepositoryId(), null, null));
+
+            return result;
+        }
+
+        @Override
+        public SearchResult findExact(SearchRequest searchRequest)
+        {
+            return null;
+        }
+
+        @Override
+        public boolean contains(SearchRequest searchRequest)
+        {
+            return true;
+        }
+
+    }
+
+}
@@ -221,6 +221,18 @@ public class ConfigurationManagementServiceImplTest
         assertThat(pool.getAllocatedConnections()).isEqualTo(10);
     }
 
+    @Test
+    public void configurationSnapshotShouldBePublishedOnModification()
+            throws IOException
+    {
+        Configuration configuration = configurationManagementService.getConfiguration();
+        assertThat(configurationManagementService.getConfiguration()).isSameAs(configuration);
+
+        configurationManagementService.setInstanceName(configuration.getInstanceName());
+
+        assertThat(configurationManagementService.getConfiguration()).isNotSameAs(configuration);
+    }
+
     @ExtendWith(RepositoryManagementTestExecutionListener.class)
     @Test
     public void shouldAddEditAndRemoveRoutingRule(@RawRepository(repositoryId = REPOSITORY_RELEASES_1)
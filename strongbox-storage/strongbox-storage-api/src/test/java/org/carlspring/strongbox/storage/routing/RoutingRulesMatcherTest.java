@@ -0,0 +1,139 @@
+package org.carlspring.strongbox.storage.routing;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@Execution(CONCURRENT)
+public class RoutingRulesMatcherTest
+{
+
+    private static final String STORAGE = "storage-common-proxies";
+
+    private static final String GROUP = "group-common-proxies";
+
+    @Test
+    public void testDeniedForAllRepositoriesInGroup()
+    {
+        RoutingRulesMatcher matcher = matcher(rule(STORAGE, GROUP, ".*(com|org)/carlspring.*", RoutingRuleTypeEnum.DENY));
+
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "org/carlspring/foo/1.0/foo-1.0.jar"))
+                .isTrue();
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "org/apache/foo/1.0/foo-1.0.jar"))
+                .isFalse();
+        assertThat(matcher.isDenied(STORAGE, "other-group", STORAGE, "maven-central", "org/carlspring/foo/1.0/foo-1.0.jar"))
+                .isFalse();
+    }
+
+    @Test
+    public void testAcceptOverridesDeny()
+    {
+        RoutingRulesMatcher matcher = matcher(rule(STORAGE, GROUP, ".*", RoutingRuleTypeEnum.DENY),
+                                              rule(STORAGE, GROUP, "org/apache/.*", RoutingRuleTypeEnum.DENY),
+                                              rule(STORAGE,
+                                                   GROUP,
+                                                   ".*carlspring.*",
+                                                   RoutingRuleTypeEnum.ACCEPT,
+                                                   new MutableRoutingRuleRepository(STORAGE, "carlspring")));
+
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "carlspring", "org/carlspring/foo.jar")).isFalse();
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "carlspring", "org/apache/foo.jar")).isTrue();
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "org/carlspring/foo.jar")).isTrue();
+    }
+
+    @Test
+    public void testWildcardIdentifiers()
+    {
+        RoutingRulesMatcher matcher = matcher(rule("", "", "wildcard/.*", RoutingRuleTypeEnum.DENY),
+                                              rule(STORAGE, null, "storage/.*", RoutingRuleTypeEnum.DENY),
+                                              rule(null, GROUP, "group/.*", RoutingRuleTypeEnum.DENY),
+                                              rule(STORAGE,
+                                                   GROUP,
+                                                   "member/.*",
+                                                   RoutingRuleTypeEnum.DENY,
+                                                   new MutableRoutingRuleRepository(null, "maven-central")));
+
+        assertThat(matcher.isDenied("any", "any", "any", "any", "wildcard/foo.jar")).isTrue();
+        assertThat(matcher.isDenied(STORAGE, "any", "any", "any", "storage/foo.jar")).isTrue();
+        assertThat(matcher.isDenied("any", "any", "any", "any", "storage/foo.jar")).isFalse();
+        assertThat(matcher.isDenied("any", GROUP, "any", "any", "group/foo.jar")).isTrue();
+        assertThat(matcher.isDenied(STORAGE, GROUP, "any", "maven-central", "member/foo.jar")).isTrue();
+        assertThat(matcher.isDenied(STORAGE, GROUP, "any", "other", "member/foo.jar")).isFalse();
+    }
+
+    @Test
+    public void testIdentifiersAreCaseInsensitive()
+    {
+        RoutingRulesMatcher matcher = matcher(rule(" " + STORAGE.toUpperCase(),
+                                                   GROUP.toUpperCase(),
+                                                   ".*",
+                                                   RoutingRuleTypeEnum.DENY,
+                                                   new MutableRoutingRuleRepository(STORAGE.toUpperCase(),
+                                                                                    "Maven-Central")));
+
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "foo.jar")).isTrue();
+    }
+
+    @Test
+    public void testPatternsWithBackReferences()
+    {
+        RoutingRulesMatcher matcher = matcher(rule(STORAGE, GROUP, "(a+)/\\1", RoutingRuleTypeEnum.DENY),
+                                              rule(STORAGE, GROUP, "(b+)/\\1", RoutingRuleTypeEnum.DENY),
+                                              rule(STORAGE, GROUP, "c/.*", RoutingRuleTypeEnum.DENY));
+
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "aa/aa")).isTrue();
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "bb/bb")).isTrue();
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "bb/b")).isFalse();
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "c/foo")).isTrue();
+    }
+
+    @Test
+    public void testPatternsWithSameGroupName()
+    {
+        RoutingRulesMatcher matcher = matcher(rule(STORAGE, GROUP, "(?<name>a+)/.*", RoutingRuleTypeEnum.DENY),
+                                              rule(STORAGE, GROUP, "(?<name>b+)/.*", RoutingRuleTypeEnum.DENY),
+                                              rule(STORAGE, GROUP, "(?<!x)c/.*", RoutingRuleTypeEnum.DENY),
+                                              rule(STORAGE, GROUP, ".+(?<=d)/.*", RoutingRuleTypeEnum.DENY));
+
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "aa/foo")).isTrue();
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "bb/foo")).isTrue();
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "c/foo")).isTrue();
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "dd/foo")).isTrue();
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "e/foo")).isFalse();
+    }
+
+    @Test
+    public void testWithoutRules()
+    {
+        RoutingRulesMatcher matcher = new RoutingRulesMatcher(null);
+
+        assertThat(matcher.isDenied(STORAGE, GROUP, STORAGE, "maven-central", "foo.jar")).isFalse();
+    }
+
+    private static RoutingRulesMatcher matcher(MutableRoutingRule... rules)
+    {
+        MutableRoutingRules routingRules = new MutableRoutingRules();
+        routingRules.setRules(Arrays.asList(rules));
+
+        return new RoutingRulesMatcher(new RoutingRules(routingRules));
+    }
+
+    private static MutableRoutingRule rule(String storageId,
+                                           String groupRepositoryId,
+                                           String pattern,
+                                           RoutingRuleTypeEnum type,
+                                           MutableRoutingRuleRepository... repositories)
+    {
+        return MutableRoutingRule.create(storageId,
+                                         groupRepositoryId,
+                                         repositories.length == 0 ? Collections.emptyList() :
+                                         Arrays.asList(repositories),
+                                         pattern,
+                                         type);
+    }
+
+}
@@ -10,6 +10,7 @@ import java.io.OutputStream;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.transaction.annotation.Transactional;
 
@@ -68,6 +69,25 @@ public interface RepositoryProvider
                       Predicate predicate,
                       Paginator paginator);
     
+    /**
+     * Streams Artifact Paths with keyset pagination: the results are ordered by
+     * the artifact coordinates path, and start strictly after the
+     * {@link Paginator#getCursor()}, if any. The results are fetched lazily, in
+     * batches of {@link Paginator#getLimit()}, so the caller limits the stream
+     * and takes the last path as the cursor of the next page. For Group
+     * Repositories result will be distinct group member Paths.
+     * 
+     * @param storageId
+     * @param repositoryId
+     * @param predicate
+     * @param paginator
+     * @return
+     */
+    Stream<Path> stream(String storageId,
+                        String repositoryId,
+                        Predicate predicate,
+                        Paginator paginator);
+
     /**
      * Counts Artifacts. For Group repositories result will be distinct within
      * group members.
@@ -0,0 +1,521 @@
+package org.carlspring.strongbox.providers.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.CopyOption;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.spi.FileSystemProvider;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.carlspring.strongbox.io.ProxyFileSystemProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the file content once per SHA-256 digest, in the blob store directory, and makes every path with this content
+ * a hard link to the blob. The identical artifacts of the different repositories share the disk space, and copying a
+ * file is just one more link.
+ * <br>
+ * The link count of the blob is its reference count: moving a path (to the trash, for example) keeps the blob, and the
+ * blobs which are not linked anymore are removed by {@link #collectGarbage(Duration)}. The content is never modified
+ * in place: the new content is written next to the blobs and linked on close, and the shared file is copied before it
+ * is opened for the in place writing.
+ * <br>
+ * The files smaller than the minimum size (the metadata, the checksums) and the paths on a different file store are
+ * written as usual.
+ */
+public class ContentAddressableFileSystemProvider
+        extends ProxyFileSystemProvider
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentAddressableFileSystemProvider.class);
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final String INCOMING_DIRECTORY = ".incoming";
+
+    private static final String LINK_COUNT_ATTRIBUTE = "unix:nlink";
+
+    private final Path blobsDirectory;
+
+    private final Path incomingDirectory;
+
+    private final FileStore blobsFileStore;
+
+    private final long minSize;
+
+    public ContentAddressableFileSystemProvider(FileSystemProvider target,
+                                                Path blobsDirectory,
+                                                long minSize)
+        throws IOException
+    {
+        super(target);
+        this.blobsDirectory = blobsDirectory;
+        this.incomingDirectory = blobsDirectory.resolve(INCOMING_DIRECTORY);
+        this.minSize = minSize;
+
+        Files.createDirectories(incomingDirectory);
+        this.blobsFileStore = Files.getFileStore(blobsDirectory);
+    }
+
+    @Override
+    public OutputStream newOutputStream(Path path,
+                                        OpenOption... options)
+        throws IOException
+    {
+        Set<OpenOption> openOptions = new HashSet<>(Arrays.asList(options));
+        if (openOptions.isEmpty())
+        {
+            openOptions.add(StandardOpenOption.CREATE);
+            openOptions.add(StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        openOptions.add(StandardOpenOption.WRITE);
+
+        return Channels.newOutputStream(newByteChannel(path, openOptions));
+    }
+
+    @Override
+    public SeekableByteChannel newByteChannel(Path path,
+                                              Set<? extends OpenOption> options,
+                                              FileAttribute<?>... attrs)
+        throws IOException
+    {
+        Path target = unwrap(path);
+        if (!isWrite(options))
+        {
+            return super.newByteChannel(target, options, attrs);
+        }
+        if (!isNewContent(target, options) || !isBlobsFileStore(target.getParent()))
+        {
+            detach(target);
+
+            return super.newByteChannel(target, options, attrs);
+        }
+
+        if (options.contains(StandardOpenOption.CREATE_NEW) && Files.exists(target, LinkOption.NOFOLLOW_LINKS))
+        {
+            throw new FileAlreadyExistsException(target.toString());
+        }
+        if (!options.contains(StandardOpenOption.CREATE) && !options.contains(StandardOpenOption.CREATE_NEW) &&
+            !Files.exists(target))
+        {
+            throw new NoSuchFileException(target.toString());
+        }
+
+        Path incoming = Files.createTempFile(incomingDirectory, "blob-", ".tmp");
+        SeekableByteChannel channel = super.newByteChannel(incoming,
+                                                           EnumSet.of(StandardOpenOption.WRITE,
+                                                                      StandardOpenOption.TRUNCATE_EXISTING),
+                                                           attrs);
+
+        return new BlobByteChannel(channel, incoming, target);
+    }
+
+    @Override
+    public FileChannel newFileChannel(Path path,
+                                      Set<? extends OpenOption> options,
+                                      FileAttribute<?>... attrs)
+        throws IOException
+    {
+        Path target = unwrap(path);
+        if (isWrite(options))
+        {
+            detach(target);
+        }
+
+        return super.newFileChannel(target, options, attrs);
+    }
+
+    @Override
+    public AsynchronousFileChannel newAsynchronousFileChannel(Path path,
+                                           Set<? extends OpenOption> options,
+                                           ExecutorService executor,
+                                           FileAttribute<?>... attrs)
+        throws IOException
+    {
+        Path target = unwrap(path);
+        if (isWrite(options))
+        {
+            detach(target);
+        }
+
+        return super.newAsynchronousFileChannel(target, options, executor, attrs);
+    }
+
+    /**
+     * The regular files are copied as the hard links.
+     */
+    @Override
+    public void copy(Path source,
+                     Path target,
+                     CopyOption... options)
+        throws IOException
+    {
+        Path sourceTarget = unwrap(source);
+        Path targetTarget = unwrap(target);
+        if (!Files.isRegularFile(sourceTarget, LinkOption.NOFOLLOW_LINKS) ||
+            !isBlobsFileStore(sourceTarget.getParent()) ||
+            !isBlobsFileStore(targetTarget.getParent()))
+        {
+            super.copy(source, target, options);
+
+            return;
+        }
+
+        boolean replaceExisting = Arrays.asList(options).contains(StandardCopyOption.REPLACE_EXISTING);
+        if (!replaceExisting && Files.exists(targetTarget, LinkOption.NOFOLLOW_LINKS))
+        {
+            throw new FileAlreadyExistsException(targetTarget.toString());
+        }
+
+        link(sourceTarget, targetTarget);
+    }
+
+    /**
+     * Removes the blobs which are not linked from any path, and the abandoned incoming files, older than the grace
+     * period (so that the blob which is being linked at the moment is not removed).
+     *
+     * @return the number of the removed blobs
+     */
+    public long collectGarbage(Duration gracePeriod)
+        throws IOException
+    {
+        Instant threshold = Instant.now().minus(gracePeriod);
+
+        long result = 0;
+        try (Stream<Path> pathStream = Files.walk(blobsDirectory))
+        {
+            for (Path path : (Iterable<Path>) pathStream::iterator)
+            {
+                if (!Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS) ||
+                    Files.getLastModifiedTime(path).toInstant().isAfter(threshold))
+                {
+                    continue;
+                }
+
+                if (path.startsWith(incomingDirectory) || getLinkCount(path) <= 1)
+                {
+                    Files.deleteIfExists(path);
+                    result++;
+                }
+            }
+        }
+
+        logger.debug("Removed [{}] unreferenced blobs from [{}].", result, blobsDirectory);
+
+        return result;
+    }
+
+    /**
+     * The blob is linked first, so that it can't be collected once it's found, and the incoming file becomes the blob
+     * only if there is no blob to link.
+     * <br>
+     * The modification time of the blob is shared by all its paths, so it's never changed here: the time when the path
+     * was written is tracked by its artifact entry.
+     */
+    private void commit(Path incoming,
+                        String digest,
+                        Path target)
+        throws IOException
+    {
+        if (Files.size(incoming) < minSize)
+        {
+            Files.move(incoming, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            return;
+        }
+
+        Path blob = blobsDirectory.resolve(digest.substring(0, 2)).resolve(digest);
+        Path link = newSiblingPath(target);
+        try
+        {
+            Files.createLink(link, blob);
+        }
+        catch (NoSuchFileException e)
+        {
+            Files.createDirectories(blob.getParent());
+            Files.move(incoming, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            linkOrCopy(blob, link);
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to link [{}] to [{}], the content is not shared.", target, blob, e);
+
+            Files.move(incoming, link, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        Files.move(link, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Replaces the target with the link to the existing file atomically, or with its copy if the file can't have more
+     * links.
+     */
+    private void link(Path existing,
+                      Path target)
+        throws IOException
+    {
+        Path link = newSiblingPath(target);
+        linkOrCopy(existing, link);
+
+        Files.move(link, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void linkOrCopy(Path existing,
+                            Path link)
+        throws IOException
+    {
+        try
+        {
+            Files.createLink(link, existing);
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to link [{}] to [{}], the content is copied.", link, existing, e);
+
+            Files.copy(existing, link);
+        }
+    }
+
+    /**
+     * Makes a private copy of the shared file, before it's modified in place.
+     */
+    private void detach(Path target)
+        throws IOException
+    {
+        if (!Files.isRegularFile(target, LinkOption.NOFOLLOW_LINKS) || getLinkCount(target) <= 1)
+        {
+            return;
+        }
+
+        Path copy = newSiblingPath(target);
+        Files.copy(target, copy, StandardCopyOption.COPY_ATTRIBUTES);
+        Files.move(copy, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path newSiblingPath(Path target)
+    {
+        return target.resolveSibling(String.format(".%s.%s", target.getFileName(), UUID.randomUUID()));
+    }
+
+    private boolean isBlobsFileStore(Path directory)
+        throws IOException
+    {
+        return directory != null && Files.isDirectory(directory) && blobsFileStore.equals(Files.getFileStore(directory));
+    }
+
+    private static int getLinkCount(Path path)
+        throws IOException
+    {
+        return (Integer) Files.getAttribute(path, LINK_COUNT_ATTRIBUTE, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    private static boolean isWrite(Set<? extends OpenOption> options)
+    {
+        return options.contains(StandardOpenOption.WRITE) || options.contains(StandardOpenOption.APPEND);
+    }
+
+    /**
+     * @return `true` if the previous content of the file (if any) is discarded
+     */
+    private static boolean isNewContent(Path target,
+                                        Set<? extends OpenOption> options)
+    {
+        if (options.contains(StandardOpenOption.READ) || options.contains(StandardOpenOption.APPEND))
+        {
+            return false;
+        }
+
+        return options.contains(StandardOpenOption.TRUNCATE_EXISTING) ||
+               options.contains(StandardOpenOption.CREATE_NEW) ||
+               !Files.exists(target, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    private static String toHexString(byte[] digest)
+    {
+        StringBuilder result = new StringBuilder(digest.length * 2);
+        for (byte b : digest)
+        {
+            result.append(String.format("%02x", b));
+        }
+
+        return result.toString();
+    }
+
+    private static MessageDigest newMessageDigest()
+        throws IOException
+    {
+        try
+        {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Digests the content while it's written sequentially (which is the usual case), otherwise the file is digested on
+     * close.
+     */
+    private class BlobByteChannel
+            implements SeekableByteChannel
+    {
+
+        private final SeekableByteChannel channel;
+
+        private final Path incoming;
+
+        private final Path target;
+
+        private final MessageDigest messageDigest;
+
+        private long digestPosition;
+
+        private boolean sequential = true;
+
+        private BlobByteChannel(SeekableByteChannel channel,
+                                Path incoming,
+                                Path target)
+            throws IOException
+        {
+            this.channel = channel;
+            this.incoming = incoming;
+            this.target = target;
+            this.messageDigest = newMessageDigest();
+        }
+
+        @Override
+        public int write(ByteBuffer src)
+            throws IOException
+        {
+            sequential = sequential && channel.position() == digestPosition;
+
+            ByteBuffer written = src.duplicate();
+            int result = channel.write(src);
+            if (sequential)
+            {
+                written.limit(written.position() + result);
+                messageDigest.update(written);
+                digestPosition += result;
+            }
+
+            return result;
+        }
+
+        @Override
+        public int read(ByteBuffer dst)
+            throws IOException
+        {
+            return channel.read(dst);
+        }
+
+        @Override
+        public long position()
+            throws IOException
+        {
+            return channel.position();
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition)
+            throws IOException
+        {
+            channel.position(newPosition);
+
+            return this;
+        }
+
+        @Override
+        public long size()
+            throws IOException
+        {
+            return channel.size();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size)
+            throws IOException
+        {
+            sequential = sequential && size >= digestPosition;
+            channel.truncate(size);
+
+            return this;
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close()
+            throws IOException
+        {
+            if (!channel.isOpen())
+            {
+                return;
+            }
+
+            channel.close();
+            try
+            {
+                commit(incoming, toHexString(digest()), target);
+            }
+            finally
+            {
+                Files.deleteIfExists(incoming);
+            }
+        }
+
+        private byte[] digest()
+            throws IOException
+        {
+            if (sequential && digestPosition == Files.size(incoming))
+            {
+                return messageDigest.digest();
+            }
+
+            MessageDigest fileDigest = newMessageDigest();
+            try (InputStream is = new DigestInputStream(Files.newInputStream(incoming), fileDigest))
+            {
+                IOUtils.copy(is, NullOutputStream.NULL_OUTPUT_STREAM);
+            }
+
+            return fileDigest.digest();
+        }
+
+    }
+
+}
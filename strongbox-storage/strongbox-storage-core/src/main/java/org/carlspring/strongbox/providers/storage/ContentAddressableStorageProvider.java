@@ -0,0 +1,144 @@
+package org.carlspring.strongbox.providers.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.spi.FileSystemProvider;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * The local file system storage, which keeps the identical files of all the repositories once, see
+ * {@link ContentAddressableFileSystemProvider}.
+ * <br>
+ * The blob store must be on the same file store as the repositories, and the file system must support the hard links
+ * and the `unix` attribute view, otherwise the files are stored as with the {@link FileSystemStorageProvider}.
+ */
+@Component("contentAddressableStorageProvider")
+public class ContentAddressableStorageProvider
+        extends AbstractStorageProvider
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentAddressableStorageProvider.class);
+
+    public static final String ALIAS = "content-addressable";
+
+    private static final String BLOBS_DIRECTORY = ".blobs";
+
+    @Value("${strongbox.storage.blobs.minSize:4096}")
+    private long minSize;
+
+    @Value("${strongbox.storage.blobs.gcIntervalMinutes:60}")
+    private int gcIntervalMinutes;
+
+    @Inject
+    private PropertiesBooter propertiesBooter;
+
+    @Inject
+    private FileSystemStorageProvider fileSystemStorageProvider;
+
+    private FileSystemProvider fileSystemProvider;
+
+    private ScheduledExecutorService executor;
+
+
+    @Override
+    public String getAlias()
+    {
+        return ALIAS;
+    }
+
+    @PostConstruct
+    @Override
+    public void register()
+    {
+        FileSystemProvider target = fileSystemStorageProvider.getFileSystemProvider();
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("unix"))
+        {
+            logger.warn("The hard links are not supported, storage provider '{}' stores the files as is.", ALIAS);
+
+            fileSystemProvider = target;
+        }
+        else
+        {
+            Path blobsDirectory = Paths.get(propertiesBooter.getStorageBooterBasedir(), BLOBS_DIRECTORY);
+            ContentAddressableFileSystemProvider contentAddressableFileSystemProvider = newFileSystemProvider(target,
+                                                                                                              blobsDirectory);
+            fileSystemProvider = contentAddressableFileSystemProvider;
+
+            Duration gracePeriod = Duration.ofMinutes(gcIntervalMinutes);
+            executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("blob-gc-"));
+            executor.scheduleWithFixedDelay(() -> collectGarbage(contentAddressableFileSystemProvider, gracePeriod),
+                                            gcIntervalMinutes,
+                                            gcIntervalMinutes,
+                                            TimeUnit.MINUTES);
+        }
+
+        logger.info("Registered storage provider '{}' with alias '{}'.",
+                    getClass().getCanonicalName(), ALIAS);
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private ContentAddressableFileSystemProvider newFileSystemProvider(FileSystemProvider target,
+                                                                       Path blobsDirectory)
+    {
+        try
+        {
+            return new ContentAddressableFileSystemProvider(target, blobsDirectory, minSize);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(String.format("Failed to create blob store [%s].", blobsDirectory), e);
+        }
+    }
+
+    private void collectGarbage(ContentAddressableFileSystemProvider provider,
+                                Duration gracePeriod)
+    {
+        try
+        {
+            provider.collectGarbage(gracePeriod);
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to remove the unreferenced blobs.", e);
+        }
+    }
+
+    @Override
+    public FileSystem getFileSystem()
+    {
+        return FileSystems.getDefault();
+    }
+
+    @Override
+    public FileSystemProvider getFileSystemProvider()
+    {
+        return fileSystemProvider;
+    }
+
+}
@@ -9,6 +9,7 @@ import org.carlspring.strongbox.storage.StorageDto;
 import org.carlspring.strongbox.storage.repository.RepositoryDto;
 import org.carlspring.strongbox.storage.routing.MutableRoutingRule;
 import org.carlspring.strongbox.storage.routing.MutableRoutingRules;
+import org.carlspring.strongbox.storage.routing.RoutingRulesMatcher;
 
 import java.io.IOException;
 import java.util.List;
@@ -59,6 +60,11 @@ public interface ConfigurationManagementService
 
     MutableRoutingRule getRoutingRule(UUID uuid);
 
+    /**
+     * @return the routing rules of the current configuration, compiled once per configuration change
+     */
+    RoutingRulesMatcher getRoutingRulesMatcher();
+
     boolean updateRoutingRule(UUID uuid,
                               MutableRoutingRule routingRule) throws IOException;
 
@@ -16,13 +16,15 @@ public class RoutingRules
 
     private final List<RoutingRule> rules;
 
-    private List<RoutingRule> denied;
+    private final List<RoutingRule> denied;
 
-    private List<RoutingRule> accepted;
+    private final List<RoutingRule> accepted;
 
     public RoutingRules(final MutableRoutingRules delegate)
     {
         this.rules = immuteRoutingRules(delegate.getRules());
+        this.denied = ImmutableList.copyOf(rules.stream().filter(RoutingRule::isDeny).collect(toList()));
+        this.accepted = ImmutableList.copyOf(rules.stream().filter(RoutingRule::isAccept).collect(toList()));
     }
 
     private List<RoutingRule> immuteRoutingRules(final List<MutableRoutingRule> source)
@@ -38,19 +40,11 @@ public class RoutingRules
 
     public List<RoutingRule> getDenied()
     {
-        if (denied != null)
-        {
-            return denied;
-        }
-        return denied = rules.stream().filter(RoutingRule::isDeny).collect(toList());
+        return denied;
     }
 
     public List<RoutingRule> getAccepted()
     {
-        if (accepted != null)
-        {
-            return accepted;
-        }
-        return accepted = rules.stream().filter(RoutingRule::isAccept).collect(toList());
+        return accepted;
     }
 }
@@ -0,0 +1,361 @@
+package org.carlspring.strongbox.storage.routing;
+
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The {@link RoutingRules} compiled into an index by the group repository and the group member repository, so that
+ * the verdict for the (group, member, path) doesn't require to iterate over all the rules.
+ * <br>
+ * The identifiers are matched case-insensitively and the blank identifiers are wildcards (`*:*`, `storageId:*`,
+ * `*:repositoryId`). The patterns of the rules which fall into the same bucket are combined into a single regular
+ * expression, except the ones which can't be combined safely.
+ *
+ * @see <a href="https://strongbox.github.io/user-guide/artifact-routing-rules.html">Artifact Routing Rules</a>
+ */
+@Immutable
+public class RoutingRulesMatcher
+{
+
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(\\d|k<)");
+
+    private static final Pattern NAMED_GROUP = Pattern.compile("\\(\\?<[^=!]");
+
+    private final Index<MemberIndex> groups;
+
+    public RoutingRulesMatcher(RoutingRules routingRules)
+    {
+        Index.Builder<MemberIndex.Builder> builder = new Index.Builder<>(MemberIndex.Builder::new);
+        if (routingRules != null)
+        {
+            for (RoutingRule rule : routingRules.getRules())
+            {
+                MemberIndex.Builder members = builder.get(rule.getStorageId(), rule.getGroupRepositoryId());
+                if (rule.getRepositories().isEmpty())
+                {
+                    // an empty collection means the rule is applied to **all** repositories in the group.
+                    members.add(null, null, rule);
+                    continue;
+                }
+
+                for (RoutingRuleRepository repository : rule.getRepositories())
+                {
+                    members.add(repository.getStorageId(), repository.getRepositoryId(), rule);
+                }
+            }
+        }
+
+        groups = builder.build(MemberIndex.Builder::build);
+    }
+
+    public boolean isDenied(Repository groupRepository,
+                            Repository repository,
+                            String path)
+    {
+        return isDenied(groupRepository.getStorage().getId(),
+                        groupRepository.getId(),
+                        repository.getStorage().getId(),
+                        repository.getId(),
+                        path);
+    }
+
+    /**
+     * @return `true` if there is a deny rule and there is no accept rule for the path within the group member
+     */
+    public boolean isDenied(String groupStorageId,
+                            String groupRepositoryId,
+                            String storageId,
+                            String repositoryId,
+                            String path)
+    {
+        return matches(groupStorageId, groupRepositoryId, storageId, repositoryId, path, RoutingRuleTypeEnum.DENY) &&
+               !matches(groupStorageId, groupRepositoryId, storageId, repositoryId, path, RoutingRuleTypeEnum.ACCEPT);
+    }
+
+    private boolean matches(String groupStorageId,
+                            String groupRepositoryId,
+                            String storageId,
+                            String repositoryId,
+                            String path,
+                            RoutingRuleTypeEnum type)
+    {
+        return matches(groups.wildcard, storageId, repositoryId, path, type) ||
+               matches(groups.byStorage.get(groupStorageId), storageId, repositoryId, path, type) ||
+               matches(groups.byRepository.get(groupRepositoryId), storageId, repositoryId, path, type) ||
+               matches(get(groups.byStorageAndRepository, groupStorageId, groupRepositoryId),
+                       storageId,
+                       repositoryId,
+                       path,
+                       type);
+    }
+
+    private boolean matches(MemberIndex members,
+                            String storageId,
+                            String repositoryId,
+                            String path,
+                            RoutingRuleTypeEnum type)
+    {
+        if (members == null)
+        {
+            return false;
+        }
+
+        Index<Patterns> index = type == RoutingRuleTypeEnum.DENY ? members.denied : members.accepted;
+
+        return matches(index.wildcard, path) ||
+               matches(index.byStorage.get(storageId), path) ||
+               matches(index.byRepository.get(repositoryId), path) ||
+               matches(get(index.byStorageAndRepository, storageId, repositoryId), path);
+    }
+
+    private static boolean matches(Patterns patterns,
+                                   String path)
+    {
+        return patterns != null && patterns.matches(path);
+    }
+
+    private static <T> T get(Map<String, Map<String, T>> index,
+                             String storageId,
+                             String repositoryId)
+    {
+        Map<String, T> repositories = index.get(storageId);
+
+        return repositories == null ? null : repositories.get(repositoryId);
+    }
+
+    /**
+     * Buckets by the `storageId:repositoryId` identifier, where either part can be a wildcard.
+     */
+    private static class Index<T>
+    {
+
+        private final T wildcard;
+
+        private final Map<String, T> byStorage;
+
+        private final Map<String, T> byRepository;
+
+        private final Map<String, Map<String, T>> byStorageAndRepository;
+
+        private Index(T wildcard,
+                      Map<String, T> byStorage,
+                      Map<String, T> byRepository,
+                      Map<String, Map<String, T>> byStorageAndRepository)
+        {
+            this.wildcard = wildcard;
+            this.byStorage = byStorage;
+            this.byRepository = byRepository;
+            this.byStorageAndRepository = byStorageAndRepository;
+        }
+
+        private static class Builder<B>
+        {
+
+            private final Supplier<B> factory;
+
+            private B wildcard;
+
+            private final Map<String, B> byStorage = newMap();
+
+            private final Map<String, B> byRepository = newMap();
+
+            private final Map<String, Map<String, B>> byStorageAndRepository = newMap();
+
+            private Builder(Supplier<B> factory)
+            {
+                this.factory = factory;
+            }
+
+            private B get(String storageId,
+                          String repositoryId)
+            {
+                storageId = StringUtils.trimToEmpty(storageId);
+                repositoryId = StringUtils.trimToEmpty(repositoryId);
+
+                if (storageId.isEmpty() && repositoryId.isEmpty())
+                {
+                    return wildcard == null ? wildcard = factory.get() : wildcard;
+                }
+                else if (repositoryId.isEmpty())
+                {
+                    return byStorage.computeIfAbsent(storageId, k -> factory.get());
+                }
+                else if (storageId.isEmpty())
+                {
+                    return byRepository.computeIfAbsent(repositoryId, k -> factory.get());
+                }
+
+                return byStorageAndRepository.computeIfAbsent(storageId, k -> newMap())
+                                             .computeIfAbsent(repositoryId, k -> factory.get());
+            }
+
+            private <T> Index<T> build(Function<B, T> builder)
+            {
+                Map<String, Map<String, T>> storagesAndRepositories = newMap();
+                byStorageAndRepository.forEach((k, v) -> storagesAndRepositories.put(k, build(v, builder)));
+
+                return new Index<>(wildcard == null ? null : builder.apply(wildcard),
+                                   build(byStorage, builder),
+                                   build(byRepository, builder),
+                                   storagesAndRepositories);
+            }
+
+            private static <B, T> Map<String, T> build(Map<String, B> source,
+                                                       Function<B, T> builder)
+            {
+                Map<String, T> result = newMap();
+                source.forEach((k, v) -> result.put(k, builder.apply(v)));
+
+                return result;
+            }
+
+        }
+
+    }
+
+    /**
+     * The deny and accept patterns of a group, bucketed by the group member repository.
+     */
+    private static class MemberIndex
+    {
+
+        private final Index<Patterns> denied;
+
+        private final Index<Patterns> accepted;
+
+        private MemberIndex(Index<Patterns> denied,
+                            Index<Patterns> accepted)
+        {
+            this.denied = denied;
+            this.accepted = accepted;
+        }
+
+        private static class Builder
+        {
+
+            private final Index.Builder<Patterns.Builder> denied = new Index.Builder<>(Patterns.Builder::new);
+
+            private final Index.Builder<Patterns.Builder> accepted = new Index.Builder<>(Patterns.Builder::new);
+
+            private void add(String storageId,
+                             String repositoryId,
+                             RoutingRule rule)
+            {
+                if (rule.isDeny())
+                {
+                    denied.get(storageId, repositoryId).add(rule.getPattern());
+                }
+                else if (rule.isAccept())
+                {
+                    accepted.get(storageId, repositoryId).add(rule.getPattern());
+                }
+            }
+
+            private MemberIndex build()
+            {
+                return new MemberIndex(denied.build(Patterns.Builder::build),
+                                       accepted.build(Patterns.Builder::build));
+            }
+
+        }
+
+    }
+
+    private static class Patterns
+    {
+
+        private final Pattern[] patterns;
+
+        private Patterns(Pattern[] patterns)
+        {
+            this.patterns = patterns;
+        }
+
+        private boolean matches(String path)
+        {
+            for (Pattern pattern : patterns)
+            {
+                if (pattern.matcher(path).matches())
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private static class Builder
+        {
+
+            private final List<String> patterns = new ArrayList<>();
+
+            private void add(String pattern)
+            {
+                if (!patterns.contains(pattern))
+                {
+                    patterns.add(pattern);
+                }
+            }
+
+            private Patterns build()
+            {
+                List<Pattern> result = new ArrayList<>();
+                List<String> combinable = new ArrayList<>();
+                for (String pattern : patterns)
+                {
+                    if (isCombinable(pattern))
+                    {
+                        combinable.add(pattern);
+                    }
+                    else
+                    {
+                        result.add(Pattern.compile(pattern));
+                    }
+                }
+
+                if (combinable.size() == 1)
+                {
+                    result.add(Pattern.compile(combinable.get(0)));
+                }
+                else if (!combinable.isEmpty())
+                {
+                    result.add(Pattern.compile(combinable.stream()
+                                                         .map(p -> "(?:" + p + ")")
+                                                         .collect(Collectors.joining("|"))));
+                }
+
+                return new Patterns(result.toArray(new Pattern[0]));
+            }
+
+            /**
+             * Back references are numbered across the whole expression, the group names must be unique in it and the
+             * comments (`(?x)`) can swallow the closing parenthesis, so such patterns are kept apart.
+             */
+            private static boolean isCombinable(String pattern)
+            {
+                return !BACK_REFERENCE.matcher(pattern).find() &&
+                       !NAMED_GROUP.matcher(pattern).find() &&
+                       pattern.indexOf('#') < 0;
+            }
+
+        }
+
+    }
+
+    private static <T> Map<String, T> newMap()
+    {
+        return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    }
+
+}
@@ -0,0 +1,204 @@
+package org.carlspring.strongbox.providers.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ContentAddressableFileSystemProviderTest
+{
+
+    private static final int MIN_SIZE = 1024;
+
+    private Path baseDirectory;
+
+    private Path blobsDirectory;
+
+    private ContentAddressableFileSystemProvider provider;
+
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("unix"));
+
+        baseDirectory = Files.createTempDirectory("content-addressable-");
+        blobsDirectory = baseDirectory.resolve(".blobs");
+        provider = new ContentAddressableFileSystemProvider(FileSystems.getDefault().provider(), blobsDirectory, MIN_SIZE);
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        if (baseDirectory != null)
+        {
+            FileUtils.deleteDirectory(baseDirectory.toFile());
+        }
+    }
+
+    @Test
+    public void identicalContentShouldBeStoredOnce()
+        throws IOException
+    {
+        byte[] content = randomContent(MIN_SIZE * 4);
+
+        Path path1 = write("releases/foo-1.0.jar", content);
+        Path path2 = write("snapshots/foo-1.0.jar", content);
+
+        assertThat(Files.isSameFile(path1, path2)).isTrue();
+        assertThat(getLinkCount(path1)).isEqualTo(3);
+        assertThat(countBlobs()).isEqualTo(1);
+    }
+
+    @Test
+    public void smallFilesShouldNotBeShared()
+        throws IOException
+    {
+        byte[] content = randomContent(MIN_SIZE / 2);
+
+        Path path1 = write("releases/foo-1.0.pom.sha1", content);
+        Path path2 = write("snapshots/foo-1.0.pom.sha1", content);
+
+        assertThat(Files.isSameFile(path1, path2)).isFalse();
+        assertThat(countBlobs()).isZero();
+    }
+
+    @Test
+    public void sharedFileModificationTimeShouldNotChangeOnWrite()
+        throws IOException
+    {
+        byte[] content = randomContent(MIN_SIZE * 4);
+
+        Path path1 = write("releases/foo-1.0.jar", content);
+        FileTime lastModified = FileTime.from(Instant.now().minus(1, ChronoUnit.DAYS));
+        Files.setLastModifiedTime(path1, lastModified);
+
+        write("snapshots/foo-1.0.jar", content);
+
+        assertThat(Files.getLastModifiedTime(path1)).isEqualTo(lastModified);
+    }
+
+    @Test
+    public void rewrittenPathShouldNotChangeOtherLinks()
+        throws IOException
+    {
+        byte[] content = randomContent(MIN_SIZE * 4);
+        byte[] newContent = randomContent(MIN_SIZE * 4);
+
+        Path path1 = write("releases/foo-1.0.jar", content);
+        Path path2 = write("snapshots/foo-1.0.jar", content);
+
+        write("snapshots/foo-1.0.jar", newContent);
+
+        assertThat(Files.readAllBytes(path1)).isEqualTo(content);
+        assertThat(Files.readAllBytes(path2)).isEqualTo(newContent);
+        assertThat(Files.isSameFile(path1, path2)).isFalse();
+    }
+
+    @Test
+    public void copyShouldLinkTheContent()
+        throws IOException
+    {
+        byte[] content = randomContent(MIN_SIZE * 4);
+
+        Path source = write("releases/foo-1.0.jar", content);
+        Path target = baseDirectory.resolve("snapshots/foo-1.0.jar");
+        Files.createDirectories(target.getParent());
+
+        provider.copy(source, target);
+
+        assertThat(Files.isSameFile(source, target)).isTrue();
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    }
+
+    @Test
+    public void unlinkedBlobsShouldBeCollected()
+        throws IOException
+    {
+        byte[] content = randomContent(MIN_SIZE * 4);
+
+        Path path1 = write("releases/foo-1.0.jar", content);
+        Files.delete(path1);
+
+        assertThat(provider.collectGarbage(Duration.ZERO)).isEqualTo(1);
+        assertThat(countBlobs()).isZero();
+
+        // The collected blob is stored again with the next write of the same content.
+        Path path2 = write("snapshots/foo-1.0.jar", content);
+
+        assertThat(Files.readAllBytes(path2)).isEqualTo(content);
+        assertThat(getLinkCount(path2)).isEqualTo(2);
+        assertThat(countBlobs()).isEqualTo(1);
+    }
+
+    @Test
+    public void linkedBlobsShouldNotBeCollected()
+        throws IOException
+    {
+        byte[] content = randomContent(MIN_SIZE * 4);
+
+        Path path = write("releases/foo-1.0.jar", content);
+
+        assertThat(provider.collectGarbage(Duration.ZERO)).isZero();
+        assertThat(Files.readAllBytes(path)).isEqualTo(content);
+        assertThat(countBlobs()).isEqualTo(1);
+    }
+
+    private Path write(String path,
+                       byte[] content)
+        throws IOException
+    {
+        Path result = baseDirectory.resolve(path);
+        Files.createDirectories(result.getParent());
+
+        try (OutputStream os = provider.newOutputStream(result))
+        {
+            os.write(content);
+        }
+
+        return result;
+    }
+
+    private long countBlobs()
+        throws IOException
+    {
+        Path incomingDirectory = blobsDirectory.resolve(".incoming");
+        try (Stream<Path> pathStream = Files.walk(blobsDirectory))
+        {
+            return pathStream.filter(p -> Files.isRegularFile(p, LinkOption.NOFOLLOW_LINKS))
+                             .filter(p -> !p.startsWith(incomingDirectory))
+                             .count();
+        }
+    }
+
+    private static int getLinkCount(Path path)
+        throws IOException
+    {
+        return (Integer) Files.getAttribute(path, "unix:nlink", LinkOption.NOFOLLOW_LINKS);
+    }
+
+    private static byte[] randomContent(int size)
+    {
+        byte[] result = new byte[size];
+        new Random().nextBytes(result);
+
+        return result;
+    }
+
+}
@@ -0,0 +1,50 @@
+package org.carlspring.strongbox.event.repository;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.event.AsyncEventListener;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.services.ArtifactMetadataService;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the metadata of a Maven repository once after a bulk import, as the imported files don't update the
+ * metadata one by one.
+ */
+@Component
+public class MavenRepositoryImportedEventListener
+{
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private ArtifactMetadataService artifactMetadataService;
+
+    @AsyncEventListener
+    public void handle(final RepositoryEvent event)
+            throws IOException, XmlPullParserException, NoSuchAlgorithmException
+    {
+        if (event.getType() != RepositoryEventTypeEnum.EVENT_REPOSITORY_IMPORTED.getType())
+        {
+            return;
+        }
+
+        Repository repository = configurationManager.getConfiguration()
+                                                    .getStorage(event.getStorageId())
+                                                    .getRepository(event.getRepositoryId());
+        if (repository == null || !Maven2LayoutProvider.ALIAS.equals(repository.getLayout()))
+        {
+            return;
+        }
+
+        artifactMetadataService.rebuildMetadata(event.getStorageId(), event.getRepositoryId(), null);
+    }
+
+}
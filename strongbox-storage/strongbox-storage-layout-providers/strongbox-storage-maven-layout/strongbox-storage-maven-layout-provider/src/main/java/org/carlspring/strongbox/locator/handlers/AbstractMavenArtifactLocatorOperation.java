@@ -24,9 +24,6 @@ public abstract class AbstractMavenArtifactLocatorOperation
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractMavenArtifactLocatorOperation.class);
 
-    private RepositoryPath previousPath;
-
-
     public AbstractMavenArtifactLocatorOperation()
     {
     }
@@ -60,18 +57,6 @@ public abstract class AbstractMavenArtifactLocatorOperation
             System.out.println(artifactGroupDirectoryPath);
         }
 
-        // The current directory is out of the tree
-        if (previousPath != null && !artifactGroupDirectoryPath.startsWith(previousPath))
-        {
-            getVisitedRootPaths().remove(previousPath);
-            previousPath = artifactGroupDirectoryPath;
-        }
-
-        if (previousPath == null)
-        {
-            previousPath = artifactGroupDirectoryPath;
-        }
-
         List<RepositoryPath> versionDirectories = getVersionDirectories(artifactGroupDirectoryPath);
         if (versionDirectories == null)
         {
@@ -27,8 +27,6 @@ public class RemoveTimestampedSnapshotOperation
     private static final Logger logger = LoggerFactory.getLogger(
             RemoveTimestampedSnapshotOperation.class);
 
-    private RepositoryPath previousPath;
-
     private int numberToKeep;
 
     private Date keepDate;
@@ -75,18 +73,6 @@ public class RemoveTimestampedSnapshotOperation
             System.out.println(basePath);
         }
 
-        // The current directory is out of the tree
-        if (previousPath != null && !basePath.startsWith(previousPath))
-        {
-            getVisitedRootPaths().remove(previousPath);
-            previousPath = basePath;
-        }
-
-        if (previousPath == null)
-        {
-            previousPath = basePath;
-        }
-
         List<RepositoryPath> versionDirectories = getVersionDirectories(basePath);
         if (versionDirectories == null)
         {
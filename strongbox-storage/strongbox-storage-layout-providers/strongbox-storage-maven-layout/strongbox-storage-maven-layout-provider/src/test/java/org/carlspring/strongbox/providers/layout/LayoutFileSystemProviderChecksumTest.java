@@ -0,0 +1,182 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+public class LayoutFileSystemProviderChecksumTest
+{
+
+    private static final String REPOSITORY_RELEASES_1 = "lfspc-releases-1";
+
+    private static final String REPOSITORY_RELEASES_2 = "lfspc-releases-2";
+
+    private static final String REPOSITORY_RELEASES_3 = "lfspc-releases-3";
+
+    private static final String REPOSITORY_RELEASES_4 = "lfspc-releases-4";
+
+    private static final String A1 = "org.carlspring.strongbox.checksum:lfspc-artifact";
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void upToDateChecksumsShouldBeSkipped(@MavenRepository(repositoryId = REPOSITORY_RELEASES_1)
+                                                 Repository repository,
+                                                 @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_1,
+                                                                    id = A1,
+                                                                    versions = "1.0")
+                                                 Path artifact)
+            throws IOException
+    {
+        RepositoryPath basePath = (RepositoryPath) artifact.normalize().getParent();
+
+        ChecksumGenerationProgress forced = storeChecksum(basePath, true);
+        assertThat(forced.getDigestedFiles()).isGreaterThan(0);
+        assertThat(forced.getSkippedFiles()).isZero();
+
+        ChecksumGenerationProgress progress = storeChecksum(basePath, false);
+        assertThat(progress.getDigestedFiles()).isZero();
+        assertThat(progress.getSkippedFiles()).isEqualTo(forced.getDigestedFiles());
+    }
+
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void checksumOlderThanFileShouldBeRegenerated(@MavenRepository(repositoryId = REPOSITORY_RELEASES_2)
+                                                         Repository repository,
+                                                         @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_2,
+                                                                            id = A1,
+                                                                            versions = "1.0")
+                                                         Path artifact)
+            throws IOException
+    {
+        RepositoryPath artifactPath = (RepositoryPath) artifact.normalize();
+        RepositoryPath basePath = artifactPath.getParent();
+        storeChecksum(basePath, true);
+
+        Path sha1Path = artifactPath.resolveSibling(artifactPath.getFileName() + ".sha1");
+        Files.write(sha1Path, "stale".getBytes());
+        Files.setLastModifiedTime(sha1Path, shift(Files.getLastModifiedTime(artifactPath), -1));
+
+        ChecksumGenerationProgress progress = storeChecksum(basePath, false);
+
+        assertThat(progress.getDigestedFiles()).isEqualTo(1);
+        assertThat(progress.getDigestedBytes()).isEqualTo(Files.size(artifactPath));
+        assertThat(new String(Files.readAllBytes(sha1Path))).isEqualTo(sha1Hex(artifactPath));
+    }
+
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void checksumOlderThanArtifactEntryShouldBeRegenerated(@MavenRepository(repositoryId = REPOSITORY_RELEASES_3)
+                                                                  Repository repository,
+                                                                  @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_3,
+                                                                                     id = A1,
+                                                                                     versions = "1.0")
+                                                                  Path artifact)
+            throws IOException
+    {
+        RepositoryPath artifactPath = (RepositoryPath) artifact.normalize();
+        RepositoryPath basePath = artifactPath.getParent();
+        storeChecksum(basePath, true);
+
+        // The shared content of the content addressable storage keeps the time of its first write, so the checksum is
+        // compared with the artifact entry update.
+        FileTime now = FileTime.from(Instant.now());
+        Files.setLastModifiedTime(artifactPath, shift(now, -2));
+
+        Path sha1Path = artifactPath.resolveSibling(artifactPath.getFileName() + ".sha1");
+        Files.write(sha1Path, "stale".getBytes());
+        Files.setLastModifiedTime(sha1Path, shift(now, -1));
+
+        ChecksumGenerationProgress progress = storeChecksum(basePath, false);
+
+        assertThat(progress.getDigestedFiles()).isEqualTo(1);
+        assertThat(new String(Files.readAllBytes(sha1Path))).isEqualTo(sha1Hex(artifactPath));
+    }
+
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void forcedRegenerationShouldUpdateArtifactEntry(@MavenRepository(repositoryId = REPOSITORY_RELEASES_4)
+                                                            Repository repository,
+                                                            @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_4,
+                                                                               id = A1,
+                                                                               versions = "1.0")
+                                                            Path artifact)
+            throws IOException
+    {
+        RepositoryPath artifactPath = (RepositoryPath) artifact.normalize();
+        String path = RepositoryFiles.relativizePath(artifactPath);
+
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(repository.getStorage().getId(),
+                                                                           repository.getId(),
+                                                                           path);
+        artifactEntry.getChecksums().put("SHA-1", "stale");
+        artifactEntryService.save(artifactEntry);
+
+        storeChecksum(artifactPath.getParent(), true);
+
+        artifactEntry = artifactEntryService.findOneArtifact(repository.getStorage().getId(),
+                                                             repository.getId(),
+                                                             path);
+        assertThat(artifactEntry.getChecksums()).containsEntry("SHA-1", sha1Hex(artifactPath));
+    }
+
+    private ChecksumGenerationProgress storeChecksum(RepositoryPath basePath,
+                                                     boolean force)
+            throws IOException
+    {
+        ChecksumGenerationProgress progress = new ChecksumGenerationProgress();
+        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) basePath.getFileSystem().provider();
+        provider.storeChecksum(basePath, force, progress);
+
+        return progress;
+    }
+
+    private static FileTime shift(FileTime time,
+                                  long days)
+    {
+        return FileTime.from(time.toInstant().plus(days, ChronoUnit.DAYS));
+    }
+
+    private static String sha1Hex(Path path)
+            throws IOException
+    {
+        try (InputStream is = Files.newInputStream(path))
+        {
+            return DigestUtils.sha1Hex(is);
+        }
+    }
+
+}
@@ -152,7 +152,7 @@ public abstract class MockedRestArtifactResolverTestBase
             Response response = Mockito.mock(Response.class);
             Mockito.when(response.getEntity()).then((i) -> getContext().getInputStream());
             Mockito.when(response.readEntity(InputStream.class)).then((i) -> getContext().getInputStream());
-            Mockito.when(response.getStatus()).thenReturn(200);
+            Mockito.when(response.getStatus()).then((i) -> getContext().getStatus());
             Mockito.when(response.getHeaderString("Accept-Ranges"))
                    .then((invocation) -> getContext().isByteRangeRequestSupported() ? "bytes" : "none");
 
@@ -205,5 +205,10 @@ interface ArtifactResolverContext
     {
         return true;
     }
+
+    default int getStatus()
+    {
+        return 200;
+    }
     
 }
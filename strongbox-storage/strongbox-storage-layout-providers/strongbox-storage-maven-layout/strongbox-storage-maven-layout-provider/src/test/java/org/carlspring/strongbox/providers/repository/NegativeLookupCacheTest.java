@@ -0,0 +1,189 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessService;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository.Group;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository.Remote;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.aop.TargetSource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+
+public class NegativeLookupCacheTest
+        extends MockedRestArtifactResolverTestBase
+        implements ArtifactResolverContext
+{
+
+    private static final String REPOSITORY_PROXY_PSBR = "nlct-proxy-psbr";
+
+    private static final String REPOSITORY_PROXY_PSNBR = "nlct-proxy-psnbr";
+
+    private static final String REPOSITORY_PROXY_PSBE = "nlct-proxy-psbe";
+
+    private static final String REPOSITORY_GROUP_PSBE = "nlct-group-psbe";
+
+    private static final String REPOSITORY_PROXY_GPSNBR = "nlct-proxy-gpsnbr";
+
+    private static final String REPOSITORY_GROUP_GPSNBR = "nlct-group-gpsnbr";
+
+    private static final String REMOTE_URL = "https://repo.maven.apache.org/maven2/";
+
+    private static final String PATH = "org/carlspring/strongbox/nlct/missing/1.0/missing-1.0.jar";
+
+    @Inject
+    private ProxyRepositoryProvider proxyRepositoryProvider;
+
+    @Inject
+    private GroupRepositoryProvider groupRepositoryProvider;
+
+    @Inject
+    private NegativeLookupCache negativeLookupCache;
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    @Inject
+    @Named("remoteRepositoryAlivenessCacheManagerTargetSource")
+    private TargetSource remoteRepositoryAlivenessCacheManagerTargetSource;
+
+    private int status = 404;
+
+    @Override
+    protected ArtifactResolverContext lookupArtifactResolverContext()
+    {
+        return this;
+    }
+
+    @Override
+    public InputStream getInputStream()
+    {
+        try
+        {
+            return jarArtifact.getInputStream();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int getStatus()
+    {
+        return status;
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void proxyPathShouldBeRememberedOnceRemoteRespondsNotFound(@MavenRepository(repositoryId = REPOSITORY_PROXY_PSBR)
+                                                                      @Remote(url = REMOTE_URL)
+                                                                      Repository proxyRepository)
+            throws Exception
+    {
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(proxyRepository, PATH);
+        long misses = negativeLookupCache.getMissCount();
+
+        assertThat(negativeLookupCache.isMissing(repositoryPath)).isFalse();
+        assertThat(negativeLookupCache.getMissCount()).isGreaterThan(misses);
+
+        assertThatExceptionOfType(ArtifactNotFoundException.class)
+                .isThrownBy(() -> proxyRepositoryProvider.fetchPath(repositoryPath));
+
+        long hits = negativeLookupCache.getHitCount();
+
+        // The remote is not asked again.
+        status = 200;
+        assertThat(proxyRepositoryProvider.fetchPath(repositoryPath)).isNull();
+        assertThat(negativeLookupCache.getHitCount()).isGreaterThan(hits);
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void proxyPathShouldNotBeRememberedWhenRemoteIsDown(@MavenRepository(repositoryId = REPOSITORY_PROXY_PSNBR)
+                                                               @Remote(url = REMOTE_URL)
+                                                               Repository proxyRepository)
+            throws Exception
+    {
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(proxyRepository, PATH);
+
+        RemoteRepositoryAlivenessService alivenessService = getRemoteRepositoryAlivenessMock();
+        Mockito.when(alivenessService.isAlive(any(RemoteRepository.class))).thenReturn(false);
+
+        assertThat(proxyRepositoryProvider.fetchPath(repositoryPath)).isNull();
+        assertThat(negativeLookupCache.isMissing(repositoryPath)).isFalse();
+
+        // The remote is asked again, once it's back.
+        Mockito.when(alivenessService.isAlive(any(RemoteRepository.class))).thenReturn(true);
+        status = 200;
+
+        assertThat(proxyRepositoryProvider.fetchPath(repositoryPath)).isNotNull();
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void pathShouldBeEvictedFromMemberAndGroupOnceStored(@MavenRepository(repositoryId = REPOSITORY_PROXY_PSBE)
+                                                                @Remote(url = REMOTE_URL)
+                                                                Repository proxyRepository,
+                                                                @Group(REPOSITORY_PROXY_PSBE)
+                                                                @MavenRepository(repositoryId = REPOSITORY_GROUP_PSBE)
+                                                                Repository groupRepository)
+            throws Exception
+    {
+        RepositoryPath proxyPath = repositoryPathResolver.resolve(proxyRepository, PATH);
+        RepositoryPath groupPath = repositoryPathResolver.resolve(groupRepository, PATH);
+
+        assertThat(groupRepositoryProvider.fetchPath(groupPath)).isNull();
+        assertThat(negativeLookupCache.isMissing(proxyPath)).isTrue();
+        assertThat(negativeLookupCache.isMissing(groupPath)).isTrue();
+
+        try (InputStream is = jarArtifact.getInputStream())
+        {
+            artifactManagementService.store(proxyPath, is);
+        }
+
+        assertThat(negativeLookupCache.isMissing(proxyPath)).isFalse();
+        assertThat(negativeLookupCache.isMissing(groupPath)).isFalse();
+        assertThat(groupRepositoryProvider.fetchPath(groupPath)).isNotNull();
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void groupPathShouldNotBeRememberedWhenMemberIsDown(@MavenRepository(repositoryId = REPOSITORY_PROXY_GPSNBR)
+                                                               @Remote(url = REMOTE_URL)
+                                                               Repository proxyRepository,
+                                                               @Group(REPOSITORY_PROXY_GPSNBR)
+                                                               @MavenRepository(repositoryId = REPOSITORY_GROUP_GPSNBR)
+                                                               Repository groupRepository)
+            throws Exception
+    {
+        RepositoryPath groupPath = repositoryPathResolver.resolve(groupRepository, PATH);
+
+        Mockito.when(getRemoteRepositoryAlivenessMock().isAlive(any(RemoteRepository.class))).thenReturn(false);
+
+        assertThat(groupRepositoryProvider.fetchPath(groupPath)).isNull();
+        assertThat(negativeLookupCache.isMissing(groupPath)).isFalse();
+    }
+
+    private RemoteRepositoryAlivenessService getRemoteRepositoryAlivenessMock()
+            throws Exception
+    {
+        return (RemoteRepositoryAlivenessService) remoteRepositoryAlivenessCacheManagerTargetSource.getTarget();
+    }
+
+}
@@ -52,6 +52,9 @@ public class ParallelDownloadRemoteArtifactTest
     @Inject
     private PlatformTransactionManager transactionManager;
 
+    @Inject
+    private ArtifactDownloadingEventHandler artifactDownloadingEventHandler;
+
     @Override
     public InputStream getInputStream()
     {
@@ -126,7 +129,9 @@ public class ParallelDownloadRemoteArtifactTest
         assertThat(result).hasSize(concurrency);
 
         assertThat(actual).isEqualTo(expected);
-        
+
+        artifactDownloadingEventHandler.flush();
+
         RepositoryPath repositoryPath = repositoryPathResolver.resolve(storageId,
                                                                        repositoryId,
                                                                        path);
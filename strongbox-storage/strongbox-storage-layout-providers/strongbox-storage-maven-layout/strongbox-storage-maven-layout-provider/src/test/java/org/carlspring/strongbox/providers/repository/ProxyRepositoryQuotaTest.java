@@ -0,0 +1,218 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.repository.proxied.LocalStorageProxyRepositoryExpiredArtifactsCleaner;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryUsageCounter;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository.Remote;
+
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.time.DateUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+public class ProxyRepositoryQuotaTest
+{
+
+    private static final String REPOSITORY_PROXY_EVICT = "prqt-proxy-evict";
+
+    private static final String REPOSITORY_PROXY_UNDER = "prqt-proxy-under";
+
+    private static final String REPOSITORY_PROXY_USAGE = "prqt-proxy-usage";
+
+    private static final String REPOSITORY_PROXY_MISSING = "prqt-proxy-missing";
+
+    private static final String REMOTE_URL = "https://repo.maven.apache.org/maven2/";
+
+    private static final String PATH = "org/carlspring/strongbox/prqt/prqt-artifact/%1$s/prqt-artifact-%1$s.jar";
+
+    private static final int ARTIFACT_SIZE = 10 * 1024;
+
+    private static final int ARTIFACTS_NUMBER = 5;
+
+    @Inject
+    private LocalStorageProxyRepositoryExpiredArtifactsCleaner localStorageProxyRepositoryExpiredArtifactsCleaner;
+
+    @Inject
+    private ProxyRepositoryUsageCounter proxyRepositoryUsageCounter;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void leastRecentlyUsedArtifactsShouldBeEvictedDownToLowWatermark(@MavenRepository(repositoryId = REPOSITORY_PROXY_EVICT)
+                                                                            @Remote(url = REMOTE_URL)
+                                                                            Repository proxyRepository)
+            throws IOException
+    {
+        storeArtifacts(proxyRepository);
+
+        // 50KB of 50KB is over the 90% high watermark, the artifacts are evicted down to 25KB.
+        localStorageProxyRepositoryExpiredArtifactsCleaner.evict(proxyRepository.getStorage().getId(),
+                                                                 proxyRepository.getId(),
+                                                                 ARTIFACT_SIZE * ARTIFACTS_NUMBER,
+                                                                 90,
+                                                                 50);
+
+        for (int i = 1; i <= ARTIFACTS_NUMBER; i++)
+        {
+            assertThat(RepositoryFiles.artifactExists(resolve(proxyRepository, i)))
+                    .as("Artifact version [%s]", i)
+                    .isEqualTo(i > 3);
+        }
+        assertThat(proxyRepositoryUsageCounter.getUsage(proxyRepository)).isEqualTo(2L * ARTIFACT_SIZE);
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void artifactsShouldNotBeEvictedUnderHighWatermark(@MavenRepository(repositoryId = REPOSITORY_PROXY_UNDER)
+                                                              @Remote(url = REMOTE_URL)
+                                                              Repository proxyRepository)
+            throws IOException
+    {
+        storeArtifacts(proxyRepository);
+
+        // The quota above the int range.
+        localStorageProxyRepositoryExpiredArtifactsCleaner.evict(proxyRepository.getStorage().getId(),
+                                                                 proxyRepository.getId(),
+                                                                 8L * 1024 * 1024 * 1024,
+                                                                 90,
+                                                                 80);
+
+        for (int i = 1; i <= ARTIFACTS_NUMBER; i++)
+        {
+            assertThat(RepositoryFiles.artifactExists(resolve(proxyRepository, i))).isTrue();
+        }
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void entriesWithoutFilesShouldBePassedOver(@MavenRepository(repositoryId = REPOSITORY_PROXY_MISSING)
+                                                      @Remote(url = REMOTE_URL)
+                                                      Repository proxyRepository)
+            throws IOException
+    {
+        storeArtifacts(proxyRepository);
+
+        // The least recently used entry stays without its file, as the entries of the artifacts not downloaded yet.
+        RepositoryPath missingPath = resolve(proxyRepository, 1);
+        Files.delete(Paths.get(proxyRepository.getBasedir()).resolve(RepositoryFiles.relativizePath(missingPath)));
+
+        localStorageProxyRepositoryExpiredArtifactsCleaner.evict(proxyRepository.getStorage().getId(),
+                                                                 proxyRepository.getId(),
+                                                                 ARTIFACT_SIZE * ARTIFACTS_NUMBER,
+                                                                 90,
+                                                                 50);
+
+        assertThat(artifactEntryService.findOneArtifact(proxyRepository.getStorage().getId(),
+                                                        proxyRepository.getId(),
+                                                        RepositoryFiles.relativizePath(missingPath))).isNotNull();
+        for (int i = 2; i <= ARTIFACTS_NUMBER; i++)
+        {
+            assertThat(RepositoryFiles.artifactExists(resolve(proxyRepository, i)))
+                    .as("Artifact version [%s]", i)
+                    .isEqualTo(i > 4);
+        }
+        // The entry without the file and the last artifact.
+        assertThat(proxyRepositoryUsageCounter.getUsage(proxyRepository)).isEqualTo(2L * ARTIFACT_SIZE);
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void usageShouldFollowStoredArtifacts(@MavenRepository(repositoryId = REPOSITORY_PROXY_USAGE)
+                                                 @Remote(url = REMOTE_URL)
+                                                 Repository proxyRepository)
+            throws IOException
+    {
+        assertThat(proxyRepositoryUsageCounter.getUsage(proxyRepository)).isZero();
+
+        store(resolve(proxyRepository, 1));
+
+        await().atMost(10, TimeUnit.SECONDS)
+               .until(() -> proxyRepositoryUsageCounter.getUsage(proxyRepository) == ARTIFACT_SIZE);
+
+        proxyRepositoryUsageCounter.add(proxyRepository, -ARTIFACT_SIZE);
+        assertThat(proxyRepositoryUsageCounter.getUsage(proxyRepository)).isZero();
+
+        // The stored artifact is still there.
+        assertThat(proxyRepositoryUsageCounter.recalculate(proxyRepository)).isEqualTo(ARTIFACT_SIZE);
+        assertThat(proxyRepositoryUsageCounter.getUsage(proxyRepository)).isEqualTo(ARTIFACT_SIZE);
+    }
+
+    /**
+     * Stores the artifact versions, the lower the version the less recently it was used, and waits until the usage
+     * counts all of them.
+     */
+    private void storeArtifacts(Repository repository)
+            throws IOException
+    {
+        // Seeds the usage, which is then increased by the stored events.
+        assertThat(proxyRepositoryUsageCounter.getUsage(repository)).isZero();
+
+        for (int i = 1; i <= ARTIFACTS_NUMBER; i++)
+        {
+            RepositoryPath repositoryPath = resolve(repository, i);
+            store(repositoryPath);
+
+            ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(repository.getStorage().getId(),
+                                                                               repository.getId(),
+                                                                               RepositoryFiles.relativizePath(repositoryPath));
+            assertThat(artifactEntry).isNotNull();
+            artifactEntry.setLastUsed(DateUtils.addDays(artifactEntry.getLastUsed(), i - ARTIFACTS_NUMBER - 1));
+            artifactEntryService.save(artifactEntry);
+        }
+
+        await().atMost(10, TimeUnit.SECONDS)
+               .until(() -> proxyRepositoryUsageCounter.getUsage(repository) == ARTIFACT_SIZE * ARTIFACTS_NUMBER);
+    }
+
+    private void store(RepositoryPath repositoryPath)
+            throws IOException
+    {
+        byte[] content = new byte[ARTIFACT_SIZE];
+        new Random().nextBytes(content);
+
+        try (InputStream is = new ByteArrayInputStream(content))
+        {
+            artifactManagementService.store(repositoryPath, is);
+        }
+    }
+
+    private RepositoryPath resolve(Repository repository,
+                                   int version)
+    {
+        return repositoryPathResolver.resolve(repository, String.format(PATH, version + ".0"));
+    }
+
+}
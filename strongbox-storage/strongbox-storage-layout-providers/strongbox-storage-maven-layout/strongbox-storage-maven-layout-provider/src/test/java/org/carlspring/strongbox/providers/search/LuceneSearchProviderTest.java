@@ -0,0 +1,131 @@
+package org.carlspring.strongbox.providers.search;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.services.ArtifactSearchService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.search.SearchRequest;
+import org.carlspring.strongbox.storage.search.SearchResult;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+@TestPropertySource(properties = "strongbox.search.provider=Lucene")
+public class LuceneSearchProviderTest
+{
+
+    private static final String REPOSITORY_RELEASES_SEARCH = "lspt-releases-search";
+
+    private static final String REPOSITORY_RELEASES_REBUILD = "lspt-releases-rebuild";
+
+    @Inject
+    private LuceneArtifactEntryIndex luceneArtifactEntryIndex;
+
+    @Inject
+    private SearchProviderRegistry searchProviderRegistry;
+
+    @Inject
+    private ArtifactSearchService artifactSearchService;
+
+    @Test
+    public void luceneProviderShouldBeRegistered()
+    {
+        assertThat(searchProviderRegistry.getProvider(LuceneSearchProvider.ALIAS)).isInstanceOf(LuceneSearchProvider.class);
+        assertThat(searchProviderRegistry.getProvider(OrientDbSearchProvider.ALIAS)).isInstanceOf(OrientDbSearchProvider.class);
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void coordinatesShouldBeMatchedBySubstring(@MavenRepository(repositoryId = REPOSITORY_RELEASES_SEARCH)
+                                                      Repository repository,
+                                                      @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_SEARCH,
+                                                                         id = "org.carlspring.strongbox.lspt:lspt-search-artifact",
+                                                                         versions = { "1.0",
+                                                                                      "1.1",
+                                                                                      "2.0" })
+                                                      Path artifactPath)
+        throws IOException,
+               SearchException
+    {
+        luceneArtifactEntryIndex.reindex(repository.getStorage().getId(), repository.getId());
+
+        // The middle of the artifactId, in the other case.
+        assertThat(search(repository, "artifactId=SEARCH-ART;extension=jar;")).hasSize(3);
+        assertThat(search(repository, "artifactId=search-art;version=1.;extension=jar;"))
+                .extracting(r -> r.getArtifactCoordinates().getVersion())
+                .containsOnly("1.0", "1.1");
+        assertThat(search(repository, "artifactId=search-art;extension=jar;", "1", "1")).hasSize(1);
+        assertThat(search(repository, "artifactId=no-such-artifact;")).isEmpty();
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void rebuildShouldIndexAllRepositories(@MavenRepository(repositoryId = REPOSITORY_RELEASES_REBUILD)
+                                                  Repository repository,
+                                                  @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_REBUILD,
+                                                                     id = "org.carlspring.strongbox.lspt:lspt-rebuild-artifact",
+                                                                     versions = { "1.0",
+                                                                                  "1.1" })
+                                                  Path artifactPath)
+        throws IOException,
+               SearchException
+    {
+        luceneArtifactEntryIndex.rebuild();
+
+        assertThat(search(repository, "artifactId=rebuild-art;extension=jar;")).hasSize(2);
+    }
+
+    @Test
+    public void leadingWildcardShouldBeRejected()
+    {
+        SearchRequest searchRequest = new SearchRequest(null, null, "*artifact");
+
+        assertThatExceptionOfType(SearchException.class).isThrownBy(() -> artifactSearchService.search(searchRequest));
+    }
+
+    private Set<SearchResult> search(Repository repository,
+                                     String query)
+        throws SearchException
+    {
+        return search(repository, query, null, null);
+    }
+
+    private Set<SearchResult> search(Repository repository,
+                                     String query,
+                                     String skip,
+                                     String limit)
+        throws SearchException
+    {
+        SearchRequest searchRequest = new SearchRequest(repository.getStorage().getId(), repository.getId(), query);
+        if (skip != null)
+        {
+            searchRequest.addOption(AbstractSearchProvider.OPTION_SKIP, skip);
+        }
+        if (limit != null)
+        {
+            searchRequest.addOption(AbstractSearchProvider.OPTION_LIMIT, limit);
+        }
+
+        return artifactSearchService.search(searchRequest).getResults();
+    }
+
+}
@@ -0,0 +1,120 @@
+package org.carlspring.strongbox.providers.storage;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.ContentAddressableRepositorySetup;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+public class ContentAddressableStorageProviderTest
+{
+
+    private static final String CASP_RELEASES_1 = "casp-releases-1";
+
+    private static final String CASP_RELEASES_2 = "casp-releases-2";
+
+    private static final String CASPC_RELEASES_1 = "caspc-releases-1";
+
+    private static final String CASPC_RELEASES_2 = "caspc-releases-2";
+
+    private static final String ARTIFACT_PATH = "org/carlspring/strongbox/casp/casp-artifact/1.0/casp-artifact-1.0.jar";
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @BeforeEach
+    public void setUp()
+    {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("unix"));
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void identicalArtifactsShouldShareContent(@MavenRepository(repositoryId = CASP_RELEASES_1,
+                                                                      setup = ContentAddressableRepositorySetup.class)
+                                                     Repository repository1,
+                                                     @MavenRepository(repositoryId = CASP_RELEASES_2,
+                                                                      setup = ContentAddressableRepositorySetup.class)
+                                                     Repository repository2)
+        throws IOException
+    {
+        byte[] content = randomContent();
+
+        RepositoryPath path1 = store(repository1, content);
+        RepositoryPath path2 = store(repository2, content);
+
+        assertThat(Files.isSameFile(path1, path2)).isTrue();
+        assertThat(Files.readAllBytes(path2)).isEqualTo(content);
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void copyShouldLinkContent(@MavenRepository(repositoryId = CASPC_RELEASES_1,
+                                                       setup = ContentAddressableRepositorySetup.class)
+                                      Repository repository1,
+                                      @MavenRepository(repositoryId = CASPC_RELEASES_2,
+                                                       setup = ContentAddressableRepositorySetup.class)
+                                      Repository repository2)
+        throws IOException
+    {
+        byte[] content = randomContent();
+
+        RepositoryPath sourcePath = store(repository1, content);
+        RepositoryPath targetPath = repositoryPathResolver.resolve(repository2, ARTIFACT_PATH);
+        Files.createDirectories(targetPath.getParent());
+
+        artifactManagementService.copy(sourcePath, targetPath);
+
+        // A plain copy would be a new file, the link is made only by the storage provider.
+        assertThat(Files.isSameFile(sourcePath, targetPath)).isTrue();
+        assertThat(Files.readAllBytes(targetPath)).isEqualTo(content);
+    }
+
+    private RepositoryPath store(Repository repository,
+                                 byte[] content)
+        throws IOException
+    {
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, ARTIFACT_PATH);
+        try (InputStream is = new ByteArrayInputStream(content))
+        {
+            artifactManagementService.store(repositoryPath, is);
+        }
+
+        return repositoryPath;
+    }
+
+    private static byte[] randomContent()
+    {
+        byte[] result = new byte[64 * 1024];
+        new Random().nextBytes(result);
+
+        return result;
+    }
+
+}
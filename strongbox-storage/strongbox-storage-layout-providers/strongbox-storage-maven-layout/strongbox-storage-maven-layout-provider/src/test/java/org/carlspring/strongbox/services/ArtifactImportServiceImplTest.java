@@ -0,0 +1,218 @@
+package org.carlspring.strongbox.services;
+
+import org.carlspring.strongbox.artifact.generator.MavenArtifactGenerator;
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.support.ArtifactImportResult;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.util.FileSystemUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+public class ArtifactImportServiceImplTest
+{
+
+    private static final String AIST_RELEASES_ARCHIVE = "aist-releases-archive";
+
+    private static final String AIST_RELEASES_DIRECTORY = "aist-releases-directory";
+
+    private static final String GA = "org.carlspring.strongbox.import:aist-artifact";
+
+    private static final String ARTIFACT_BASE_PATH = "org/carlspring/strongbox/import/aist-artifact";
+
+    private static final String POM_PATH = ARTIFACT_BASE_PATH + "/1.0/aist-artifact-1.0.pom";
+
+    private static final String JAR_PATH = ARTIFACT_BASE_PATH + "/1.0/aist-artifact-1.0.jar";
+
+    private static final String EVIL_PATH = "../aist-evil.jar";
+
+    private static final String EVIL_BACKSLASH_PATH = "..\\..\\aist-evil-backslash.jar";
+
+    private static final int EVIL_NUMBER = 2;
+
+    /**
+     * Two versions, each with a jar, a pom and their md5 and sha1 checksums.
+     */
+    private static final int FILES_NUMBER = 4;
+
+    private static final int CHECKSUMS_NUMBER = 8;
+
+    @Inject
+    private ArtifactImportService artifactImportService;
+
+    @Inject
+    private ArtifactMetadataService artifactMetadataService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    private Path importDirectory;
+
+    @BeforeEach
+    public void setUp()
+            throws Exception
+    {
+        importDirectory = Files.createTempDirectory("aist-");
+        new MavenArtifactGenerator(importDirectory).generate(GA, "1.0", "1.1");
+    }
+
+    @AfterEach
+    public void tearDown()
+            throws IOException
+    {
+        FileSystemUtils.deleteRecursively(importDirectory);
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void archiveShouldBeImportedOnce(@MavenRepository(repositoryId = AIST_RELEASES_ARCHIVE)
+                                            Repository repository)
+            throws Exception
+    {
+        byte[] archive = createArchive();
+
+        ArtifactImportResult result = importArchive(repository, archive);
+
+        assertThat(result.getImported()).isEqualTo(FILES_NUMBER);
+        // The checksums are regenerated, and the entries pointing outside of the repository are never written.
+        assertThat(result.getSkipped()).isEqualTo(CHECKSUMS_NUMBER + EVIL_NUMBER);
+        assertThat(result.getFailed()).isZero();
+        assertThat(Files.exists(resolveOutside(repository, EVIL_PATH))).isFalse();
+        assertThat(Files.exists(resolveOutside(repository, EVIL_BACKSLASH_PATH))).isFalse();
+        assertThat(Files.exists(repositoryPathResolver.resolve(repository, POM_PATH))).isTrue();
+
+        // The metadata is rebuilt once, by the imported event listener.
+        await().atMost(30, TimeUnit.SECONDS)
+               .ignoreExceptions()
+               .until(() -> artifactMetadataService.getMetadata(repository.getStorage().getId(),
+                                                                repository.getId(),
+                                                                ARTIFACT_BASE_PATH)
+                                                   .getVersioning()
+                                                   .getVersions()
+                                                   .size() == 2);
+
+        // The stored event handlers go through the imported repository, as the imported files have no stored events.
+        await().atMost(30, TimeUnit.SECONDS)
+               .ignoreExceptions()
+               .until(() -> !repositoryPathResolver.resolve(repository, JAR_PATH)
+                                                   .getArtifactEntry()
+                                                   .getArtifactArchiveListing()
+                                                   .getFilenames()
+                                                   .isEmpty());
+
+        // The same archive again, the stored files aren't rewritten.
+        result = importArchive(repository, archive);
+
+        assertThat(result.getImported()).isZero();
+        assertThat(result.getSkipped()).isEqualTo(FILES_NUMBER + CHECKSUMS_NUMBER + EVIL_NUMBER);
+        assertThat(result.getFailed()).isZero();
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void directoryImportShouldStoreChangedFilesOnly(@MavenRepository(repositoryId = AIST_RELEASES_DIRECTORY)
+                                                           Repository repository)
+            throws Exception
+    {
+        ArtifactImportResult result = artifactImportService.importDirectory(repository, importDirectory);
+
+        assertThat(result.getImported()).isEqualTo(FILES_NUMBER);
+        assertThat(result.getSkipped()).isEqualTo(CHECKSUMS_NUMBER);
+        assertThat(result.getFailed()).isZero();
+
+        Path pom = importDirectory.resolve(POM_PATH);
+        Files.write(pom, "<!-- changed -->".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        result = artifactImportService.importDirectory(repository, importDirectory);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getSkipped()).isEqualTo(FILES_NUMBER - 1 + CHECKSUMS_NUMBER);
+        assertThat(result.getFailed()).isZero();
+        assertThat(Files.readAllBytes(repositoryPathResolver.resolve(repository, POM_PATH)))
+                .isEqualTo(Files.readAllBytes(pom));
+    }
+
+    private ArtifactImportResult importArchive(Repository repository,
+                                               byte[] archive)
+            throws IOException
+    {
+        try (InputStream is = new ByteArrayInputStream(archive))
+        {
+            return artifactImportService.importArchive(repository, is);
+        }
+    }
+
+    private byte[] createArchive()
+            throws IOException
+    {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> pathStream = Files.walk(importDirectory))
+        {
+            for (Iterator<Path> i = pathStream.filter(Files::isRegularFile).iterator(); i.hasNext(); )
+            {
+                files.add(i.next());
+            }
+        }
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(result))
+        {
+            for (Path file : files)
+            {
+                addEntry(zos, importDirectory.relativize(file).toString().replace('\\', '/'), Files.readAllBytes(file));
+            }
+            addEntry(zos, EVIL_PATH, "evil".getBytes(StandardCharsets.UTF_8));
+            addEntry(zos, EVIL_BACKSLASH_PATH, "evil".getBytes(StandardCharsets.UTF_8));
+        }
+
+        return result.toByteArray();
+    }
+
+    private Path resolveOutside(Repository repository,
+                                String path)
+    {
+        return Paths.get(repository.getBasedir()).resolve(path.replace('\\', '/')).normalize();
+    }
+
+    private void addEntry(ZipArchiveOutputStream zos,
+                          String name,
+                          byte[] content)
+            throws IOException
+    {
+        zos.putArchiveEntry(new ZipArchiveEntry(name));
+        zos.write(content);
+        zos.closeArchiveEntry();
+    }
+
+}
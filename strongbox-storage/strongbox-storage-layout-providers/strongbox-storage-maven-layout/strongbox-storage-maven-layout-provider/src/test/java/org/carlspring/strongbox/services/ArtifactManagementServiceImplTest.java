@@ -11,6 +11,7 @@ import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
+import org.carlspring.strongbox.providers.repository.ArtifactDownloadingEventHandler;
 import org.carlspring.strongbox.repository.MavenRepositoryFeatures;
 import org.carlspring.strongbox.storage.ArtifactStorageException;
 import org.carlspring.strongbox.storage.metadata.MavenSnapshotManager;
@@ -41,6 +42,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.maven.artifact.Artifact;
 import org.junit.jupiter.api.Test;
@@ -91,6 +93,10 @@ public class ArtifactManagementServiceImplTest
 
     private static final String LAST_VERSION_RELEASES = "last-version-releases";
 
+    private static final String CONCURRENT_LAST_VERSION_RELEASES = "concurrent-last-version-releases";
+
+    private static final String DELETED_LAST_VERSION_RELEASES = "deleted-last-version-releases";
+
     @Inject
     private ArtifactManagementService mavenArtifactManagementService;
 
@@ -109,6 +115,9 @@ public class ArtifactManagementServiceImplTest
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private ArtifactDownloadingEventHandler artifactDownloadingEventHandler;
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
@@ -522,6 +531,8 @@ public class ArtifactManagementServiceImplTest
             assertThat(Long.valueOf(CONTENT_SIZE)).as(message).isEqualTo(resultList.get(i));
         }
 
+        artifactDownloadingEventHandler.flush();
+
         RepositoryPath repositoryPathResult = repositoryPathResolver.resolve(repository, path);
         ArtifactEntry artifactEntry = repositoryPathResult.getArtifactEntry();
 
@@ -638,6 +649,89 @@ public class ArtifactManagementServiceImplTest
         assertThat(artifactEntryWithClassifier.getTagSet()).isEmpty();
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class })
+    @Test
+    public void testConcurrentVersionsLastVersionManagement(@MavenRepository(repositoryId = CONCURRENT_LAST_VERSION_RELEASES)
+                                                            Repository repository)
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        int versions = 16;
+
+        // store all the versions at once
+        List<String> artifactPaths = IntStream.rangeClosed(1, versions)
+                                              .parallel()
+                                              .mapToObj(i -> storeLastVersionArtifact(repository, i + ".0"))
+                                              .collect(Collectors.toList());
+
+        // confirm only the newest version has the last-version tag
+        for (String artifactPath : artifactPaths)
+        {
+            ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(storageId, repositoryId, artifactPath);
+            assertThat(artifactEntry).as(artifactPath).isNotNull();
+
+            boolean lastVersion = artifactEntry.getArtifactCoordinates().getVersion().equals(versions + ".0");
+            assertThat(artifactEntry.getTagSet().stream().anyMatch(t -> ArtifactTag.LAST_VERSION.equals(t.getName())))
+                    .as(artifactPath)
+                    .isEqualTo(lastVersion);
+        }
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class })
+    @Test
+    public void testLastVersionDeletion(@MavenRepository(repositoryId = DELETED_LAST_VERSION_RELEASES)
+                                        Repository repository)
+            throws Exception
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String artifactPathV1 = storeLastVersionArtifact(repository, "1.0");
+        String artifactPathV2 = storeLastVersionArtifact(repository, "2.0");
+
+        ArtifactEntry artifactEntryV1 = artifactEntryService.findOneArtifact(storageId, repositoryId, artifactPathV1);
+        assertThat(artifactEntryV1.getTagSet()).isEmpty();
+
+        // delete the last version
+        mavenArtifactManagementService.delete(repositoryPathResolver.resolve(repository, artifactPathV2), true);
+
+        assertThat(artifactEntryService.findOneArtifact(storageId, repositoryId, artifactPathV2)).isNull();
+
+        // confirm the previous version has become the last version
+        artifactEntryV1 = artifactEntryService.findOneArtifact(storageId, repositoryId, artifactPathV1);
+        assertThat(artifactEntryV1.getTagSet()).hasSize(1);
+        assertThat(artifactEntryV1.getTagSet().iterator().next().getName()).isEqualTo(ArtifactTag.LAST_VERSION);
+
+        // confirm an older version doesn't take the last-version tag over
+        String artifactPathV05 = storeLastVersionArtifact(repository, "0.5");
+
+        ArtifactEntry artifactEntryV05 = artifactEntryService.findOneArtifact(storageId, repositoryId, artifactPathV05);
+        assertThat(artifactEntryV05.getTagSet()).isEmpty();
+
+        artifactEntryV1 = artifactEntryService.findOneArtifact(storageId, repositoryId, artifactPathV1);
+        assertThat(artifactEntryV1.getTagSet()).hasSize(1);
+    }
+
+    private String storeLastVersionArtifact(Repository repository,
+                                            String version)
+    {
+        String gavtc = String.format("org.carlspring.strongbox:strongbox-lv-artifact:%s:jar", version);
+        Artifact artifact = MavenArtifactTestUtils.getArtifactFromGAVTC(gavtc);
+        String artifactPath = MavenArtifactUtils.convertArtifactToPath(artifact);
+
+        try (InputStream is = new ByteArrayInputStream("strongbox-lv-artifact-content".getBytes(StandardCharsets.UTF_8)))
+        {
+            mavenArtifactManagementService.validateAndStore(repositoryPathResolver.resolve(repository, artifactPath), is);
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException(String.format("Failed to store [%s].", artifactPath), e);
+        }
+
+        return artifactPath;
+    }
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
@@ -679,6 +773,36 @@ public class ArtifactManagementServiceImplTest
         assertThat(actualChecksums).isEqualTo(expectedChecksums);
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testChecksumsStorageOnUpdate(@MavenRepository(repositoryId = "checksums-update-storage")
+                                             Repository repository,
+                                             @MavenTestArtifact(repositoryId = "checksums-update-storage",
+                                                                id = "org.carlspring.strongbox:strongbox-checksum-update",
+                                                                versions = { "1.0" })
+                                             Path artifactPath)
+            throws Exception
+    {
+        RepositoryPath repositoryPath = (RepositoryPath) artifactPath.normalize();
+        byte[] content = "updated content".getBytes(StandardCharsets.UTF_8);
+
+        try (InputStream is = new ByteArrayInputStream(content))
+        {
+            mavenArtifactManagementService.store(repositoryPath, is);
+        }
+
+        // The entry of the rewritten artifact gets the digests of the new content, as they were computed on write.
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(repository.getStorage().getId(),
+                                                                           repository.getId(),
+                                                                           RepositoryFiles.relativizePath(repositoryPath));
+
+        assertThat(artifactEntry).isNotNull();
+        assertThat(artifactEntry.getSizeInBytes()).isEqualTo(content.length);
+        assertThat(artifactEntry.getChecksums()).containsEntry("SHA-1", DigestUtils.sha1Hex(content))
+                                                .containsEntry("MD5", DigestUtils.md5Hex(content));
+    }
+
 
     private Long getResult(int i,
                            CountDownLatch storedSync, 
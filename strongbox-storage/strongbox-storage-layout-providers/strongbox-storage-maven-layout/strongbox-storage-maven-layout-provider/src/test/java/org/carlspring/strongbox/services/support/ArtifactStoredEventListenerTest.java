@@ -0,0 +1,80 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.artifact.ArtifactEntryEventExecutor;
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The other tests handle the artifact entry events in the caller thread, this one goes through the executor lanes.
+ */
+@SpringBootTest(properties = "strongbox.artifact.entryEvents.lanes=2")
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+public class ArtifactStoredEventListenerTest
+{
+
+    private static final String ASELT_RELEASES = "aselt-releases";
+
+    private static final String LANE_THREAD_NAME_PREFIX = "artifact-entry-event-";
+
+    @Inject
+    private ArtifactEntryEventExecutor artifactEntryEventExecutor;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void archiveListingsShouldBeStoredByLanes(@MavenRepository(repositoryId = ASELT_RELEASES)
+                                                     Repository repository,
+                                                     @MavenTestArtifact(repositoryId = ASELT_RELEASES,
+                                                                        id = "org.carlspring.strongbox:aselt-artifact",
+                                                                        versions = { "1.0", "1.1", "1.2", "1.3" })
+                                                     List<Path> artifactPaths)
+            throws Exception
+    {
+        for (Path artifactPath : artifactPaths)
+        {
+            String path = RepositoryFiles.relativizePath((RepositoryPath) artifactPath.normalize());
+
+            // Saved by the lane in its own transaction, after the stored artifact has been committed.
+            await().atMost(30, TimeUnit.SECONDS)
+                   .ignoreExceptions()
+                   .until(() -> {
+                       ArtifactEntry artifactEntry = repositoryPathResolver.resolve(repository, path)
+                                                                           .getArtifactEntry();
+
+                       return !artifactEntry.getArtifactArchiveListing().getFilenames().isEmpty();
+                   });
+        }
+
+        await().atMost(30, TimeUnit.SECONDS).until(() -> artifactEntryEventExecutor.getQueueDepth() == 0);
+
+        assertThat(artifactEntryEventExecutor.getCompletedCount()).isGreaterThanOrEqualTo(artifactPaths.size());
+        assertThat(Thread.getAllStackTraces().keySet())
+                .anyMatch(t -> t.getName().startsWith(LANE_THREAD_NAME_PREFIX));
+    }
+
+}
@@ -0,0 +1,15 @@
+package org.carlspring.strongbox.testing;
+
+import org.carlspring.strongbox.providers.storage.ContentAddressableStorageProvider;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.testing.storage.repository.RepositorySetup;
+
+public class ContentAddressableRepositorySetup implements RepositorySetup
+{
+    @Override
+    public void setup(RepositoryDto repository)
+    {
+        repository.setStorageProvider(ContentAddressableStorageProvider.ALIAS);
+    }
+
+}
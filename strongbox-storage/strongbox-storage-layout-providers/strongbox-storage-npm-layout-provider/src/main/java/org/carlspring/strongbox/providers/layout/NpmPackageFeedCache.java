@@ -0,0 +1,570 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.config.NpmLayoutProviderConfig.NpmObjectMapper;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+import org.carlspring.strongbox.npm.metadata.DistTags;
+import org.carlspring.strongbox.npm.metadata.PackageFeed;
+import org.carlspring.strongbox.npm.metadata.PackageVersion;
+import org.carlspring.strongbox.npm.metadata.Time;
+import org.carlspring.strongbox.npm.metadata.Versions;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.RepositoryProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the npm package documents (packuments) of hosted repositories serialized, and optionally gzip
+ * compressed, so that they can be served without resolving every package version over and over again.
+ * <br>
+ * The cached documents are updated from the artifact events, which means that only the stored version is
+ * resolved again instead of the whole package. The documents are dropped when a version is deleted or its
+ * tags change (the `latest` dist-tag moves) and the whole repository is dropped when a directory is deleted
+ * or imported, so cache hits are served without touching the database.
+ * <br>
+ * Every node keeps its own cache and gets only its own artifact events, so the documents also expire after
+ * {@code strongbox.npm.packageFeedCache.ttlSeconds}, which bounds how long the changes made through the other
+ * cluster nodes can be missed.
+ * <br>
+ * The updates are serialized per package. Every update bumps the package generation, inside the
+ * transaction and once again after its completion, so a document which was built from the data of an
+ * unfinished transaction is never kept in the cache.
+ *
+ * @see NpmPackageSupplier
+ */
+@Component
+public class NpmPackageFeedCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(NpmPackageFeedCache.class);
+
+    @Inject
+    private RepositoryProviderRegistry repositoryProviderRegistry;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private NpmPackageSupplier npmPackageSupplier;
+
+    @Inject
+    @NpmObjectMapper
+    private ObjectMapper npmJacksonMapper;
+
+    @Value("${strongbox.npm.packageFeedCache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${strongbox.npm.packageFeedCache.maxSize:10000}")
+    private long maxSize;
+
+    @Value("${strongbox.npm.packageFeedCache.ttlSeconds:60}")
+    private long ttlSeconds;
+
+    @Value("${strongbox.npm.packageFeedCache.gzip:true}")
+    private boolean gzip;
+
+    private Cache<PackageFeedKey, CachedPackageFeed> cache;
+
+    /**
+     * The canonical package keys, which are also the package locks.
+     */
+    private final Interner<PackageFeedKey> keys = Interners.newWeakInterner();
+
+    /**
+     * Used to not put the documents, which were built concurrently with a repository invalidation, into the cache.
+     */
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    @PostConstruct
+    public void init()
+    {
+        cache = CacheBuilder.newBuilder()
+                            .maximumSize(maxSize)
+                            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                            .build();
+    }
+
+    public boolean supports(Repository repository)
+    {
+        // Proxy and group repositories can get new package versions from remote on every request.
+        return enabled && repository.isHostedRepository();
+    }
+
+    public CachedPackageFeed getPackageFeed(Repository repository,
+                                            String packageScope,
+                                            String packageName)
+            throws IOException
+    {
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+        String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
+
+        PackageFeedKey key = keys.intern(new PackageFeedKey(storageId, repositoryId, packageId));
+
+        CachedPackageFeed result = cache.getIfPresent(key);
+        if (result != null)
+        {
+            return result;
+        }
+
+        long generation;
+        synchronized (key)
+        {
+            generation = key.generation;
+        }
+        long invalidationCountSnapshot = invalidationCount.get();
+
+        PackageFeed packageFeed = createPackageFeed(repository, packageId,
+                                                    createSearchPredicate(packageScope, packageName));
+        result = serialize(packageFeed);
+
+        synchronized (key)
+        {
+            if (key.generation == generation)
+            {
+                cache.put(key, result);
+            }
+        }
+        if (invalidationCount.get() != invalidationCountSnapshot)
+        {
+            cache.asMap().remove(key, result);
+        }
+
+        return result;
+    }
+
+    public PackageFeed createPackageFeed(Repository repository,
+                                         String packageScope,
+                                         String packageName)
+    {
+        String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
+
+        return createPackageFeed(repository, packageId, createSearchPredicate(packageScope, packageName));
+    }
+
+    private PackageFeed createPackageFeed(Repository repository,
+                                          String packageId,
+                                          Predicate predicate)
+    {
+        PackageFeed packageFeed = new PackageFeed();
+
+        packageFeed.setName(packageId);
+        packageFeed.setAdditionalProperty("_id", packageId);
+
+        RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
+
+        Paginator paginator = new Paginator();
+        paginator.setProperty("version");
+
+        List<Path> searchResult = provider.search(repository.getStorage().getId(), repository.getId(), predicate,
+                                                  paginator);
+
+        packageFeed.setVersions(new Versions());
+        packageFeed.setTime(new Time());
+        packageFeed.setDistTags(new DistTags());
+
+        searchResult.stream().map(npmPackageSupplier).forEach(p -> addVersion(packageFeed, p));
+
+        packageFeed.setAdditionalProperty("_rev", generateRevisionHashcode(packageFeed));
+
+        return packageFeed;
+    }
+
+    private void addVersion(PackageFeed packageFeed,
+                            NpmPackageDesc npmPackageDesc)
+    {
+        PackageVersion npmPackage = npmPackageDesc.getNpmPackage();
+        packageFeed.getVersions().setAdditionalProperty(npmPackage.getVersion(), npmPackage);
+
+        Time npmTime = packageFeed.getTime();
+        npmTime.setAdditionalProperty(npmPackage.getVersion(), npmPackageDesc.getReleaseDate());
+
+        Date created = npmTime.getCreated();
+        npmTime.setCreated(created == null || created.before(npmPackageDesc.getReleaseDate()) ?
+                           npmPackageDesc.getReleaseDate() : created);
+
+        Date modified = npmTime.getModified();
+        npmTime.setModified(modified == null || modified.before(npmPackageDesc.getReleaseDate()) ?
+                            npmPackageDesc.getReleaseDate() : modified);
+
+        if (npmPackageDesc.isLastVersion())
+        {
+            packageFeed.getDistTags().setLatest(npmPackage.getVersion());
+        }
+    }
+
+    private String generateRevisionHashcode(PackageFeed packageFeed)
+    {
+        String versionsShasum = packageFeed.getVersions().getAdditionalProperties()
+                                           .values()
+                                           .stream()
+                                           .map(x -> x.getDist().getShasum())
+                                           .collect(Collectors.joining());
+        return packageFeed.getVersions().getAdditionalProperties().size() + "-" +
+               DigestUtils.sha1Hex(versionsShasum).substring(0, 16);
+    }
+
+    private Predicate createSearchPredicate(String packageScope,
+                                            String packageName)
+    {
+        Predicate rootPredicate = Predicate.empty();
+
+        rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.extension", "tgz")));
+        rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.name", packageName)));
+        if (packageScope != null)
+        {
+            rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.scope", packageScope)));
+        }
+
+        return rootPredicate;
+    }
+
+    private CachedPackageFeed serialize(PackageFeed packageFeed)
+            throws IOException
+    {
+        byte[] content = npmJacksonMapper.writeValueAsBytes(packageFeed);
+
+        byte[] gzippedContent = null;
+        if (gzip)
+        {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(content.length / 4);
+            try (GZIPOutputStream gos = new GZIPOutputStream(bos))
+            {
+                gos.write(content);
+            }
+            gzippedContent = bos.toByteArray();
+        }
+
+        return new CachedPackageFeed(packageFeed, content, gzippedContent);
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        int type = event.getType();
+        if (type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_TAGS_UPDATED.getType())
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = event.getPath();
+        Repository repository = repositoryPath.getRepository();
+        if (!NpmLayoutProvider.ALIAS.equals(repository.getLayout()) || !supports(repository))
+        {
+            return;
+        }
+
+        try
+        {
+            if (!RepositoryFiles.isArtifact(repositoryPath))
+            {
+                if (type == ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+                {
+                    // A package or a scope directory, the affected packages are unknown.
+                    invalidate(repository);
+                }
+
+                return;
+            }
+
+            NpmArtifactCoordinates c = (NpmArtifactCoordinates) RepositoryFiles.readCoordinates(repositoryPath);
+            if (!"tgz".equals(c.getExtension()))
+            {
+                return;
+            }
+
+            PackageFeedKey key = keys.intern(new PackageFeedKey(repository.getStorage().getId(),
+                                                                repository.getId(),
+                                                                c.getId()));
+            CachedPackageFeed updated;
+            synchronized (key)
+            {
+                key.generation++;
+
+                // The deleted version can be the `latest` one and the package times have to be recomputed.
+                updated = type == ArtifactEventTypeEnum.EVENT_ARTIFACT_TAGS_UPDATED.getType() ||
+                          type == ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType() ?
+                          invalidate(key) :
+                          update(key, repositoryPath);
+            }
+
+            afterCompletion(committed -> {
+                synchronized (key)
+                {
+                    key.generation++;
+
+                    // Drop anything, which was built from the data of the transaction before it was completed,
+                    // and the in place update itself if the transaction was rolled back.
+                    cache.asMap().computeIfPresent(key, (k, v) -> committed && v == updated ? v : null);
+                }
+            });
+        }
+        catch (Exception e)
+        {
+            logger.warn("Failed to update npm package feed cache for [{}], invalidating repository.",
+                        repositoryPath, e);
+
+            invalidate(repository);
+        }
+    }
+
+    /**
+     * The bulk import doesn't dispatch the events of the imported files, so the documents of the whole repository
+     * are dropped.
+     */
+    @EventListener
+    public void handle(final RepositoryEvent event)
+    {
+        if (event.getType() != RepositoryEventTypeEnum.EVENT_REPOSITORY_IMPORTED.getType())
+        {
+            return;
+        }
+
+        Repository repository = configurationManager.getConfiguration()
+                                                    .getStorage(event.getStorageId())
+                                                    .getRepository(event.getRepositoryId());
+        if (repository == null || !NpmLayoutProvider.ALIAS.equals(repository.getLayout()))
+        {
+            return;
+        }
+
+        invalidate(repository);
+    }
+
+    /**
+     * @return the updated document or `null` if it was dropped
+     */
+    private CachedPackageFeed update(PackageFeedKey key,
+                                     RepositoryPath repositoryPath)
+            throws IOException
+    {
+        CachedPackageFeed cachedPackageFeed = cache.getIfPresent(key);
+        if (cachedPackageFeed == null)
+        {
+            return null;
+        }
+
+        // The cached document is shared with the readers, so the version is added to a copy.
+        PackageFeed packageFeed = copy(cachedPackageFeed.getPackageFeed());
+        addVersion(packageFeed, npmPackageSupplier.apply(repositoryPath));
+
+        packageFeed.setAdditionalProperty("_rev", generateRevisionHashcode(packageFeed));
+
+        CachedPackageFeed result = serialize(packageFeed);
+        cache.put(key, result);
+
+        return result;
+    }
+
+    /**
+     * Copies the parts of the document, which are set by {@link #createPackageFeed(Repository, String, Predicate)}.
+     * The versions themselves are shared, since they are never changed.
+     */
+    private PackageFeed copy(PackageFeed source)
+    {
+        PackageFeed result = new PackageFeed();
+        result.setName(source.getName());
+        source.getAdditionalProperties().forEach(result::setAdditionalProperty);
+
+        Versions versions = new Versions();
+        source.getVersions().getAdditionalProperties().forEach(versions::setAdditionalProperty);
+        result.setVersions(versions);
+
+        Time time = new Time();
+        time.setCreated(source.getTime().getCreated());
+        time.setModified(source.getTime().getModified());
+        source.getTime().getAdditionalProperties().forEach(time::setAdditionalProperty);
+        result.setTime(time);
+
+        DistTags distTags = new DistTags();
+        distTags.setLatest(source.getDistTags().getLatest());
+        result.setDistTags(distTags);
+
+        return result;
+    }
+
+    private CachedPackageFeed invalidate(PackageFeedKey key)
+    {
+        cache.invalidate(key);
+
+        return null;
+    }
+
+    public void invalidate(Repository repository)
+    {
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+
+        Consumer<Boolean> invalidation = committed -> {
+            invalidationCount.incrementAndGet();
+
+            cache.asMap().keySet().removeIf(k -> k.storageId.equals(storageId) && k.repositoryId.equals(repositoryId));
+        };
+
+        invalidation.accept(false);
+        afterCompletion(invalidation);
+    }
+
+    /**
+     * Runs the action once more when the current transaction is completed, with `true` if it was committed.
+     */
+    private void afterCompletion(Consumer<Boolean> action)
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+        {
+            @Override
+            public void afterCompletion(int status)
+            {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    public static class CachedPackageFeed
+    {
+
+        private final PackageFeed packageFeed;
+
+        private final String revision;
+
+        private final byte[] content;
+
+        private final byte[] gzippedContent;
+
+        CachedPackageFeed(PackageFeed packageFeed,
+                          byte[] content,
+                          byte[] gzippedContent)
+        {
+            this.packageFeed = packageFeed;
+            this.revision = String.valueOf(packageFeed.getAdditionalProperties().get("_rev"));
+            this.content = content;
+            this.gzippedContent = gzippedContent;
+        }
+
+        PackageFeed getPackageFeed()
+        {
+            return packageFeed;
+        }
+
+        public String getRevision()
+        {
+            return revision;
+        }
+
+        /**
+         * @return the strong `ETag` value, based on the package `_rev`.
+         */
+        public String getETag()
+        {
+            return "\"" + revision + "\"";
+        }
+
+        public byte[] getContent()
+        {
+            return content;
+        }
+
+        /**
+         * @return the gzip compressed content or `null` if compression is disabled.
+         */
+        public byte[] getGzippedContent()
+        {
+            return gzippedContent;
+        }
+
+    }
+
+    private static class PackageFeedKey
+    {
+
+        private final String storageId;
+
+        private final String repositoryId;
+
+        private final String packageId;
+
+        /**
+         * Guarded by the key itself.
+         */
+        private long generation;
+
+        PackageFeedKey(String storageId,
+                       String repositoryId,
+                       String packageId)
+        {
+            this.storageId = storageId;
+            this.repositoryId = repositoryId;
+            this.packageId = packageId;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+
+            PackageFeedKey that = (PackageFeedKey) o;
+            return storageId.equals(that.storageId) &&
+                   repositoryId.equals(that.repositoryId) &&
+                   packageId.equals(that.packageId);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(storageId, repositoryId, packageId);
+        }
+
+    }
+
+}
@@ -2,8 +2,6 @@ package org.carlspring.strongbox.providers.layout;
 
 import java.io.IOException;
 import java.lang.reflect.UndeclaredThrowableException;
-import java.nio.file.Files;
-import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.function.Function;
@@ -72,8 +70,16 @@ public class NpmPackageSupplier implements Function<Path, NpmPackageDesc>
         Dist dist = new Dist();
         npmPackage.setDist(dist);
 
-        Map<String, RepositoryPath> checksumMap = npmFileSystemProvider.resolveChecksumPathMap(repositoryPath);
-        fetchShasum(dist, checksumMap);
+        Map<String, String> checksumMap;
+        try
+        {
+            checksumMap = npmFileSystemProvider.resolveChecksumMap(repositoryPath, artifactEntry);
+        }
+        catch (IOException e)
+        {
+            throw new UndeclaredThrowableException(e);
+        }
+        fetchShasum(repositoryPath, dist, checksumMap);
 
         String url;
         try
@@ -94,27 +100,19 @@ public class NpmPackageSupplier implements Function<Path, NpmPackageDesc>
         return npmPackageDesc;
     }
 
-    private void fetchShasum(Dist dist,
-                             Map<String, RepositoryPath> checksumMap)
+    private void fetchShasum(RepositoryPath repositoryPath,
+                             Dist dist,
+                             Map<String, String> checksumMap)
     {
-        RepositoryPath shasumPath = checksumMap.get(MessageDigestAlgorithms.SHA_1);
-        if (shasumPath == null)
+        String shasum = checksumMap.get(MessageDigestAlgorithms.SHA_1);
+        if (shasum == null)
         {
+            logger.warn("Checksum not found for [{}].", repositoryPath);
+
             return;
         }
 
-        try
-        {
-            dist.setShasum(new String(Files.readAllBytes(shasumPath), "UTF-8").trim());
-        } 
-        catch (NoSuchFileException e) 
-        {
-            logger.warn("Checksum file not found [{}].", shasumPath);
-        }
-        catch (IOException e)
-        {
-            throw new UndeclaredThrowableException(e);
-        }
+        dist.setShasum(shasum);
     }
 
 }
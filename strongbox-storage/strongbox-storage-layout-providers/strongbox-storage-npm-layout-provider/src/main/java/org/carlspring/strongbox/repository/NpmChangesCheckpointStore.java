@@ -0,0 +1,135 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import javax.inject.Inject;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the id of the last replicated npm change of a repository in a small file of the vault, so that the replication
+ * progress is saved without rewriting the whole configuration.
+ * <br>
+ * The failures of the change, which can't be saved, are counted next to it, and the changes, which are given up on,
+ * are appended to the dead letters file.
+ */
+@Component
+public class NpmChangesCheckpointStore
+{
+
+    private static final String CHECKPOINT_DIRECTORY = "npm-changes";
+
+    private static final String CHECKPOINT_FILE = "last-change-id";
+
+    private static final String FAILED_CHANGE_FILE = "failed-change";
+
+    private static final String DEAD_LETTERS_FILE = "dead-letters";
+
+    @Inject
+    private PropertiesBooter propertiesBooter;
+
+    public Optional<Long> read(Repository repository)
+        throws IOException
+    {
+        Path checkpointPath = getCheckpointPath(repository);
+        if (!Files.exists(checkpointPath))
+        {
+            return Optional.empty();
+        }
+
+        String value = new String(Files.readAllBytes(checkpointPath), StandardCharsets.UTF_8).trim();
+
+        return value.isEmpty() ? Optional.empty() : Optional.of(Long.valueOf(value));
+    }
+
+    public void write(Repository repository,
+                      long lastChangeId)
+        throws IOException
+    {
+        writeAtomically(getPath(repository, CHECKPOINT_FILE), String.valueOf(lastChangeId));
+    }
+
+    /**
+     * Counts one more failure of the change, the failures of the previously failed change are forgotten.
+     *
+     * @return the number of the failures of the change, this one included
+     */
+    public int addFailure(Repository repository,
+                          long changeId)
+        throws IOException
+    {
+        Path failedChangePath = getPath(repository, FAILED_CHANGE_FILE);
+
+        int result = 1;
+        if (Files.exists(failedChangePath))
+        {
+            String[] value = new String(Files.readAllBytes(failedChangePath), StandardCharsets.UTF_8).trim().split(":");
+            if (value.length == 2 && value[0].equals(String.valueOf(changeId)))
+            {
+                result = Integer.parseInt(value[1]) + 1;
+            }
+        }
+
+        writeAtomically(failedChangePath, changeId + ":" + result);
+
+        return result;
+    }
+
+    public void addDeadLetter(Repository repository,
+                              long changeId,
+                              String packageName)
+        throws IOException
+    {
+        Path deadLettersPath = getPath(repository, DEAD_LETTERS_FILE);
+        Files.createDirectories(deadLettersPath.getParent());
+
+        Files.write(deadLettersPath,
+                    String.format("%s %s%n", changeId, packageName).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+    }
+
+    private void writeAtomically(Path path,
+                                 String value)
+        throws IOException
+    {
+        Files.createDirectories(path.getParent());
+
+        Path tempPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try
+        {
+            Files.write(tempPath, value.getBytes(StandardCharsets.UTF_8));
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    private Path getCheckpointPath(Repository repository)
+    {
+        return getPath(repository, CHECKPOINT_FILE);
+    }
+
+    private Path getPath(Repository repository,
+                         String fileName)
+    {
+        return Paths.get(propertiesBooter.getVaultDirectory(),
+                         CHECKPOINT_DIRECTORY,
+                         repository.getStorage().getId(),
+                         repository.getId(),
+                         fileName);
+    }
+
+}
@@ -1,8 +1,12 @@
 package org.carlspring.strongbox.repository;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
@@ -35,6 +39,10 @@ import org.carlspring.strongbox.storage.repository.Repository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.orientechnologies.common.concur.ONeedRetryException;
 
 @Component
 public class NpmPackageFeedParser
@@ -57,6 +65,9 @@ public class NpmPackageFeedParser
     @Inject
     private RepositoryPathLock repositoryPathLock;
 
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
     public void parseSearchResult(Repository repository,
                                   SearchResults searchResults)
         throws IOException
@@ -102,29 +113,126 @@ public class NpmPackageFeedParser
                           PackageFeed packageFeed)
         throws IOException
     {
+        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
+
+        saveArtifactEntrySet(repository, parseVersions(repository, packageFeed, lastVersionTag));
+    }
+
+    /**
+     * Saves the versions of all the package feeds in one transaction. The packages are locked with `tryLock()`, because
+     * the batch holds several locks at once, and the packages which are locked at the moment are saved one by one after
+     * the batch.
+     */
+    public void parseFeeds(Repository repository,
+                           List<PackageFeed> packageFeeds)
+        throws IOException
+    {
+        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
+        RepositoryPath rootPath = repositoryPathResolver.resolve(repository);
+
+        // The same package can change several times within the batch, the latest change wins.
+        Map<String, Map<String, RepositoryPath>> packagePaths = new LinkedHashMap<>();
+        for (PackageFeed packageFeed : packageFeeds)
+        {
+            for (ArtifactEntry e : parseVersions(repository, packageFeed, lastVersionTag))
+            {
+                ArtifactCoordinates coordinates = e.getArtifactCoordinates();
+                packagePaths.computeIfAbsent(coordinates.getId(), k -> new LinkedHashMap<>())
+                            .put(coordinates.toPath(), rootPath.resolve(e));
+            }
+        }
+
+        List<Lock> locks = new ArrayList<>();
+        List<RepositoryPath> lockedPaths = new ArrayList<>();
+        List<RepositoryPath> postponedPaths = new ArrayList<>();
+        try
+        {
+            for (Map<String, RepositoryPath> paths : packagePaths.values())
+            {
+                // All the versions of the package share the same lock.
+                Lock lock = repositoryPathLock.lockArtifactIdGroup(paths.values().iterator().next()).writeLock();
+                if (!lock.tryLock())
+                {
+                    postponedPaths.addAll(paths.values());
+                    continue;
+                }
+
+                locks.add(lock);
+                lockedPaths.addAll(paths.values());
+            }
+
+            saveArtifactEntriesTransactional(lockedPaths);
+        }
+        catch (ONeedRetryException e)
+        {
+            logger.debug("Failed to save the batch of [{}] npm package versions, save them one by one.",
+                         lockedPaths.size());
+
+            postponedPaths.addAll(lockedPaths);
+        }
+        finally
+        {
+            locks.forEach(Lock::unlock);
+        }
+
+        for (RepositoryPath repositoryPath : postponedPaths)
+        {
+            saveArtifactEntry(repositoryPath);
+        }
+    }
+
+    private void saveArtifactEntriesTransactional(List<RepositoryPath> repositoryPaths)
+        throws IOException
+    {
+        try
+        {
+            new TransactionTemplate(transactionManager).execute(t -> {
+                for (RepositoryPath repositoryPath : repositoryPaths)
+                {
+                    try
+                    {
+                        saveArtifactEntryLocked(repositoryPath);
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                return null;
+            });
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    private Set<ArtifactEntry> parseVersions(Repository repository,
+                                             PackageFeed packageFeed,
+                                             ArtifactTag lastVersionTag)
+    {
+        Set<ArtifactEntry> artifactToSaveSet = new HashSet<>();
         if (packageFeed == null)
         {
-            return;
+            return artifactToSaveSet;
         }
 
         String repositoryId = repository.getId();
         String storageId = repository.getStorage().getId();
 
-        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
-
         Versions versions = packageFeed.getVersions();
         if (versions == null)
         {
-            return;
+            return artifactToSaveSet;
         }
 
         Map<String, PackageVersion> versionMap = versions.getAdditionalProperties();
         if (versionMap == null || versionMap.isEmpty())
         {
-            return;
+            return artifactToSaveSet;
         }
 
-        Set<ArtifactEntry> artifactToSaveSet = new HashSet<>();
         for (PackageVersion packageVersion : versionMap.values())
         {
             RemoteArtifactEntry remoteArtifactEntry = parseVersion(storageId, repositoryId, packageVersion);
@@ -141,32 +249,18 @@ public class NpmPackageFeedParser
             artifactToSaveSet.add(remoteArtifactEntry);
         }
 
-        saveArtifactEntrySet(repository, artifactToSaveSet);
-
+        return artifactToSaveSet;
     }
 
     private void saveArtifactEntry(RepositoryPath repositoryPath)
         throws IOException
     {
-        ArtifactEntry e = repositoryPath.getArtifactEntry();
-        
-        Repository repository = repositoryPath.getRepository();
-        Storage storage = repository.getStorage();
-        ArtifactCoordinates coordinates = RepositoryFiles.readCoordinates(repositoryPath);
-
-        Lock lock = repositoryPathLock.lock(repositoryPath).writeLock();
+        Lock lock = repositoryPathLock.lockArtifactIdGroup(repositoryPath).writeLock();
         lock.lock();
 
         try
         {
-            if (artifactEntryService.artifactExists(e.getStorageId(), e.getRepositoryId(),
-                                                    e.getArtifactCoordinates().toPath()))
-            {
-                return;
-            }
-
-            RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storage.getId(), repository.getId(), coordinates.getId());
-            repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, e);
+            saveArtifactEntryLocked(repositoryPath);
         } 
         finally
         {
@@ -174,6 +268,25 @@ public class NpmPackageFeedParser
         }
     }
 
+    private void saveArtifactEntryLocked(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        ArtifactEntry e = repositoryPath.getArtifactEntry();
+        
+        Repository repository = repositoryPath.getRepository();
+        Storage storage = repository.getStorage();
+        ArtifactCoordinates coordinates = RepositoryFiles.readCoordinates(repositoryPath);
+
+        if (artifactEntryService.artifactExists(e.getStorageId(), e.getRepositoryId(),
+                                                e.getArtifactCoordinates().toPath()))
+        {
+            return;
+        }
+
+        RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storage.getId(), repository.getId(), coordinates.getId());
+        repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, e);
+    }
+
     private RemoteArtifactEntry parseVersion(String storageId,
                                              String repositoryId,
                                              PackageVersion packageVersion)
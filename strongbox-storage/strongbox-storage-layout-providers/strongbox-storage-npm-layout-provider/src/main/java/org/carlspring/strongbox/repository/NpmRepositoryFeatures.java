@@ -15,18 +15,15 @@ import org.carlspring.strongbox.npm.metadata.PackageFeed;
 import org.carlspring.strongbox.npm.metadata.SearchResults;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
-import org.carlspring.strongbox.services.ConfigurationManagementService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.RepositoryData;
-import org.carlspring.strongbox.storage.repository.RepositoryDto;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.validation.artifact.version.GenericReleaseVersionValidator;
 import org.carlspring.strongbox.storage.validation.artifact.version.GenericSnapshotVersionValidator;
 import org.carlspring.strongbox.storage.validation.deployment.RedeploymentValidator;
 import org.carlspring.strongbox.yaml.configuration.repository.NpmRepositoryConfigurationData;
 import org.carlspring.strongbox.yaml.configuration.repository.remote.NpmRemoteRepositoryConfiguration;
-import org.carlspring.strongbox.yaml.configuration.repository.remote.NpmRemoteRepositoryConfigurationDto;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -37,22 +34,35 @@ import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
@@ -62,13 +72,17 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
 
     private static final int CHANGES_BATCH_SIZE = 500;
 
+    private static final int CHANGES_QUEUE_CAPACITY = 2 * CHANGES_BATCH_SIZE;
+
+    /**
+     * The number of the replications in a row, in which a change may fail before it's skipped.
+     */
+    private static final int MAX_CHANGE_FAILURES = 3;
+
     private static final boolean ALLOWS_UNPUBLISH_DEFAULT = true;
 
     private static final Logger logger = LoggerFactory.getLogger(NpmRepositoryFeatures.class);
 
-    @Inject
-    private ConfigurationManagementService configurationManagementService;
-
     @Inject
     private RedeploymentValidator redeploymentValidator;
 
@@ -97,6 +111,9 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
     @Inject
     private NpmPackageFeedParser npmPackageFeedParser;
 
+    @Inject
+    private NpmChangesCheckpointStore npmChangesCheckpointStore;
+
     private Set<String> defaultArtifactCoordinateValidators;
 
     @PostConstruct
@@ -184,6 +201,11 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
         }
     }
 
+    /**
+     * Replicates the remote changes feed since the last replicated change. The changes are bound right from the feed
+     * stream and handed over to the {@link ChangesWriter} through the bounded queue, which saves them in batches and
+     * keeps the id of the last saved change in the {@link NpmChangesCheckpointStore}.
+     */
     public void fetchRemoteChangesFeed(String storageId,
                                        String repositoryId)
         throws IOException
@@ -198,35 +220,62 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
             return;
         }
 
-        RepositoryDto mutableRepository = configurationManagementService.getMutableConfigurationClone()
-                                                                            .getStorage(storageId)
-                                                                            .getRepository(repositoryId);
-        NpmRemoteRepositoryConfigurationDto mutableConfiguration = (NpmRemoteRepositoryConfigurationDto) mutableRepository.getRemoteRepository()
-                                                                                                                                  .getCustomConfiguration();
-
         NpmRemoteRepositoryConfiguration configuration = (NpmRemoteRepositoryConfiguration) remoteRepository.getCustomConfiguration();
         if (configuration == null)
         {
             logger.warn("Remote npm configuration not found for [{}]/[{}]", storageId, repositoryId);
             return;
         }
-        Long lastCnahgeId = configuration.getLastChangeId();
+        // The configured change id is only the starting point of the replication.
+        Long lastChangeId = npmChangesCheckpointStore.read(repository).orElse(configuration.getLastChangeId());
         String replicateUrl = configuration.getReplicateUrl();
 
-        Long nextChangeId = lastCnahgeId;
-        do
+        ChangesWriter changesWriter = new ChangesWriter(repository);
+        ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("npm-changes-writer-"));
+        Future<?> writing = executor.submit(changesWriter);
+        try
         {
-            lastCnahgeId = nextChangeId;
-            mutableConfiguration.setLastChangeId(nextChangeId);
-            configurationManagementService.saveRepository(storageId, mutableRepository);
+            Long nextChangeId = lastChangeId;
+            do
+            {
+                lastChangeId = nextChangeId;
+                nextChangeId = Long.valueOf(fetchRemoteChangesFeed(repository, replicateUrl, lastChangeId + 1,
+                                                                   changesWriter));
+            } while (nextChangeId > lastChangeId);
+        }
+        finally
+        {
+            if (changesWriter.finish())
+            {
+                executor.shutdown();
+            }
+            else
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        try
+        {
+            writing.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
 
-            nextChangeId = Long.valueOf(fetchRemoteChangesFeed(repository, replicateUrl, lastCnahgeId + 1));
-        } while (nextChangeId > lastCnahgeId);
+            throw new InterruptedIOException(String.format("Interrupted npm changes replication of [%s].",
+                                                           replicateUrl));
+        }
+        catch (ExecutionException e)
+        {
+            throw new IOException(String.format("Failed to save npm changes of [%s].", replicateUrl), e.getCause());
+        }
     }
 
     private Integer fetchRemoteChangesFeed(Repository repository,
                                            String replicateUrl,
-                                           Long since)
+                                           Long since,
+                                           ChangesWriter changesWriter)
         throws IOException
     {
         int result = 0;
@@ -243,7 +292,7 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
 
             Invocation request = service.request().buildGet();
 
-            result = fetchRemoteChangesFeed(repository, request);
+            result = fetchRemoteChangesFeed(replicateUrl, since, request, changesWriter);
         }
         finally
         {
@@ -253,80 +302,51 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
         return result;
     }
 
-    private int fetchRemoteChangesFeed(Repository repository,
-                                       Invocation request)
+    private int fetchRemoteChangesFeed(String replicateUrl,
+                                       Long since,
+                                       Invocation request,
+                                       ChangesWriter changesWriter)
         throws IOException
     {
         int result = 0;
 
-        RemoteRepository remoteRepository = repository.getRemoteRepository();
-        NpmRemoteRepositoryConfiguration repositoryConfiguration = (NpmRemoteRepositoryConfiguration) remoteRepository.getCustomConfiguration();
-
         JsonFactory jfactory = new JsonFactory();
 
-        try (InputStream is = request.invoke(InputStream.class))
+        try (InputStream is = request.invoke(InputStream.class);
+             JsonParser jp = jfactory.createParser(is))
         {
-
-            JsonParser jp = jfactory.createParser(is);
             jp.setCodec(npmJacksonMapper);
 
             Assert.isTrue(jp.nextToken() == JsonToken.START_OBJECT, "npm changes feed should be JSON object.");
             Assert.isTrue(jp.nextFieldName().equals("results"), "npm changes feed should contains `results` field.");
             Assert.isTrue(jp.nextToken() == JsonToken.START_ARRAY, "npm changes feed `results` should be array.");
 
-            StringBuffer sb = new StringBuffer();
-            while (jp.nextToken() != null)
+            while (jp.nextToken() == JsonToken.START_OBJECT)
             {
-                JsonToken nextToken = jp.currentToken();
-                if (nextToken == JsonToken.END_ARRAY)
-                {
-                    break;
-                }
-
-                JsonNode node = jp.readValueAsTree();
-                sb.append(node.toString());
-
-                String changeValue = sb.toString();
-
                 Change change;
                 try
                 {
-                    change = npmJacksonMapper.readValue(changeValue, Change.class);
+                    change = jp.readValueAs(Change.class);
                 }
                 catch (Exception e)
                 {
-                    logger.error("Failed to parse NPM changes feed [{}] since [{}]: \n {}",
-                                 repositoryConfiguration.getReplicateUrl(),
-                                 repositoryConfiguration.getLastChangeId(),
-                                 changeValue,
+                    logger.error("Failed to parse NPM changes feed [{}] since [{}] after [{}].",
+                                 replicateUrl,
+                                 since,
+                                 result,
                                  e);
 
                     return result;
                 }
 
-                PackageFeed packageFeed = change.getDoc();
-                try
-                {
-                    npmPackageFeedParser.parseFeed(repository, packageFeed);
-                }
-                catch (Exception e)
-                {
-                    logger.error("Failed to parse NPM feed [{}/{}]",
-                                 ((RepositoryData)repository).getRemoteRepository().getUrl(),
-                                 packageFeed.getName(),
-                                 e);
-
-                }
+                changesWriter.put(change);
 
                 result = change.getSeq();
-                sb = new StringBuffer();
             }
 
         }
 
-        logger.debug("Fetched remote changes for  [{}] since [{}].",
-                     repositoryConfiguration.getReplicateUrl(),
-                     repositoryConfiguration.getLastChangeId());
+        logger.debug("Fetched remote changes for  [{}] since [{}].", replicateUrl, since);
 
         return result;
     }
@@ -384,6 +404,207 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
         }
     }
 
+    /**
+     * Saves the changes of the feed in batches, with {@link NpmPackageFeedParser#parseFeeds(Repository, List)}, and
+     * saves the checkpoint after each batch.
+     * <br>
+     * The checkpoint never moves past a change which was not saved: a failed batch is saved change by change, and the
+     * writer stops at the first change which fails, with the checkpoint of the change before it, so the next
+     * replication starts from the failed change. A change which fails {@link #MAX_CHANGE_FAILURES} times in a row is
+     * given up on, it's logged as a dead letter and the checkpoint moves past it.
+     */
+    private class ChangesWriter implements Callable<Void>
+    {
+
+        private final Change end = new Change();
+
+        private final BlockingQueue<Change> queue = new ArrayBlockingQueue<>(CHANGES_QUEUE_CAPACITY);
+
+        private final Repository repository;
+
+        private volatile boolean stopped;
+
+        private ChangesWriter(Repository repository)
+        {
+            this.repository = repository;
+        }
+
+        /**
+         * Waits while the queue is full, unless the writer has stopped.
+         */
+        private void put(Change change)
+            throws IOException
+        {
+            try
+            {
+                while (!queue.offer(change, 1, TimeUnit.SECONDS))
+                {
+                    if (stopped)
+                    {
+                        throw new IOException("npm changes writer has stopped.");
+                    }
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new InterruptedIOException("Interrupted npm changes replication.");
+            }
+        }
+
+        /**
+         * @return `false` if the end of the changes can't be put, because the writer has stopped or the current thread
+         *         has been interrupted
+         */
+        private boolean finish()
+        {
+            try
+            {
+                put(end);
+
+                return true;
+            }
+            catch (IOException e)
+            {
+                logger.debug("Failed to finish npm changes of [{}].", repository.getId(), e);
+
+                return false;
+            }
+        }
+
+        @Override
+        public Void call()
+            throws Exception
+        {
+            try
+            {
+                List<Change> batch = new ArrayList<>();
+                boolean finished = false;
+                while (!finished)
+                {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, CHANGES_BATCH_SIZE - batch.size());
+
+                    // Nothing is put after the end of the changes.
+                    finished = batch.get(batch.size() - 1) == end;
+                    if (finished)
+                    {
+                        batch.remove(batch.size() - 1);
+                    }
+
+                    write(batch);
+                    batch.clear();
+                }
+            }
+            catch (Exception e)
+            {
+                // The fetching thread only sees that the writer has stopped.
+                logger.error("Failed to save npm changes of [{}].", repository.getId(), e);
+
+                throw e;
+            }
+            finally
+            {
+                stopped = true;
+            }
+
+            return null;
+        }
+
+        private void write(List<Change> batch)
+            throws IOException
+        {
+            if (batch.isEmpty())
+            {
+                return;
+            }
+
+            List<PackageFeed> packageFeeds = batch.stream()
+                                                  .map(Change::getDoc)
+                                                  .filter(Objects::nonNull)
+                                                  .collect(Collectors.toList());
+            try
+            {
+                npmPackageFeedParser.parseFeeds(repository, packageFeeds);
+            }
+            catch (Exception e)
+            {
+                logger.warn("Failed to parse NPM feeds [{}] of [{}], parse them one by one.",
+                            ((RepositoryData) repository).getRemoteRepository().getUrl(),
+                            packageFeeds.stream().map(PackageFeed::getName).collect(Collectors.joining(", ")),
+                            e);
+
+                writeOneByOne(batch);
+
+                return;
+            }
+
+            npmChangesCheckpointStore.write(repository, batch.get(batch.size() - 1).getSeq());
+        }
+
+        private void writeOneByOne(List<Change> batch)
+            throws IOException
+        {
+            Integer lastSavedSeq = null;
+            try
+            {
+                for (Change change : batch)
+                {
+                    if (change.getDoc() != null && !parseFeed(change))
+                    {
+                        logger.warn("Skipped NPM feed [{}] of change [{}] after [{}] failures.",
+                                    change.getDoc().getName(),
+                                    change.getSeq(),
+                                    MAX_CHANGE_FAILURES);
+                        npmChangesCheckpointStore.addDeadLetter(repository, change.getSeq(), change.getDoc().getName());
+                    }
+
+                    lastSavedSeq = change.getSeq();
+                }
+            }
+            finally
+            {
+                if (lastSavedSeq != null)
+                {
+                    npmChangesCheckpointStore.write(repository, lastSavedSeq);
+                }
+            }
+        }
+
+        /**
+         * @return `false` if the change has failed too many times and should be skipped
+         */
+        private boolean parseFeed(Change change)
+            throws IOException
+        {
+            try
+            {
+                npmPackageFeedParser.parseFeed(repository, change.getDoc());
+
+                return true;
+            }
+            catch (Exception e)
+            {
+                IOException failure = new IOException(String.format("Failed to parse NPM feed [%s/%s] of change [%s].",
+                                                                    ((RepositoryData) repository).getRemoteRepository()
+                                                                                                 .getUrl(),
+                                                                    change.getDoc().getName(),
+                                                                    change.getSeq()),
+                                                      e);
+                if (npmChangesCheckpointStore.addFailure(repository, change.getSeq()) < MAX_CHANGE_FAILURES)
+                {
+                    throw failure;
+                }
+
+                logger.error(failure.getMessage(), e);
+
+                return false;
+            }
+        }
+
+    }
+
     @Component
     @Scope(scopeName = "request", proxyMode = ScopedProxyMode.TARGET_CLASS)
     public class SearchPackagesEventListener
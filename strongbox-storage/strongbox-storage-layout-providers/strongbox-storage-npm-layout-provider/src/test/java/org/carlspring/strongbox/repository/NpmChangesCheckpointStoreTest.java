@@ -0,0 +1,81 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NpmChangesCheckpointStoreTest
+{
+
+    private Path vaultDirectory;
+
+    private Repository repository;
+
+    private NpmChangesCheckpointStore npmChangesCheckpointStore;
+
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        vaultDirectory = Files.createTempDirectory("npm-changes-");
+
+        PropertiesBooter propertiesBooter = new PropertiesBooter();
+        propertiesBooter.setVaultDirectory(vaultDirectory.toString());
+
+        npmChangesCheckpointStore = new NpmChangesCheckpointStore();
+        ReflectionTestUtils.setField(npmChangesCheckpointStore, "propertiesBooter", propertiesBooter);
+
+        repository = mock(Repository.class, RETURNS_DEEP_STUBS);
+        when(repository.getStorage().getId()).thenReturn("storage-npm");
+        when(repository.getId()).thenReturn("npm-releases");
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        FileSystemUtils.deleteRecursively(vaultDirectory);
+    }
+
+    @Test
+    public void failuresShouldBeCountedForTheSameChange()
+        throws IOException
+    {
+        assertThat(npmChangesCheckpointStore.addFailure(repository, 10L)).isEqualTo(1);
+        assertThat(npmChangesCheckpointStore.addFailure(repository, 10L)).isEqualTo(2);
+
+        // Another change starts over.
+        assertThat(npmChangesCheckpointStore.addFailure(repository, 11L)).isEqualTo(1);
+        assertThat(npmChangesCheckpointStore.addFailure(repository, 10L)).isEqualTo(1);
+    }
+
+    @Test
+    public void deadLettersShouldBeAppended()
+        throws IOException
+    {
+        npmChangesCheckpointStore.write(repository, 9L);
+        npmChangesCheckpointStore.addDeadLetter(repository, 10L, "foo");
+        npmChangesCheckpointStore.addDeadLetter(repository, 12L, "bar");
+
+        Path deadLettersPath = Paths.get(vaultDirectory.toString(), "npm-changes", "storage-npm", "npm-releases",
+                                         "dead-letters");
+        assertThat(Files.readAllLines(deadLettersPath, StandardCharsets.UTF_8)).containsExactly("10 foo", "12 bar");
+        assertThat(npmChangesCheckpointStore.read(repository)).hasValue(9L);
+    }
+
+}
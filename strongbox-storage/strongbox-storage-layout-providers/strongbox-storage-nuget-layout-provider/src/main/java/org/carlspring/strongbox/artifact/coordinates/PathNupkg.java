@@ -1,11 +1,14 @@
 package org.carlspring.strongbox.artifact.coordinates;
 
 import org.carlspring.strongbox.artifact.coordinates.versioning.SemanticVersion;
+import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.StorageFileSystemProvider;
 import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
 import org.carlspring.strongbox.storage.metadata.nuget.Nupkg;
 import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
 import org.carlspring.strongbox.storage.metadata.nuget.Nuspec.Metadata;
+import org.carlspring.strongbox.storage.metadata.nuget.NuspecMetadataAdapter;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -24,7 +27,10 @@ public class PathNupkg implements Nupkg
 
     private static final Logger logger = LoggerFactory.getLogger(PathNupkg.class);
 
+    private static final NuspecMetadataAdapter nuspecMetadataAdapter = new NuspecMetadataAdapter();
+
     private RepositoryPath path;
+    private ArtifactEntry artifactEntry;
     private Nuspec nuspecFile;
     private String hash;
     private NugetArtifactCoordinates artifactCoordinates;
@@ -35,12 +41,14 @@ public class PathNupkg implements Nupkg
         IOException
     {
         Assert.notNull(path, "path should not be null");
-        Assert.notNull(path.getArtifactEntry(), "artifact entry should not be null");
+        ArtifactEntry artifactEntry = path.getArtifactEntry();
+        Assert.notNull(artifactEntry, "artifact entry should not be null");
         
         this.path = path;
-        this.artifactCoordinates = (NugetArtifactCoordinates) path.getArtifactEntry().getArtifactCoordinates();
+        this.artifactEntry = artifactEntry;
+        this.artifactCoordinates = (NugetArtifactCoordinates) artifactEntry.getArtifactCoordinates();
         this.nuspecFile = createNuspecFile();
-        this.hash = createHash();
+        this.hash = createHash(artifactEntry);
     }
 
     public RepositoryPath getPath()
@@ -48,6 +56,11 @@ public class PathNupkg implements Nupkg
         return path;
     }
 
+    public ArtifactEntry getArtifactEntry()
+    {
+        return artifactEntry;
+    }
+
     @Override
     public String getFileName()
     {
@@ -60,32 +73,23 @@ public class PathNupkg implements Nupkg
         return hash;
     }
 
-    private String createHash()
-        throws IOException,
-        UnsupportedEncodingException
+    private String createHash(ArtifactEntry artifactEntry)
+        throws IOException
     {
-        Map<String, RepositoryPath> checksumPathMap = path.getFileSystem().provider().resolveChecksumPathMap(path);
-        if (checksumPathMap.isEmpty())
+        StorageFileSystemProvider provider = path.getFileSystem().provider();
+        if (provider.resolveChecksumPathMap(path).isEmpty())
         {
             return null;
         }
         // Nuget package should have only one checksum digest algorithm.
-        RepositoryPath checkSumPath = checksumPathMap.values().iterator().next();
-        if (!Files.exists(checkSumPath))
+        Map<String, String> checksumMap = provider.resolveChecksumMap(path, artifactEntry);
+        if (checksumMap.isEmpty())
         {
-            logger.trace("Failed to resolve checksum file for [{}]", path);
+            logger.trace("Failed to resolve checksum for [{}]", path);
             return "";
         }
-        List<String> checkSumContents = Files.readAllLines(checkSumPath);
-        if (checkSumContents.isEmpty() || checkSumContents.size() > 1)
-        {
-            logger.error("Found illegal checksum contents for [{}]", path);
-            return null;
-        }
-        
-        String checkSumStr = checkSumContents.iterator().next();
-        
-        return checkSumStr;
+
+        return checksumMap.values().iterator().next();
     }
 
     @Override
@@ -98,11 +102,19 @@ public class PathNupkg implements Nupkg
     private Nuspec createNuspecFile()
         throws NugetFormatException
     {
+        // The metadata is extracted when the package is stored, the file is only read for the packages which were
+        // stored before.
+        Nuspec result = nuspecMetadataAdapter.unmarshal(artifactEntry.getMetadata());
+        if (result != null)
+        {
+            return result;
+        }
+
         RepositoryPath nuspecPath = path.resolveSibling(artifactCoordinates.getId() + ".nuspec");
         if (!Files.exists(nuspecPath))
         {
             logger.trace("Failed to resolve .nuspec file for [{}]", path);
-            Nuspec result = new Nuspec();
+            result = new Nuspec();
             Metadata metadata = result.getMetadata();
             metadata.id = artifactCoordinates.getId();
             metadata.version = SemanticVersion.parse(artifactCoordinates.getVersion());
@@ -110,9 +122,9 @@ public class PathNupkg implements Nupkg
             return result;
         }
         
-        try
+        try (InputStream is = Files.newInputStream(nuspecPath))
         {
-            return Nuspec.parse(Files.newInputStream(nuspecPath));
+            return Nuspec.parse(is);
         }
         catch (IOException e)
         {
@@ -124,14 +136,7 @@ public class PathNupkg implements Nupkg
     @Override
     public Long getSize()
     {
-        try
-        {
-            return path.getArtifactEntry().getSizeInBytes();
-        }
-        catch (IOException e)
-        {
-            return 0L;
-        }
+        return artifactEntry.getSizeInBytes();
     }
 
     @Override
@@ -144,14 +149,7 @@ public class PathNupkg implements Nupkg
     @Override
     public Date getUpdated()
     {
-        try
-        {
-            return path.getArtifactEntry().getLastUpdated();
-        }
-        catch (IOException e)
-        {
-            return null;
-        }
+        return artifactEntry.getLastUpdated();
     }
 
     @Override
@@ -0,0 +1,113 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.artifact.AsyncArtifactEntryHandler;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
+import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
+import org.carlspring.strongbox.storage.metadata.nuget.NuspecMetadataAdapter;
+import org.carlspring.strongbox.storage.metadata.nuget.TempNupkgFile;
+
+import javax.inject.Inject;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Extracts the `.nuspec` metadata from the stored `.nupkg` packages into the {@link ArtifactEntry}, so that the
+ * package feeds don't need to read and parse the `.nuspec` file for every package in the result.
+ *
+ * @see NuspecMetadataAdapter
+ */
+@Component
+public class NugetPackageMetadataHandler
+        extends AsyncArtifactEntryHandler
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(NugetPackageMetadataHandler.class);
+
+    private final NuspecMetadataAdapter nuspecMetadataAdapter = new NuspecMetadataAdapter();
+
+    @Inject
+    private ArtifactEventListenerRegistry artifactEventListenerRegistry;
+
+    public NugetPackageMetadataHandler()
+    {
+        this(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED);
+    }
+
+    protected NugetPackageMetadataHandler(ArtifactEventTypeEnum eventType)
+    {
+        super(eventType);
+    }
+
+    @Override
+    protected boolean supports(RepositoryPath repositoryPath)
+    {
+        return NugetLayoutProvider.ALIAS.equals(repositoryPath.getRepository().getLayout()) &&
+               repositoryPath.getFileName().toString().endsWith(".nupkg");
+    }
+
+    @Override
+    protected ArtifactEntry handleEvent(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
+        if (artifactEntry == null)
+        {
+            logger.warn("No [{}] for [{}].",
+                        ArtifactEntry.class.getSimpleName(),
+                        repositoryPath);
+
+            return null;
+        }
+
+        Nuspec nuspec;
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(repositoryPath)))
+        {
+            nuspec = TempNupkgFile.loadNuspec(is);
+        }
+        catch (NugetFormatException e)
+        {
+            logger.warn("Failed to read .nuspec from [{}].", repositoryPath, e);
+
+            return null;
+        }
+
+        if (nuspec == null)
+        {
+            return null;
+        }
+
+        artifactEntry.getMetadata().clear();
+        artifactEntry.getMetadata().putAll(nuspecMetadataAdapter.marshal(nuspec));
+
+        // Delivered once the entry is saved, so the search index gets the description and the tags of the package.
+        artifactEventListenerRegistry.dispatchArtifactEntryMetadataUpdatedEvent(repositoryPath);
+
+        return artifactEntry;
+    }
+
+    /**
+     * Re-deployed packages can have different specification.
+     */
+    @Component
+    public static class NugetPackageUpdatedMetadataHandler
+            extends NugetPackageMetadataHandler
+    {
+
+        public NugetPackageUpdatedMetadataHandler()
+        {
+            super(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED);
+        }
+
+    }
+
+}
@@ -241,7 +241,7 @@ public class NugetRepositoryFeatures
             Storage storage = repository.getStorage();
             ArtifactCoordinates coordinates = RepositoryFiles.readCoordinates(repositoryPath);
             
-            Lock lock = repositoryPathLock.lock(repositoryPath).writeLock();
+            Lock lock = repositoryPathLock.lockArtifactIdGroup(repositoryPath).writeLock();
             lock.lock();
             
             try
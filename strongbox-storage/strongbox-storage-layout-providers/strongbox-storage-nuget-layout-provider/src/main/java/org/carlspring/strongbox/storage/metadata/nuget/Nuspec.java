@@ -89,6 +89,11 @@ public class Nuspec implements Serializable
      */
     public static final String DEFAULT_FILE_EXTENSION = ".nuspec";
 
+    /**
+     * JAXB context is thread safe and expensive to create, so it's shared across all the parsed files.
+     */
+    private static volatile JAXBContext jaxbContext;
+
     /**
      * Package Metadata
      */
@@ -116,8 +121,7 @@ public class Nuspec implements Serializable
     {
         try
         {
-            JAXBContext context = JAXBContext.newInstance(Nuspec.class);
-            Unmarshaller unmarshaller = context.createUnmarshaller();
+            Unmarshaller unmarshaller = getJaxbContext().createUnmarshaller();
             unmarshaller.setEventHandler(new NuspecXmlValidationEventHandler());
             XMLReader reader = XMLReaderFactory.createXMLReader();
             NugetNamespaceFilter inFilter = new NugetNamespaceFilter();
@@ -407,6 +411,17 @@ public class Nuspec implements Serializable
         marshaller.marshal(this, outputStream);
     }
 
+    private static JAXBContext getJaxbContext()
+        throws JAXBException
+    {
+        JAXBContext result = jaxbContext;
+        if (result == null)
+        {
+            result = jaxbContext = JAXBContext.newInstance(Nuspec.class);
+        }
+        return result;
+    }
+
     /**
      * Class providing error validation in the NuSpec XML file structure
      */
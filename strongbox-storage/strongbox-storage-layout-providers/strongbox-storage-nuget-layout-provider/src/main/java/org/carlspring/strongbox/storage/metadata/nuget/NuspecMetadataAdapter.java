@@ -0,0 +1,167 @@
+package org.carlspring.strongbox.storage.metadata.nuget;
+
+import org.carlspring.strongbox.artifact.coordinates.versioning.SemanticVersion;
+import org.carlspring.strongbox.storage.metadata.nuget.Nuspec.Metadata;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Converts the {@link Nuspec} fields, which are needed for the OData package feed, into the flat
+ * property map stored within the `ArtifactEntry` and back, so that the feed can be built without
+ * reading and parsing the `.nuspec` files.
+ *
+ * @see org.carlspring.strongbox.storage.metadata.nuget.rss.PackageEntry
+ */
+public class NuspecMetadataAdapter
+{
+
+    private static final String ID = "id";
+    private static final String VERSION = "version";
+    private static final String TITLE = "title";
+    private static final String AUTHORS = "authors";
+    private static final String OWNERS = "owners";
+    private static final String LICENSE_URL = "licenseUrl";
+    private static final String PROJECT_URL = "projectUrl";
+    private static final String PROJECT_SOURCE_URL = "projectSourceUrl";
+    private static final String PACKAGE_SOURCE_URL = "packageSourceUrl";
+    private static final String DOCS_URL = "docsUrl";
+    private static final String MAILING_LIST_URL = "mailingListUrl";
+    private static final String BUG_TRACKER_URL = "bugTrackerUrl";
+    private static final String ICON_URL = "iconUrl";
+    private static final String REQUIRE_LICENSE_ACCEPTANCE = "requireLicenseAcceptance";
+    private static final String DESCRIPTION = "description";
+    private static final String RELEASE_NOTES = "releaseNotes";
+    private static final String SUMMARY = "summary";
+    private static final String COPYRIGHT = "copyright";
+    private static final String LANGUAGE = "language";
+    private static final String TAGS = "tags";
+    private static final String DEPENDENCIES = "dependencies";
+
+    /**
+     * Version ranges use comma, so it can't be used to delimit the dependencies.
+     */
+    private static final String DEPENDENCY_DELIMITER = "|";
+
+    private final StringListTypeAdapter tagsAdapter = new StringListTypeAdapter();
+
+    /**
+     * @param nuspec
+     *            package specification
+     * @return the package feed properties of the specification
+     */
+    public Map<String, String> marshal(Nuspec nuspec)
+    {
+        Metadata metadata = nuspec.getMetadata();
+
+        Map<String, String> result = new HashMap<>();
+        put(result, ID, metadata.id);
+        put(result, VERSION, metadata.version == null ? null : metadata.version.toString());
+        put(result, TITLE, metadata.title);
+        put(result, AUTHORS, metadata.authors);
+        put(result, OWNERS, metadata.owners);
+        put(result, LICENSE_URL, metadata.licenseUrl);
+        put(result, PROJECT_URL, metadata.projectUrl);
+        put(result, PROJECT_SOURCE_URL, metadata.projectSourceUrl);
+        put(result, PACKAGE_SOURCE_URL, metadata.packageSourceUrl);
+        put(result, DOCS_URL, metadata.docsUrl);
+        put(result, MAILING_LIST_URL, metadata.mailingListUrl);
+        put(result, BUG_TRACKER_URL, metadata.bugTrackerUrl);
+        put(result, ICON_URL, metadata.iconUrl);
+        put(result, REQUIRE_LICENSE_ACCEPTANCE, String.valueOf(nuspec.isRequireLicenseAcceptance()));
+        put(result, DESCRIPTION, metadata.description);
+        put(result, RELEASE_NOTES, metadata.releaseNotes);
+        put(result, SUMMARY, metadata.summary);
+        put(result, COPYRIGHT, metadata.copyright);
+        put(result, LANGUAGE, metadata.language);
+        put(result, TAGS, String.join(" ", nuspec.getTags()));
+        put(result, DEPENDENCIES, nuspec.getDependencies()
+                                        .stream()
+                                        .map(this::marshal)
+                                        .collect(Collectors.joining(DEPENDENCY_DELIMITER)));
+
+        return result;
+    }
+
+    /**
+     * @param properties
+     *            the package feed properties
+     * @return package specification, or `null` if there are no stored properties
+     * @throws NugetFormatException
+     *             stored version or dependencies have incorrect format
+     */
+    public Nuspec unmarshal(Map<String, String> properties)
+        throws NugetFormatException
+    {
+        if (properties == null || !properties.containsKey(ID))
+        {
+            return null;
+        }
+
+        Nuspec nuspec = new Nuspec();
+        Metadata metadata = nuspec.getMetadata();
+        metadata.id = properties.get(ID);
+        metadata.version = properties.containsKey(VERSION) ? SemanticVersion.parse(properties.get(VERSION)) : null;
+        metadata.title = properties.get(TITLE);
+        metadata.authors = properties.get(AUTHORS);
+        metadata.owners = properties.get(OWNERS);
+        metadata.licenseUrl = properties.get(LICENSE_URL);
+        metadata.projectUrl = properties.get(PROJECT_URL);
+        metadata.projectSourceUrl = properties.get(PROJECT_SOURCE_URL);
+        metadata.packageSourceUrl = properties.get(PACKAGE_SOURCE_URL);
+        metadata.docsUrl = properties.get(DOCS_URL);
+        metadata.mailingListUrl = properties.get(MAILING_LIST_URL);
+        metadata.bugTrackerUrl = properties.get(BUG_TRACKER_URL);
+        metadata.iconUrl = properties.get(ICON_URL);
+        metadata.requireLicenseAcceptance = Boolean.valueOf(properties.get(REQUIRE_LICENSE_ACCEPTANCE));
+        metadata.description = properties.get(DESCRIPTION);
+        metadata.releaseNotes = properties.get(RELEASE_NOTES);
+        metadata.summary = properties.get(SUMMARY);
+        metadata.copyright = properties.get(COPYRIGHT);
+        metadata.language = properties.get(LANGUAGE);
+        metadata.tags = tagsAdapter.unmarshal(properties.getOrDefault(TAGS, ""));
+
+        List<Dependency> dependencies = new ArrayList<>();
+        for (String dependency : properties.getOrDefault(DEPENDENCIES, "").split("\\" + DEPENDENCY_DELIMITER))
+        {
+            Dependency result = dependency.isEmpty() ? null : Dependency.parseString(dependency);
+            if (result != null)
+            {
+                dependencies.add(result);
+            }
+        }
+        metadata.dependencies = new Dependencies(dependencies, null);
+
+        return nuspec;
+    }
+
+    private String marshal(Dependency dependency)
+    {
+        StringBuilder builder = new StringBuilder(dependency.getId());
+        builder.append(":");
+        if (dependency.versionRange != null)
+        {
+            builder.append(dependency.versionRange);
+        }
+        if (dependency.framework != null)
+        {
+            builder.append(":").append(dependency.framework.name());
+        }
+
+        return builder.toString();
+    }
+
+    private static void put(Map<String, String> properties,
+                            String key,
+                            String value)
+    {
+        if (value != null)
+        {
+            properties.put(key, value);
+        }
+    }
+
+}
@@ -111,7 +111,7 @@ public class TempNupkgFile implements AutoCloseable, Nupkg
      *             XML in the package archive does not conform to the NuGet
      *             specification
      */
-    private static final Nuspec loadNuspec(InputStream packageStream)
+    public static Nuspec loadNuspec(InputStream packageStream)
         throws IOException,
                NugetFormatException
     {
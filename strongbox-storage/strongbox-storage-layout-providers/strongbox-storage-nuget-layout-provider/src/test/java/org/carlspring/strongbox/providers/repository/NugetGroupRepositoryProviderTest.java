@@ -3,8 +3,12 @@ package org.carlspring.strongbox.providers.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
@@ -12,6 +16,8 @@ import org.carlspring.strongbox.config.NugetLayoutProviderTestConfig;
 import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
 import org.carlspring.strongbox.testing.artifact.NugetTestArtifact;
@@ -49,6 +55,14 @@ public class NugetGroupRepositoryProviderTest
 
     private static final String REPOSITORY_GROUP_WITH_NESTED_GROUP_2 = "ngrpt-releases-group-with-nested-group-level-2";
 
+    private static final String REPOSITORY_KEYSET_RELEASES = "ngrpt-keyset-releases";
+
+    private static final String REPOSITORY_DESC_RELEASES_1 = "ngrpt-desc-releases-1";
+
+    private static final String REPOSITORY_DESC_RELEASES_2 = "ngrpt-desc-releases-2";
+
+    private static final String REPOSITORY_DESC_GROUP = "ngrpt-desc-releases-group";
+
     @Inject
     private RepositoryProviderRegistry repositoryProviderRegistry;
 
@@ -115,6 +129,7 @@ public class NugetGroupRepositoryProviderTest
                                 @RepositoryAttributes(allowsRedeployment = false,
                                                       allowsDelete = false)
                                 Repository repositoryGroupWithNestedGroup2)
+        throws IOException
     {
         RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(repositoryGroup.getType());
 
@@ -160,10 +175,161 @@ public class NugetGroupRepositoryProviderTest
 
         assertThat(result).hasSize(1);
 
+        Paginator keysetPaginator = new Paginator();
+        keysetPaginator.setLimit(10);
+
+        List<Path> firstPage = repositoryProvider.stream(repositoryGroupWithNestedGroup2.getStorage().getId(),
+                                                         repositoryGroupWithNestedGroup2.getId(),
+                                                         predicate,
+                                                         keysetPaginator)
+                                                 .limit(10)
+                                                 .collect(Collectors.toList());
+
+        assertThat(firstPage).hasSize(10).doesNotHaveDuplicates();
+
+        keysetPaginator.setCursor(RepositoryFiles.relativizePath((RepositoryPath) firstPage.get(9)));
+        result = repositoryProvider.search(repositoryGroupWithNestedGroup2.getStorage().getId(),
+                                           repositoryGroupWithNestedGroup2.getId(),
+                                           predicate,
+                                           keysetPaginator);
+
+        assertThat(result).hasSize(2).doesNotContainAnyElementsOf(firstPage);
+
         Long count = repositoryProvider.count(repositoryGroupWithNestedGroup2.getStorage().getId(),
                                               repositoryGroupWithNestedGroup2.getId(),
                                               predicate);
         assertThat(count).isEqualTo(Long.valueOf(12));
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testHostedKeysetPagination(@NugetRepository(repositoryId = REPOSITORY_KEYSET_RELEASES)
+                                           Repository repository,
+                                           @NugetTestArtifact(repositoryId = REPOSITORY_KEYSET_RELEASES,
+                                                              id = "ngrpt.keyset.package",
+                                                              versions = { "1.0.0",
+                                                                           "1.0.1",
+                                                                           "1.0.2",
+                                                                           "1.0.3",
+                                                                           "1.0.4",
+                                                                           "1.0.5",
+                                                                           "1.0.6" })
+                                           Path artifactPath)
+        throws IOException
+    {
+        RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(repository.getType());
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+
+        Predicate predicate = Predicate.empty();
+        predicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.extension", "nupkg")));
+
+        // The batches are smaller than the result, so the stream has to move the cursor on its own.
+        Paginator batchPaginator = new Paginator();
+        batchPaginator.setLimit(2);
+
+        List<String> all = relativize(repositoryProvider.stream(storageId, repositoryId, predicate, batchPaginator)
+                                                        .collect(Collectors.toList()));
+
+        assertThat(all).hasSize(7).doesNotHaveDuplicates().isSorted();
+
+        List<String> paged = new ArrayList<>();
+        Paginator paginator = new Paginator();
+        paginator.setLimit(3);
+        List<Path> page;
+        do
+        {
+            page = repositoryProvider.search(storageId, repositoryId, predicate, paginator);
+            assertThat(page.size()).isLessThanOrEqualTo(3);
+
+            paged.addAll(relativize(page));
+            if (!page.isEmpty())
+            {
+                paginator.setCursor(paged.get(paged.size() - 1));
+            }
+        }
+        while (!page.isEmpty());
+
+        assertThat(paged).isEqualTo(all);
+
+        // The page at an offset is queried with the SKIP, in the same order.
+        Paginator offsetPaginator = new Paginator();
+        offsetPaginator.setSkip(4);
+        offsetPaginator.setLimit(2);
+
+        assertThat(relativize(repositoryProvider.search(storageId, repositoryId, predicate, offsetPaginator)))
+                .isEqualTo(all.subList(4, 6));
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testGroupStreamDescendingOrder(@NugetRepository(repositoryId = REPOSITORY_DESC_RELEASES_1)
+                                               Repository repository1,
+                                               @NugetTestArtifact(repositoryId = REPOSITORY_DESC_RELEASES_1,
+                                                                  id = "ngrpt.desc.package",
+                                                                  versions = { "1.0.0",
+                                                                               "1.0.2",
+                                                                               "1.0.3",
+                                                                               "1.0.5" })
+                                               Path artifactPath1,
+                                               @NugetRepository(repositoryId = REPOSITORY_DESC_RELEASES_2)
+                                               Repository repository2,
+                                               @NugetTestArtifact(repositoryId = REPOSITORY_DESC_RELEASES_2,
+                                                                  id = "ngrpt.desc.package",
+                                                                  versions = { "1.0.1",
+                                                                               "1.0.2",
+                                                                               "1.0.4",
+                                                                               "1.0.5",
+                                                                               "1.0.6" })
+                                               Path artifactPath2,
+                                               @Group(repositories = { REPOSITORY_DESC_RELEASES_1,
+                                                                       REPOSITORY_DESC_RELEASES_2 })
+                                               @NugetRepository(repositoryId = REPOSITORY_DESC_GROUP)
+                                               Repository repositoryGroup)
+        throws IOException
+    {
+        RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(repositoryGroup.getType());
+        String storageId = repositoryGroup.getStorage().getId();
+        String repositoryId = repositoryGroup.getId();
+
+        Predicate predicate = Predicate.empty();
+        predicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.extension", "nupkg")));
+
+        Paginator paginator = new Paginator();
+        paginator.setOrder(Paginator.Order.DESC);
+        paginator.setLimit(2);
+
+        List<Path> paths = repositoryProvider.stream(storageId, repositoryId, predicate, paginator)
+                                             .collect(Collectors.toList());
+        List<String> all = relativize(paths);
+
+        // 1.0.2 and 1.0.5 are in both of the members, the first member wins.
+        assertThat(all).hasSize(7).doesNotHaveDuplicates().isSortedAccordingTo(Comparator.reverseOrder());
+        RepositoryPath sharedPath = (RepositoryPath) paths.get(all.indexOf(all.stream()
+                                                                         .filter(p -> p.contains("1.0.5"))
+                                                                         .findFirst()
+                                                                         .get()));
+        assertThat(sharedPath.getRepository().getId()).isEqualTo(REPOSITORY_DESC_RELEASES_1);
+
+        paginator.setCursor(all.get(2));
+
+        List<String> nextPage = relativize(repositoryProvider.search(storageId, repositoryId, predicate, paginator));
+
+        assertThat(nextPage).isEqualTo(all.subList(3, 5));
+    }
+
+    private List<String> relativize(List<Path> paths)
+        throws IOException
+    {
+        List<String> result = new ArrayList<>();
+        for (Path path : paths)
+        {
+            result.add(RepositoryFiles.relativizePath((RepositoryPath) path));
+        }
+
+        return result;
+    }
+
 }
@@ -0,0 +1,48 @@
+package org.carlspring.strongbox.storage.metadata.nuget;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@Execution(CONCURRENT)
+public class NuspecMetadataAdapterTest
+{
+
+    private final NuspecMetadataAdapter adapter = new NuspecMetadataAdapter();
+
+    @Test
+    public void testMarshalAndUnmarshal()
+        throws Exception
+    {
+        // GIVEN
+        Nuspec nuspec = Nuspec.parse(NugetTestResourceUtil.getAsStream("nuspec/NHibernate.nuspec.xml"));
+
+        // WHEN
+        Map<String, String> properties = adapter.marshal(nuspec);
+        Nuspec result = adapter.unmarshal(new HashMap<>(properties));
+
+        // THEN
+        assertThat(result.getId()).as("Package ID").isEqualTo(nuspec.getId());
+        assertThat(result.getVersion()).as("Package Version").isEqualTo(nuspec.getVersion());
+        assertThat(result.getAuthors()).as("Authors").isEqualTo(nuspec.getAuthors());
+        assertThat(result.getOwners()).as("Owners").isEqualTo(nuspec.getOwners());
+        assertThat(result.isRequireLicenseAcceptance()).as("License Verification Required")
+                                                      .isEqualTo(nuspec.isRequireLicenseAcceptance());
+        assertThat(result.getDescription()).as("Description").isEqualTo(nuspec.getDescription());
+        assertThat(result.getSummary()).as("Short Description").isEqualTo(nuspec.getSummary());
+        assertThat(result.getTags()).as("Tags").isEqualTo(nuspec.getTags());
+        assertThat(result.getDependencies()).as("Dependencies").isEqualTo(nuspec.getDependencies());
+    }
+
+    @Test
+    public void testUnmarshalWithoutProperties()
+        throws Exception
+    {
+        assertThat(adapter.unmarshal(new HashMap<>())).isNull();
+    }
+
+}
@@ -16,6 +16,7 @@ import org.springframework.core.env.MapPropertySource;
  * <pre>
  *  <ul>
  *      <li>{@link PropertiesPathResolver#PREFIX_OVERRIDE_PROPERTY}='classpath:'</li>
+ *      <li>strongbox.artifact.entryEvents.lanes=0</li>
  *  </ul>
  */
 @Order(100) // No signficance other than to preserve consistent load order
@@ -32,6 +33,9 @@ class AutomaticTestPropertiesEnvironmentPostProcessor implements EnvironmentPost
         // Force all resolved paths to be prefixed with 'classpath:' during tests
         properties.put(PropertiesPathResolver.PREFIX_OVERRIDE_PROPERTY, "classpath:");
 
+        // Handle the artifact entry events in the caller thread, so that the tests can assert their results
+        properties.put("strongbox.artifact.entryEvents.lanes", 0);
+
         environment.getPropertySources().addLast(new MapPropertySource(PROPERTY_SOURCE_NAME, properties));
     }
 }
@@ -0,0 +1,32 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.artifact.ArtifactEntryEventExecutor;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exposes the queue depth and the latency of the {@link ArtifactEntryEventExecutor} on this node.
+ */
+@Component
+public class ArtifactEntryEventExecutorInfo implements InfoContributor
+{
+
+    @Inject
+    private ArtifactEntryEventExecutor artifactEntryEventExecutor;
+
+    @Override
+    public void contribute(Info.Builder builder)
+    {
+        Map<String, Number> artifactEntryEventsInfo = new HashMap<>();
+        artifactEntryEventsInfo.put("queueDepth", artifactEntryEventExecutor.getQueueDepth());
+        artifactEntryEventsInfo.put("completed", artifactEntryEventExecutor.getCompletedCount());
+        artifactEntryEventsInfo.put("averageLatencyMillis", artifactEntryEventExecutor.getAverageLatencyMillis());
+
+        builder.withDetail("artifactEntryEvents", artifactEntryEventsInfo);
+    }
+}
@@ -0,0 +1,31 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.providers.repository.NegativeLookupCache;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exposes the hit and miss counters of the {@link NegativeLookupCache} on this node.
+ */
+@Component
+public class NegativeLookupCacheInfo implements InfoContributor
+{
+
+    @Inject
+    private NegativeLookupCache negativeLookupCache;
+
+    @Override
+    public void contribute(Info.Builder builder)
+    {
+        Map<String, Long> negativeLookupCacheInfo = new HashMap<>();
+        negativeLookupCacheInfo.put("hits", negativeLookupCache.getHitCount());
+        negativeLookupCacheInfo.put("misses", negativeLookupCache.getMissCount());
+
+        builder.withDetail("negativeLookupCache", negativeLookupCacheInfo);
+    }
+}
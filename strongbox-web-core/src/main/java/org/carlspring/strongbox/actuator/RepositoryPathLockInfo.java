@@ -0,0 +1,33 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exposes the acquisitions, the contention and the acquire latency of the {@link RepositoryPathLock} on this node.
+ */
+@Component
+public class RepositoryPathLockInfo implements InfoContributor
+{
+
+    @Inject
+    private RepositoryPathLock repositoryPathLock;
+
+    @Override
+    public void contribute(Info.Builder builder)
+    {
+        Map<String, Object> repositoryPathLockInfo = new HashMap<>();
+        repositoryPathLockInfo.put("mode", repositoryPathLock.getMode());
+        repositoryPathLockInfo.put("acquired", repositoryPathLock.getAcquiredCount());
+        repositoryPathLockInfo.put("contended", repositoryPathLock.getContendedCount());
+        repositoryPathLockInfo.put("averageAcquireMillis", repositoryPathLock.getAverageAcquireMillis());
+
+        builder.withDetail("repositoryPathLock", repositoryPathLockInfo);
+    }
+}
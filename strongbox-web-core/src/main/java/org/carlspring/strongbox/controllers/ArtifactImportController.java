@@ -0,0 +1,109 @@
+package org.carlspring.strongbox.controllers;
+
+import org.carlspring.strongbox.services.ArtifactImportService;
+import org.carlspring.strongbox.services.support.ArtifactImportResult;
+import org.carlspring.strongbox.storage.ArtifactStorageException;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.web.RepositoryMapping;
+
+import javax.inject.Inject;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Paths;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+@Controller
+@RequestMapping("/api/import")
+@Api(value = "/api/import")
+public class ArtifactImportController
+        extends BaseController
+{
+
+    @Inject
+    private ArtifactImportService artifactImportService;
+
+    @ApiOperation(value = "Used to import the files of a tar or zip archive into a hosted repository.")
+    @ApiResponses(value = { @ApiResponse(code = 200,
+                                         message = "The archive was imported into '${storageId}:${repositoryId}'."),
+                            @ApiResponse(code = 400,
+                                         message = "The archive could not be imported."),
+                            @ApiResponse(code = 404,
+                                         message = "The specified (storageId/repositoryId) does not exist!") })
+    @PreAuthorize("hasAuthority('ARTIFACTS_DEPLOY')")
+    @PostMapping(value = "{storageId}/{repositoryId}",
+                 produces = { MediaType.TEXT_PLAIN_VALUE,
+                              MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity importArchive(@RepositoryMapping Repository repository,
+                                        @RequestHeader(HttpHeaders.ACCEPT) String accept,
+                                        HttpServletRequest request)
+            throws IOException
+    {
+        ArtifactImportResult result;
+        try (InputStream is = request.getInputStream())
+        {
+            result = artifactImportService.importArchive(repository, is);
+        }
+        catch (ArtifactStorageException e)
+        {
+            logger.error("Failed to import the archive into [{}:{}].",
+                         repository.getStorage().getId(), repository.getId(), e);
+
+            return getBadRequestResponseEntity(e.getMessage(), accept);
+        }
+
+        return ResponseEntity.ok(getResponseEntityBody(getMessage(repository, result), accept));
+    }
+
+    @ApiOperation(value = "Used to import the files of a directory on the server into a hosted repository.")
+    @ApiResponses(value = { @ApiResponse(code = 200,
+                                         message = "The directory was imported into '${storageId}:${repositoryId}'."),
+                            @ApiResponse(code = 400,
+                                         message = "The directory could not be imported."),
+                            @ApiResponse(code = 404,
+                                         message = "The specified (storageId/repositoryId) does not exist!") })
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PutMapping(value = "{storageId}/{repositoryId}",
+                produces = { MediaType.TEXT_PLAIN_VALUE,
+                             MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity importDirectory(@RepositoryMapping Repository repository,
+                                          @ApiParam(value = "The absolute path of the directory on the server", required = true)
+                                          @RequestParam(name = "directory") String directory,
+                                          @RequestHeader(HttpHeaders.ACCEPT) String accept)
+            throws IOException
+    {
+        ArtifactImportResult result;
+        try
+        {
+            result = artifactImportService.importDirectory(repository, Paths.get(directory));
+        }
+        catch (ArtifactStorageException | NotDirectoryException e)
+        {
+            logger.error("Failed to import [{}] into [{}:{}].",
+                         directory, repository.getStorage().getId(), repository.getId(), e);
+
+            return getBadRequestResponseEntity(String.format("Could not import [%s].", directory), accept);
+        }
+
+        return ResponseEntity.ok(getResponseEntityBody(getMessage(repository, result), accept));
+    }
+
+    private String getMessage(Repository repository,
+                              ArtifactImportResult result)
+    {
+        return String.format("Imported into '%s:%s': %s.", repository.getStorage().getId(), repository.getId(), result);
+    }
+
+}
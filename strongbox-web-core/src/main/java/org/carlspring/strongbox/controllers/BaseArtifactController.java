@@ -1,12 +1,15 @@
 package org.carlspring.strongbox.controllers;
 
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactDownload;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.utils.ArtifactControllerHelper;
 
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.io.InputStream;
 
 import org.springframework.http.HttpHeaders;
@@ -21,6 +24,9 @@ public abstract class BaseArtifactController
     @Inject
     protected ArtifactManagementService artifactManagementService;
 
+    @Inject
+    protected ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
+
     protected boolean provideArtifactDownloadResponse(HttpServletRequest request,
                                                       HttpServletResponse response,
                                                       HttpHeaders httpHeaders,
@@ -28,6 +34,18 @@ public abstract class BaseArtifactController
             throws Exception
     {
         logger.debug("Resolved path: {}", repositoryPath);
+        RemoteArtifactDownload download = repositoryPath == null ? null :
+                                          proxyRepositoryArtifactResolver.getRemoteArtifactDownload(repositoryPath);
+        if (download != null && ArtifactControllerHelper.isRangedRequest(httpHeaders))
+        {
+            // The ranges are served from the stored artifact, so that the client gets only the requested bytes.
+            download.awaitCompleted();
+        }
+        else if (download != null && provideRemoteArtifactDownloadResponse(request, response, download))
+        {
+            return true;
+        }
+
         ArtifactControllerHelper.provideArtifactHeaders(response, repositoryPath);
         if (response.getStatus() == HttpStatus.NOT_FOUND.value())
         {
@@ -56,6 +74,42 @@ public abstract class BaseArtifactController
         return true;
     }
 
+    /**
+     * Serves the artifact which is still being fetched from remote, directly
+     * from the in-flight download. The ranged requests don't get here, they
+     * wait for the artifact to be stored instead.
+     *
+     * @return `false` if the download is already over.
+     */
+    private boolean provideRemoteArtifactDownloadResponse(HttpServletRequest request,
+                                                          HttpServletResponse response,
+                                                          RemoteArtifactDownload download)
+            throws IOException
+    {
+        RepositoryPath repositoryPath = download.getRepositoryPath();
+        InputStream is = download.newInputStream();
+        if (is == null)
+        {
+            return false;
+        }
+
+        logger.debug("Serving in-flight remote fetch of [{}].", repositoryPath);
+        try
+        {
+            ArtifactControllerHelper.provideRemoteArtifactDownloadHeaders(response, download);
+            if (!request.getMethod().equals(RequestMethod.HEAD.name()))
+            {
+                copyToResponse(is, response);
+            }
+        }
+        finally
+        {
+            is.close();
+        }
+
+        return true;
+    }
+
     public ResponseEntity<String> checkRepositoryAccess()
     {
         return new ResponseEntity<>("success", HttpStatus.OK);
@@ -8,16 +8,19 @@ import org.carlspring.strongbox.controllers.support.ListEntityBody;
 import org.carlspring.strongbox.controllers.support.ResponseEntityBody;
 import org.carlspring.strongbox.exception.ExceptionHandlingOutputStream;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
 import org.carlspring.strongbox.services.ArtifactResolutionService;
 import org.carlspring.strongbox.services.ConfigurationManagementService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.utils.FileChannelResponseWriter;
 
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -40,6 +43,8 @@ import org.springframework.http.ResponseEntity;
 public abstract class BaseController
 {
 
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     @Inject
@@ -289,22 +294,44 @@ public abstract class BaseController
                                       HttpServletResponse response)
             throws IOException
     {
+        if (is instanceof RepositoryInputStream)
+        {
+            try (FileChannel channel = ((RepositoryInputStream) is).openChannel())
+            {
+                if (channel != null)
+                {
+                    long size = channel.size();
+                    response.setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(size));
+
+                    FileChannelResponseWriter writer = new FileChannelResponseWriter(response);
+                    writer.transfer(channel, 0L, size);
+                    writer.flush();
+
+                    response.flushBuffer();
+
+                    return;
+                }
+            }
+        }
+
         try (OutputStream os = new ExceptionHandlingOutputStream(response.getOutputStream()))
         {
             long totalBytes = 0L;
 
             int readLength;
-            byte[] bytes = new byte[4096];
+            byte[] bytes = new byte[COPY_BUFFER_SIZE];
             while ((readLength = is.read(bytes)) != -1)
             {
-                // Write the artifact
+                // Write the artifact, the container flushes its buffer by itself once it's full.
                 os.write(bytes, 0, readLength);
-                os.flush();
 
                 totalBytes += readLength;
             }
 
-            response.setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(totalBytes));
+            if (!response.isCommitted())
+            {
+                response.setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(totalBytes));
+            }
             response.flushBuffer();
         }
     }
@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.controllers;
 
+import org.carlspring.strongbox.providers.search.AbstractSearchProvider;
 import org.carlspring.strongbox.providers.search.SearchException;
 import org.carlspring.strongbox.services.ArtifactSearchService;
 import org.carlspring.strongbox.storage.search.SearchRequest;
@@ -11,6 +12,7 @@ import java.io.IOException;
 import java.net.URLDecoder;
 
 import io.swagger.annotations.*;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -57,18 +59,38 @@ public class SearchController
                                  @RequestParam(name = "repositoryId", required = false) final String repositoryId,
                                  @ApiParam(value = "The search query", required = true)
                                  @RequestParam(name = "q") final String query,
+                                 @ApiParam(value = "The search provider alias", required = false)
+                                 @RequestParam(name = "searchProvider", required = false) final String searchProvider,
+                                 @ApiParam(value = "The number of the results to skip", required = false)
+                                 @RequestParam(name = "skip", required = false) final Integer skip,
+                                 @ApiParam(value = "The maximum number of the results", required = false)
+                                 @RequestParam(name = "limit", required = false) final Integer limit,
                                  HttpServletRequest request)
             throws IOException, SearchException
     {
         String accept = request.getHeader("accept");
         String q = URLDecoder.decode(query, "UTF-8");
 
+        SearchRequest searchRequest = new SearchRequest(storageId, repositoryId, q);
+        if (StringUtils.isNotBlank(searchProvider))
+        {
+            searchRequest.addOption(ArtifactSearchService.OPTION_SEARCH_PROVIDER, searchProvider);
+        }
+        if (skip != null)
+        {
+            searchRequest.addOption(AbstractSearchProvider.OPTION_SKIP, skip.toString());
+        }
+        if (limit != null)
+        {
+            searchRequest.addOption(AbstractSearchProvider.OPTION_LIMIT, limit.toString());
+        }
+
         logger.debug("[search] {}\n\taccept {}\n\tstorageId = {}\n\trepositoryId = {}",
                      q, accept, storageId, repositoryId);
 
         if (accept.equalsIgnoreCase(MediaType.TEXT_PLAIN_VALUE))
         {
-            final SearchResults artifacts = getSearchResults(storageId, repositoryId, q);
+            final SearchResults artifacts = artifactSearchService.search(searchRequest);
 
             return ResponseEntity.ok(artifacts.toString());
         }
@@ -77,20 +99,10 @@ public class SearchController
             // Apparently, the JSON root tag's name is based on the name of the object
             // which the Jersey method returns, hence this is "artifacts".
             @SuppressWarnings("UnnecessaryLocalVariable")
-            final SearchResults artifacts = getSearchResults(storageId, repositoryId, q);
+            final SearchResults artifacts = artifactSearchService.search(searchRequest);
 
             return ResponseEntity.ok(artifacts);
         }
     }
 
-    private SearchResults getSearchResults(String storageId,
-                                           String repositoryId,
-                                           String query)
-            throws SearchException
-    {
-        return artifactSearchService.search(new SearchRequest(storageId,
-                                                              repositoryId,
-                                                              query));
-    }
-
 }
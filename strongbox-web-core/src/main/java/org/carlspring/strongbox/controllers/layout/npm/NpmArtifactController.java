@@ -14,7 +14,6 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.servlet.ServletInputStream;
@@ -27,7 +26,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
@@ -42,15 +40,14 @@ import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.npm.NpmSearchRequest;
 import org.carlspring.strongbox.npm.NpmViewRequest;
-import org.carlspring.strongbox.npm.metadata.DistTags;
 import org.carlspring.strongbox.npm.metadata.PackageFeed;
 import org.carlspring.strongbox.npm.metadata.PackageVersion;
 import org.carlspring.strongbox.npm.metadata.SearchResults;
-import org.carlspring.strongbox.npm.metadata.Time;
-import org.carlspring.strongbox.npm.metadata.Versions;
 import org.carlspring.strongbox.providers.ProviderImplementationException;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.NpmPackageDesc;
+import org.carlspring.strongbox.providers.layout.NpmPackageFeedCache;
+import org.carlspring.strongbox.providers.layout.NpmPackageFeedCache.CachedPackageFeed;
 import org.carlspring.strongbox.providers.layout.NpmPackageSupplier;
 import org.carlspring.strongbox.providers.layout.NpmSearchResultSupplier;
 import org.carlspring.strongbox.providers.layout.NpmUnpublishService;
@@ -113,6 +110,9 @@ public class NpmArtifactController
     @Inject
     private NpmPackageSupplier npmPackageSupplier;
 
+    @Inject
+    private NpmPackageFeedCache npmPackageFeedCache;
+
     @Inject
     private NpmSearchResultSupplier npmSearchResultSupplier;
 
@@ -157,15 +157,14 @@ public class NpmArtifactController
 
 
         Paginator paginator = new Paginator();
-        paginator.setLimit(20);
-
-        List<Path> searchResult = provider.search(storageId, repositoryId, predicate, paginator);
+        paginator.setLimit(size);
 
         SearchResults searchResults = new SearchResults();
 
-        searchResult.stream().map(npmSearchResultSupplier).forEach(p -> {
-            searchResults.getObjects().add(p);
-        });
+        provider.stream(storageId, repositoryId, predicate, paginator)
+                .limit(paginator.getLimit())
+                .map(npmSearchResultSupplier)
+                .forEach(p -> searchResults.getObjects().add(p));
 
         Long count = provider.count(storageId, repositoryId, predicate);
 
@@ -220,99 +219,59 @@ public class NpmArtifactController
     public void viewPackageFeedWithScope(@RepositoryMapping Repository repository,
                                          @PathVariable(name = "packageScope") String packageScope,
                                          @PathVariable(name = "packageName") String packageName,
+                                         @RequestHeader HttpHeaders httpHeaders,
                                          HttpServletResponse response)
             throws Exception
     {
-        final String storageId = repository.getStorage().getId();
-        final String repositoryId = repository.getId();
-
         String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
 
         NpmViewRequest npmSearchRequest = new NpmViewRequest();
         npmSearchRequest.setPackageId(packageId);
         viewPackageEventListener.setNpmSearchRequest(npmSearchRequest);
 
-        PackageFeed packageFeed = new PackageFeed();
-
-        packageFeed.setName(packageId);
-        packageFeed.setAdditionalProperty("_id", packageId);
-
-        Predicate predicate = createSearchPredicate(packageScope, packageName);
-
-        RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
-
-        Paginator paginator = new Paginator();
-        paginator.setProperty("version");
-
-        List<Path> searchResult = provider.search(storageId, repositoryId, predicate, paginator);
-
-        Versions versions = new Versions();
-        packageFeed.setVersions(versions);
-
-        Time npmTime = new Time();
-        packageFeed.setTime(npmTime);
-
-        DistTags distTags = new DistTags();
-        packageFeed.setDistTags(distTags);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
 
-        searchResult.stream().map(npmPackageSupplier).forEach(p -> {
-            PackageVersion npmPackage = p.getNpmPackage();
-            versions.setAdditionalProperty(npmPackage.getVersion(), npmPackage);
+        if (!npmPackageFeedCache.supports(repository))
+        {
+            PackageFeed packageFeed = npmPackageFeedCache.createPackageFeed(repository, packageScope, packageName);
+            response.getOutputStream().write(npmJacksonMapper.writeValueAsBytes(packageFeed));
 
-            npmTime.setAdditionalProperty(npmPackage.getVersion(), p.getReleaseDate());
+            return;
+        }
 
-            Date created = npmTime.getCreated();
-            npmTime.setCreated(created == null || created.before(p.getReleaseDate()) ? p.getReleaseDate() : created);
+        CachedPackageFeed packageFeed = npmPackageFeedCache.getPackageFeed(repository, packageScope, packageName);
+        response.setHeader(HttpHeaders.ETAG, packageFeed.getETag());
 
-            Date modified = npmTime.getModified();
-            npmTime.setModified(modified == null || modified.before(p.getReleaseDate()) ? p.getReleaseDate()
-                                                                                        : modified);
+        List<String> ifNoneMatch = httpHeaders.getIfNoneMatch();
+        if (ifNoneMatch.contains(packageFeed.getETag()) || ifNoneMatch.contains("*"))
+        {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
 
-            if (p.isLastVersion())
-            {
-                distTags.setLatest(npmPackage.getVersion());
-            }
+            return;
+        }
 
-        });
-        packageFeed.setAdditionalProperty("_rev", generateRevisionHashcode(packageFeed));
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.getOutputStream().write(npmJacksonMapper.writeValueAsBytes(packageFeed));
-    }
+        byte[] content = packageFeed.getContent();
+        String acceptEncoding = httpHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING);
+        if (packageFeed.getGzippedContent() != null && acceptEncoding != null && acceptEncoding.contains("gzip"))
+        {
+            content = packageFeed.getGzippedContent();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(content.length);
 
-    private String generateRevisionHashcode(PackageFeed packageFeed)
-    {
-        String versionsShasum = packageFeed.getVersions().getAdditionalProperties()
-                                           .values()
-                                           .stream()
-                                           .map(x -> x.getDist().getShasum())
-                                           .collect(Collectors.joining());
-        return packageFeed.getVersions().getAdditionalProperties().size() + "-" +
-               DigestUtils.sha1Hex(versionsShasum).substring(0, 16);
+        response.getOutputStream().write(content);
     }
 
     @GetMapping(path = "{storageId}/{repositoryId}/{packageName}")
     @PreAuthorize("hasAuthority('ARTIFACTS_VIEW')")
     public void viewPackageFeed(@RepositoryMapping Repository repository,
                                 @PathVariable(name = "packageName") String packageName,
+                                @RequestHeader HttpHeaders httpHeaders,
                                 HttpServletResponse response)
             throws Exception
     {
-        viewPackageFeedWithScope(repository, null, packageName, response);
-    }
-
-    private Predicate createSearchPredicate(String packageScope,
-                                            String packageName)
-    {
-        Predicate rootPredicate = Predicate.empty();
-
-        rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.extension", "tgz")));
-        rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.name", packageName)));
-        if (packageScope != null)
-        {
-            rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.scope", packageScope)));
-        }
-
-        return rootPredicate;
+        viewPackageFeedWithScope(repository, null, packageName, httpHeaders, response);
     }
 
     @PreAuthorize("hasAuthority('ARTIFACTS_RESOLVE')")
@@ -208,12 +208,13 @@ public class NugetArtifactController
         feed.setUpdated(new Date());
         feed.setTitle("Packages");
         List<PackageEntry> packageEntrys = new ArrayList<>();
+        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
         for (Nupkg nupkg : files)
         {
             try
             {
                 PackageEntry entry = createPackageEntry(feedId, (PathNupkg) nupkg);
-                calculateFeedEntryProperties((PathNupkg) nupkg, entry.getProperties());
+                calculateFeedEntryProperties((PathNupkg) nupkg, entry.getProperties(), lastVersionTag);
                 packageEntrys.add(entry);
             }
             catch (NoSuchAlgorithmException | IOException | NugetFormatException e)
@@ -227,10 +228,10 @@ public class NugetArtifactController
     }
 
     private void calculateFeedEntryProperties(PathNupkg nupkg,
-                                              EntryProperties properties) throws IOException
+                                              EntryProperties properties,
+                                              ArtifactTag lastVersionTag)
     {
-        RepositoryPath path = nupkg.getPath();
-        ArtifactEntry artifactEntry = path.getArtifactEntry();
+        ArtifactEntry artifactEntry = nupkg.getArtifactEntry();
 
         properties.setId(nupkg.getId());
 
@@ -245,7 +246,6 @@ public class NugetArtifactController
         properties.setRating(Double.valueOf(0));
         properties.setVersionRating(Double.valueOf(0));
 
-        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
         if (artifactEntry.getTagSet().contains(lastVersionTag))
         {
             properties.setIsLatestVersion(true);
@@ -9,26 +9,30 @@ import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactDownload;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.util.CollectionUtils;
-import static org.carlspring.strongbox.controllers.BaseController.copyToResponse;
 import static org.springframework.http.HttpStatus.PARTIAL_CONTENT;
 import static org.springframework.http.HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
 
@@ -65,9 +69,19 @@ public class ArtifactControllerHelper
         try
         {
             List<ByteRange> ranges = parser.getRanges();
-            if (!CollectionUtils.isEmpty(ranges))
+            if (CollectionUtils.isEmpty(ranges))
             {
-                if (ranges.size() == 1)
+                return;
+            }
+
+            try (FileChannel channel = openChannel(is))
+            {
+                if (channel != null)
+                {
+                    logger.debug("Received request for a partial download with [{}] range(s).", ranges.size());
+                    handlePartialDownloadWithChannel(channel, ranges, response);
+                }
+                else if (ranges.size() == 1)
                 {
                     logger.debug("Received request for a partial download with a single range.");
                     handlePartialDownloadWithSingleRange(is, ranges.get(0), response);
@@ -89,6 +103,104 @@ public class ArtifactControllerHelper
         }
     }
 
+    private static FileChannel openChannel(InputStream is)
+            throws IOException
+    {
+        return is instanceof RepositoryInputStream ? ((RepositoryInputStream) is).openChannel() : null;
+    }
+
+    /**
+     * Serves the ranges straight from the {@link FileChannel}. Everything, including the `Content-Length`,
+     * is known in advance here, so the headers are complete before the first byte of the body is written.
+     */
+    private static void handlePartialDownloadWithChannel(FileChannel channel,
+                                                         List<ByteRange> byteRanges,
+                                                         HttpServletResponse response)
+            throws IOException
+    {
+        long length = channel.size();
+
+        boolean anyByteRangeNotSatisfiable = byteRanges.stream()
+                                                       .anyMatch(byteRange -> byteRange.getOffset() >= length);
+        if (anyByteRangeNotSatisfiable)
+        {
+            setRangeNotSatisfiable(response, length);
+            return;
+        }
+
+        FileChannelResponseWriter writer = new FileChannelResponseWriter(response);
+        if (byteRanges.size() == 1)
+        {
+            ByteRange byteRange = byteRanges.get(0);
+            long start = byteRange.getOffset();
+            long end = getRangeEnd(byteRange, length);
+
+            prepareResponseBuilderForPartialRequestWithSingleRange(start, end, length, response);
+            response.setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(end - start + 1));
+
+            writer.transfer(channel, start, end - start + 1);
+        }
+        else
+        {
+            String rangesContentType = response.getContentType();
+
+            List<byte[]> partHeaders = new ArrayList<>(byteRanges.size());
+            byte[] closingBoundary = toByteArray("", "--" + MULTIPART_BOUNDARY + "--");
+
+            long contentLength = closingBoundary.length;
+            for (ByteRange byteRange : byteRanges)
+            {
+                long start = byteRange.getOffset();
+                long end = getRangeEnd(byteRange, length);
+
+                byte[] partHeader = toByteArray("",
+                                                "--" + MULTIPART_BOUNDARY,
+                                                String.format("%s: %s", HttpHeaders.CONTENT_TYPE, rangesContentType),
+                                                String.format("%s: bytes %d-%d/%d",
+                                                              HttpHeaders.CONTENT_RANGE,
+                                                              start,
+                                                              end,
+                                                              length),
+                                                "");
+                partHeaders.add(partHeader);
+
+                contentLength += partHeader.length + (end - start + 1);
+            }
+
+            prepareResponseBuilderForPartialRequestWithMultipleRanges(response);
+            response.setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(contentLength));
+
+            for (int i = 0; i < byteRanges.size(); i++)
+            {
+                long start = byteRanges.get(i).getOffset();
+                long end = getRangeEnd(byteRanges.get(i), length);
+
+                writer.write(partHeaders.get(i));
+                writer.transfer(channel, start, end - start + 1);
+            }
+            writer.write(closingBoundary);
+        }
+
+        writer.flush();
+        response.flushBuffer();
+    }
+
+    /**
+     * @return the last byte position of the range, limited with the input length, where the open ended
+     *         ranges (like `bytes=100-`) last up to the end of the input.
+     */
+    private static long getRangeEnd(ByteRange byteRange,
+                                    long inputLength)
+    {
+        Long limit = byteRange.getLimit();
+        if (limit == null || limit < byteRange.getOffset() || limit >= inputLength)
+        {
+            return inputLength - 1L;
+        }
+
+        return limit;
+    }
+
     private static void handlePartialDownloadWithSingleRange(InputStream is,
                                                              ByteRange byteRange,
                                                              HttpServletResponse response)
@@ -101,9 +213,19 @@ public class ArtifactControllerHelper
         {
             StreamUtils.setCurrentByteRange(bris, byteRange);
 
-            prepareResponseBuilderForPartialRequestWithSingleRange(byteRange, inputLength, response);
+            long start = byteRange.getOffset();
+            long end = getRangeEnd(byteRange, inputLength);
+
+            prepareResponseBuilderForPartialRequestWithSingleRange(start, end, inputLength, response);
+            response.setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(end - start + 1));
 
-            copyToResponse(is, response);
+            try (OutputStream os = new ExceptionHandlingOutputStream(response.getOutputStream()))
+            {
+                // The stream is already positioned at the range offset.
+                IOUtils.copyLarge(is, os, 0L, end - start + 1);
+                os.flush();
+            }
+            response.flushBuffer();
         }
         else
         {
@@ -145,13 +267,14 @@ public class ArtifactControllerHelper
         response.flushBuffer();
     }
 
-    private static void prepareResponseBuilderForPartialRequestWithSingleRange(ByteRange byteRange,
+    private static void prepareResponseBuilderForPartialRequestWithSingleRange(long start,
+                                                                               long end,
                                                                                long inputLength,
                                                                                HttpServletResponse response)
     {
         String contentRangeHeaderValue = String.format("bytes %d-%d/%d",
-                                                       byteRange.getOffset(),
-                                                       inputLength - 1L,
+                                                       start,
+                                                       end,
                                                        inputLength);
 
         response.setHeader(HttpHeaders.CONTENT_RANGE, contentRangeHeaderValue);
@@ -201,24 +324,27 @@ public class ArtifactControllerHelper
 
         response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
 
-        path.getFileSystem().provider().resolveChecksumPathMap(path).forEach((key, value) -> {
-            String checksumValue;
-            try
-            {
-                checksumValue = new String(Files.readAllBytes(value), StandardCharsets.UTF_8).trim();
-            }
-            catch (IOException ioe)
-            {
-                return;
-            }
-
+        path.getFileSystem().provider().resolveChecksumMap(path).forEach((key, value) -> {
             String checksumName = String.format("Checksum-%s",
                                                 key.toUpperCase().replace("-", ""));
 
-            response.setHeader(checksumName, checksumValue);
+            response.setHeader(checksumName, value);
         });
     }
 
+    public static void provideRemoteArtifactDownloadHeaders(HttpServletResponse response,
+                                                            RemoteArtifactDownload download)
+            throws IOException
+    {
+        long contentLength = download.getContentLength();
+        if (contentLength >= 0)
+        {
+            response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(contentLength));
+        }
+
+        response.setContentType(getContentType(download.getRepositoryPath()));
+    }
+
     private static String getContentType(RepositoryPath path)
             throws IOException
     {
@@ -330,4 +456,15 @@ public class ArtifactControllerHelper
         return (string.concat(CRLF)).getBytes(StandardCharsets.UTF_8);
     }
 
+    private static byte[] toByteArray(String... lines)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines)
+        {
+            sb.append(line).append(CRLF);
+        }
+
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
 }
\ No newline at end of file
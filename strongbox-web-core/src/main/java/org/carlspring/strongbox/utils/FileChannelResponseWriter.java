@@ -0,0 +1,153 @@
+package org.carlspring.strongbox.utils;
+
+import org.carlspring.strongbox.exception.Http202PropogateException;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.eclipse.jetty.io.EofException;
+import org.eclipse.jetty.server.HttpOutput;
+
+/**
+ * Writes {@link FileChannel} regions into the {@link HttpServletResponse} without
+ * pumping them through a heap buffer when it's possible.
+ * <br>
+ * The regions are always written through the response's own output stream, so the response wrappers
+ * (metering, compression etc.) see every byte. When that stream is the Jetty {@link HttpOutput} the
+ * regions are read into a direct buffer and handed over to it, which writes them straight into the socket.
+ * Otherwise the regions are copied with a large buffer and without flushing after every chunk.
+ * <br>
+ * Note that response headers, including `Content-Length`, should be set before the first write.
+ */
+public class FileChannelResponseWriter
+{
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final HttpServletResponse response;
+
+    private OutputStream outputStream;
+
+    private ByteBuffer buffer;
+
+    public FileChannelResponseWriter(HttpServletResponse response)
+    {
+        this.response = response;
+    }
+
+    public void write(byte[] bytes)
+            throws IOException
+    {
+        try
+        {
+            getOutputStream().write(bytes);
+        }
+        catch (EofException e)
+        {
+            throw new Http202PropogateException("Socket has been closed. Possibly, user cancelled download.", e);
+        }
+    }
+
+    public long transfer(FileChannel channel,
+                         long position,
+                         long count)
+            throws IOException
+    {
+        try
+        {
+            OutputStream os = getOutputStream();
+            if (os instanceof HttpOutput)
+            {
+                return transferDirect(channel, position, count, (HttpOutput) os);
+            }
+
+            return transferBuffered(channel, position, count, os);
+        }
+        catch (EofException e)
+        {
+            throw new Http202PropogateException("Socket has been closed. Possibly, user cancelled download.", e);
+        }
+    }
+
+    public void flush()
+            throws IOException
+    {
+        getOutputStream().flush();
+    }
+
+    private long transferDirect(FileChannel channel,
+                                long position,
+                                long count,
+                                HttpOutput httpOutput)
+            throws IOException
+    {
+        if (buffer == null)
+        {
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+
+        long totalBytes = 0L;
+        while (totalBytes < count)
+        {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, count - totalBytes));
+
+            int readLength = channel.read(buffer, position + totalBytes);
+            if (readLength == -1)
+            {
+                break;
+            }
+
+            buffer.flip();
+            httpOutput.write(buffer);
+            totalBytes += readLength;
+        }
+
+        return totalBytes;
+    }
+
+    private long transferBuffered(FileChannel channel,
+                                  long position,
+                                  long count,
+                                  OutputStream os)
+            throws IOException
+    {
+        if (buffer == null || buffer.isDirect())
+        {
+            buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+
+        long totalBytes = 0L;
+        while (totalBytes < count)
+        {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, count - totalBytes));
+
+            int readLength = channel.read(buffer, position + totalBytes);
+            if (readLength == -1)
+            {
+                break;
+            }
+
+            os.write(buffer.array(), 0, readLength);
+            totalBytes += readLength;
+        }
+
+        return totalBytes;
+    }
+
+    private OutputStream getOutputStream()
+            throws IOException
+    {
+        if (outputStream == null)
+        {
+            outputStream = response.getOutputStream();
+        }
+
+        return outputStream;
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.carlspring.strongbox.validation.cron.type;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LongCronTaskConfigurationFormFieldTypeValidator
+        implements CronTaskConfigurationFormFieldTypeValidator
+{
+
+    @Override
+    public boolean isValid(String value)
+    {
+        // value requirements is not a subject of this validator
+        if (StringUtils.isBlank(value))
+        {
+            return true;
+        }
+        try
+        {
+            return Long.valueOf(value) != null;
+        }
+        catch (NumberFormatException ex)
+        {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean supports(String type)
+    {
+        return long.class.getSimpleName().equals(type);
+    }
+}
@@ -0,0 +1,130 @@
+package org.carlspring.strongbox.controllers;
+
+import org.carlspring.strongbox.config.IntegrationTest;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.rest.common.MavenRestAssuredBaseTest;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.util.FileSystemUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+public class ArtifactImportControllerTest
+        extends MavenRestAssuredBaseTest
+{
+
+    private static final String AICT_SOURCE_1 = "aict-source-1";
+
+    private static final String AICT_RELEASES_1 = "aict-releases-1";
+
+    private static final String AICT_SOURCE_2 = "aict-source-2";
+
+    private static final String AICT_RELEASES_2 = "aict-releases-2";
+
+    private Path importDirectory;
+
+    @Override
+    @BeforeEach
+    public void init()
+            throws Exception
+    {
+        super.init();
+
+        setContextBaseUrl("/api/import");
+        importDirectory = Files.createTempDirectory("aict-");
+    }
+
+    @AfterEach
+    public void tearDown()
+            throws IOException
+    {
+        FileSystemUtils.deleteRecursively(importDirectory);
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testImportDirectory(@MavenRepository(repositoryId = AICT_SOURCE_1)
+                                    Repository sourceRepository,
+                                    @MavenRepository(repositoryId = AICT_RELEASES_1)
+                                    Repository repository,
+                                    @MavenTestArtifact(repositoryId = AICT_SOURCE_1,
+                                                       id = "org.carlspring.strongbox.import:aict-artifact",
+                                                       versions = "1.0")
+                                    Path artifactPath)
+            throws IOException
+    {
+        String path = copyToImportDirectory(artifactPath);
+
+        mockMvc.accept(MediaType.TEXT_PLAIN_VALUE)
+               .queryParam("directory", importDirectory.toString())
+               .when()
+               .put(getContextBaseUrl() + "/{storageId}/{repositoryId}",
+                    repository.getStorage().getId(),
+                    repository.getId())
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value());
+
+        assertThat(Files.exists(repositoryPathResolver.resolve(repository, path))).isTrue();
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    @WithUserDetails("deployer")
+    public void testImportDirectoryIsForbiddenForNonAdmin(@MavenRepository(repositoryId = AICT_SOURCE_2)
+                                                          Repository sourceRepository,
+                                                          @MavenRepository(repositoryId = AICT_RELEASES_2)
+                                                          Repository repository,
+                                                          @MavenTestArtifact(repositoryId = AICT_SOURCE_2,
+                                                                             id = "org.carlspring.strongbox.import:aict-artifact",
+                                                                             versions = "1.0")
+                                                          Path artifactPath)
+            throws IOException
+    {
+        String path = copyToImportDirectory(artifactPath);
+
+        // The directory is on the server, so only an administrator may import it, not a deployer.
+        mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("directory", importDirectory.toString())
+               .when()
+               .put(getContextBaseUrl() + "/{storageId}/{repositoryId}",
+                    repository.getStorage().getId(),
+                    repository.getId())
+               .peek()
+               .then()
+               .statusCode(HttpStatus.FORBIDDEN.value());
+
+        assertThat(Files.exists(repositoryPathResolver.resolve(repository, path))).isFalse();
+    }
+
+    private String copyToImportDirectory(Path artifactPath)
+            throws IOException
+    {
+        String path = RepositoryFiles.relativizePath((RepositoryPath) artifactPath.normalize());
+
+        Path target = importDirectory.resolve(path);
+        Files.createDirectories(target.getParent());
+        Files.copy(artifactPath, target);
+
+        return path;
+    }
+
+}
@@ -46,6 +46,8 @@ public class NpmArtifactControllerTestIT
 
     private static final String REPOSITORY_RELEASES_2 = "nactit-npm-releases-2";
 
+    private static final String REPOSITORY_RELEASES_3 = "nactit-npm-releases-3";
+
     private static final String REMOTE_URL = "https://registry.npmjs.org/";
 
     @Inject
@@ -212,6 +214,38 @@ public class NpmArtifactControllerTestIT
         assertThat(response.getContentType()).isEqualTo("multipart/byteranges; boundary=" + MULTIPART_BOUNDARY);
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void viewPackageFeedShouldBeNotModifiedForMatchingETag(@NpmRepository(repositoryId = REPOSITORY_RELEASES_3)
+                                                                  Repository repository,
+                                                                  @NpmTestArtifact(repositoryId = REPOSITORY_RELEASES_3,
+                                                                                   id = "npm-package-feed-etag",
+                                                                                   versions = "1.0")
+                                                                  Path artifactPath)
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String url = getContextBaseUrl() + "/storages/{storageId}/{repositoryId}/{packageName}";
+
+        MockMvcResponse response = mockMvc.when()
+                                          .get(url, storageId, repositoryId, "npm-package-feed-etag")
+                                          .thenReturn();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getBody().jsonPath().getString("name")).isEqualTo("npm-package-feed-etag");
+
+        String eTag = response.getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotBlank();
+
+        mockMvc.header(HttpHeaders.IF_NONE_MATCH, eTag)
+               .when()
+               .get(url, storageId, repositoryId, "npm-package-feed-etag")
+               .then()
+               .statusCode(HttpStatus.NOT_MODIFIED.value());
+    }
+
     private MockMvcResponse getMockMvcResponseForPartialDownload(String byteRanges,
                                                                  Repository repository,
                                                                  String packageName,
@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.utils;
 
 import org.carlspring.strongbox.config.IntegrationTest;
+import org.carlspring.strongbox.io.ByteRangeInputStream;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.services.ArtifactResolutionService;
@@ -12,10 +13,13 @@ import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementT
 
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -54,6 +58,8 @@ class ArtifactControllerHelperTest
 
     private static final String REPOSITORY_RELEASES_8 = "acht-releases-8";
 
+    private static final String REPOSITORY_RELEASES_9 = "acht-releases-9";
+
     @Inject
     private ArtifactResolutionService artifactResolutionService;
 
@@ -101,6 +107,61 @@ class ArtifactControllerHelperTest
         }
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    void handlePartialDownloadWithSingleRangeShouldServeExactRange(@MavenRepository(repositoryId = REPOSITORY_RELEASES_9)
+                                                                   Repository repository,
+                                                                   @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES_9,
+                                                                                      id = "org.carlspring.strongbox:partial-single-exact",
+                                                                                      versions = "1.0")
+                                                                   Path artifactPath)
+            throws IOException
+    {
+        // Given
+        RepositoryPath artifactRepositoryPath = (RepositoryPath) artifactPath.normalize();
+        byte[] artifactBytes = Files.readAllBytes(artifactRepositoryPath);
+        try(InputStream is = artifactResolutionService.getInputStream(artifactRepositoryPath))
+        {
+            HttpHeaders httpHeaders = getHttpHeaders("100-199");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // When
+            ArtifactControllerHelper.handlePartialDownload(is, httpHeaders, response);
+
+            // Then
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo(
+                    "bytes 100-199/" + artifactBytes.length);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isEqualTo("100");
+            assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(artifactBytes, 100, 200));
+        }
+    }
+
+    @Test
+    void handlePartialDownloadWithSingleRangeWithoutChannelShouldServeExactRange()
+            throws IOException
+    {
+        // Given
+        byte[] bytes = new byte[1000];
+        new Random(1L).nextBytes(bytes);
+
+        ByteRangeInputStream is = new ByteRangeInputStream(new ByteArrayInputStream(bytes));
+        is.setLength(bytes.length);
+
+        HttpHeaders httpHeaders = getHttpHeaders("100-199");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        ArtifactControllerHelper.handlePartialDownload(is, httpHeaders, response);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 100-199/" + bytes.length);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isEqualTo("100");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(bytes, 100, 200));
+    }
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test